@@ -3,6 +3,8 @@
 -- ============================================
 -- Este script deve ser executado APÓS a aplicação criar as tabelas
 -- Execute manualmente ou via aplicação após o primeiro start
+-- Os ids saem das sequências do Hibernate (<tabela>_seq): cada nextval
+-- reserva um bloco inteiro, então a aplicação não repete esses ids
 -- ============================================
 
 \c hortifruti_db;
@@ -11,26 +13,26 @@
 -- INSERIR CATEGORIAS PADRÃO
 -- ============================================
 
-INSERT INTO categoria (nome) VALUES
-    ('Frutas'),
-    ('Verduras'),
-    ('Legumes'),
-    ('Temperos'),
-    ('Orgânicos'),
-    ('Tubérculos'),
-    ('Grãos'),
-    ('Cereais')
+INSERT INTO categoria (id_categoria, nome) VALUES
+    (nextval('categoria_seq'), 'Frutas'),
+    (nextval('categoria_seq'), 'Verduras'),
+    (nextval('categoria_seq'), 'Legumes'),
+    (nextval('categoria_seq'), 'Temperos'),
+    (nextval('categoria_seq'), 'Orgânicos'),
+    (nextval('categoria_seq'), 'Tubérculos'),
+    (nextval('categoria_seq'), 'Grãos'),
+    (nextval('categoria_seq'), 'Cereais')
 ON CONFLICT DO NOTHING;
 
 -- ============================================
 -- INSERIR FORNECEDORES DE EXEMPLO
 -- ============================================
 
-INSERT INTO fornecedor (nome, cnpj, telefone, email, endereco, prod_fornecidos) VALUES
-    ('Hortifruti Premium Ltda', '12.345.678/0001-34', '(11) 98765-4321', 'contato@hortifrutipremium.com', 'Rua das Flores, 123, São Paulo - SP', 'Frutas e Verduras Orgânicas'),
-    ('Fazenda Verde', '98.765.432/0001-76', '(11) 99988-7766', 'vendas@fazendaverde.com', 'Estrada Rural, Km 45, Campinas - SP', 'Legumes e Temperos Frescos'),
-    ('Distribuidora FrutaSul', '11.122.233/0001-55', '(11) 98877-6655', 'comercial@frutasul.com', 'Av. dos Estados, 789, São Paulo - SP', 'Frutas Importadas e Nacionais'),
-    ('Orgânicos da Terra', '22.333.444/0001-99', '(11) 97766-5544', 'contato@organicosterra.com', 'Rua Verde, 456, São Paulo - SP', 'Produtos Orgânicos Certificados')
+INSERT INTO fornecedor (id_fornecedor, nome, cnpj, telefone, email, endereco, prod_fornecidos) VALUES
+    (nextval('fornecedor_seq'), 'Hortifruti Premium Ltda', '12.345.678/0001-34', '(11) 98765-4321', 'contato@hortifrutipremium.com', 'Rua das Flores, 123, São Paulo - SP', 'Frutas e Verduras Orgânicas'),
+    (nextval('fornecedor_seq'), 'Fazenda Verde', '98.765.432/0001-76', '(11) 99988-7766', 'vendas@fazendaverde.com', 'Estrada Rural, Km 45, Campinas - SP', 'Legumes e Temperos Frescos'),
+    (nextval('fornecedor_seq'), 'Distribuidora FrutaSul', '11.122.233/0001-55', '(11) 98877-6655', 'comercial@frutasul.com', 'Av. dos Estados, 789, São Paulo - SP', 'Frutas Importadas e Nacionais'),
+    (nextval('fornecedor_seq'), 'Orgânicos da Terra', '22.333.444/0001-99', '(11) 97766-5544', 'contato@organicosterra.com', 'Rua Verde, 456, São Paulo - SP', 'Produtos Orgânicos Certificados')
 ON CONFLICT DO NOTHING;
 
 -- ============================================
@@ -38,44 +40,44 @@ ON CONFLICT DO NOTHING;
 -- ============================================
 
 -- Frutas
-INSERT INTO produto (nome, preco, quantidade, dt_validade, id_categoria) VALUES
-    ('Maçã Fuji', 6.99, 100, CURRENT_DATE + INTERVAL '7 days', (SELECT id_categoria FROM categoria WHERE nome = 'Frutas' LIMIT 1)),
-    ('Banana Prata', 4.50, 150, CURRENT_DATE + INTERVAL '5 days', (SELECT id_categoria FROM categoria WHERE nome = 'Frutas' LIMIT 1)),
-    ('Laranja Pera', 3.99, 120, CURRENT_DATE + INTERVAL '10 days', (SELECT id_categoria FROM categoria WHERE nome = 'Frutas' LIMIT 1)),
-    ('Morango', 12.90, 50, CURRENT_DATE + INTERVAL '3 days', (SELECT id_categoria FROM categoria WHERE nome = 'Frutas' LIMIT 1)),
-    ('Melancia', 8.50, 30, CURRENT_DATE + INTERVAL '7 days', (SELECT id_categoria FROM categoria WHERE nome = 'Frutas' LIMIT 1))
+INSERT INTO produto (id_produto, nome, preco, quantidade, dt_validade, id_categoria) VALUES
+    (nextval('produto_seq'), 'Maçã Fuji', 6.99, 100, CURRENT_DATE + INTERVAL '7 days', (SELECT id_categoria FROM categoria WHERE nome = 'Frutas' LIMIT 1)),
+    (nextval('produto_seq'), 'Banana Prata', 4.50, 150, CURRENT_DATE + INTERVAL '5 days', (SELECT id_categoria FROM categoria WHERE nome = 'Frutas' LIMIT 1)),
+    (nextval('produto_seq'), 'Laranja Pera', 3.99, 120, CURRENT_DATE + INTERVAL '10 days', (SELECT id_categoria FROM categoria WHERE nome = 'Frutas' LIMIT 1)),
+    (nextval('produto_seq'), 'Morango', 12.90, 50, CURRENT_DATE + INTERVAL '3 days', (SELECT id_categoria FROM categoria WHERE nome = 'Frutas' LIMIT 1)),
+    (nextval('produto_seq'), 'Melancia', 8.50, 30, CURRENT_DATE + INTERVAL '7 days', (SELECT id_categoria FROM categoria WHERE nome = 'Frutas' LIMIT 1))
 ON CONFLICT DO NOTHING;
 
 -- Verduras
-INSERT INTO produto (nome, preco, quantidade, dt_validade, id_categoria) VALUES
-    ('Alface Americana', 3.50, 80, CURRENT_DATE + INTERVAL '4 days', (SELECT id_categoria FROM categoria WHERE nome = 'Verduras' LIMIT 1)),
-    ('Rúcula', 4.20, 60, CURRENT_DATE + INTERVAL '3 days', (SELECT id_categoria FROM categoria WHERE nome = 'Verduras' LIMIT 1)),
-    ('Couve', 2.80, 70, CURRENT_DATE + INTERVAL '5 days', (SELECT id_categoria FROM categoria WHERE nome = 'Verduras' LIMIT 1)),
-    ('Espinafre', 5.50, 40, CURRENT_DATE + INTERVAL '3 days', (SELECT id_categoria FROM categoria WHERE nome = 'Verduras' LIMIT 1))
+INSERT INTO produto (id_produto, nome, preco, quantidade, dt_validade, id_categoria) VALUES
+    (nextval('produto_seq'), 'Alface Americana', 3.50, 80, CURRENT_DATE + INTERVAL '4 days', (SELECT id_categoria FROM categoria WHERE nome = 'Verduras' LIMIT 1)),
+    (nextval('produto_seq'), 'Rúcula', 4.20, 60, CURRENT_DATE + INTERVAL '3 days', (SELECT id_categoria FROM categoria WHERE nome = 'Verduras' LIMIT 1)),
+    (nextval('produto_seq'), 'Couve', 2.80, 70, CURRENT_DATE + INTERVAL '5 days', (SELECT id_categoria FROM categoria WHERE nome = 'Verduras' LIMIT 1)),
+    (nextval('produto_seq'), 'Espinafre', 5.50, 40, CURRENT_DATE + INTERVAL '3 days', (SELECT id_categoria FROM categoria WHERE nome = 'Verduras' LIMIT 1))
 ON CONFLICT DO NOTHING;
 
 -- Legumes
-INSERT INTO produto (nome, preco, quantidade, dt_validade, id_categoria) VALUES
-    ('Tomate', 5.90, 100, CURRENT_DATE + INTERVAL '7 days', (SELECT id_categoria FROM categoria WHERE nome = 'Legumes' LIMIT 1)),
-    ('Cenoura', 3.20, 90, CURRENT_DATE + INTERVAL '10 days', (SELECT id_categoria FROM categoria WHERE nome = 'Legumes' LIMIT 1)),
-    ('Pepino', 4.50, 60, CURRENT_DATE + INTERVAL '6 days', (SELECT id_categoria FROM categoria WHERE nome = 'Legumes' LIMIT 1)),
-    ('Abobrinha', 6.80, 50, CURRENT_DATE + INTERVAL '8 days', (SELECT id_categoria FROM categoria WHERE nome = 'Legumes' LIMIT 1))
+INSERT INTO produto (id_produto, nome, preco, quantidade, dt_validade, id_categoria) VALUES
+    (nextval('produto_seq'), 'Tomate', 5.90, 100, CURRENT_DATE + INTERVAL '7 days', (SELECT id_categoria FROM categoria WHERE nome = 'Legumes' LIMIT 1)),
+    (nextval('produto_seq'), 'Cenoura', 3.20, 90, CURRENT_DATE + INTERVAL '10 days', (SELECT id_categoria FROM categoria WHERE nome = 'Legumes' LIMIT 1)),
+    (nextval('produto_seq'), 'Pepino', 4.50, 60, CURRENT_DATE + INTERVAL '6 days', (SELECT id_categoria FROM categoria WHERE nome = 'Legumes' LIMIT 1)),
+    (nextval('produto_seq'), 'Abobrinha', 6.80, 50, CURRENT_DATE + INTERVAL '8 days', (SELECT id_categoria FROM categoria WHERE nome = 'Legumes' LIMIT 1))
 ON CONFLICT DO NOTHING;
 
 -- Temperos
-INSERT INTO produto (nome, preco, quantidade, dt_validade, id_categoria) VALUES
-    ('Salsinha', 2.50, 100, CURRENT_DATE + INTERVAL '5 days', (SELECT id_categoria FROM categoria WHERE nome = 'Temperos' LIMIT 1)),
-    ('Cebolinha', 2.50, 100, CURRENT_DATE + INTERVAL '5 days', (SELECT id_categoria FROM categoria WHERE nome = 'Temperos' LIMIT 1)),
-    ('Alho', 18.90, 80, CURRENT_DATE + INTERVAL '15 days', (SELECT id_categoria FROM categoria WHERE nome = 'Temperos' LIMIT 1)),
-    ('Gengibre', 12.50, 40, CURRENT_DATE + INTERVAL '12 days', (SELECT id_categoria FROM categoria WHERE nome = 'Temperos' LIMIT 1))
+INSERT INTO produto (id_produto, nome, preco, quantidade, dt_validade, id_categoria) VALUES
+    (nextval('produto_seq'), 'Salsinha', 2.50, 100, CURRENT_DATE + INTERVAL '5 days', (SELECT id_categoria FROM categoria WHERE nome = 'Temperos' LIMIT 1)),
+    (nextval('produto_seq'), 'Cebolinha', 2.50, 100, CURRENT_DATE + INTERVAL '5 days', (SELECT id_categoria FROM categoria WHERE nome = 'Temperos' LIMIT 1)),
+    (nextval('produto_seq'), 'Alho', 18.90, 80, CURRENT_DATE + INTERVAL '15 days', (SELECT id_categoria FROM categoria WHERE nome = 'Temperos' LIMIT 1)),
+    (nextval('produto_seq'), 'Gengibre', 12.50, 40, CURRENT_DATE + INTERVAL '12 days', (SELECT id_categoria FROM categoria WHERE nome = 'Temperos' LIMIT 1))
 ON CONFLICT DO NOTHING;
 
 -- ============================================
 -- CRIAR ESTOQUE PARA OS PRODUTOS
 -- ============================================
 
-INSERT INTO estoque (id_produto, quant_produtos)
-SELECT id_produto, quantidade
+INSERT INTO estoque (id_estoque, id_produto, quant_produtos)
+SELECT nextval('estoque_seq'), id_produto, quantidade
 FROM produto
 ON CONFLICT DO NOTHING;
 
@@ -0,0 +1,39 @@
+-- ============================================
+-- AJUSTE DAS SEQUÊNCIAS DE CHAVE PRIMÁRIA
+-- ============================================
+-- As entidades passaram a gerar ids por sequência (<tabela>_seq, incremento 50)
+-- para permitir inserts em lote no Hibernate. Em bancos criados antes dessa
+-- mudança, execute este script manualmente APÓS a aplicação subir uma vez,
+-- para que as sequências (otimizador pooled-lo) continuem a partir do maior
+-- id já existente.
+-- Na primeira inicialização do container as tabelas e sequências ainda não
+-- existem; o script só ajusta o que já foi criado e não interrompe o init.
+-- ============================================
+
+\c hortifruti_db;
+
+DO $$
+DECLARE
+    v_ajuste RECORD;
+BEGIN
+    FOR v_ajuste IN
+        SELECT * FROM (VALUES
+            ('categoria_seq',   'categoria',   'id_categoria'),
+            ('produto_seq',     'produto',     'id_produto'),
+            ('estoque_seq',     'estoque',     'id_estoque'),
+            ('fornecedor_seq',  'fornecedor',  'id_fornecedor'),
+            ('compra_seq',      'compra',      'id_compra'),
+            ('item_compra_seq', 'item_compra', 'id_item_compra'),
+            ('pagamento_seq',   'pagamento',   'id_pagamento'),
+            ('perfil_seq',      'perfil',      'id_perfil'),
+            ('usuario_seq',     'usuario',     'id_usuario')
+        ) AS ajuste (sequencia, tabela, coluna)
+    LOOP
+        IF to_regclass(v_ajuste.sequencia) IS NULL OR to_regclass(v_ajuste.tabela) IS NULL THEN
+            RAISE NOTICE 'Sequência % ou tabela % ainda não existe; ajuste ignorado', v_ajuste.sequencia, v_ajuste.tabela;
+            CONTINUE;
+        END IF;
+        EXECUTE format('SELECT setval(%L, (SELECT COALESCE(MAX(%I), 0) + 1 FROM %I), false)',
+                       v_ajuste.sequencia, v_ajuste.coluna, v_ajuste.tabela);
+    END LOOP;
+END $$;
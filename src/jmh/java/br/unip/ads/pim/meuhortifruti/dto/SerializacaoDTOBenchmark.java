@@ -0,0 +1,102 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import br.unip.ads.pim.meuhortifruti.config.ApplicationConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a serialização de listas de DTOs com o mesmo {@link ObjectMapper} registrado em
+ * {@link ApplicationConfig}, que é o usado pelos controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoDTOBenchmark {
+
+    @Param({"100", "1000"})
+    private int quantidade;
+
+    private ObjectMapper objectMapper;
+    private List<ProdutoResponseDTO> produtos;
+    private List<CompraResponseDTO> compras;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        objectMapper = new ApplicationConfig().objectMapper();
+
+        produtos = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            produtos.add(produto(i));
+        }
+
+        compras = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            List<ItemCompraResponseDTO> itens = new ArrayList<>();
+            BigDecimal total = BigDecimal.ZERO;
+            for (int j = 1; j <= 5; j++) {
+                ProdutoResponseDTO produto = produtos.get((i * j) % quantidade);
+                itens.add(ItemCompraResponseDTO.builder()
+                        .idItemCompra(i * 10 + j)
+                        .produto(produto)
+                        .preco(produto.getPreco())
+                        .quantidade(j)
+                        .build());
+                total = total.add(produto.getPreco().multiply(BigDecimal.valueOf(j)));
+            }
+            compras.add(CompraResponseDTO.builder()
+                    .idCompra(i)
+                    .statusCompra("FINALIZADA")
+                    .itensCompra(itens)
+                    .pagamento(PagamentoResponseDTO.builder()
+                            .idPagamento(i)
+                            .valor(total)
+                            .formaPagamento("PIX")
+                            .statusPagamento("APROVADO")
+                            .build())
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarProdutos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(produtos);
+    }
+
+    @Benchmark
+    public byte[] serializarCompras() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(compras);
+    }
+
+    private ProdutoResponseDTO produto(int id) {
+        return ProdutoResponseDTO.builder()
+                .idProduto(id)
+                .idCategoria(1 + id % 5)
+                .nome("Produto " + id)
+                .preco(new BigDecimal("4.99").add(BigDecimal.valueOf(id % 100, 2)))
+                .quantidadeEstoque(id % 500)
+                .dataEntrega(LocalDate.of(2025, 1, 1).plusDays(id % 30))
+                .dtValidade(LocalDate.of(2025, 2, 1).plusDays(id % 60))
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.config.IndiceBuscaProdutoInitializer;
+import br.unip.ads.pim.meuhortifruti.service.ProdutoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mede a consulta de {@link ProdutoRepository#SQL_BUSCA_POR_SIMILARIDADE} sobre 100 mil produtos
+ * com o índice GiST de trigramas. Precisa de um PostgreSQL com pg_trgm (o do docker-compose serve),
+ * configurado por BENCH_DB_URL, BENCH_DB_USER e BENCH_DB_PASSWORD. Os dados ficam no schema
+ * {@value #SCHEMA}, recriado a cada execução, sem tocar nas tabelas da aplicação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuscaProdutoBenchmark {
+
+    private static final String SCHEMA = "busca_benchmark";
+    private static final int PRODUTOS = 100_000;
+    private static final int TAMANHO_PAGINA = 20;
+
+    private static final String[] NOMES = {
+            "Abóbora Moranga", "Abobrinha Italiana", "Alface Crespa", "Alface Americana", "Banana Prata",
+            "Banana Nanica", "Batata Doce", "Berinjela", "Beterraba", "Brócolis Ninja", "Cebola Roxa",
+            "Cenoura", "Chuchu", "Couve Manteiga", "Laranja Pera", "Limão Taiti", "Maçã Fuji",
+            "Mamão Formosa", "Manga Palmer", "Maracujá Azedo", "Melancia", "Morango", "Pepino Japonês",
+            "Pimentão Vermelho", "Repolho Verde", "Rúcula", "Tomate Italiano", "Uva Niágara"
+    };
+    private static final String[] ORIGENS = {
+            "Orgânico", "Hidropônico", "Granel", "Bandeja", "Maço", "Caixa", "Premium", "Da Estação"
+    };
+
+    @Param({"moranga", "alfce", "tomate italiano"})
+    private String termo;
+
+    private Connection conexao;
+    private PreparedStatement consulta;
+    private int[] ordemParametros;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        conexao = DriverManager.getConnection(
+                variavel("BENCH_DB_URL", "jdbc:postgresql://localhost:5432/hortifruti_db"),
+                variavel("BENCH_DB_USER", "hortifruti_user"),
+                variavel("BENCH_DB_PASSWORD", "hortifruti_pass"));
+        try (Statement ddl = conexao.createStatement()) {
+            ddl.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            ddl.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            ddl.execute("CREATE SCHEMA " + SCHEMA);
+            ddl.execute("SET search_path TO " + SCHEMA + ", public");
+            ddl.execute("CREATE TABLE produto (id_produto integer PRIMARY KEY, nome varchar(200) NOT NULL, " +
+                    "\"preço\" numeric(10,2), quantidade_estoque integer, data date, dt_validade date)");
+            ddl.execute("INSERT INTO produto " +
+                    "SELECT g, (" + arraySql(NOMES) + ")[1 + g % " + NOMES.length + "] || ' ' || " +
+                    "(" + arraySql(ORIGENS) + ")[1 + (g / " + NOMES.length + ") % " + ORIGENS.length + "] || " +
+                    "' lote ' || g, 5.90, 100, current_date, current_date + 10 " +
+                    "FROM generate_series(1, " + PRODUTOS + ") g");
+            ddl.execute(IndiceBuscaProdutoInitializer.SQL_CRIAR_INDICE);
+            ddl.execute("ANALYZE produto");
+            ddl.execute("SET pg_trgm.word_similarity_threshold = " + ProdutoService.LIMIAR_SIMILARIDADE_BUSCA);
+        }
+        // JDBC puro não entende os marcadores numerados do Spring Data (?1 = termo, ?2 = limite,
+        // ?3 = deslocamento); cada ocorrência vira um "?" e a ordem é guardada para o bind
+        Matcher marcador = Pattern.compile("\\?(\\d)").matcher(ProdutoRepository.SQL_BUSCA_POR_SIMILARIDADE);
+        List<Integer> ordem = new ArrayList<>();
+        while (marcador.find()) {
+            ordem.add(Integer.parseInt(marcador.group(1)));
+        }
+        ordemParametros = ordem.stream().mapToInt(Integer::intValue).toArray();
+        consulta = conexao.prepareStatement(marcador.replaceAll("?"));
+    }
+
+    @Benchmark
+    public void buscar(Blackhole blackhole) throws SQLException {
+        for (int i = 0; i < ordemParametros.length; i++) {
+            switch (ordemParametros[i]) {
+                case 1 -> consulta.setString(i + 1, termo);
+                case 2 -> consulta.setInt(i + 1, TAMANHO_PAGINA + 1);
+                default -> consulta.setLong(i + 1, 0);
+            }
+        }
+        try (ResultSet resultado = consulta.executeQuery()) {
+            while (resultado.next()) {
+                blackhole.consume(resultado.getInt(1));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws SQLException {
+        try (Statement ddl = conexao.createStatement()) {
+            ddl.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        } finally {
+            conexao.close();
+        }
+    }
+
+    private static String arraySql(String[] valores) {
+        return "ARRAY['" + String.join("','", valores) + "']";
+    }
+
+    private static String variavel(String nome, String padrao) {
+        String valor = System.getenv(nome);
+        return valor == null || valor.isBlank() ? padrao : valor;
+    }
+}
@@ -0,0 +1,93 @@
+package br.unip.ads.pim.meuhortifruti.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o {@link JwtAuthConverter#convert(Jwt)} com um token no formato emitido pelo
+ * Keycloak do realm hortifruti-realm (scope, realm_access e resource_access).
+ * {@link #convertTokenRepetido} é o acerto do cache (o mesmo token a cada requisição);
+ * {@link #convertTokenNovo} é a falta, com um {@code jti} novo por chamada, que extrai as
+ * authorities e grava no cache. O token novo é montado dentro da medição, e
+ * {@link #criarTokenNovo} mede só essa montagem para descontá-la.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthConverterBenchmark {
+
+    private JwtAuthConverter jwtAuthConverter;
+    private Jwt jwt;
+    private long sequenciaJti;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        jwtAuthConverter = new JwtAuthConverter();
+
+        Instant emitidoEm = Instant.now();
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .header("typ", "JWT")
+                .header("kid", "Jq6VkxY3bP0u8KZ6sW3F1nVv2Qe9dJr5tXo7aLmC4hE")
+                .issuer("http://localhost:8180/realms/hortifruti-realm")
+                .subject("5f0c2a8e-7d41-4c55-9f3b-2e6a1b9d8c70")
+                .audience(List.of("hortifruti-backend", "account"))
+                .issuedAt(emitidoEm)
+                .expiresAt(emitidoEm.plusSeconds(300))
+                .claim("azp", "hortifruti-frontend")
+                .claim("typ", "Bearer")
+                .claim("scope", "openid profile email")
+                .claim("preferred_username", "admin")
+                .claim("email", "admin@hortifruti.com")
+                .claim("email_verified", true)
+                .claim("realm_access", Map.of(
+                        "roles", List.of("offline_access", "uma_authorization", "default-roles-hortifruti-realm")))
+                .claim("resource_access", Map.of(
+                        "hortifruti-backend", Map.of("roles", List.of("ADMIN", "CLIENTE")),
+                        "account", Map.of("roles", List.of("manage-account", "view-profile"))))
+                .build();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convertTokenRepetido() {
+        return jwtAuthConverter.convert(jwt);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convertTokenNovo() {
+        return jwtAuthConverter.convert(tokenNovo());
+    }
+
+    @Benchmark
+    public Jwt criarTokenNovo() {
+        return tokenNovo();
+    }
+
+    // Mesmos headers e claims do token repetido, com outro jti: a chave do cache nunca se repete
+    private Jwt tokenNovo() {
+        return Jwt.withTokenValue("token")
+                .headers(headers -> headers.putAll(jwt.getHeaders()))
+                .claims(claims -> claims.putAll(jwt.getClaims()))
+                .jti(Long.toString(++sequenciaJti))
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.ApplicationConfig;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.Fornecedor;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoResumo;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Mede a conversão entidade → DTO e o {@code listarTodas} sem cache nem banco: o
+ * repositório é um mock que devolve sempre a mesma lista de {@code quantidade} produtos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProdutoServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int quantidade;
+
+    private ProdutoService produtoService;
+    private Produto produto;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Categoria categoria = Categoria.builder().idCategoria(1).nome("Frutas").build();
+        Fornecedor fornecedor = Fornecedor.builder()
+                .idFornecedor(1)
+                .nome("Ceasa Campinas")
+                .cnpj("12345678000199")
+                .telefone("19999990000")
+                .email("contato@ceasa.com.br")
+                .endereco("Rod. Dom Pedro I, km 140")
+                .produtosFornecidos("Frutas, legumes e verduras")
+                .build();
+
+        List<Produto> produtos = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            produtos.add(Produto.builder()
+                    .idProduto(i)
+                    .nome("Produto " + i)
+                    .preco(new BigDecimal("4.99").add(BigDecimal.valueOf(i % 100, 2)))
+                    .quantidadeEstoque(i % 500)
+                    .dataEntrega(LocalDate.of(2025, 1, 1).plusDays(i % 30))
+                    .dtValidade(LocalDate.of(2025, 2, 1).plusDays(i % 60))
+                    .categoria(categoria)
+                    .fornecedor(fornecedor)
+                    .build());
+        }
+        produto = produtos.get(0);
+
+        List<ProdutoResumo> resumos = produtos.stream()
+                .map(p -> new ProdutoResumo(p.getIdProduto(), p.getNome(), p.getPreco(), p.getQuantidadeEstoque(),
+                        p.getDataEntrega(), p.getDtValidade(), fornecedor.getIdFornecedor(), fornecedor.getNome(),
+                        fornecedor.getCnpj(), fornecedor.getTelefone(), fornecedor.getEmail(),
+                        fornecedor.getEndereco(), fornecedor.getProdutosFornecidos()))
+                .toList();
+        ProdutoRepository produtoRepository = mock(ProdutoRepository.class);
+        when(produtoRepository.listarResumos()).thenReturn(resumos);
+
+        produtoService = new ProdutoService(
+                produtoRepository, new ApplicationConfig().objectMapper(), mock(EntityManager.class),
+                mock(IndiceAutocompletarProdutos.class), mock(VersaoCatalogoService.class),
+                mock(SincronizacaoService.class));
+    }
+
+    @Benchmark
+    public ProdutoResponseDTO converterParaDTO() {
+        return produtoService.converterParaDTO(produto);
+    }
+
+    @Benchmark
+    public List<ProdutoResponseDTO> listarTodas() {
+        return produtoService.listarTodas("produtos-1");
+    }
+}
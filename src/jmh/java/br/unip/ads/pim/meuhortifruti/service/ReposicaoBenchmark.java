@@ -0,0 +1,76 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.dto.SugestaoCompraDTO;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ItemReposicao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o {@link PainelReposicao} com {@code produtos} SKUs espalhados por {@code fornecedores}
+ * fornecedores, uns 10% no ponto de reposição: a carga completa, uma atualização de saldo vinda do
+ * log (que cruza o ponto em metade das vezes) e a montagem de todas as sugestões.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReposicaoBenchmark {
+
+    @Param({"100000"})
+    private int produtos;
+
+    @Param({"500"})
+    private int fornecedores;
+
+    private List<ItemReposicao> carga;
+    private PainelReposicao painel;
+    private SplittableRandom aleatorio;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        SplittableRandom sementes = new SplittableRandom(42);
+        carga = new ArrayList<>(produtos);
+        for (int id = 1; id <= produtos; id++) {
+            int quantidade = sementes.nextInt(10) == 0 ? sementes.nextInt(0, 10) : sementes.nextInt(11, 100);
+            carga.add(new ItemReposicao(id, "Produto " + id, id % fornecedores + 1, id, quantidade, 10, 100));
+        }
+        painel = new PainelReposicao();
+        painel.carregar(carga);
+        aleatorio = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public PainelReposicao carregar() {
+        PainelReposicao novo = new PainelReposicao();
+        novo.carregar(carga);
+        return novo;
+    }
+
+    @Benchmark
+    public void atualizarEstoque() {
+        int id = aleatorio.nextInt(1, produtos + 1);
+        painel.atualizarEstoque(id, id, aleatorio.nextInt(0, 21));
+    }
+
+    @Benchmark
+    public List<SugestaoCompraDTO> sugestoes() {
+        return painel.sugestoes();
+    }
+}
@@ -0,0 +1,15 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Liga os jobs {@code @Scheduled}. Com mais de uma instância, deixe habilitado em apenas uma
+ * ({@code AGENDAMENTO_HABILITADO=false} nas demais).
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.agendamento.habilitado", havingValue = "true", matchIfMissing = true)
+public class AgendamentoConfig {
+}
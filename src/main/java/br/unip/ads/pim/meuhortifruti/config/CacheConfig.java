@@ -0,0 +1,14 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUTOS = "produtos";
+    public static final String PRODUTOS_LISTA = "produtosLista";
+    public static final String CATEGORIAS = "categorias";
+    public static final String CATEGORIAS_LISTA = "categoriasLista";
+}
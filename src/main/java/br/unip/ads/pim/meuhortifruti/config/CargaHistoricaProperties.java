@@ -0,0 +1,24 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.carga-historica")
+@Data
+public class CargaHistoricaProperties {
+
+    /**
+     * Compras mescladas por transação. Cada lote confirmado avança o ponto de retomada, então um
+     * lote menor perde menos trabalho numa falha e um maior faz menos viagens ao banco.
+     */
+    private int lote = 50000;
+    /**
+     * Tempo sem avanço depois do qual uma mesclagem em andamento é considerada abandonada (a
+     * instância caiu no meio) e pode ser retomada.
+     */
+    private Duration abandono = Duration.ofMinutes(5);
+}
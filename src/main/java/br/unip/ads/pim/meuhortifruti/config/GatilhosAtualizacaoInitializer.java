@@ -0,0 +1,72 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+/**
+ * Liga a função {@code update_updated_at_column} do 01-init-database.sql às tabelas do catálogo,
+ * para que o {@code updated_at} (base do ETag de cada item) mude também em escritas feitas fora do
+ * JPA. Pelo JPA o {@code @UpdateTimestamp} já cuida disso. Como o índice de busca, fica aqui porque
+ * as tabelas são criadas pelo Hibernate depois dos scripts; a função é recriada para bancos criados
+ * sem eles. Só se aplica ao PostgreSQL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GatilhosAtualizacaoInitializer implements ApplicationRunner {
+
+    static final String SQL_CRIAR_FUNCAO = """
+            CREATE OR REPLACE FUNCTION update_updated_at_column()
+            RETURNS TRIGGER AS $$
+            BEGIN
+                NEW.updated_at = CURRENT_TIMESTAMP;
+                RETURN NEW;
+            END;
+            $$ language 'plpgsql'""";
+
+    static final List<String> TABELAS = List.of("produto", "categoria", "fornecedor");
+
+    private final DataSource dataSource;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!isPostgres()) {
+            return;
+        }
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute(SQL_CRIAR_FUNCAO);
+            for (String tabela : TABELAS) {
+                jdbcTemplate.execute(sqlCriarGatilho(tabela));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível criar os gatilhos de updated_at: {}", e.getMessage());
+        }
+    }
+
+    static String sqlCriarGatilho(String tabela) {
+        return "CREATE OR REPLACE TRIGGER trg_" + tabela + "_updated_at BEFORE UPDATE ON " + tabela +
+                " FOR EACH ROW EXECUTE FUNCTION update_updated_at_column()";
+    }
+
+    private boolean isPostgres() {
+        try {
+            String banco = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(banco);
+        } catch (MetaDataAccessException e) {
+            log.warn("Não foi possível identificar o banco de dados: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import br.unip.ads.pim.meuhortifruti.service.IdempotenciaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registra o {@link IdempotenciaFilter} nos POSTs que os terminais de caixa repetem quando a rede
+ * falha. A ordem mais baixa o põe depois do filtro do Spring Security.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.idempotencia.habilitado", havingValue = "true", matchIfMissing = true)
+public class IdempotenciaConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotenciaFilter> idempotenciaFilter(IdempotenciaService idempotenciaService,
+                                                                         ObjectMapper objectMapper) {
+        FilterRegistrationBean<IdempotenciaFilter> registro =
+                new FilterRegistrationBean<>(new IdempotenciaFilter(idempotenciaService, objectMapper));
+        registro.addUrlPatterns("/v1/compras", "/v1/pagamentos");
+        registro.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registro;
+    }
+}
@@ -0,0 +1,208 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import br.unip.ads.pim.meuhortifruti.exception.ErrorResponse;
+import br.unip.ads.pim.meuhortifruti.service.IdempotenciaService;
+import br.unip.ads.pim.meuhortifruti.service.IdempotenciaService.Reserva;
+import br.unip.ads.pim.meuhortifruti.service.IdempotenciaService.Resposta;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Trata o cabeçalho {@code Idempotency-Key} dos POSTs em que foi registrado. A primeira requisição
+ * com a chave segue normalmente e a resposta fica guardada; as repetições com o mesmo corpo
+ * recebem a resposta guardada, com {@code Idempotent-Replayed: true}, sem chegar ao controller.
+ * A chave vale por usuário e caminho: a mesma chave em outro endpoint ou de outro usuário é outra
+ * requisição. Só o status, o tipo e o corpo da resposta são guardados, e respostas 5xx não: a
+ * chave é liberada para a próxima tentativa.
+ *
+ * <p>Roda depois da cadeia do Spring Security, que já autenticou o usuário.
+ */
+@Slf4j
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO = "Idempotency-Key";
+    public static final String CABECALHO_REPETIDA = "Idempotent-Replayed";
+
+    static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final IdempotenciaService idempotenciaService;
+    private final ObjectMapper objectMapper;
+
+    public IdempotenciaFilter(IdempotenciaService idempotenciaService, ObjectMapper objectMapper) {
+        this.idempotenciaService = idempotenciaService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(CABECALHO) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String valor = request.getHeader(CABECALHO).strip();
+        if (valor.isEmpty() || valor.length() > TAMANHO_MAXIMO_CHAVE) {
+            responderErro(request, response, HttpStatus.BAD_REQUEST,
+                    "O cabeçalho " + CABECALHO + " deve ter de 1 a " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+            return;
+        }
+        // O corpo é lido antes para comparar com o da requisição original; o controller lê a cópia
+        byte[] corpo = request.getInputStream().readAllBytes();
+        String chave = resumir((usuario() + "\n" + request.getRequestURI() + "\n" + valor).getBytes(StandardCharsets.UTF_8));
+        String impressao = resumir(corpo);
+
+        Reserva reserva = idempotenciaService.reservar(chave, impressao);
+        switch (reserva.situacao()) {
+            case REPETIDA -> repetir(reserva.resposta(), response);
+            case EM_ANDAMENTO -> responderErro(request, response, HttpStatus.CONFLICT,
+                    "A requisição com esta " + CABECALHO + " ainda está em processamento");
+            case DIVERGENTE -> responderErro(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Esta " + CABECALHO + " já foi usada com outro corpo de requisição");
+            case RESERVADA -> processar(new CorpoLidoRequest(request, corpo), response, chain, chave, impressao);
+        }
+    }
+
+    private void processar(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                           String chave, String impressao) throws ServletException, IOException {
+        ContentCachingResponseWrapper resposta = new ContentCachingResponseWrapper(response);
+        boolean concluida = false;
+        try {
+            chain.doFilter(request, resposta);
+            if (resposta.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                idempotenciaService.concluir(chave, impressao, new Resposta(
+                        resposta.getStatus(), resposta.getContentType(), resposta.getContentAsByteArray()));
+                concluida = true;
+            }
+        } finally {
+            if (!concluida) {
+                idempotenciaService.liberar(chave);
+            }
+            resposta.copyBodyToResponse();
+        }
+    }
+
+    private void repetir(Resposta resposta, HttpServletResponse response) throws IOException {
+        log.debug("Repetindo resposta {} de {}", resposta.status(), CABECALHO);
+        response.setStatus(resposta.status());
+        if (resposta.tipoConteudo() != null) {
+            response.setContentType(resposta.tipoConteudo());
+        }
+        response.setHeader(CABECALHO_REPETIDA, "true");
+        response.setContentLength(resposta.corpo().length);
+        response.getOutputStream().write(resposta.corpo());
+    }
+
+    private void responderErro(HttpServletRequest request, HttpServletResponse response,
+                               HttpStatus status, String mensagem) throws IOException {
+        log.warn("{}: {}", CABECALHO, mensagem);
+        ErrorResponse erro = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(mensagem)
+                .path(request.getRequestURI())
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), erro);
+    }
+
+    private static String usuario() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacao != null ? autenticacao.getName() : "";
+    }
+
+    private static String resumir(byte[] conteudo) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Entrega ao restante da cadeia o corpo que o filtro já leu. */
+    private static class CorpoLidoRequest extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        CorpoLidoRequest(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] destino, int inicio, int tamanho) {
+                    return entrada.read(destino, inicio, tamanho);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String codificacao = getCharacterEncoding();
+            Charset charset = codificacao != null ? Charset.forName(codificacao) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return corpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return corpo.length;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.idempotencia")
+@Data
+public class IdempotenciaProperties {
+
+    /** Sem o filtro, o cabeçalho {@code Idempotency-Key} é ignorado. */
+    private boolean habilitado = true;
+    /** Por quanto tempo uma chave devolve a resposta guardada; depois disso ela pode ser reutilizada. */
+    private Duration ttl = Duration.ofHours(24);
+    /**
+     * Memória das chaves, medida pelo corpo das respostas guardadas; acima disso as menos usadas
+     * saem primeiro.
+     */
+    private DataSize maximoMemoria = DataSize.ofMegabytes(64);
+    /** Resposta maior que isso não fica em memória; sem {@link #persistir} a repetição é processada de novo. */
+    private DataSize maximoResposta = DataSize.ofKilobytes(256);
+    /**
+     * Grava as respostas também na tabela {@code chave_idempotencia}, para valerem entre
+     * instâncias e depois de um reinício. A memória continua na frente do banco.
+     */
+    private boolean persistir = false;
+    /**
+     * Tempo depois do qual uma chave gravada como em andamento, de uma instância que caiu no meio
+     * da requisição, pode ser assumida por outra tentativa.
+     */
+    private Duration abandono = Duration.ofMinutes(1);
+}
@@ -0,0 +1,19 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.importacao")
+@Data
+public class ImportacaoProperties {
+
+    /**
+     * Linhas por lote. Cada lote é uma transação com uma consulta {@code IN} pelos nomes e as
+     * gravações em batches JDBC desse mesmo tamanho; a memória usada não passa de um lote.
+     */
+    private int lote = 500;
+    /** Erros detalhados no relatório; os seguintes só entram na contagem. */
+    private int maximoErros = 1000;
+}
@@ -0,0 +1,56 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Cria o índice GiST de trigramas usado pela busca de produtos. Fica aqui, e não nos scripts
+ * de init-scripts, porque a tabela produto é criada pelo Hibernate depois que eles rodam.
+ * A extensão pg_trgm já vem do 01-init-database.sql, mas é garantida aqui para bancos criados
+ * sem os scripts. Só se aplica ao PostgreSQL; em outros bancos (H2 nos testes) não faz nada.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndiceBuscaProdutoInitializer implements ApplicationRunner {
+
+    static final String SQL_CRIAR_EXTENSAO = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+    public static final String SQL_CRIAR_INDICE =
+            "CREATE INDEX IF NOT EXISTS idx_produto_nome_trgm ON produto USING gist (nome gist_trgm_ops)";
+
+    private final DataSource dataSource;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!isPostgres()) {
+            return;
+        }
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute(SQL_CRIAR_EXTENSAO);
+            jdbcTemplate.execute(SQL_CRIAR_INDICE);
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível criar o índice de busca por trigramas: {}", e.getMessage());
+        }
+    }
+
+    private boolean isPostgres() {
+        try {
+            String banco = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(banco);
+        } catch (MetaDataAccessException e) {
+            log.warn("Não foi possível identificar o banco de dados: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 @ConfigurationProperties(prefix = "app.keycloak")
 @Data
@@ -12,4 +14,6 @@ public class KeycloakProperties {
     private String realm;
     private String clientId;
     private String clientSecret;
+    private Duration jwksIntervaloAtualizacao = Duration.ofMinutes(5);
+    private Duration jwksIntervaloMinimoRecarga = Duration.ofSeconds(30);
 }
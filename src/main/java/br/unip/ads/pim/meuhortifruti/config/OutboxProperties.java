@@ -0,0 +1,29 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.outbox")
+@Data
+public class OutboxProperties {
+
+    /**
+     * Liga o relay nesta instância. Ao contrário dos jobs {@code @Scheduled}, pode ficar ligado em
+     * todas: cada instância reserva lotes diferentes com {@code SKIP LOCKED}.
+     */
+    private boolean relayHabilitado = true;
+    /** Threads de relay por instância. */
+    private int threads = 1;
+    /** Eventos reservados e entregues por transação. */
+    private int lote = 200;
+    /** Espera entre rodadas quando a fila esvazia. */
+    private Duration intervalo = Duration.ofMillis(500);
+    /** Tentativas antes de o evento parar na fila com o último erro, fora do relay. */
+    private int maximoTentativas = 10;
+    /** Teto da espera entre tentativas; a espera dobra a cada falha a partir de 1 s. */
+    private Duration esperaMaxima = Duration.ofMinutes(5);
+}
@@ -0,0 +1,69 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Ativo quando {@code app.datasource.replica.url} (variável DB_REPLICA_URL) está definido. Cria um
+ * pool Hikari para o primário e outro para a réplica, cada um com o seu nome (e, portanto, com as
+ * suas métricas {@code hikaricp.*}), e expõe como {@code DataSource} principal um
+ * {@link LazyConnectionDataSourceProxy}: ele só pega a conexão física no primeiro comando, quando
+ * o {@code @Transactional(readOnly = true)} já marcou a conexão como somente leitura, e aí a busca
+ * em {@link ReplicaLeituraDataSource}. Escritas e código fora de transação seguem no primário.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.url:}'.isBlank()")
+public class ReplicaLeituraConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties propriedades) {
+        HikariDataSource dataSource = propriedades.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("hortifruti-primario");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties propriedades, ReplicaProperties replica) {
+        HikariDataSource dataSource = propriedades.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(StringUtils.hasText(replica.getUsername()) ? replica.getUsername() : propriedades.determineUsername())
+                .password(StringUtils.hasText(replica.getPassword()) ? replica.getPassword() : propriedades.determinePassword())
+                .build();
+        dataSource.setPoolName("hortifruti-replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLeituraDataSource leituraDataSource(@Qualifier("primarioDataSource") DataSource primario,
+                                                      @Qualifier("replicaDataSource") DataSource replica,
+                                                      ReplicaProperties propriedades,
+                                                      MeterRegistry meterRegistry) {
+        return new ReplicaLeituraDataSource(primario, replica, propriedades, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primarioDataSource") DataSource primario,
+                                 ReplicaLeituraDataSource leitura) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primario);
+        dataSource.setReadOnlyDataSource(leitura);
+        return dataSource;
+    }
+}
@@ -0,0 +1,149 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Destino das conexões somente leitura: a réplica enquanto ela estiver acessível e com atraso de
+ * replicação dentro do limite, senão o primário. O atraso é medido em segundo plano a cada
+ * {@code intervaloVerificacao}, fora do caminho das requisições; até a primeira medição, e sempre
+ * que a réplica recusar uma conexão, as leituras vão para o primário.
+ */
+@Slf4j
+public class ReplicaLeituraDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+
+    static final String METRICA_ATRASO = "hortifruti.datasource.replica.atraso";
+    static final String METRICA_DISPONIVEL = "hortifruti.datasource.replica.disponivel";
+    static final String METRICA_LEITURAS = "hortifruti.datasource.leituras";
+
+    private static final int TIMEOUT_VERIFICACAO_SEGUNDOS = 2;
+
+    private final DataSource primario;
+    private final DataSource replica;
+    private final String consultaAtraso;
+    private final double atrasoMaximoSegundos;
+    private final Duration intervaloVerificacao;
+    private final Counter leiturasReplica;
+    private final Counter leiturasPrimario;
+    private final ScheduledExecutorService executor;
+
+    private volatile boolean replicaDisponivel;
+    private volatile double atrasoSegundos = Double.NaN;
+
+    public ReplicaLeituraDataSource(DataSource primario, DataSource replica, ReplicaProperties propriedades,
+                                    MeterRegistry meterRegistry) {
+        this.primario = primario;
+        this.replica = replica;
+        this.consultaAtraso = propriedades.getConsultaAtraso();
+        this.atrasoMaximoSegundos = propriedades.getAtrasoMaximo().toMillis() / 1000.0;
+        this.intervaloVerificacao = propriedades.getIntervaloVerificacao();
+        this.leiturasReplica = Counter.builder(METRICA_LEITURAS)
+                .description("Conexões somente leitura entregues, por destino")
+                .tag("destino", "replica")
+                .register(meterRegistry);
+        this.leiturasPrimario = Counter.builder(METRICA_LEITURAS)
+                .description("Conexões somente leitura entregues, por destino")
+                .tag("destino", "primario")
+                .register(meterRegistry);
+        Gauge.builder(METRICA_ATRASO, this, fonte -> fonte.atrasoSegundos)
+                .description("Último atraso de replicação medido, em segundos")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder(METRICA_DISPONIVEL, this, fonte -> fonte.replicaDisponivel ? 1 : 0)
+                .description("1 quando as leituras estão indo para a réplica")
+                .register(meterRegistry);
+        this.executor = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "replica-verificacao");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long intervalo = intervaloVerificacao.toMillis();
+        executor.scheduleWithFixedDelay(this::verificar, 0, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicaDisponivel) {
+            try {
+                Connection conexao = replica.getConnection();
+                leiturasReplica.increment();
+                return conexao;
+            } catch (SQLException e) {
+                marcarIndisponivel("falha ao obter conexão: " + e.getMessage());
+            }
+        }
+        leiturasPrimario.increment();
+        return primario.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        leiturasPrimario.increment();
+        return primario.getConnection(username, password);
+    }
+
+    public boolean isReplicaDisponivel() {
+        return replicaDisponivel;
+    }
+
+    void verificar() {
+        try (Connection conexao = replica.getConnection();
+             Statement comando = conexao.createStatement()) {
+            comando.setQueryTimeout(TIMEOUT_VERIFICACAO_SEGUNDOS);
+            try (ResultSet resultado = comando.executeQuery(consultaAtraso)) {
+                resultado.next();
+                double atraso = resultado.getDouble(1);
+                atrasoSegundos = atraso;
+                if (atraso <= atrasoMaximoSegundos) {
+                    marcarDisponivel(atraso);
+                } else {
+                    marcarIndisponivel(String.format("atraso de %.1f s acima do limite de %.1f s",
+                            atraso, atrasoMaximoSegundos));
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            atrasoSegundos = Double.NaN;
+            marcarIndisponivel("falha na verificação: " + e.getMessage());
+        }
+    }
+
+    private void marcarDisponivel(double atraso) {
+        if (!replicaDisponivel) {
+            replicaDisponivel = true;
+            log.info("Leituras somente leitura indo para a réplica (atraso de {} s)", atraso);
+        }
+    }
+
+    private void marcarIndisponivel(String motivo) {
+        if (replicaDisponivel) {
+            replicaDisponivel = false;
+            log.warn("Leituras voltando para o primário: {}", motivo);
+        } else {
+            log.debug("Réplica continua fora do roteamento: {}", motivo);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource.replica")
+@Data
+public class ReplicaProperties {
+
+    /** JDBC da réplica de leitura; vazio desliga o roteamento e tudo vai para o primário. */
+    private String url;
+    /** Usuário e senha da réplica; vazios, usa os de {@code spring.datasource}. */
+    private String username;
+    private String password;
+    /** Atraso de replicação acima do qual as leituras voltam para o primário. */
+    private Duration atrasoMaximo = Duration.ofSeconds(5);
+    private Duration intervaloVerificacao = Duration.ofSeconds(5);
+    /** Consulta que devolve o atraso da réplica em segundos (0 quando em dia ou fora de recuperação). */
+    private String consultaAtraso = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+}
@@ -0,0 +1,26 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.reposicao")
+@Data
+public class ReposicaoProperties {
+
+    /**
+     * Mantém o painel de reposição em memória nesta instância. Cada instância acompanha o log de
+     * sincronização por conta própria, então pode ficar ligado em todas.
+     */
+    private boolean habilitado = true;
+    /** Espera entre leituras do log de sincronização. */
+    private Duration intervalo = Duration.ofSeconds(1);
+    /**
+     * Intervalo da recarga completa. O log já traz estoque, produto (fornecedor incluído) e ponto
+     * de reposição; a recarga só cobre o que mudar direto no banco.
+     */
+    private Duration recarga = Duration.ofHours(1);
+}
@@ -0,0 +1,20 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.sincronizacao")
+@Data
+public class SincronizacaoProperties {
+
+    /** Alterações do log devolvidas por resposta do sync; o terminal pede a próxima página. */
+    private int limite = 1000;
+    /** Alterações numeradas por rodada do sequenciador. */
+    private int loteSequenciamento = 5000;
+    /** Por quanto tempo o log é mantido; terminais parados há mais tempo baixam o catálogo de novo. */
+    private Duration retencao = Duration.ofDays(7);
+}
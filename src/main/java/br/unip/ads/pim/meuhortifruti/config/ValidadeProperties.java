@@ -0,0 +1,19 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.validade")
+@Data
+public class ValidadeProperties {
+
+    /** Dias à frente considerados "perto do vencimento". */
+    private int horizonteDias = 7;
+    /** Dias para trás em que produtos já vencidos ainda aparecem para retirada. */
+    private int diasVencidos = 7;
+    private int tamanhoLote = 1000;
+    /** Itens guardados no relatório; os demais só entram nas contagens. */
+    private int maximoItens = 5000;
+}
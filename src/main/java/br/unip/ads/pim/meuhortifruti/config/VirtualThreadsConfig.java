@@ -0,0 +1,36 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Ativo com {@code spring.threads.virtual.enabled=true} (variável VIRTUAL_THREADS), que já
+ * coloca o Tomcat, o {@code @Async} e o agendador em virtual threads. Falta só proteger o
+ * pool de conexões, que continua com {@code maximum-pool-size} conexões.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static BeanPostProcessor limitadorConexoesPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new LimitadorConexoesDataSource(
+                            hikari,
+                            hikari.getMaximumPoolSize(),
+                            Duration.ofMillis(hikari.getConnectionTimeout()));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package br.unip.ads.pim.meuhortifruti.controller;
+
+import br.unip.ads.pim.meuhortifruti.dto.CargaHistoricaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.service.CargaHistoricaService;
+import br.unip.ads.pim.meuhortifruti.service.CargaHistoricaService.Arquivo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Carga do histórico de vendas. Os arquivos vão como corpo CSV da requisição, sem multipart, para
+ * o {@code COPY} ler direto do socket sem limite de tamanho nem arquivo temporário.
+ */
+@RestController
+@RequestMapping("/v1/admin/cargas")
+@RequiredArgsConstructor
+public class CargaHistoricaController {
+
+    private static final String CSV = "text/csv";
+
+    private final CargaHistoricaService cargaHistoricaService;
+
+    @PostMapping
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<CargaHistoricaResponseDTO> criar() {
+        CargaHistoricaResponseDTO carga = cargaHistoricaService.criar();
+        return ResponseEntity.status(HttpStatus.CREATED).body(carga);
+    }
+
+    @GetMapping("/{idCarga}")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<CargaHistoricaResponseDTO> buscarPorId(@PathVariable Long idCarga) {
+        CargaHistoricaResponseDTO carga = cargaHistoricaService.buscarPorId(idCarga);
+        return ResponseEntity.ok(carga);
+    }
+
+    @PutMapping(value = "/{idCarga}/compras", consumes = CSV)
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<CargaHistoricaResponseDTO> receberCompras(@PathVariable Long idCarga,
+                                                                    InputStream corpo) throws IOException {
+        CargaHistoricaResponseDTO carga = cargaHistoricaService.receber(idCarga, Arquivo.COMPRAS, corpo);
+        return ResponseEntity.ok(carga);
+    }
+
+    @PutMapping(value = "/{idCarga}/itens", consumes = CSV)
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<CargaHistoricaResponseDTO> receberItens(@PathVariable Long idCarga,
+                                                                  InputStream corpo) throws IOException {
+        CargaHistoricaResponseDTO carga = cargaHistoricaService.receber(idCarga, Arquivo.ITENS, corpo);
+        return ResponseEntity.ok(carga);
+    }
+
+    @PutMapping(value = "/{idCarga}/pagamentos", consumes = CSV)
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<CargaHistoricaResponseDTO> receberPagamentos(@PathVariable Long idCarga,
+                                                                       InputStream corpo) throws IOException {
+        CargaHistoricaResponseDTO carga = cargaHistoricaService.receber(idCarga, Arquivo.PAGAMENTOS, corpo);
+        return ResponseEntity.ok(carga);
+    }
+
+    @PostMapping("/{idCarga}/mesclagem")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<CargaHistoricaResponseDTO> mesclar(@PathVariable Long idCarga) {
+        CargaHistoricaResponseDTO carga = cargaHistoricaService.mesclar(idCarga);
+        return ResponseEntity.accepted().body(carga);
+    }
+
+    @DeleteMapping("/{idCarga}")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<Void> excluir(@PathVariable Long idCarga) {
+        cargaHistoricaService.excluir(idCarga);
+        return ResponseEntity.noContent().build();
+    }
+}
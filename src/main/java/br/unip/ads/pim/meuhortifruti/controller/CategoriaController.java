@@ -2,15 +2,19 @@ package br.unip.ads.pim.meuhortifruti.controller;
 
 import br.unip.ads.pim.meuhortifruti.dto.CategoriaRequestDTO;
 import br.unip.ads.pim.meuhortifruti.dto.CategoriaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VersaoRecursoDTO;
 import br.unip.ads.pim.meuhortifruti.service.CategoriaService;
+import br.unip.ads.pim.meuhortifruti.service.VersaoCatalogoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/v1/categorias")
@@ -18,18 +22,27 @@ import java.util.List;
 public class CategoriaController {
 
     private final CategoriaService categoriaService;
+    private final VersaoCatalogoService versaoCatalogoService;
 
 
     @GetMapping
-    public ResponseEntity<List<CategoriaResponseDTO>> listarTodas() {
-        List<CategoriaResponseDTO> categorias = categoriaService.listarTodas();
-        return ResponseEntity.ok(categorias);
+    public ResponseEntity<List<CategoriaResponseDTO>> listarTodas(WebRequest request) {
+        VersaoRecursoDTO versao = versaoCatalogoService.buscarVersao(VersaoCatalogoService.CATEGORIAS);
+        if (RespostasCondicionais.naoModificado(request, versao)) {
+            return RespostasCondicionais.naoModificada();
+        }
+        List<CategoriaResponseDTO> categorias = categoriaService.listarTodas(versao.getEtag());
+        return RespostasCondicionais.ok().body(categorias);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoriaResponseDTO> buscarPorId(@PathVariable Integer id) {
-        CategoriaResponseDTO categoria = categoriaService.buscarPorId(id);
-        return ResponseEntity.ok(categoria);
+    public ResponseEntity<CategoriaResponseDTO> buscarPorId(@PathVariable Integer id, WebRequest request) {
+        Optional<VersaoRecursoDTO> versao = categoriaService.buscarVersao(id);
+        if (versao.isPresent() && RespostasCondicionais.naoModificado(request, versao.get())) {
+            return RespostasCondicionais.naoModificada();
+        }
+        CategoriaResponseDTO categoria = categoriaService.buscarPorId(id, versao.map(VersaoRecursoDTO::getEtag).orElse(null));
+        return RespostasCondicionais.ok().body(categoria);
     }
 
     @PostMapping
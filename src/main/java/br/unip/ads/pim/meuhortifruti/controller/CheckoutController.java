@@ -0,0 +1,24 @@
+package br.unip.ads.pim.meuhortifruti.controller;
+
+import br.unip.ads.pim.meuhortifruti.dto.CheckoutRequestDTO;
+import br.unip.ads.pim.meuhortifruti.dto.CompraResponseDTO;
+import br.unip.ads.pim.meuhortifruti.service.CheckoutService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/checkout")
+@RequiredArgsConstructor
+public class CheckoutController {
+
+    private final CheckoutService checkoutService;
+
+    @PostMapping
+    public ResponseEntity<CompraResponseDTO> finalizar(@Valid @RequestBody CheckoutRequestDTO dto) {
+        CompraResponseDTO compra = checkoutService.finalizar(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(compra);
+    }
+}
@@ -20,8 +20,9 @@ public class CompraController {
     private final CompraService compraService;
 
     @GetMapping
-    public ResponseEntity<List<CompraResponseDTO>> listarTodas() {
-        List<CompraResponseDTO> compras = compraService.listarTodas();
+    public ResponseEntity<List<CompraResponseDTO>> listarTodas(
+            @RequestParam(defaultValue = "false") boolean detalhado) {
+        List<CompraResponseDTO> compras = detalhado ? compraService.listarDetalhadas() : compraService.listarTodas();
         return ResponseEntity.ok(compras);
     }
     @GetMapping("/{id}")
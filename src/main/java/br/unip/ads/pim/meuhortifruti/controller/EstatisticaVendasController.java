@@ -0,0 +1,50 @@
+package br.unip.ads.pim.meuhortifruti.controller;
+
+import br.unip.ads.pim.meuhortifruti.dto.VendaCategoriaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VendaDiariaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VendaProdutoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.service.EstatisticaVendasService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/admin/vendas")
+@RequiredArgsConstructor
+public class EstatisticaVendasController {
+
+    private final EstatisticaVendasService estatisticaVendasService;
+
+    @GetMapping("/dias")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<List<VendaDiariaResponseDTO>> listarPorDia(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        List<VendaDiariaResponseDTO> vendas = estatisticaVendasService.listarPorDia(inicio, fim);
+        return ResponseEntity.ok(vendas);
+    }
+
+    @GetMapping("/produtos")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<List<VendaProdutoResponseDTO>> listarPorProduto(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) Integer limite) {
+        List<VendaProdutoResponseDTO> vendas = estatisticaVendasService.listarPorProduto(inicio, fim, limite);
+        return ResponseEntity.ok(vendas);
+    }
+
+    @GetMapping("/categorias")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<List<VendaCategoriaResponseDTO>> listarPorCategoria(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        List<VendaCategoriaResponseDTO> vendas = estatisticaVendasService.listarPorCategoria(inicio, fim);
+        return ResponseEntity.ok(vendas);
+    }
+}
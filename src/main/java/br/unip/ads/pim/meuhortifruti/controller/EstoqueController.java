@@ -2,6 +2,7 @@ package br.unip.ads.pim.meuhortifruti.controller;
 
 import br.unip.ads.pim.meuhortifruti.dto.EstoqueResponseDTO;
 import br.unip.ads.pim.meuhortifruti.dto.EstoqueRequestDTO;
+import br.unip.ads.pim.meuhortifruti.dto.MovimentacaoEstoqueRequestDTO;
 import br.unip.ads.pim.meuhortifruti.service.EstoqueService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -37,6 +38,22 @@ public class EstoqueController {
         EstoqueResponseDTO estoque = estoqueService.atualizar(id, dto);
         return ResponseEntity.ok(estoque);
     }
+    @PostMapping("/{id}/debito")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<EstoqueResponseDTO> debitar(
+            @PathVariable Integer id,
+            @Valid @RequestBody MovimentacaoEstoqueRequestDTO dto) {
+        EstoqueResponseDTO estoque = estoqueService.debitar(id, dto.getQuantidade());
+        return ResponseEntity.ok(estoque);
+    }
+    @PostMapping("/{id}/reposicao")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<EstoqueResponseDTO> repor(
+            @PathVariable Integer id,
+            @Valid @RequestBody MovimentacaoEstoqueRequestDTO dto) {
+        EstoqueResponseDTO estoque = estoqueService.repor(id, dto.getQuantidade());
+        return ResponseEntity.ok(estoque);
+    }
     @DeleteMapping("/{id}")
     @Secured("ROLE_ADMIN")
     public ResponseEntity<Void> excluir(@PathVariable Integer id) {
@@ -1,16 +1,29 @@
 package br.unip.ads.pim.meuhortifruti.controller;
 
+import br.unip.ads.pim.meuhortifruti.dto.ImportacaoProdutosResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoBuscaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoPaginaResponseDTO;
 import br.unip.ads.pim.meuhortifruti.dto.ProdutoRequestDTO;
 import br.unip.ads.pim.meuhortifruti.dto.ProdutoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSugestaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VersaoRecursoDTO;
+import br.unip.ads.pim.meuhortifruti.service.ImportacaoProdutoService;
 import br.unip.ads.pim.meuhortifruti.service.ProdutoService;
+import br.unip.ads.pim.meuhortifruti.service.VersaoCatalogoService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/v1/produtos")
@@ -18,16 +31,54 @@ import java.util.List;
 public class ProdutoController {
 
         private final ProdutoService produtoService;
+        private final VersaoCatalogoService versaoCatalogoService;
+        private final ImportacaoProdutoService importacaoProdutoService;
 
         @GetMapping
-        public ResponseEntity<List<ProdutoResponseDTO>> listarTodas() {
-            List<ProdutoResponseDTO> produtos = produtoService.listarTodas();
-            return ResponseEntity.ok(produtos);
+        public ResponseEntity<?> listarTodas(
+                @RequestParam(required = false) String cursor,
+                @RequestParam(required = false) Integer tamanho,
+                WebRequest request) {
+            VersaoRecursoDTO versao = versaoCatalogoService.buscarVersao(VersaoCatalogoService.PRODUTOS);
+            if (RespostasCondicionais.naoModificado(request, versao)) {
+                return RespostasCondicionais.naoModificada();
+            }
+            if (cursor != null || tamanho != null) {
+                ProdutoPaginaResponseDTO pagina = produtoService.listarPagina(cursor, tamanho);
+                return RespostasCondicionais.ok().body(pagina);
+            }
+            List<ProdutoResponseDTO> produtos = produtoService.listarTodas(versao.getEtag());
+            return RespostasCondicionais.ok().body(produtos);
+        }
+        @GetMapping("/exportar")
+        public void exportar(HttpServletResponse response) throws IOException {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            produtoService.exportar(response.getOutputStream());
+        }
+        @GetMapping("/busca")
+        public ResponseEntity<ProdutoBuscaResponseDTO> buscar(
+                @RequestParam("q") String termo,
+                @RequestParam(required = false) Integer pagina,
+                @RequestParam(required = false) Integer tamanho) {
+            ProdutoBuscaResponseDTO resultado = produtoService.buscar(termo, pagina, tamanho);
+            return ResponseEntity.ok(resultado);
+        }
+        @GetMapping("/autocompletar")
+        public ResponseEntity<List<ProdutoSugestaoResponseDTO>> autocompletar(
+                @RequestParam String prefixo,
+                @RequestParam(required = false) Integer limite) {
+            List<ProdutoSugestaoResponseDTO> sugestoes = produtoService.autocompletar(prefixo, limite);
+            return ResponseEntity.ok(sugestoes);
         }
         @GetMapping("/{id}")
-        public ResponseEntity<ProdutoResponseDTO> buscarPorId(@PathVariable Integer id) {
-            ProdutoResponseDTO produto = produtoService.buscarPorId(id);
-            return ResponseEntity.ok(produto);
+        public ResponseEntity<ProdutoResponseDTO> buscarPorId(@PathVariable Integer id, WebRequest request) {
+            Optional<VersaoRecursoDTO> versao = produtoService.buscarVersao(id);
+            if (versao.isPresent() && RespostasCondicionais.naoModificado(request, versao.get())) {
+                return RespostasCondicionais.naoModificada();
+            }
+            ProdutoResponseDTO produto = produtoService.buscarPorId(id, versao.map(VersaoRecursoDTO::getEtag).orElse(null));
+            return RespostasCondicionais.ok().body(produto);
         }
         @PostMapping
         @Secured("ROLE_ADMIN")
@@ -35,6 +86,15 @@ public class ProdutoController {
             ProdutoResponseDTO produto = produtoService.criar(dto);
             return ResponseEntity.status(HttpStatus.CREATED).body(produto);
         }
+        @PostMapping(value = "/importacao", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        @Secured("ROLE_ADMIN")
+        public ResponseEntity<ImportacaoProdutosResponseDTO> importar(
+                @RequestParam("arquivo") MultipartFile arquivo,
+                @RequestParam(required = false) Integer idFornecedor) throws IOException {
+            ImportacaoProdutosResponseDTO resultado = importacaoProdutoService.importar(
+                    arquivo.getInputStream(), arquivo.getOriginalFilename(), idFornecedor);
+            return ResponseEntity.ok(resultado);
+        }
         @PutMapping("/{id}")
         @Secured("ROLE_ADMIN")
         public ResponseEntity<ProdutoResponseDTO> atualizar(
@@ -0,0 +1,57 @@
+package br.unip.ads.pim.meuhortifruti.controller;
+
+import br.unip.ads.pim.meuhortifruti.dto.PontoReposicaoRequestDTO;
+import br.unip.ads.pim.meuhortifruti.dto.PontoReposicaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.SugestaoCompraDTO;
+import br.unip.ads.pim.meuhortifruti.service.ReposicaoService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/admin/reposicao")
+@RequiredArgsConstructor
+public class ReposicaoController {
+
+    private final ReposicaoService reposicaoService;
+
+    @GetMapping
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<List<SugestaoCompraDTO>> listarSugestoes() {
+        List<SugestaoCompraDTO> sugestoes = reposicaoService.listarSugestoes();
+        return ResponseEntity.ok(sugestoes);
+    }
+
+    @GetMapping("/fornecedores/{idFornecedor}")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<SugestaoCompraDTO> buscarSugestao(@PathVariable Integer idFornecedor) {
+        SugestaoCompraDTO sugestao = reposicaoService.buscarSugestao(idFornecedor);
+        return ResponseEntity.ok(sugestao);
+    }
+
+    @GetMapping("/pontos/{idProduto}")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<PontoReposicaoResponseDTO> buscarPonto(@PathVariable Integer idProduto) {
+        PontoReposicaoResponseDTO ponto = reposicaoService.buscarPonto(idProduto);
+        return ResponseEntity.ok(ponto);
+    }
+
+    @PutMapping("/pontos/{idProduto}")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<PontoReposicaoResponseDTO> definirPonto(@PathVariable Integer idProduto,
+                                                                  @Valid @RequestBody PontoReposicaoRequestDTO dto) {
+        PontoReposicaoResponseDTO ponto = reposicaoService.definirPonto(idProduto, dto);
+        return ResponseEntity.ok(ponto);
+    }
+
+    @DeleteMapping("/pontos/{idProduto}")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<Void> removerPonto(@PathVariable Integer idProduto) {
+        reposicaoService.removerPonto(idProduto);
+        return ResponseEntity.noContent().build();
+    }
+}
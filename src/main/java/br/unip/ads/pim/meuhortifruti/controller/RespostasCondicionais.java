@@ -0,0 +1,35 @@
+package br.unip.ads.pim.meuhortifruti.controller;
+
+import br.unip.ads.pim.meuhortifruti.dto.VersaoRecursoDTO;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * GET condicional do catálogo. A versão é conferida antes de montar a resposta, então um
+ * {@code If-None-Match}/{@code If-Modified-Since} que ainda vale recebe 304 sem que a listagem
+ * seja carregada. {@code no-cache} deixa o cliente guardar a resposta desde que revalide a cada uso.
+ */
+final class RespostasCondicionais {
+
+    private static final CacheControl REVALIDAR_SEMPRE = CacheControl.noCache();
+
+    private RespostasCondicionais() {
+    }
+
+    static boolean naoModificado(WebRequest request, VersaoRecursoDTO versao) {
+        long ultimaAlteracao = versao.getUltimaAlteracao() != null ? versao.getUltimaAlteracao().toEpochMilli() : -1;
+        return request.checkNotModified(versao.getEtag(), ultimaAlteracao);
+    }
+
+    static <T> ResponseEntity<T> naoModificada() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(REVALIDAR_SEMPRE)
+                .build();
+    }
+
+    static ResponseEntity.BodyBuilder ok() {
+        return ResponseEntity.ok().cacheControl(REVALIDAR_SEMPRE);
+    }
+}
@@ -0,0 +1,21 @@
+package br.unip.ads.pim.meuhortifruti.controller;
+
+import br.unip.ads.pim.meuhortifruti.dto.SincronizacaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.service.SincronizacaoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/public/sync")
+@RequiredArgsConstructor
+public class SincronizacaoController {
+
+    private final SincronizacaoService sincronizacaoService;
+
+    @GetMapping
+    public ResponseEntity<SincronizacaoResponseDTO> sincronizar(@RequestParam(name = "since", required = false) Long desde) {
+        SincronizacaoResponseDTO alteracoes = sincronizacaoService.buscarAlteracoes(desde);
+        return ResponseEntity.ok(alteracoes);
+    }
+}
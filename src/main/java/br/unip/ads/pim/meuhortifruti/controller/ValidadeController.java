@@ -0,0 +1,30 @@
+package br.unip.ads.pim.meuhortifruti.controller;
+
+import br.unip.ads.pim.meuhortifruti.dto.RelatorioValidadeResponseDTO;
+import br.unip.ads.pim.meuhortifruti.service.ValidadeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/admin/validade")
+@RequiredArgsConstructor
+public class ValidadeController {
+
+    private final ValidadeService validadeService;
+
+    @GetMapping
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<RelatorioValidadeResponseDTO> obterRelatorio() {
+        RelatorioValidadeResponseDTO relatorio = validadeService.obterRelatorio();
+        return ResponseEntity.ok(relatorio);
+    }
+
+    @PostMapping("/processar")
+    @Secured("ROLE_ADMIN")
+    public ResponseEntity<RelatorioValidadeResponseDTO> processar() {
+        RelatorioValidadeResponseDTO relatorio = validadeService.processar();
+        return ResponseEntity.ok(relatorio);
+    }
+}
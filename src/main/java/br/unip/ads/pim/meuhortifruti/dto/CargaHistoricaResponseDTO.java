@@ -0,0 +1,33 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Andamento de uma carga histórica. {@code progresso} é a fração das compras recebidas que já
+ * foram mescladas, de 0 a 100.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CargaHistoricaResponseDTO {
+
+    private Long idCarga;
+    private String status;
+    private long comprasRecebidas;
+    private long itensRecebidos;
+    private long pagamentosRecebidos;
+    private long comprasMescladas;
+    private long itensMesclados;
+    private long pagamentosMesclados;
+    private double progresso;
+    private String erro;
+    private Instant criadoEm;
+    private Instant atualizadoEm;
+    private Instant concluidoEm;
+}
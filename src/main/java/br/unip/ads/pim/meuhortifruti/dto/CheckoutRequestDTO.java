@@ -0,0 +1,24 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutRequestDTO {
+
+    @NotEmpty(message = "O carrinho deve ter ao menos um item")
+    private List<@Valid ItemCarrinhoDTO> itens;
+
+    @NotBlank(message = "A forma de pagamento é obrigatória")
+    private String formaPagamento;
+}
@@ -0,0 +1,17 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroImportacaoDTO {
+
+    private Long linha;
+    private String nome;
+    private String mensagem;
+}
@@ -0,0 +1,17 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstoqueSincronizacaoDTO {
+
+    private Integer idEstoque;
+    private Integer idProduto;
+    private Integer quantidadeProdutos;
+}
@@ -0,0 +1,25 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoDTO {
+
+    private Long idEvento;
+    private String tipo;
+    private String agregado;
+    private Integer idAgregado;
+    /** JSON do DTO publicado junto com o evento; nulo nas exclusões. */
+    private String payload;
+    private Instant criadoEm;
+    /** 1 na primeira entrega; maior quando o evento volta depois de uma falha. */
+    private int tentativa;
+}
@@ -0,0 +1,23 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExclusoesSincronizacaoDTO {
+
+    @Builder.Default
+    private List<Integer> produtos = new ArrayList<>();
+    @Builder.Default
+    private List<Integer> categorias = new ArrayList<>();
+    @Builder.Default
+    private List<Integer> estoques = new ArrayList<>();
+}
@@ -0,0 +1,28 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado da importação: contagem por desfecho e os erros linha a linha. Passando de
+ * {@code app.importacao.maximo-erros}, os demais erros só aparecem em {@code errosOmitidos}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoProdutosResponseDTO {
+
+    private long linhas;
+    private long criados;
+    private long atualizados;
+    private long rejeitados;
+    private long errosOmitidos;
+    @Builder.Default
+    private List<ErroImportacaoDTO> erros = new ArrayList<>();
+}
@@ -0,0 +1,22 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemCarrinhoDTO {
+
+    @NotNull(message = "O produto é obrigatório")
+    private Integer idProduto;
+
+    @NotNull(message = "A quantidade de itens é obrigatória")
+    @Min(value = 1, message = "A quantidade deve ser maior que zero")
+    private Integer quantidade;
+}
@@ -0,0 +1,20 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSugestaoDTO {
+
+    private Integer idProduto;
+    private String nome;
+    private Integer quantidadeAtual;
+    private Integer pontoReposicao;
+    private Integer estoqueMaximo;
+    private Integer quantidadeSugerida;
+}
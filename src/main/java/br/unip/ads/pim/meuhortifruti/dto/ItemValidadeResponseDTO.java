@@ -0,0 +1,26 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemValidadeResponseDTO {
+
+    private Integer idProduto;
+    private String nome;
+    private LocalDate dtValidade;
+    private Long diasParaVencer;
+    private Integer quantidadeEstoque;
+    private BigDecimal preco;
+    private Integer percentualDesconto;
+    private BigDecimal precoSugerido;
+    private String acao;
+}
@@ -0,0 +1,23 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PontoReposicaoRequestDTO {
+
+    @NotNull(message = "O ponto de reposição é obrigatório")
+    @Min(value = 0, message = "O ponto de reposição não pode ser negativo")
+    private Integer pontoReposicao;
+
+    @NotNull(message = "O estoque máximo é obrigatório")
+    @Min(value = 1, message = "O estoque máximo deve ser maior que zero")
+    private Integer estoqueMaximo;
+}
@@ -0,0 +1,20 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PontoReposicaoResponseDTO {
+
+    private Integer idProduto;
+    private Integer pontoReposicao;
+    private Integer estoqueMaximo;
+    private Instant atualizadoEm;
+}
@@ -0,0 +1,20 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProdutoBuscaResponseDTO {
+
+    private List<ProdutoResponseDTO> conteudo;
+    private Integer pagina;
+    private Integer tamanho;
+    private Boolean temProximaPagina;
+}
@@ -0,0 +1,29 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Uma linha do arquivo de importação. Só {@code nome} é sempre obrigatório: produto novo precisa
+ * dos campos obrigatórios de {@code Produto} e da categoria; produto existente só recebe os campos
+ * preenchidos.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProdutoImportacaoDTO {
+
+    private String nome;
+    private BigDecimal preco;
+    private Integer quantidadeEstoque;
+    private LocalDate dataEntrega;
+    private LocalDate dtValidade;
+    private Integer idCategoria;
+    private Integer idFornecedor;
+}
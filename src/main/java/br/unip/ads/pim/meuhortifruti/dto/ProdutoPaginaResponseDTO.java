@@ -0,0 +1,19 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProdutoPaginaResponseDTO {
+
+    private List<ProdutoResponseDTO> conteudo;
+    private Integer tamanho;
+    private String proximoCursor;
+}
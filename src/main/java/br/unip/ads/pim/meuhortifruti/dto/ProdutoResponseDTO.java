@@ -1,6 +1,5 @@
 package br.unip.ads.pim.meuhortifruti.dto;
 
-import br.unip.ads.pim.meuhortifruti.entity.Fornecedor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,7 +17,7 @@ public class ProdutoResponseDTO {
     private Integer idProduto;
     private Integer quantidadeEstoque;
     private Integer idCategoria;
-    private Fornecedor fornecedor;
+    private FornecedorResponseDTO fornecedor;
     private LocalDate dataEntrega;
     private LocalDate dtValidade;
     private String nome;
@@ -0,0 +1,27 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatorioValidadeResponseDTO {
+
+    private LocalDateTime geradoEm;
+    private LocalDate validadeInicial;
+    private LocalDate validadeFinal;
+    private Long linhasLidas;
+    private Long totalRetirar;
+    private Long totalRemarcar;
+    private Long duracaoMs;
+    private Boolean truncado;
+    private List<ItemValidadeResponseDTO> itens;
+}
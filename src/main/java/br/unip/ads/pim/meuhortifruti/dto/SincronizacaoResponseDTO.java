@@ -0,0 +1,34 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta do catálogo desde a versão pedida: o estado atual de cada recurso alterado, uma vez só,
+ * e os ids excluídos. {@code versao} é o {@code since} da próxima chamada; com {@code temMais} o
+ * terminal chama de novo na hora. Com {@code ressincronizar} o log não cobre mais a versão pedida:
+ * o terminal guarda {@code versao}, baixa o catálogo inteiro e sincroniza a partir dela.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SincronizacaoResponseDTO {
+
+    private Long versao;
+    private boolean temMais;
+    private boolean ressincronizar;
+    @Builder.Default
+    private List<ProdutoSincronizacaoDTO> produtos = new ArrayList<>();
+    @Builder.Default
+    private List<CategoriaResponseDTO> categorias = new ArrayList<>();
+    @Builder.Default
+    private List<EstoqueSincronizacaoDTO> estoques = new ArrayList<>();
+    @Builder.Default
+    private ExclusoesSincronizacaoDTO excluidos = new ExclusoesSincronizacaoDTO();
+}
@@ -0,0 +1,26 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pedido sugerido a um fornecedor: os produtos dele que estão no ponto de reposição ou abaixo.
+ * {@code idFornecedor} nulo agrupa os produtos sem fornecedor cadastrado.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SugestaoCompraDTO {
+
+    private Integer idFornecedor;
+    private String nomeFornecedor;
+    private Integer quantidadeTotal;
+    @Builder.Default
+    private List<ItemSugestaoDTO> itens = new ArrayList<>();
+}
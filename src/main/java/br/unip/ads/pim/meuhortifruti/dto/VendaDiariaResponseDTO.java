@@ -0,0 +1,21 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendaDiariaResponseDTO {
+
+    private LocalDate dia;
+    private Long quantidadeCompras;
+    private Long unidades;
+    private BigDecimal receita;
+}
@@ -0,0 +1,20 @@
+package br.unip.ads.pim.meuhortifruti.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendaProdutoResponseDTO {
+
+    private Integer idProduto;
+    private String nome;
+    private Long unidades;
+    private BigDecimal receita;
+}
@@ -0,0 +1,48 @@
+package br.unip.ads.pim.meuhortifruti.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Uma alteração de produto, categoria ou estoque, gravada na mesma transação da escrita. Só guarda
+ * qual recurso mudou (ou foi excluído); o estado atual é lido das tabelas na hora do sync. A
+ * {@code versao} fica nula até o sequenciador numerá-la, já com a transação confirmada, na ordem
+ * em que as alterações ficaram visíveis: é ela, e não o {@code id}, que o terminal usa como cursor.
+ */
+@Entity
+@Table(name = "alteracao_catalogo", indexes = {
+        @Index(name = "idx_alteracao_catalogo_versao", columnList = "versao")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracaoCatalogo implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alteracao_catalogo_seq")
+    @SequenceGenerator(name = "alteracao_catalogo_seq", sequenceName = "alteracao_catalogo_seq", allocationSize = 50)
+    @Column(name = "id_alteracao")
+    private Long idAlteracao;
+
+    @Column(name = "tipo", nullable = false, length = 20)
+    private String tipo;
+
+    @Column(name = "id_recurso", nullable = false)
+    private Integer idRecurso;
+
+    @Column(name = "exclusao", nullable = false)
+    private boolean exclusao;
+
+    @Column(name = "versao")
+    private Long versao;
+
+    @Column(name = "registrado_em", nullable = false)
+    private Instant registradoEm;
+}
@@ -0,0 +1,81 @@
+package br.unip.ads.pim.meuhortifruti.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Carga do histórico de vendas de uma loja nova. Os arquivos de compras, itens e pagamentos vão
+ * por {@code COPY} para tabelas de preparação próprias da carga e depois são mesclados em
+ * {@code compra}, {@code item_compra} e {@code pagamento} em lotes de compras, cada lote uma
+ * transação. {@code ultimoIdExterno} é a última compra (pelo id do sistema de origem) já mesclada:
+ * uma mesclagem interrompida recomeça dali.
+ */
+@Entity
+@Table(name = "carga_historica")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CargaHistorica implements Serializable {
+
+    /** Recebendo arquivos; ainda não começou a mesclar. */
+    public static final String RECEBENDO = "RECEBENDO";
+    public static final String MESCLANDO = "MESCLANDO";
+    public static final String CONCLUIDA = "CONCLUIDA";
+    /** A validação ou um lote da mesclagem falhou; o motivo fica em {@code erro}. */
+    public static final String FALHOU = "FALHOU";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "carga_historica_seq")
+    @SequenceGenerator(name = "carga_historica_seq", sequenceName = "carga_historica_seq", allocationSize = 50)
+    @Column(name = "id_carga")
+    private Long idCarga;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Builder.Default
+    @Column(name = "compras_recebidas", nullable = false)
+    private long comprasRecebidas = 0;
+
+    @Builder.Default
+    @Column(name = "itens_recebidos", nullable = false)
+    private long itensRecebidos = 0;
+
+    @Builder.Default
+    @Column(name = "pagamentos_recebidos", nullable = false)
+    private long pagamentosRecebidos = 0;
+
+    @Builder.Default
+    @Column(name = "compras_mescladas", nullable = false)
+    private long comprasMescladas = 0;
+
+    @Builder.Default
+    @Column(name = "itens_mesclados", nullable = false)
+    private long itensMesclados = 0;
+
+    @Builder.Default
+    @Column(name = "pagamentos_mesclados", nullable = false)
+    private long pagamentosMesclados = 0;
+
+    @Column(name = "ultimo_id_externo")
+    private Long ultimoIdExterno;
+
+    @Column(name = "erro", length = 2000)
+    private String erro;
+
+    @Column(name = "criado_em", nullable = false)
+    private Instant criadoEm;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private Instant atualizadoEm;
+
+    @Column(name = "concluido_em")
+    private Instant concluidoEm;
+}
@@ -0,0 +1,49 @@
+package br.unip.ads.pim.meuhortifruti.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Resposta guardada para um {@code Idempotency-Key}. {@code chave} e {@code impressao} são
+ * SHA-256 em hexadecimal: da chave junto com o usuário e o caminho, e do corpo da requisição.
+ * Sem {@code statusHttp} a requisição ainda está em andamento.
+ */
+@Entity
+@Table(name = "chave_idempotencia", indexes = @Index(name = "idx_chave_idempotencia_expira_em", columnList = "expira_em"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChaveIdempotencia implements Serializable {
+
+    @Id
+    @Column(name = "chave", length = 64)
+    private String chave;
+
+    @Column(name = "impressao", nullable = false, length = 64)
+    private String impressao;
+
+    @Column(name = "status_http")
+    private Integer statusHttp;
+
+    @Column(name = "tipo_conteudo", length = 100)
+    private String tipoConteudo;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    @Column(name = "corpo")
+    private byte[] corpo;
+
+    @Column(name = "criado_em", nullable = false)
+    private Instant criadoEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+}
@@ -11,26 +11,54 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Table(name = "compra")
+@NamedEntityGraph(
+        name = Compra.GRAFO_COMPLETO,
+        attributeNodes = {
+                @NamedAttributeNode(value = "itensCompra", subgraph = "itens"),
+                @NamedAttributeNode("pagamento")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "itens", attributeNodes = @NamedAttributeNode(value = "produto", subgraph = "produto")),
+                @NamedSubgraph(name = "produto", attributeNodes = @NamedAttributeNode("estoque"))
+        })
+@NamedEntityGraph(
+        name = Compra.GRAFO_RESUMO,
+        attributeNodes = @NamedAttributeNode("pagamento"))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Compra implements Serializable {
 
+    /**
+     * Compra com itens, produto de cada item e pagamento. O estoque do produto vem junto porque
+     * {@code Produto.estoque} é o lado inverso de um {@code @OneToOne} e, sem o fetch, seria
+     * carregado com um SELECT por item.
+     */
+    public static final String GRAFO_COMPLETO = "Compra.completa";
+    /** Compra com pagamento, sem itens. */
+    public static final String GRAFO_RESUMO = "Compra.resumo";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "compra_seq")
+    @SequenceGenerator(name = "compra_seq", sequenceName = "compra_seq", allocationSize = 50)
     @Column(name = "id_compra")
     private Integer idCompra;
 
@@ -38,12 +66,15 @@ public class Compra implements Serializable {
     @Column(name = "status_compra", nullable = false, length = 100)
     private String statusCompra;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Builder.Default
     @OneToMany(mappedBy = "compra", cascade = CascadeType.ALL)
     private List<ItemCompra> itensCompra = new ArrayList<>();
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToOne(mappedBy = "compra", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @JoinColumn(name = "id_pagamento", nullable = false)
     private Pagamento pagamento;
 
 }
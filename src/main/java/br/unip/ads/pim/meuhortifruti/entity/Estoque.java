@@ -19,12 +19,13 @@ import java.io.Serializable;
 public class Estoque implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "estoque_seq")
+    @SequenceGenerator(name = "estoque_seq", sequenceName = "estoque_seq", allocationSize = 50)
     @Column(name = "id_estoque")
     private Integer idEstoque;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "id_produto", nullable = false)
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_produto", nullable = false, unique = true)
     private Produto produto;
 
     @NotNull(message = "A quantidade de produtos no estoque é obrigatória")
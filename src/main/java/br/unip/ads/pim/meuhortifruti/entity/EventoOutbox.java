@@ -0,0 +1,61 @@
+package br.unip.ads.pim.meuhortifruti.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Evento de compra, pagamento ou estoque gravado na mesma transação da escrita e entregue depois
+ * pelo relay. Entregue, a linha é apagada; {@code disponivelEm} diz quando o relay pode pegá-la de
+ * novo depois de uma falha e fica nulo quando as tentativas acabam, deixando o evento parado com o
+ * {@code ultimoErro} para análise.
+ */
+@Entity
+@Table(name = "evento_outbox", indexes = {
+        @Index(name = "idx_evento_outbox_disponivel", columnList = "disponivel_em, id_evento")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoOutbox implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_outbox_seq")
+    @SequenceGenerator(name = "evento_outbox_seq", sequenceName = "evento_outbox_seq", allocationSize = 50)
+    @Column(name = "id_evento")
+    private Long idEvento;
+
+    @Column(name = "tipo", nullable = false, length = 40)
+    private String tipo;
+
+    @Column(name = "agregado", nullable = false, length = 20)
+    private String agregado;
+
+    @Column(name = "id_agregado", nullable = false)
+    private Integer idAgregado;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "criado_em", nullable = false)
+    private Instant criadoEm;
+
+    @Column(name = "disponivel_em")
+    private Instant disponivelEm;
+
+    @Builder.Default
+    @Column(name = "tentativas", nullable = false)
+    private int tentativas = 0;
+
+    @Column(name = "ultimo_erro", length = 500)
+    private String ultimoErro;
+}
@@ -7,9 +7,13 @@ import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
-
+import java.time.Instant;
 import java.util.Set;
 
 @Entity
@@ -20,12 +24,14 @@ import java.util.Set;
 @AllArgsConstructor
 public class Fornecedor {
 
-    @ManyToMany
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToMany(mappedBy = "produtosfornecidos")
     Set<Produto> produtos;
-    private Produto produto;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fornecedor_seq")
+    @SequenceGenerator(name = "fornecedor_seq", sequenceName = "fornecedor_seq", allocationSize = 50)
     @Column(name = "id_fornecedor")
     private Integer idFornecedor;
 
@@ -56,4 +62,10 @@ public class Fornecedor {
     @Column(name = "prod_fornecidos", columnDefinition = "TEXT")
     private String produtosFornecidos;
 
+    // Os produtos trazem o fornecedor na resposta, então o ETag deles também depende desta data
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at")
+    private Instant atualizadoEm;
+
 }
@@ -2,6 +2,7 @@ package br.unip.ads.pim.meuhortifruti.entity;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -11,6 +12,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
@@ -18,7 +20,9 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Table(name = "pagamento")
@@ -29,10 +33,13 @@ import lombok.NoArgsConstructor;
 public class Pagamento implements Serializable  {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pagamento_seq")
+    @SequenceGenerator(name = "pagamento_seq", sequenceName = "pagamento_seq", allocationSize = 50)
     @Column(name = "id_pagamento")
     private Integer idPagamento;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_compra", nullable = false)
     private Compra compra;
@@ -49,4 +56,8 @@ public class Pagamento implements Serializable  {
     @NotBlank(message = "Status do pagamento é obrigatório")
     @Column(name = "status_pagamento", nullable = false, length = 100)
     private String statusPagamento;
+
+    // Dia em que a venda entrou nas estatísticas; o estorno sai desse mesmo dia
+    @Column(name = "data_aprovacao")
+    private LocalDate dataAprovacao;
 }
\ No newline at end of file
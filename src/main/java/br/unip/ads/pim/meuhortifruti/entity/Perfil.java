@@ -11,12 +11,15 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Table(name = "perfil")
@@ -27,7 +30,8 @@ import lombok.NoArgsConstructor;
 public class Perfil implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "perfil_seq")
+    @SequenceGenerator(name = "perfil_seq", sequenceName = "perfil_seq", allocationSize = 50)
     @Column(name = "id_perfil")
     private Integer idPerfil;
 
@@ -39,6 +43,8 @@ public class Perfil implements Serializable {
     @Column(name = "descricao", nullable = false, length = 100)
     private String descricao;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Builder.Default
     @OneToMany(mappedBy = "perfil", cascade = CascadeType.ALL)
     private List<Usuario> usuarios = new ArrayList<>();
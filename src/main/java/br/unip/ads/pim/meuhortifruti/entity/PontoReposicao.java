@@ -0,0 +1,38 @@
+package br.unip.ads.pim.meuhortifruti.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Ponto de reposição de um produto: com o estoque em {@code pontoReposicao} ou abaixo, o produto
+ * entra na sugestão de compra do fornecedor com a quantidade que leva o estoque de volta a
+ * {@code estoqueMaximo}. Sem chave estrangeira para {@code produto}, para não barrar a exclusão do
+ * produto; a linha órfã some das sugestões porque a carga faz join com {@code produto}.
+ */
+@Entity
+@Table(name = "ponto_reposicao")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PontoReposicao implements Serializable {
+
+    @Id
+    @Column(name = "id_produto")
+    private Integer idProduto;
+
+    @Column(name = "ponto_reposicao", nullable = false)
+    private Integer pontoReposicao;
+
+    @Column(name = "estoque_maximo", nullable = false)
+    private Integer estoqueMaximo;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private Instant atualizadoEm;
+}
@@ -5,11 +5,15 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
-
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,15 +24,20 @@ import java.util.Set;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "produto")
+@Table(name = "produto", indexes = {
+        @Index(name = "idx_produto_nome_id", columnList = "nome, id_produto"),
+        @Index(name = "idx_produto_validade_id", columnList = "dt_validade, id_produto")
+})
 
 public class Produto implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq")
+    @SequenceGenerator(name = "produto_seq", sequenceName = "produto_seq", allocationSize = 50)
     @Column(name = "id_produto")
     private Integer idProduto;
 
     @NotBlank(message = "Nome do produto é obrigatório")
+    @Size(max = 200, message = "O nome do produto deve ter até 200 caracteres")
     @Column(name = "nome", nullable = false, length = 200)
     private String nome;
 
@@ -50,18 +59,33 @@ public class Produto implements Serializable {
     @Column(name = "dt_validade")
     private LocalDate dtValidade;
 
+    // Base do ETag/Last-Modified do produto; no PostgreSQL o gatilho update_updated_at_column
+    // também o atualiza em escritas feitas fora do JPA
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at")
+    private Instant atualizadoEm;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_categoria", nullable = false)
     private Categoria categoria;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToMany
     Set<Fornecedor> produtosfornecidos;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_fornecedor")
     private Fornecedor fornecedor;
 
-    @OneToMany(fetch = FetchType.LAZY)
-    @JoinColumn(name = "id_estoque", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToOne(mappedBy = "produto", fetch = FetchType.LAZY)
     private Estoque estoque;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Builder.Default
     @OneToMany(mappedBy = "produto", cascade = CascadeType.ALL)
     private List<ItemCompra> itensCompra = new ArrayList<>();
@@ -0,0 +1,52 @@
+package br.unip.ads.pim.meuhortifruti.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Parcela do total de vendas aprovadas de um dia. Mantido por soma incremental a cada venda
+ * confirmada ou estornada, nunca recalculado a partir de {@code item_compra}. Toda venda do dia
+ * soma aqui, então o total é dividido em {@code faixa}s (pelo id da compra) para que checkouts
+ * simultâneos não fiquem em fila na trava de uma única linha; a leitura soma as faixas.
+ */
+@Entity
+@Table(name = "venda_diaria")
+@IdClass(VendaDiaria.Chave.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendaDiaria implements Serializable {
+
+    @Id
+    @Column(name = "dia")
+    private LocalDate dia;
+
+    @Id
+    @Column(name = "faixa")
+    private Integer faixa;
+
+    @Column(name = "quantidade_compras", nullable = false)
+    private Long quantidadeCompras;
+
+    @Column(name = "unidades", nullable = false)
+    private Long unidades;
+
+    @Column(name = "receita", nullable = false, precision = 14, scale = 2)
+    private BigDecimal receita;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+        private LocalDate dia;
+        private Integer faixa;
+    }
+}
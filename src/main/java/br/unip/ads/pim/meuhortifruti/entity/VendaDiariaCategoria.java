@@ -0,0 +1,53 @@
+package br.unip.ads.pim.meuhortifruti.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Unidades e receita de uma categoria em um dia, pela categoria do produto no momento da venda.
+ * Poucas categorias recebem quase todas as vendas, então a linha também é dividida em faixas,
+ * como em {@link VendaDiaria}.
+ */
+@Entity
+@Table(name = "venda_diaria_categoria")
+@IdClass(VendaDiariaCategoria.Chave.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendaDiariaCategoria implements Serializable {
+
+    @Id
+    @Column(name = "dia")
+    private LocalDate dia;
+
+    @Id
+    @Column(name = "id_categoria")
+    private Integer idCategoria;
+
+    @Id
+    @Column(name = "faixa")
+    private Integer faixa;
+
+    @Column(name = "unidades", nullable = false)
+    private Long unidades;
+
+    @Column(name = "receita", nullable = false, precision = 14, scale = 2)
+    private BigDecimal receita;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+        private LocalDate dia;
+        private Integer idCategoria;
+        private Integer faixa;
+    }
+}
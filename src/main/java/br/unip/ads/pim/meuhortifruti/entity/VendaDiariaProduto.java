@@ -0,0 +1,50 @@
+package br.unip.ads.pim.meuhortifruti.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Unidades e receita de um produto em um dia. Guarda só os ids, sem associação, para que o
+ * acúmulo seja um único upsert por linha e o histórico sobreviva à exclusão do produto.
+ */
+@Entity
+@Table(name = "venda_diaria_produto")
+@IdClass(VendaDiariaProduto.Chave.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendaDiariaProduto implements Serializable {
+
+    @Id
+    @Column(name = "dia")
+    private LocalDate dia;
+
+    @Id
+    @Column(name = "id_produto")
+    private Integer idProduto;
+
+    @Column(name = "id_categoria", nullable = false)
+    private Integer idCategoria;
+
+    @Column(name = "unidades", nullable = false)
+    private Long unidades;
+
+    @Column(name = "receita", nullable = false, precision = 14, scale = 2)
+    private BigDecimal receita;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+        private LocalDate dia;
+        private Integer idProduto;
+    }
+}
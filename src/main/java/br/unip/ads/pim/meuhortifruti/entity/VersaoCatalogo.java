@@ -0,0 +1,34 @@
+package br.unip.ads.pim.meuhortifruti.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Versão de uma coleção do catálogo ({@code produtos}, {@code categorias}). Toda escrita na
+ * coleção incrementa a versão na mesma transação, então a listagem pode responder a um GET
+ * condicional lendo só esta linha, sem contar nem varrer a tabela da coleção.
+ */
+@Entity
+@Table(name = "versao_catalogo")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersaoCatalogo implements Serializable {
+
+    @Id
+    @Column(name = "colecao", length = 50)
+    private String colecao;
+
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private Instant atualizadoEm;
+}
@@ -0,0 +1,49 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.entity.AlteracaoCatalogo;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+
+@Repository
+public interface AlteracaoCatalogoRepository extends JpaRepository<AlteracaoCatalogo, Long> {
+
+    @Query("SELECT a.idAlteracao FROM AlteracaoCatalogo a WHERE a.versao IS NULL ORDER BY a.idAlteracao")
+    List<Long> buscarPendentes(Limit limite);
+
+    /**
+     * Numera as alterações pendentes mantendo a ordem dos ids; o deslocamento põe todas acima da
+     * última versão já entregue.
+     */
+    @Modifying
+    @Query("UPDATE AlteracaoCatalogo a SET a.versao = a.idAlteracao + :deslocamento WHERE a.idAlteracao IN :ids")
+    int sequenciar(@Param("ids") Collection<Long> ids, @Param("deslocamento") long deslocamento);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT a FROM AlteracaoCatalogo a WHERE a.versao > :desde ORDER BY a.versao")
+    List<AlteracaoCatalogo> buscarDesde(@Param("desde") long desde, Limit limite);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT DISTINCT a.idRecurso FROM AlteracaoCatalogo a " +
+            "WHERE a.tipo = :tipo AND a.versao > :desde AND a.versao <= :ate")
+    List<Integer> buscarRecursosEntre(@Param("tipo") String tipo, @Param("desde") long desde, @Param("ate") long ate);
+
+    @Query("SELECT MAX(a.versao) FROM AlteracaoCatalogo a WHERE a.registradoEm < :limite")
+    Optional<Long> buscarUltimaVersaoAntes(@Param("limite") Instant limite);
+
+    @Modifying
+    @Query("DELETE FROM AlteracaoCatalogo a WHERE a.versao <= :versao")
+    int excluirAte(@Param("versao") long versao);
+}
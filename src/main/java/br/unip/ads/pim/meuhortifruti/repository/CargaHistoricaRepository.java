@@ -0,0 +1,23 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.entity.CargaHistorica;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CargaHistoricaRepository extends JpaRepository<CargaHistorica, Long> {
+
+    /**
+     * Trava a carga para mudar o seu estado: um arquivo recebido no meio do início da mesclagem, ou
+     * duas mesclagens da mesma carga, ficam uma à espera da outra.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CargaHistorica c WHERE c.idCarga = :id")
+    Optional<CargaHistorica> travar(@Param("id") Long id);
+}
@@ -1,15 +1,43 @@
 package br.unip.ads.pim.meuhortifruti.repository;
 
 import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.dto.CategoriaResponseDTO;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+
 @Repository
 public interface CategoriaRepository extends JpaRepository<Categoria, Integer> {
 
     Optional<Categoria> findByNome(String nome);
 
     boolean existsByNome(String nome);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT c.atualizadoEm FROM Categoria c WHERE c.idCategoria = :id")
+    Optional<Instant> buscarUltimaAlteracao(@Param("id") Integer id);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new br.unip.ads.pim.meuhortifruti.dto.CategoriaResponseDTO(c.idCategoria, c.nome) " +
+            "FROM Categoria c ORDER BY c.idCategoria")
+    List<CategoriaResponseDTO> listarResumos();
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new br.unip.ads.pim.meuhortifruti.dto.CategoriaResponseDTO(c.idCategoria, c.nome) " +
+            "FROM Categoria c WHERE c.idCategoria IN :ids ORDER BY c.idCategoria")
+    List<CategoriaResponseDTO> listarResumosPorIds(@Param("ids") Collection<Integer> ids);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT c.idCategoria FROM Categoria c")
+    List<Integer> listarIds();
 }
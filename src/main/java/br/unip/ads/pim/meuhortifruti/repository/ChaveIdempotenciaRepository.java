@@ -0,0 +1,54 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.entity.ChaveIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, String> {
+
+    /**
+     * Grava a chave como em andamento se ela ainda não existir. Devolve 0 quando outra requisição
+     * já a gravou; o {@code ON CONFLICT} evita que a disputa termine em erro de chave duplicada.
+     */
+    @Modifying
+    @Query("INSERT INTO ChaveIdempotencia (chave, impressao, criadoEm, expiraEm) " +
+            "VALUES (:chave, :impressao, :agora, :expiraEm) " +
+            "ON CONFLICT DO NOTHING")
+    int reservar(@Param("chave") String chave,
+                 @Param("impressao") String impressao,
+                 @Param("agora") Instant agora,
+                 @Param("expiraEm") Instant expiraEm);
+
+    /** Assume uma chave já expirada ou que ficou em andamento desde antes de {@code abandono}. */
+    @Modifying
+    @Query("UPDATE ChaveIdempotencia c SET c.impressao = :impressao, c.statusHttp = NULL, " +
+            "c.tipoConteudo = NULL, c.corpo = NULL, c.criadoEm = :agora, c.expiraEm = :expiraEm " +
+            "WHERE c.chave = :chave AND (c.expiraEm < :agora OR (c.statusHttp IS NULL AND c.criadoEm < :abandono))")
+    int retomar(@Param("chave") String chave,
+                @Param("impressao") String impressao,
+                @Param("agora") Instant agora,
+                @Param("expiraEm") Instant expiraEm,
+                @Param("abandono") Instant abandono);
+
+    @Modifying
+    @Query("UPDATE ChaveIdempotencia c SET c.statusHttp = :statusHttp, c.tipoConteudo = :tipoConteudo, " +
+            "c.corpo = :corpo WHERE c.chave = :chave AND c.statusHttp IS NULL")
+    int concluir(@Param("chave") String chave,
+                 @Param("statusHttp") int statusHttp,
+                 @Param("tipoConteudo") String tipoConteudo,
+                 @Param("corpo") byte[] corpo);
+
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.chave = :chave AND c.statusHttp IS NULL")
+    int liberar(@Param("chave") String chave);
+
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.expiraEm < :agora")
+    int excluirExpiradas(@Param("agora") Instant agora);
+}
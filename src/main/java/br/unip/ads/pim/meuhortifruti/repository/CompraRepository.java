@@ -1,11 +1,41 @@
 package br.unip.ads.pim.meuhortifruti.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import br.unip.ads.pim.meuhortifruti.entity.Compra;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.CompraResumo;
+import jakarta.persistence.QueryHint;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
 
 @Repository
 public interface CompraRepository extends JpaRepository<Compra, Integer> {
 
-}
\ No newline at end of file
+    /**
+     * Lote de compras com o pagamento na mesma consulta, logo depois de {@code ultimoId}. O lado
+     * inverso do {@code @OneToOne} não tem proxy, então sem o fetch o Hibernate faria um SELECT
+     * de pagamento por compra.
+     */
+    @EntityGraph(Compra.GRAFO_RESUMO)
+    @Query("SELECT c FROM Compra c WHERE c.idCompra > :ultimoId ORDER BY c.idCompra")
+    List<Compra> buscarComPagamentoApos(@Param("ultimoId") Integer ultimoId, Limit limite);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new br.unip.ads.pim.meuhortifruti.repository.projecao.CompraResumo(" +
+            "c.idCompra, c.statusCompra, p.idPagamento, p.valor, p.formaPagamento, p.statusPagamento) " +
+            "FROM Compra c LEFT JOIN c.pagamento p ORDER BY c.idCompra")
+    List<CompraResumo> listarResumos();
+
+    @EntityGraph(Compra.GRAFO_COMPLETO)
+    @Query("SELECT c FROM Compra c WHERE c.idCompra = :idCompra")
+    Optional<Compra> buscarCompleta(@Param("idCompra") Integer idCompra);
+}
@@ -1,9 +1,43 @@
 package br.unip.ads.pim.meuhortifruti.repository;
 
+import br.unip.ads.pim.meuhortifruti.dto.EstoqueSincronizacaoDTO;
 import br.unip.ads.pim.meuhortifruti.entity.Estoque;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+
 @Repository
 public interface EstoqueRepository extends JpaRepository <Estoque, Integer> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Estoque e SET e.quantidadeProdutos = e.quantidadeProdutos - :quantidade " +
+            "WHERE e.idEstoque = :idEstoque AND e.quantidadeProdutos >= :quantidade")
+    int debitar(@Param("idEstoque") Integer idEstoque, @Param("quantidade") Integer quantidade);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Estoque e SET e.quantidadeProdutos = e.quantidadeProdutos + :quantidade " +
+            "WHERE e.idEstoque = :idEstoque")
+    int repor(@Param("idEstoque") Integer idEstoque, @Param("quantidade") Integer quantidade);
+
+    // Trava apenas as linhas do carrinho, sempre na mesma ordem, para evitar deadlock entre checkouts
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Estoque e WHERE e.produto.idProduto IN :idsProdutos ORDER BY e.produto.idProduto")
+    List<Estoque> travarPorProdutos(@Param("idsProdutos") Collection<Integer> idsProdutos);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new br.unip.ads.pim.meuhortifruti.dto.EstoqueSincronizacaoDTO(" +
+            "e.idEstoque, e.produto.idProduto, e.quantidadeProdutos) " +
+            "FROM Estoque e WHERE e.idEstoque IN :ids ORDER BY e.idEstoque")
+    List<EstoqueSincronizacaoDTO> listarParaSincronizacao(@Param("ids") Collection<Integer> ids);
 }
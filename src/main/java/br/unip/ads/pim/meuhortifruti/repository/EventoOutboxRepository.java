@@ -0,0 +1,37 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.entity.EventoOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.cfg.AvailableSettings.JAKARTA_LOCK_TIMEOUT;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Reserva o próximo lote de eventos disponíveis. O timeout {@code -2} vira
+     * {@code FOR UPDATE SKIP LOCKED}: linhas já reservadas por outro relay são puladas em vez de
+     * esperadas, então várias instâncias drenam a fila em paralelo sem entregar o mesmo evento.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT e FROM EventoOutbox e WHERE e.disponivelEm <= :agora ORDER BY e.idEvento")
+    List<EventoOutbox> reservarDisponiveis(@Param("agora") Instant agora, Limit limite);
+
+    @Modifying
+    @Query("DELETE FROM EventoOutbox e WHERE e.idEvento IN :ids")
+    int excluirEntregues(@Param("ids") Collection<Long> ids);
+}
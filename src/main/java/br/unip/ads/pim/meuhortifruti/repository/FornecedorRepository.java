@@ -1,16 +1,31 @@
 package br.unip.ads.pim.meuhortifruti.repository;
 
 import br.unip.ads.pim.meuhortifruti.entity.Fornecedor;
+import br.unip.ads.pim.meuhortifruti.dto.FornecedorResponseDTO;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+
 @Repository
 public interface FornecedorRepository extends JpaRepository <Fornecedor, Integer> {
 
     Optional<Fornecedor> findByEmail(String email);
 
     boolean existsByEmail(String  email);
-}
 
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new br.unip.ads.pim.meuhortifruti.dto.FornecedorResponseDTO(f.idFornecedor, f.nome, f.cnpj, f.telefone, f.email, f.endereco, f.produtosFornecidos) " +
+            "FROM Fornecedor f ORDER BY f.idFornecedor")
+    List<FornecedorResponseDTO> listarResumos();
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT f.idFornecedor FROM Fornecedor f")
+    List<Integer> listarIds();
+}
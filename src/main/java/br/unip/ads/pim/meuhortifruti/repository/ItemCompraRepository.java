@@ -1,11 +1,25 @@
 package br.unip.ads.pim.meuhortifruti.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import br.unip.ads.pim.meuhortifruti.entity.ItemCompra;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ItemCompraRepository extends JpaRepository<ItemCompra, Integer>{
 
-}
\ No newline at end of file
+    /**
+     * Itens de várias compras com o produto (e o estoque dele, lado inverso de um
+     * {@code @OneToOne}) já carregados, para montar a listagem detalhada em uma consulta só
+     * em vez de uma por compra e por item.
+     */
+    @EntityGraph(attributePaths = {"produto", "produto.estoque"})
+    @Query("SELECT i FROM ItemCompra i WHERE i.compra.idCompra IN :idsCompra ORDER BY i.compra.idCompra, i.idItemCompra")
+    List<ItemCompra> buscarPorCompras(@Param("idsCompra") Collection<Integer> idsCompra);
+}
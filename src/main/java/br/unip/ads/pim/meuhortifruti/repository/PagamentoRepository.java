@@ -3,6 +3,8 @@ package br.unip.ads.pim.meuhortifruti.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import br.unip.ads.pim.meuhortifruti.entity.Pagamento;
@@ -10,7 +12,9 @@ import br.unip.ads.pim.meuhortifruti.entity.Pagamento;
 @Repository
 public interface PagamentoRepository extends JpaRepository<Pagamento, Integer>{
 
-    Optional<Pagamento> findByIdCompra(Integer idCompra);
-    
-    boolean existsByIdCompra(Integer idCompra);
+    @Query("SELECT p FROM Pagamento p WHERE p.compra.idCompra = :idCompra")
+    Optional<Pagamento> findByIdCompra(@Param("idCompra") Integer idCompra);
+
+    @Query("SELECT COUNT(p) > 0 FROM Pagamento p WHERE p.compra.idCompra = :idCompra")
+    boolean existsByIdCompra(@Param("idCompra") Integer idCompra);
 }
\ No newline at end of file
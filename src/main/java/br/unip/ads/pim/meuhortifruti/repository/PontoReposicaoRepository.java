@@ -0,0 +1,38 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.entity.PontoReposicao;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ItemReposicao;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+
+@Repository
+public interface PontoReposicaoRepository extends JpaRepository<PontoReposicao, Integer> {
+
+    @QueryHints({
+            @QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"),
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000")
+    })
+    @Query("SELECT new br.unip.ads.pim.meuhortifruti.repository.projecao.ItemReposicao(" +
+            "p.idProduto, p.nome, p.fornecedor.idFornecedor, e.idEstoque, e.quantidadeProdutos, " +
+            "r.pontoReposicao, r.estoqueMaximo) " +
+            "FROM PontoReposicao r JOIN Produto p ON p.idProduto = r.idProduto LEFT JOIN p.estoque e")
+    List<ItemReposicao> listarItens();
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new br.unip.ads.pim.meuhortifruti.repository.projecao.ItemReposicao(" +
+            "p.idProduto, p.nome, p.fornecedor.idFornecedor, e.idEstoque, e.quantidadeProdutos, " +
+            "r.pontoReposicao, r.estoqueMaximo) " +
+            "FROM PontoReposicao r JOIN Produto p ON p.idProduto = r.idProduto LEFT JOIN p.estoque e " +
+            "WHERE r.idProduto IN :idsProdutos")
+    List<ItemReposicao> listarItensPorProdutos(@Param("idsProdutos") Collection<Integer> idsProdutos);
+}
@@ -1,15 +1,144 @@
 package br.unip.ads.pim.meuhortifruti.repository;
 
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSincronizacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSugestaoResponseDTO;
 import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoBusca;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoNome;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoResumo;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoValidade;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Integer> {
 
+    /**
+     * Busca por trigramas (pg_trgm) pela distância de {@code word_similarity}, que compara o termo
+     * com o trecho mais parecido do nome: "moranga" acha "Abóbora Moranga" e "alfce" acha "Alface".
+     * O filtro {@code <%} e a ordenação {@code <<->} usam o índice GiST {@code idx_produto_nome_trgm},
+     * que devolve os mais próximos primeiro e para no limite sem pontuar todos os candidatos.
+     * Empates de distância saem na ordem do índice. Parâmetros: termo, limite e deslocamento.
+     */
+    String SQL_BUSCA_POR_SIMILARIDADE =
+            "SELECT p.id_produto AS \"idProduto\", p.nome AS \"nome\", p.preço AS \"preco\", " +
+            "p.quantidade_estoque AS \"quantidadeEstoque\", p.data AS \"dataEntrega\", " +
+            "p.dt_validade AS \"dtValidade\", 1 - (?1 <<-> p.nome) AS \"similaridade\" " +
+            "FROM produto p " +
+            "WHERE ?1 <% p.nome " +
+            "ORDER BY ?1 <<-> p.nome " +
+            "LIMIT ?2 OFFSET ?3";
+
     Optional<Produto> findByNome(String nome);
 
     boolean existsByNome(String nome);
+
+    /**
+     * Produtos com os nomes do lote de importação. Os nomes vão como um único array em
+     * {@code = ANY(?)}: um {@code IN} com um parâmetro por nome custa ao PostgreSQL um plano novo a
+     * cada lote, várias vezes mais caro que a própria busca no índice.
+     */
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query(value = "SELECT p.id_produto AS \"idProduto\", p.nome AS \"nome\", p.preço AS \"preco\" " +
+            "FROM produto p WHERE p.nome = ANY(?1)", nativeQuery = true)
+    List<ProdutoNome> listarPorNomes(String[] nomes);
+
+    /**
+     * Última alteração do produto ou do fornecedor dele, o que for mais recente: a resposta do
+     * produto inclui o fornecedor, então editar o fornecedor também precisa mudar o ETag.
+     */
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT CASE WHEN f.atualizadoEm > p.atualizadoEm THEN f.atualizadoEm ELSE p.atualizadoEm END " +
+            "FROM Produto p LEFT JOIN p.fornecedor f WHERE p.idProduto = :id")
+    Optional<Instant> buscarUltimaAlteracao(@Param("id") Integer id);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new br.unip.ads.pim.meuhortifruti.dto.ProdutoSincronizacaoDTO(" +
+            "p.idProduto, p.nome, p.preco, p.quantidadeEstoque, p.dataEntrega, p.dtValidade, p.categoria.idCategoria) " +
+            "FROM Produto p WHERE p.idProduto IN :ids ORDER BY p.idProduto")
+    List<ProdutoSincronizacaoDTO> listarParaSincronizacao(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Ajusta, só na transação corrente, o limiar do operador {@code <%} (0,6 por padrão no pg_trgm,
+     * alto demais para erros de digitação em palavras curtas).
+     */
+    @Query(value = "SELECT set_config('pg_trgm.word_similarity_threshold', ?1, true)", nativeQuery = true)
+    String definirLimiarSimilaridade(String limiar);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query(value = SQL_BUSCA_POR_SIMILARIDADE, nativeQuery = true)
+    List<ProdutoBusca> buscarPorSimilaridade(String termo, int limite, long deslocamento);
+
+    /**
+     * Listagem completa como projeção: só as colunas de {@code ProdutoResponseDTO}, sem
+     * entidades gerenciadas nem snapshot de dirty checking.
+     */
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoResumo(" +
+            "p.idProduto, p.nome, p.preco, p.quantidadeEstoque, p.dataEntrega, p.dtValidade, " +
+            "f.idFornecedor, f.nome, f.cnpj, f.telefone, f.email, f.endereco, f.produtosFornecidos) " +
+            "FROM Produto p LEFT JOIN p.fornecedor f " +
+            "ORDER BY p.idProduto")
+    List<ProdutoResumo> listarResumos();
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new br.unip.ads.pim.meuhortifruti.dto.ProdutoSugestaoResponseDTO(p.idProduto, p.nome, p.preco) " +
+            "FROM Produto p")
+    List<ProdutoSugestaoResponseDTO> listarSugestoes();
+
+    /**
+     * Lote de produtos com estoque que vencem até {@code fim}, em ordem FEFO, logo depois de
+     * ({@code ultimaData}, {@code ultimoId}). A data do cursor é o início da faixa lida no índice
+     * {@code idx_produto_validade_id}, então cada lote começa onde o anterior parou; para o
+     * primeiro lote passe o início da janela e 0.
+     */
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoValidade(" +
+            "p.idProduto, p.nome, p.preco, p.quantidadeEstoque, p.dtValidade) " +
+            "FROM Produto p " +
+            "WHERE p.dtValidade >= :ultimaData AND p.dtValidade <= :fim " +
+            "AND (p.dtValidade > :ultimaData OR p.idProduto > :ultimoId) " +
+            "AND p.quantidadeEstoque > 0 " +
+            "ORDER BY p.dtValidade, p.idProduto")
+    List<ProdutoValidade> buscarVencendoApos(@Param("ultimaData") LocalDate ultimaData,
+                                             @Param("ultimoId") Integer ultimoId,
+                                             @Param("fim") LocalDate fim,
+                                             Limit limite);
+
+    /**
+     * As páginas e o {@link #streamTodos()} já trazem o fornecedor no mesmo SELECT: a resposta o
+     * inclui, e um proxy lazy custaria uma consulta por fornecedor diferente na página.
+     */
+    @Query("SELECT p FROM Produto p LEFT JOIN FETCH p.fornecedor ORDER BY p.nome, p.idProduto")
+    List<Produto> buscarPrimeiraPagina(Limit limite);
+
+    @Query("SELECT p FROM Produto p LEFT JOIN FETCH p.fornecedor " +
+            "WHERE p.nome > :nome OR (p.nome = :nome AND p.idProduto > :idProduto) " +
+            "ORDER BY p.nome, p.idProduto")
+    List<Produto> buscarPaginaApos(@Param("nome") String nome,
+                                   @Param("idProduto") Integer idProduto,
+                                   Limit limite);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Produto p LEFT JOIN FETCH p.fornecedor ORDER BY p.idProduto")
+    Stream<Produto> streamTodos();
 }
@@ -0,0 +1,42 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.dto.VendaCategoriaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.VendaDiariaCategoria;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+
+@Repository
+public interface VendaDiariaCategoriaRepository extends JpaRepository<VendaDiariaCategoria, VendaDiariaCategoria.Chave> {
+
+    @Modifying
+    @Query("INSERT INTO VendaDiariaCategoria (dia, idCategoria, faixa, unidades, receita) " +
+            "VALUES (:dia, :idCategoria, :faixa, :unidades, :receita) " +
+            "ON CONFLICT (dia, idCategoria, faixa) DO UPDATE SET " +
+            "unidades = unidades + excluded.unidades, " +
+            "receita = receita + excluded.receita")
+    int acumular(@Param("dia") LocalDate dia,
+                 @Param("idCategoria") Integer idCategoria,
+                 @Param("faixa") int faixa,
+                 @Param("unidades") long unidades,
+                 @Param("receita") BigDecimal receita);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new br.unip.ads.pim.meuhortifruti.dto.VendaCategoriaResponseDTO(" +
+            "v.idCategoria, c.nome, SUM(v.unidades), SUM(v.receita)) " +
+            "FROM VendaDiariaCategoria v LEFT JOIN Categoria c ON c.idCategoria = v.idCategoria " +
+            "WHERE v.dia BETWEEN :inicio AND :fim " +
+            "GROUP BY v.idCategoria, c.nome " +
+            "ORDER BY SUM(v.receita) DESC, v.idCategoria")
+    List<VendaCategoriaResponseDTO> resumirPorCategoria(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+}
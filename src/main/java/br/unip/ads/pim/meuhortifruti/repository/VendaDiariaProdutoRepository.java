@@ -0,0 +1,49 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.dto.VendaProdutoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.VendaDiariaProduto;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+
+@Repository
+public interface VendaDiariaProdutoRepository extends JpaRepository<VendaDiariaProduto, VendaDiariaProduto.Chave> {
+
+    @Modifying
+    @Query("INSERT INTO VendaDiariaProduto (dia, idProduto, idCategoria, unidades, receita) " +
+            "VALUES (:dia, :idProduto, :idCategoria, :unidades, :receita) " +
+            "ON CONFLICT (dia, idProduto) DO UPDATE SET " +
+            "unidades = unidades + excluded.unidades, " +
+            "receita = receita + excluded.receita")
+    int acumular(@Param("dia") LocalDate dia,
+                 @Param("idProduto") Integer idProduto,
+                 @Param("idCategoria") Integer idCategoria,
+                 @Param("unidades") long unidades,
+                 @Param("receita") BigDecimal receita);
+
+    /**
+     * Produtos mais vendidos do período, somando as linhas diárias pela chave primária
+     * ({@code dia} na frente). O nome vem do cadastro atual; produto excluído sai sem nome.
+     */
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new br.unip.ads.pim.meuhortifruti.dto.VendaProdutoResponseDTO(" +
+            "v.idProduto, p.nome, SUM(v.unidades), SUM(v.receita)) " +
+            "FROM VendaDiariaProduto v LEFT JOIN Produto p ON p.idProduto = v.idProduto " +
+            "WHERE v.dia BETWEEN :inicio AND :fim " +
+            "GROUP BY v.idProduto, p.nome " +
+            "ORDER BY SUM(v.receita) DESC, v.idProduto")
+    List<VendaProdutoResponseDTO> resumirPorProduto(@Param("inicio") LocalDate inicio,
+                                                    @Param("fim") LocalDate fim,
+                                                    Limit limite);
+}
@@ -0,0 +1,46 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.dto.VendaDiariaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.VendaDiaria;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+
+@Repository
+public interface VendaDiariaRepository extends JpaRepository<VendaDiaria, VendaDiaria.Chave> {
+
+    /**
+     * Soma a venda à faixa do dia em um único comando. O {@code ON CONFLICT} do HQL vira
+     * {@code INSERT ... ON CONFLICT DO UPDATE} no PostgreSQL e {@code MERGE} no H2, então duas
+     * vendas simultâneas no primeiro instante do dia não disputam quem cria a linha.
+     */
+    @Modifying
+    @Query("INSERT INTO VendaDiaria (dia, faixa, quantidadeCompras, unidades, receita) " +
+            "VALUES (:dia, :faixa, :compras, :unidades, :receita) " +
+            "ON CONFLICT (dia, faixa) DO UPDATE SET " +
+            "quantidadeCompras = quantidadeCompras + excluded.quantidadeCompras, " +
+            "unidades = unidades + excluded.unidades, " +
+            "receita = receita + excluded.receita")
+    int acumular(@Param("dia") LocalDate dia,
+                 @Param("faixa") int faixa,
+                 @Param("compras") long compras,
+                 @Param("unidades") long unidades,
+                 @Param("receita") BigDecimal receita);
+
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT new br.unip.ads.pim.meuhortifruti.dto.VendaDiariaResponseDTO(" +
+            "v.dia, SUM(v.quantidadeCompras), SUM(v.unidades), SUM(v.receita)) " +
+            "FROM VendaDiaria v WHERE v.dia BETWEEN :inicio AND :fim " +
+            "GROUP BY v.dia ORDER BY v.dia")
+    List<VendaDiariaResponseDTO> listarPorPeriodo(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+}
@@ -0,0 +1,37 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.entity.VersaoCatalogo;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface VersaoCatalogoRepository extends JpaRepository<VersaoCatalogo, String> {
+
+    /**
+     * Incrementa a versão da coleção, criando a linha na primeira escrita. A linha fica travada até
+     * o fim da transação, o que serializa as escritas do catálogo; elas são poucas por dia.
+     */
+    @Modifying
+    @Query("INSERT INTO VersaoCatalogo (colecao, versao, atualizadoEm) VALUES (:colecao, 1, :agora) " +
+            "ON CONFLICT (colecao) DO UPDATE SET " +
+            "versao = versao + 1, " +
+            "atualizadoEm = excluded.atualizadoEm")
+    int incrementar(@Param("colecao") String colecao, @Param("agora") Instant agora);
+
+    @Modifying
+    @Query("INSERT INTO VersaoCatalogo (colecao, versao, atualizadoEm) VALUES (:colecao, 0, :agora) " +
+            "ON CONFLICT (colecao) DO NOTHING")
+    int criarSeAusente(@Param("colecao") String colecao, @Param("agora") Instant agora);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM VersaoCatalogo v WHERE v.colecao = :colecao")
+    Optional<VersaoCatalogo> travar(@Param("colecao") String colecao);
+}
@@ -0,0 +1,15 @@
+package br.unip.ads.pim.meuhortifruti.repository.projecao;
+
+import java.math.BigDecimal;
+
+/**
+ * Compra e pagamento (por LEFT JOIN) numa linha só, para a listagem de compras.
+ */
+public record CompraResumo(
+        Integer idCompra,
+        String statusCompra,
+        Integer idPagamento,
+        BigDecimal valor,
+        String formaPagamento,
+        String statusPagamento) {
+}
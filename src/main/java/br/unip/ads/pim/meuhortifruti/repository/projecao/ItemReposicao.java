@@ -0,0 +1,15 @@
+package br.unip.ads.pim.meuhortifruti.repository.projecao;
+
+/**
+ * Um produto com ponto de reposição, já com o fornecedor e o saldo do estoque. {@code idEstoque} e
+ * {@code quantidade} vêm nulos quando o produto ainda não tem linha de estoque.
+ */
+public record ItemReposicao(
+        Integer idProduto,
+        String nome,
+        Integer idFornecedor,
+        Integer idEstoque,
+        Integer quantidade,
+        Integer pontoReposicao,
+        Integer estoqueMaximo) {
+}
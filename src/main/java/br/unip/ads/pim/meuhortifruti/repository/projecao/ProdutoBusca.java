@@ -0,0 +1,25 @@
+package br.unip.ads.pim.meuhortifruti.repository.projecao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Linha da busca por similaridade. Projeção por interface porque a consulta é nativa e as
+ * colunas chegam pelos aliases.
+ */
+public interface ProdutoBusca {
+
+    Integer getIdProduto();
+
+    String getNome();
+
+    BigDecimal getPreco();
+
+    Integer getQuantidadeEstoque();
+
+    LocalDate getDataEntrega();
+
+    LocalDate getDtValidade();
+
+    Double getSimilaridade();
+}
@@ -0,0 +1,13 @@
+package br.unip.ads.pim.meuhortifruti.repository.projecao;
+
+import java.math.BigDecimal;
+
+/**
+ * Id e preço de um produto achado pelo nome, sem carregar a entidade: carregar {@code Produto}
+ * dispara uma consulta a mais por produto para o {@code estoque} do lado inverso do one-to-one.
+ */
+public record ProdutoNome(
+        Integer idProduto,
+        String nome,
+        BigDecimal preco) {
+}
@@ -0,0 +1,24 @@
+package br.unip.ads.pim.meuhortifruti.repository.projecao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Colunas de produto (e do fornecedor, por LEFT JOIN) usadas na listagem, lidas direto
+ * da consulta sem passar pelo contexto de persistência.
+ */
+public record ProdutoResumo(
+        Integer idProduto,
+        String nome,
+        BigDecimal preco,
+        Integer quantidadeEstoque,
+        LocalDate dataEntrega,
+        LocalDate dtValidade,
+        Integer idFornecedor,
+        String nomeFornecedor,
+        String cnpjFornecedor,
+        String telefoneFornecedor,
+        String emailFornecedor,
+        String enderecoFornecedor,
+        String produtosFornecidos) {
+}
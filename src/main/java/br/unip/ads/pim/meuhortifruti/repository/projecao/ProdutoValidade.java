@@ -0,0 +1,15 @@
+package br.unip.ads.pim.meuhortifruti.repository.projecao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Só o necessário para decidir remarcação ou retirada de um produto perto do vencimento.
+ */
+public record ProdutoValidade(
+        Integer idProduto,
+        String nome,
+        BigDecimal preco,
+        Integer quantidadeEstoque,
+        LocalDate dtValidade) {
+}
@@ -0,0 +1,108 @@
+package br.unip.ads.pim.meuhortifruti.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.io.IOException;
+import java.net.URL;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chaves de assinatura do Keycloak mantidas em memória. A validação de um token nunca faz
+ * chamada de rede: o conjunto é recarregado em segundo plano a cada {@code intervaloAtualizacao}
+ * e, no máximo uma vez por {@code intervaloMinimoRecarga}, quando chega um {@code kid}
+ * desconhecido. Se o Keycloak estiver fora do ar, continua valendo o último conjunto carregado.
+ */
+@Slf4j
+public class JwksCache implements JWKSource<SecurityContext>, InitializingBean, DisposableBean {
+
+    private static final int TIMEOUT_CONEXAO_MS = 2000;
+    private static final int TIMEOUT_LEITURA_MS = 2000;
+    private static final int TAMANHO_MAXIMO_BYTES = 50 * 1024;
+
+    private final URL jwkSetUri;
+    private final Duration intervaloAtualizacao;
+    private final long intervaloMinimoRecargaNanos;
+    private final ScheduledExecutorService executor;
+    private final AtomicLong ultimaRecargaSobDemanda;
+
+    private volatile JWKSet conjunto = new JWKSet();
+
+    public JwksCache(URL jwkSetUri, Duration intervaloAtualizacao, Duration intervaloMinimoRecarga) {
+        this.jwkSetUri = jwkSetUri;
+        this.intervaloAtualizacao = intervaloAtualizacao;
+        this.intervaloMinimoRecargaNanos = intervaloMinimoRecarga.toNanos();
+        this.ultimaRecargaSobDemanda = new AtomicLong(System.nanoTime() - intervaloMinimoRecargaNanos);
+        this.executor = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "jwks-atualizacao");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * A primeira carga é feita na subida da aplicação, fora do caminho das requisições. Se
+     * falhar, a aplicação sobe mesmo assim e o agendamento continua tentando.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        atualizar();
+        long intervalo = intervaloAtualizacao.toMillis();
+        executor.scheduleWithFixedDelay(this::atualizar, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext context) {
+        List<JWK> chaves = selector.select(conjunto);
+        if (chaves.isEmpty()) {
+            solicitarRecarga();
+        }
+        return chaves;
+    }
+
+    public JWKSet getConjunto() {
+        return conjunto;
+    }
+
+    void atualizar() {
+        try {
+            JWKSet novo = JWKSet.load(jwkSetUri, TIMEOUT_CONEXAO_MS, TIMEOUT_LEITURA_MS, TAMANHO_MAXIMO_BYTES);
+            if (novo.getKeys().isEmpty()) {
+                log.warn("JWKS vazio em {}; mantendo {} chave(s) anteriores", jwkSetUri, conjunto.getKeys().size());
+                return;
+            }
+            conjunto = novo;
+            log.debug("JWKS atualizado com {} chave(s)", novo.getKeys().size());
+        } catch (IOException | ParseException | RuntimeException e) {
+            log.warn("Falha ao atualizar JWKS em {}; mantendo {} chave(s) anteriores: {}",
+                    jwkSetUri, conjunto.getKeys().size(), e.getMessage());
+        }
+    }
+
+    private void solicitarRecarga() {
+        long agora = System.nanoTime();
+        long anterior = ultimaRecargaSobDemanda.get();
+        if (agora - anterior >= intervaloMinimoRecargaNanos
+                && ultimaRecargaSobDemanda.compareAndSet(anterior, agora)
+                && !executor.isShutdown()) {
+            executor.execute(this::atualizar);
+        }
+    }
+}
@@ -1,5 +1,12 @@
 package br.unip.ads.pim.meuhortifruti.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
@@ -10,27 +17,83 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Converte o JWT do Keycloak em {@link JwtAuthenticationToken}. As authorities extraídas
+ * ficam em cache por token (jti + exp) até o instante de expiração, porque os terminais
+ * reutilizam o mesmo access token em centenas de requisições seguidas.
+ */
 @Component
 public class JwtAuthConverter implements Converter<Jwt, AbstractAuthenticationToken> {
 
+    static final String NOME_CACHE = "jwtAutoridades";
+    private static final long TAMANHO_MAXIMO_CACHE = 10_000;
+
     private final JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
     private final String principalAttribute = JwtClaimNames.SUB;
     private final String resourceId = "hortifruti-backend";
+    private final Cache<String, Set<GrantedAuthority>> cacheAutoridades;
+
+    public JwtAuthConverter() {
+        this((MeterRegistry) null);
+    }
+
+    @Autowired
+    public JwtAuthConverter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this(meterRegistry.getIfAvailable());
+    }
+
+    JwtAuthConverter(MeterRegistry meterRegistry) {
+        this.cacheAutoridades = Caffeine.newBuilder()
+            .maximumSize(TAMANHO_MAXIMO_CACHE)
+            .expireAfter(new ExpiraNoExp())
+            .recordStats()
+            .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cacheAutoridades, NOME_CACHE);
+        }
+    }
 
     @Override
     public AbstractAuthenticationToken convert(Jwt jwt) {
-        Collection<GrantedAuthority> authorities = Stream.concat(
+        String chave = chaveCache(jwt);
+        Set<GrantedAuthority> authorities = chave != null
+            ? cacheAutoridades.get(chave, k -> extrairAutoridades(jwt))
+            : extrairAutoridades(jwt);
+
+        return new JwtAuthenticationToken(jwt, authorities, getPrincipalClaimName(jwt));
+    }
+
+    Cache<String, Set<GrantedAuthority>> getCacheAutoridades() {
+        return cacheAutoridades;
+    }
+
+    private Set<GrantedAuthority> extrairAutoridades(Jwt jwt) {
+        return Stream.concat(
             jwtGrantedAuthoritiesConverter.convert(jwt).stream(),
             extractResourceRoles(jwt).stream()
-        ).collect(Collectors.toSet());
+        ).collect(Collectors.toUnmodifiableSet());
+    }
 
-        return new JwtAuthenticationToken(jwt, authorities, getPrincipalClaimName(jwt));
+    /**
+     * Tokens sem exp não entram no cache: não haveria quando descartá-los. Sem jti, o
+     * próprio valor do token identifica a sessão.
+     */
+    private String chaveCache(Jwt jwt) {
+        Instant expiraEm = jwt.getExpiresAt();
+        if (expiraEm == null) {
+            return null;
+        }
+        String id = jwt.getId() != null ? jwt.getId() : jwt.getTokenValue();
+        return id + "|" + expiraEm.getEpochSecond();
     }
 
     private String getPrincipalClaimName(Jwt jwt) {
@@ -68,4 +131,23 @@ public class JwtAuthConverter implements Converter<Jwt, AbstractAuthenticationTo
             .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
             .collect(Collectors.toSet());
     }
+
+    private static final class ExpiraNoExp implements Expiry<String, Set<GrantedAuthority>> {
+
+        @Override
+        public long expireAfterCreate(String chave, Set<GrantedAuthority> valor, long tempoAtual) {
+            long exp = Long.parseLong(chave.substring(chave.lastIndexOf('|') + 1));
+            return Math.max(0, Duration.between(Instant.now(), Instant.ofEpochSecond(exp)).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, Set<GrantedAuthority> valor, long tempoAtual, long duracaoAtual) {
+            return duracaoAtual;
+        }
+
+        @Override
+        public long expireAfterRead(String chave, Set<GrantedAuthority> valor, long tempoAtual, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
 }
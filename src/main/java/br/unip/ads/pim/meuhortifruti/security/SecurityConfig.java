@@ -1,5 +1,11 @@
 package br.unip.ads.pim.meuhortifruti.security;
 
+import br.unip.ads.pim.meuhortifruti.config.KeycloakProperties;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -8,11 +14,16 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.net.MalformedURLException;
+import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
 
@@ -56,6 +67,34 @@ public class SecurityConfig {
         return http.build();
     }
 
+    @Bean
+    public JwksCache jwksCache(OAuth2ResourceServerProperties resourceServerProperties,
+                               KeycloakProperties keycloakProperties) throws MalformedURLException {
+        return new JwksCache(
+            URI.create(resourceServerProperties.getJwt().getJwkSetUri()).toURL(),
+            keycloakProperties.getJwksIntervaloAtualizacao(),
+            keycloakProperties.getJwksIntervaloMinimoRecarga());
+    }
+
+    /**
+     * Substitui o decoder autoconfigurado a partir do jwk-set-uri, que busca as chaves na
+     * própria requisição quando o cache dele expira.
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(JwksCache jwksCache, OAuth2ResourceServerProperties resourceServerProperties) {
+        return criarJwtDecoder(jwksCache, resourceServerProperties.getJwt().getIssuerUri());
+    }
+
+    static JwtDecoder criarJwtDecoder(JwksCache jwksCache, String issuerUri) {
+        DefaultJWTProcessor<SecurityContext> processador = new DefaultJWTProcessor<>();
+        processador.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwksCache));
+        processador.setJWTClaimsSetVerifier((claims, context) -> { });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processador);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return decoder;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,554 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.CargaHistoricaProperties;
+import br.unip.ads.pim.meuhortifruti.dto.CargaHistoricaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.CargaHistorica;
+import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import br.unip.ads.pim.meuhortifruti.repository.CargaHistoricaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.DatabaseMetaData;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Carga do histórico de vendas de uma loja nova direto no PostgreSQL, sem passar pelo JPA. Cada
+ * arquivo (compras, itens e pagamentos, em CSV) vai com um único {@code COPY ... FROM STDIN} do
+ * corpo da requisição para uma tabela de preparação da carga. A mesclagem roda em segundo plano:
+ * valida as tabelas de preparação com consultas de conjunto e copia as compras para
+ * {@code compra}, {@code item_compra} e {@code pagamento} em lotes de {@code app.carga-historica.lote}
+ * compras, um {@code INSERT ... SELECT} por tabela e por lote. As vendas aprovadas com dia entram
+ * também nos acumulados de {@link EstatisticaVendasService}.
+ *
+ * <p>Os ids saem das mesmas sequências do Hibernate e em blocos do tamanho do incremento delas:
+ * cada {@code nextval} reserva um bloco inteiro, como faz o otimizador pooled-lo, então os ids da
+ * carga não colidem com os que a aplicação tem reservados em memória.
+ *
+ * <p>Cada lote confirmado grava na carga até onde chegou; uma mesclagem que falhou, ou cuja
+ * instância caiu, é retomada do lote seguinte. Carga histórica não gera eventos de outbox nem
+ * mexe no estoque: são vendas passadas.
+ */
+@Slf4j
+@Service
+public class CargaHistoricaService implements DisposableBean {
+
+    /** Arquivos de uma carga: cada um tem a sua tabela de preparação e as colunas do CSV, na ordem. */
+    public enum Arquivo {
+        COMPRAS("compras", "compra",
+                "id_externo BIGINT, status_compra VARCHAR(100), dia DATE, id_compra INTEGER",
+                "id_externo, status_compra, dia", "id_externo"),
+        ITENS("itens", "item",
+                "id_compra_externo BIGINT, id_produto INTEGER, preco NUMERIC(10, 2), quantidade INTEGER",
+                "id_compra_externo, id_produto, preco, quantidade", "id_compra_externo"),
+        PAGAMENTOS("pagamentos", "pagamento",
+                "id_compra_externo BIGINT, valor NUMERIC(10, 2), forma_pagamento VARCHAR(255), status_pagamento VARCHAR(100)",
+                "id_compra_externo, valor, forma_pagamento, status_pagamento", "id_compra_externo");
+
+        private final String descricao;
+        private final String sufixo;
+        private final String definicao;
+        private final String colunas;
+        private final String chave;
+
+        Arquivo(String descricao, String sufixo, String definicao, String colunas, String chave) {
+            this.descricao = descricao;
+            this.sufixo = sufixo;
+            this.definicao = definicao;
+            this.colunas = colunas;
+            this.chave = chave;
+        }
+
+        String tabela(Long idCarga) {
+            return "carga_historica_" + idCarga + "_" + sufixo;
+        }
+    }
+
+    static final String SEQUENCIA_COMPRA = "compra_seq";
+    static final String SEQUENCIA_ITEM = "item_compra_seq";
+    static final String SEQUENCIA_PAGAMENTO = "pagamento_seq";
+
+    private static final int TAMANHO_MAXIMO_ERRO = 2000;
+    private static final int EXEMPLOS = 5;
+
+    private final CargaHistoricaRepository cargaHistoricaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final CargaHistoricaProperties propriedades;
+    private final TransactionTemplate transacao;
+    private final ExecutorService executor;
+
+    private volatile Boolean postgres;
+
+    public CargaHistoricaService(CargaHistoricaRepository cargaHistoricaRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 DataSource dataSource,
+                                 CargaHistoricaProperties propriedades,
+                                 PlatformTransactionManager transactionManager) {
+        this.cargaHistoricaRepository = cargaHistoricaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.propriedades = propriedades;
+        this.transacao = new TransactionTemplate(transactionManager);
+        AtomicInteger numero = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(tarefa -> {
+            Thread thread = new Thread(tarefa, "carga-historica-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @Transactional
+    public CargaHistoricaResponseDTO criar() {
+        exigirPostgres();
+        Instant agora = Instant.now();
+        CargaHistorica carga = cargaHistoricaRepository.save(CargaHistorica.builder()
+                .status(CargaHistorica.RECEBENDO)
+                .criadoEm(agora)
+                .atualizadoEm(agora)
+                .build());
+        for (Arquivo arquivo : Arquivo.values()) {
+            jdbcTemplate.execute("CREATE TABLE " + arquivo.tabela(carga.getIdCarga()) + " (" + arquivo.definicao + ")");
+        }
+        return converterParaDTO(carga);
+    }
+
+    @Transactional(readOnly = true)
+    public CargaHistoricaResponseDTO buscarPorId(Long idCarga) {
+        return converterParaDTO(cargaHistoricaRepository.findById(idCarga)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Carga histórica", "id", idCarga)));
+    }
+
+    /**
+     * Substitui o conteúdo do arquivo na tabela de preparação pelo CSV recebido (com cabeçalho, as
+     * colunas na ordem de {@link Arquivo}). O {@code COPY} é atômico: uma linha inválida recusa o
+     * arquivo inteiro e o que já estava carregado fica.
+     */
+    @Transactional
+    public CargaHistoricaResponseDTO receber(Long idCarga, Arquivo arquivo, InputStream entrada) throws IOException {
+        exigirPostgres();
+        CargaHistorica carga = travar(idCarga);
+        if (CargaHistorica.MESCLANDO.equals(carga.getStatus()) || CargaHistorica.CONCLUIDA.equals(carga.getStatus())) {
+            throw new RegraNegocioException("A carga " + idCarga + " não aceita arquivos com status " + carga.getStatus());
+        }
+        if (carga.getUltimoIdExterno() != null) {
+            throw new RegraNegocioException("A carga " + idCarga + " já teve compras mescladas e não aceita novos arquivos");
+        }
+        String tabela = arquivo.tabela(idCarga);
+        // Sem os índices da validação o COPY só escreve a tabela
+        jdbcTemplate.execute("DROP INDEX IF EXISTS " + tabela + "_idx");
+        jdbcTemplate.execute("TRUNCATE " + tabela);
+        long linhas = copiar(tabela, arquivo, entrada);
+        switch (arquivo) {
+            case COMPRAS -> carga.setComprasRecebidas(linhas);
+            case ITENS -> carga.setItensRecebidos(linhas);
+            case PAGAMENTOS -> carga.setPagamentosRecebidos(linhas);
+        }
+        carga.setStatus(CargaHistorica.RECEBENDO);
+        carga.setErro(null);
+        carga.setAtualizadoEm(Instant.now());
+        log.info("Carga histórica {}: {} linha(s) de {} recebida(s)", idCarga, linhas, arquivo.descricao);
+        return converterParaDTO(carga);
+    }
+
+    /**
+     * Começa ou retoma a mesclagem em segundo plano; o andamento sai em {@link #buscarPorId}. Uma
+     * mesclagem em andamento só é retomada depois de {@code app.carga-historica.abandono} sem
+     * avançar.
+     */
+    @Transactional
+    public CargaHistoricaResponseDTO mesclar(Long idCarga) {
+        exigirPostgres();
+        CargaHistorica carga = travar(idCarga);
+        Instant agora = Instant.now();
+        if (CargaHistorica.CONCLUIDA.equals(carga.getStatus())) {
+            throw new RegraNegocioException("A carga " + idCarga + " já foi concluída");
+        }
+        if (CargaHistorica.MESCLANDO.equals(carga.getStatus())
+                && carga.getAtualizadoEm().isAfter(agora.minus(propriedades.getAbandono()))) {
+            throw new RegraNegocioException("A carga " + idCarga + " já está em mesclagem");
+        }
+        if (carga.getComprasRecebidas() == 0) {
+            throw new RegraNegocioException("A carga " + idCarga + " ainda não recebeu o arquivo de compras");
+        }
+        carga.setStatus(CargaHistorica.MESCLANDO);
+        carga.setErro(null);
+        carga.setAtualizadoEm(agora);
+        aposCommit(() -> executor.execute(() -> executarMesclagem(idCarga)));
+        return converterParaDTO(carga);
+    }
+
+    /** Descarta a carga e as suas tabelas de preparação; o que já foi mesclado fica. */
+    @Transactional
+    public void excluir(Long idCarga) {
+        exigirPostgres();
+        CargaHistorica carga = travar(idCarga);
+        if (CargaHistorica.MESCLANDO.equals(carga.getStatus())
+                && carga.getAtualizadoEm().isAfter(Instant.now().minus(propriedades.getAbandono()))) {
+            throw new RegraNegocioException("A carga " + idCarga + " está em mesclagem");
+        }
+        excluirTabelas(idCarga);
+        cargaHistoricaRepository.delete(carga);
+    }
+
+    void executarMesclagem(Long idCarga) {
+        long inicio = System.nanoTime();
+        try {
+            CargaHistorica carga = cargaHistoricaRepository.findById(idCarga).orElseThrow();
+            Long cursor = carga.getUltimoIdExterno();
+            if (cursor == null) {
+                String problemas = transacao.execute(status -> validar(idCarga));
+                if (problemas != null) {
+                    falhar(idCarga, problemas);
+                    return;
+                }
+            }
+            Map<String, Integer> incrementos = Map.of(
+                    SEQUENCIA_COMPRA, incremento(SEQUENCIA_COMPRA),
+                    SEQUENCIA_ITEM, incremento(SEQUENCIA_ITEM),
+                    SEQUENCIA_PAGAMENTO, incremento(SEQUENCIA_PAGAMENTO));
+            while (true) {
+                if (Thread.currentThread().isInterrupted()) {
+                    falhar(idCarga, "Mesclagem interrompida pelo desligamento da aplicação");
+                    return;
+                }
+                Long desde = cursor;
+                Long ate = transacao.execute(status -> mesclarLote(idCarga, desde, incrementos));
+                if (ate == null) {
+                    break;
+                }
+                cursor = ate;
+            }
+            transacao.executeWithoutResult(status -> concluir(idCarga));
+            log.info("Carga histórica {} concluída em {} ms", idCarga, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (MesclagemSubstituida e) {
+            log.warn("Mesclagem da carga histórica {} encerrada: {}", idCarga, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Falha na mesclagem da carga histórica {}", idCarga, e);
+            falhar(idCarga, e.getClass().getSimpleName() + ": " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private long copiar(String tabela, Arquivo arquivo, InputStream entrada) throws IOException {
+        String sql = "COPY " + tabela + " (" + arquivo.colunas + ") FROM STDIN WITH (FORMAT csv, HEADER true)";
+        try {
+            Long linhas = jdbcTemplate.execute((ConnectionCallback<Long>) conexao -> {
+                try {
+                    return conexao.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, entrada);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return linhas == null ? 0 : linhas;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (DataAccessException e) {
+            throw new RegraNegocioException("Arquivo de " + arquivo.descricao + " recusado: " +
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    /**
+     * Indexa as tabelas de preparação pela compra de origem e confere tudo o que o banco ou as
+     * restrições das entidades recusariam. Devolve a lista de problemas, ou {@code null} se a carga
+     * pode ser mesclada.
+     */
+    private String validar(Long idCarga) {
+        for (Arquivo arquivo : Arquivo.values()) {
+            String tabela = arquivo.tabela(idCarga);
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + tabela + "_idx ON " + tabela + " (" + arquivo.chave + ")");
+            jdbcTemplate.execute("ANALYZE " + tabela);
+        }
+        String compras = Arquivo.COMPRAS.tabela(idCarga);
+        String itens = Arquivo.ITENS.tabela(idCarga);
+        String pagamentos = Arquivo.PAGAMENTOS.tabela(idCarga);
+        List<Verificacao> verificacoes = List.of(
+                new Verificacao("compra(s) com id_externo repetido",
+                        "SELECT id_externo AS chave FROM " + compras + " GROUP BY id_externo HAVING count(*) > 1"),
+                new Verificacao("compra(s) sem id_externo ou sem status",
+                        "SELECT id_externo AS chave FROM " + compras +
+                                " WHERE id_externo IS NULL OR coalesce(trim(status_compra), '') = ''"),
+                new Verificacao("item(ns) de compra ausente do arquivo de compras",
+                        "SELECT i.id_compra_externo AS chave FROM " + itens + " i WHERE NOT EXISTS " +
+                                "(SELECT 1 FROM " + compras + " c WHERE c.id_externo = i.id_compra_externo)"),
+                new Verificacao("item(ns) com produto inexistente",
+                        "SELECT i.id_compra_externo AS chave FROM " + itens + " i WHERE NOT EXISTS " +
+                                "(SELECT 1 FROM produto p WHERE p.id_produto = i.id_produto)"),
+                new Verificacao("item(ns) sem preço ou quantidade válidos",
+                        "SELECT id_compra_externo AS chave FROM " + itens +
+                                " WHERE preco IS NULL OR preco < 0.01 OR quantidade IS NULL OR quantidade < 1"),
+                new Verificacao("pagamento(s) de compra ausente do arquivo de compras",
+                        "SELECT p.id_compra_externo AS chave FROM " + pagamentos + " p WHERE NOT EXISTS " +
+                                "(SELECT 1 FROM " + compras + " c WHERE c.id_externo = p.id_compra_externo)"),
+                new Verificacao("compra(s) com mais de um pagamento",
+                        "SELECT id_compra_externo AS chave FROM " + pagamentos +
+                                " GROUP BY id_compra_externo HAVING count(*) > 1"),
+                new Verificacao("pagamento(s) sem valor, forma ou status válidos",
+                        "SELECT id_compra_externo AS chave FROM " + pagamentos +
+                                " WHERE valor IS NULL OR valor < 0.01 OR coalesce(trim(forma_pagamento), '') = ''" +
+                                " OR coalesce(trim(status_pagamento), '') = ''"));
+
+        List<String> problemas = new ArrayList<>();
+        for (Verificacao verificacao : verificacoes) {
+            jdbcTemplate.query("WITH problema AS (" + verificacao.sql() + ") " +
+                    "SELECT count(*), (SELECT string_agg(chave::text, ', ') FROM " +
+                    "(SELECT chave FROM problema LIMIT " + EXEMPLOS + ") exemplo) FROM problema", resultado -> {
+                long total = resultado.getLong(1);
+                if (total > 0) {
+                    String exemplos = resultado.getString(2);
+                    problemas.add(total + " " + verificacao.descricao() +
+                            (exemplos == null ? "" : " (compras de origem " + exemplos + ")"));
+                }
+            });
+        }
+        return problemas.isEmpty() ? null : resumirErro(String.join("; ", problemas));
+    }
+
+    /**
+     * Mescla as próximas {@code lote} compras depois de {@code desde} e devolve a última mesclada,
+     * ou {@code null} se não sobrou nenhuma.
+     *
+     * <p>O lote começa travando a carga: se ela saiu de mesclagem ou o cursor gravado não é mais
+     * {@code desde}, outra execução a retomou depois de {@code abandono} e esta para sem inserir nada.
+     */
+    private Long mesclarLote(Long idCarga, Long desde, Map<String, Integer> incrementos) {
+        CargaHistorica carga = travar(idCarga);
+        if (!CargaHistorica.MESCLANDO.equals(carga.getStatus())) {
+            throw new MesclagemSubstituida("a carga está " + carga.getStatus());
+        }
+        if (!Objects.equals(carga.getUltimoIdExterno(), desde)) {
+            throw new MesclagemSubstituida("outra execução já avançou o cursor para " + carga.getUltimoIdExterno());
+        }
+        String compras = Arquivo.COMPRAS.tabela(idCarga);
+        String itens = Arquivo.ITENS.tabela(idCarga);
+        String pagamentos = Arquivo.PAGAMENTOS.tabela(idCarga);
+        long inicio = desde != null ? desde : Long.MIN_VALUE;
+        Long fim = jdbcTemplate.queryForObject("SELECT max(id_externo) FROM (SELECT id_externo FROM " + compras +
+                " WHERE id_externo > ? ORDER BY id_externo LIMIT ?) lote", Long.class, inicio, propriedades.getLote());
+        if (fim == null) {
+            return null;
+        }
+
+        int incrementoCompra = incrementos.get(SEQUENCIA_COMPRA);
+        jdbcTemplate.update("WITH linhas AS (" +
+                "SELECT id_externo, row_number() OVER (ORDER BY id_externo) - 1 AS n FROM " + compras +
+                " WHERE id_externo > ? AND id_externo <= ?), " + blocos(SEQUENCIA_COMPRA, incrementoCompra) +
+                "UPDATE " + compras + " c SET id_compra = blocos.inicio + linhas.n % " + incrementoCompra +
+                " FROM linhas JOIN blocos ON blocos.bloco = linhas.n / " + incrementoCompra +
+                " WHERE c.id_externo = linhas.id_externo", inicio, fim);
+        int mescladas = jdbcTemplate.update("INSERT INTO compra (id_compra, status_compra) " +
+                "SELECT id_compra, status_compra FROM " + compras + " WHERE id_externo > ? AND id_externo <= ?", inicio, fim);
+
+        int incrementoItem = incrementos.get(SEQUENCIA_ITEM);
+        int itensMesclados = jdbcTemplate.update("WITH linhas AS (" +
+                "SELECT c.id_compra, i.id_produto, i.preco, i.quantidade, row_number() OVER () - 1 AS n " +
+                "FROM " + itens + " i JOIN " + compras + " c ON c.id_externo = i.id_compra_externo " +
+                "WHERE i.id_compra_externo > ? AND i.id_compra_externo <= ?), " + blocos(SEQUENCIA_ITEM, incrementoItem) +
+                "INSERT INTO item_compra (id_item_compra, id_compra, id_produto, preco, quantidade) " +
+                "SELECT blocos.inicio + linhas.n % " + incrementoItem + ", linhas.id_compra, linhas.id_produto, " +
+                "linhas.preco, linhas.quantidade " +
+                "FROM linhas JOIN blocos ON blocos.bloco = linhas.n / " + incrementoItem, inicio, fim);
+
+        int incrementoPagamento = incrementos.get(SEQUENCIA_PAGAMENTO);
+        int pagamentosMesclados = jdbcTemplate.update("WITH linhas AS (" +
+                "SELECT c.id_compra, p.valor, p.forma_pagamento, p.status_pagamento, " +
+                "CASE WHEN p.status_pagamento = ? THEN c.dia END AS data_aprovacao, row_number() OVER () - 1 AS n " +
+                "FROM " + pagamentos + " p JOIN " + compras + " c ON c.id_externo = p.id_compra_externo " +
+                "WHERE p.id_compra_externo > ? AND p.id_compra_externo <= ?), " + blocos(SEQUENCIA_PAGAMENTO, incrementoPagamento) +
+                "INSERT INTO pagamento (id_pagamento, id_compra, valor, forma_pagamento, status_pagamento, data_aprovacao) " +
+                "SELECT blocos.inicio + linhas.n % " + incrementoPagamento + ", linhas.id_compra, linhas.valor, " +
+                "linhas.forma_pagamento, linhas.status_pagamento, linhas.data_aprovacao " +
+                "FROM linhas JOIN blocos ON blocos.bloco = linhas.n / " + incrementoPagamento,
+                CheckoutService.STATUS_PAGAMENTO_APROVADO, inicio, fim);
+
+        acumularVendas(compras, itens, pagamentos, inicio, fim);
+
+        carga.setUltimoIdExterno(fim);
+        carga.setComprasMescladas(carga.getComprasMescladas() + mescladas);
+        carga.setItensMesclados(carga.getItensMesclados() + itensMesclados);
+        carga.setPagamentosMesclados(carga.getPagamentosMesclados() + pagamentosMesclados);
+        carga.setAtualizadoEm(Instant.now());
+        log.info("Carga histórica {}: {} de {} compra(s) mesclada(s)", idCarga,
+                carga.getComprasMescladas(), carga.getComprasRecebidas());
+        return fim;
+    }
+
+    /**
+     * Soma as vendas aprovadas do lote nos acumulados diários, como {@link EstatisticaVendasService}
+     * faz a cada venda confirmada: o dia é o da venda de origem e a faixa sai do id da compra.
+     */
+    private void acumularVendas(String compras, String itens, String pagamentos, long inicio, long fim) {
+        String vendas = " FROM " + compras + " c " +
+                "JOIN " + pagamentos + " pg ON pg.id_compra_externo = c.id_externo " +
+                "JOIN " + itens + " i ON i.id_compra_externo = c.id_externo " +
+                "JOIN produto p ON p.id_produto = i.id_produto " +
+                "WHERE c.id_externo > ? AND c.id_externo <= ? AND c.dia IS NOT NULL AND pg.status_pagamento = ? ";
+        String aprovado = CheckoutService.STATUS_PAGAMENTO_APROVADO;
+        String faixa = "mod(c.id_compra, " + EstatisticaVendasService.FAIXAS + ")";
+        jdbcTemplate.update("INSERT INTO venda_diaria_produto (dia, id_produto, id_categoria, unidades, receita) " +
+                "SELECT c.dia, i.id_produto, p.id_categoria, sum(i.quantidade), sum(i.preco * i.quantidade)" + vendas +
+                "GROUP BY c.dia, i.id_produto, p.id_categoria " +
+                "ON CONFLICT (dia, id_produto) DO UPDATE SET " +
+                "unidades = venda_diaria_produto.unidades + excluded.unidades, " +
+                "receita = venda_diaria_produto.receita + excluded.receita", inicio, fim, aprovado);
+        jdbcTemplate.update("INSERT INTO venda_diaria_categoria (dia, id_categoria, faixa, unidades, receita) " +
+                "SELECT c.dia, p.id_categoria, " + faixa + ", sum(i.quantidade), sum(i.preco * i.quantidade)" + vendas +
+                "GROUP BY c.dia, p.id_categoria, " + faixa + " " +
+                "ON CONFLICT (dia, id_categoria, faixa) DO UPDATE SET " +
+                "unidades = venda_diaria_categoria.unidades + excluded.unidades, " +
+                "receita = venda_diaria_categoria.receita + excluded.receita", inicio, fim, aprovado);
+        jdbcTemplate.update("INSERT INTO venda_diaria (dia, faixa, quantidade_compras, unidades, receita) " +
+                "SELECT c.dia, " + faixa + ", count(DISTINCT c.id_externo), sum(i.quantidade), " +
+                "sum(i.preco * i.quantidade)" + vendas +
+                "GROUP BY c.dia, " + faixa + " " +
+                "ON CONFLICT (dia, faixa) DO UPDATE SET " +
+                "quantidade_compras = venda_diaria.quantidade_compras + excluded.quantidade_compras, " +
+                "unidades = venda_diaria.unidades + excluded.unidades, " +
+                "receita = venda_diaria.receita + excluded.receita", inicio, fim, aprovado);
+    }
+
+    /**
+     * CTE {@code blocos} com um {@code nextval} por bloco de {@code incremento} linhas de
+     * {@code linhas}: a linha {@code n} fica com o id {@code inicio + n % incremento} do bloco
+     * {@code n / incremento}.
+     */
+    private static String blocos(String sequencia, int incremento) {
+        return "blocos AS (SELECT b - 1 AS bloco, nextval('" + sequencia + "') AS inicio " +
+                "FROM generate_series(1, (SELECT (count(*) + " + (incremento - 1) + ") / " + incremento +
+                " FROM linhas)) b) ";
+    }
+
+    private int incremento(String sequencia) {
+        Integer incremento = jdbcTemplate.queryForObject("SELECT increment_by FROM pg_sequences " +
+                "WHERE schemaname = current_schema() AND sequencename = ?", Integer.class, sequencia);
+        if (incremento == null || incremento < 1) {
+            throw new IllegalStateException("Sequência " + sequencia + " sem incremento positivo");
+        }
+        return incremento;
+    }
+
+    private void concluir(Long idCarga) {
+        excluirTabelas(idCarga);
+        CargaHistorica carga = cargaHistoricaRepository.findById(idCarga).orElseThrow();
+        Instant agora = Instant.now();
+        carga.setStatus(CargaHistorica.CONCLUIDA);
+        carga.setAtualizadoEm(agora);
+        carga.setConcluidoEm(agora);
+    }
+
+    private void falhar(Long idCarga, String erro) {
+        try {
+            transacao.executeWithoutResult(status -> cargaHistoricaRepository.findById(idCarga).ifPresent(carga -> {
+                carga.setStatus(CargaHistorica.FALHOU);
+                carga.setErro(resumirErro(erro));
+                carga.setAtualizadoEm(Instant.now());
+            }));
+        } catch (RuntimeException e) {
+            log.error("Não foi possível registrar a falha da carga histórica {}: {}", idCarga, e.getMessage());
+        }
+    }
+
+    private void excluirTabelas(Long idCarga) {
+        for (Arquivo arquivo : Arquivo.values()) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + arquivo.tabela(idCarga));
+        }
+    }
+
+    private CargaHistorica travar(Long idCarga) {
+        return cargaHistoricaRepository.travar(idCarga)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Carga histórica", "id", idCarga));
+    }
+
+    // O COPY e as tabelas de preparação são do PostgreSQL; no H2 dos testes a carga fica indisponível
+    private void exigirPostgres() {
+        if (postgres == null) {
+            try {
+                String banco = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+                postgres = "PostgreSQL".equalsIgnoreCase(banco);
+            } catch (MetaDataAccessException e) {
+                log.warn("Não foi possível identificar o banco de dados: {}", e.getMessage());
+                return;
+            }
+        }
+        if (!postgres) {
+            throw new RegraNegocioException("A carga histórica só está disponível com PostgreSQL");
+        }
+    }
+
+    private static String resumirErro(String erro) {
+        return erro.length() > TAMANHO_MAXIMO_ERRO ? erro.substring(0, TAMANHO_MAXIMO_ERRO) : erro;
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    private CargaHistoricaResponseDTO converterParaDTO(CargaHistorica carga) {
+        double progresso = carga.getComprasRecebidas() == 0 ? 0
+                : Math.min(100.0, 100.0 * carga.getComprasMescladas() / carga.getComprasRecebidas());
+        return CargaHistoricaResponseDTO.builder()
+                .idCarga(carga.getIdCarga())
+                .status(carga.getStatus())
+                .comprasRecebidas(carga.getComprasRecebidas())
+                .itensRecebidos(carga.getItensRecebidos())
+                .pagamentosRecebidos(carga.getPagamentosRecebidos())
+                .comprasMescladas(carga.getComprasMescladas())
+                .itensMesclados(carga.getItensMesclados())
+                .pagamentosMesclados(carga.getPagamentosMesclados())
+                .progresso(Math.round(progresso * 10) / 10.0)
+                .erro(carga.getErro())
+                .criadoEm(carga.getCriadoEm())
+                .atualizadoEm(carga.getAtualizadoEm())
+                .concluidoEm(carga.getConcluidoEm())
+                .build();
+    }
+
+    /** Esta execução perdeu a carga para outra que a retomou; não é falha da carga. */
+    private static final class MesclagemSubstituida extends RuntimeException {
+
+        MesclagemSubstituida(String mensagem) {
+            super(mensagem);
+        }
+    }
+
+    private record Verificacao(String descricao, String sql) {
+    }
+}
@@ -1,40 +1,57 @@
 package br.unip.ads.pim.meuhortifruti.service;
 
+import br.unip.ads.pim.meuhortifruti.config.CacheConfig;
 import br.unip.ads.pim.meuhortifruti.dto.CategoriaRequestDTO;
 import br.unip.ads.pim.meuhortifruti.dto.CategoriaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VersaoRecursoDTO;
 import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
 import br.unip.ads.pim.meuhortifruti.repository.CategoriaRepository;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoDuplicadoException;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class CategoriaService {
 
     private final CategoriaRepository categoriaRepository;
+    private final VersaoCatalogoService versaoCatalogoService;
+    private final IndiceAutocompletarProdutos indiceAutocompletar;
+    private final SincronizacaoService sincronizacaoService;
 
 
+    // A versão da coleção só entra na chave do cache, como em ProdutoService.listarTodas
     @Transactional(readOnly = true)
-    public List<CategoriaResponseDTO> listarTodas() {
-        return categoriaRepository.findAll()
-                .stream()
-                .map(this::converterParaDTO)
-                .collect(Collectors.toList());
+    @Cacheable(cacheNames = CacheConfig.CATEGORIAS_LISTA, key = "#versao")
+    public List<CategoriaResponseDTO> listarTodas(String versao) {
+        return categoriaRepository.listarResumos();
     }
 
+    // Chave pela versão do item, como em ProdutoService.buscarPorId
     @Transactional(readOnly = true)
-    public CategoriaResponseDTO buscarPorId(Integer id) {
+    @Cacheable(cacheNames = CacheConfig.CATEGORIAS, key = "#id + ':' + #versao", condition = "#versao != null")
+    public CategoriaResponseDTO buscarPorId(Integer id, String versao) {
         Categoria categoria = buscarCategoriaPorId(id);
         return converterParaDTO(categoria);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<VersaoRecursoDTO> buscarVersao(Integer id) {
+        return categoriaRepository.buscarUltimaAlteracao(id)
+                .map(atualizadoEm -> VersaoCatalogoService.versaoDoItem(VersaoCatalogoService.CATEGORIAS, id, atualizadoEm));
+    }
+
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_LISTA, allEntries = true)
     public CategoriaResponseDTO criar(CategoriaRequestDTO dto) {
         if (categoriaRepository.existsByNome(dto.getNome())) {
             throw new RecursoDuplicadoException("Categoria", "nome", dto.getNome());
@@ -45,10 +62,13 @@ public class CategoriaService {
                 .build();
 
         categoria = categoriaRepository.save(categoria);
+        versaoCatalogoService.registrarAlteracao(VersaoCatalogoService.CATEGORIAS);
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.CATEGORIA, categoria.getIdCategoria());
         return converterParaDTO(categoria);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_LISTA, allEntries = true)
     public CategoriaResponseDTO atualizar(Integer id, CategoriaRequestDTO dto) {
         Categoria categoria = buscarCategoriaPorId(id);
 
@@ -60,13 +80,25 @@ public class CategoriaService {
 
         categoria.setNome(dto.getNome());
         categoria = categoriaRepository.save(categoria);
+        versaoCatalogoService.registrarAlteracao(VersaoCatalogoService.CATEGORIAS);
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.CATEGORIA, categoria.getIdCategoria());
         return converterParaDTO(categoria);
     }
 
+    // A exclusão da categoria remove em cascata os produtos dela
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_LISTA, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUTOS_LISTA, allEntries = true)
+    })
     public void excluir(Integer id) {
         Categoria categoria = buscarCategoriaPorId(id);
+        List<Integer> produtos = categoria.getProdutos().stream().map(Produto::getIdProduto).toList();
         categoriaRepository.delete(categoria);
+        indiceAutocompletar.removerTodos(produtos);
+        versaoCatalogoService.registrarAlteracao(VersaoCatalogoService.CATEGORIAS, VersaoCatalogoService.PRODUTOS);
+        sincronizacaoService.registrarExclusao(SincronizacaoService.CATEGORIA, id);
+        sincronizacaoService.registrarExclusoes(SincronizacaoService.PRODUTO, produtos);
     }
 
     private Categoria buscarCategoriaPorId(Integer id) {
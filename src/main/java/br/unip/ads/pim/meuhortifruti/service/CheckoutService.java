@@ -0,0 +1,162 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.dto.CheckoutRequestDTO;
+import br.unip.ads.pim.meuhortifruti.dto.CompraResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.EstoqueResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ItemCarrinhoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ItemCompraResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.PagamentoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Compra;
+import br.unip.ads.pim.meuhortifruti.entity.Estoque;
+import br.unip.ads.pim.meuhortifruti.entity.ItemCompra;
+import br.unip.ads.pim.meuhortifruti.entity.Pagamento;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.exception.EstoqueInsuficienteException;
+import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.repository.CompraRepository;
+import br.unip.ads.pim.meuhortifruti.repository.EstoqueRepository;
+import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class CheckoutService {
+
+    public static final String STATUS_COMPRA_FINALIZADA = "FINALIZADA";
+    public static final String STATUS_PAGAMENTO_APROVADO = "APROVADO";
+
+    private final ProdutoRepository produtoRepository;
+    private final EstoqueRepository estoqueRepository;
+    private final CompraRepository compraRepository;
+    private final EstatisticaVendasService estatisticaVendasService;
+    private final SincronizacaoService sincronizacaoService;
+    private final OutboxService outboxService;
+
+    /**
+     * Fecha uma venda inteira em uma transação: carrega os produtos com um único IN,
+     * trava e baixa o estoque das linhas do carrinho e grava compra, itens e pagamento
+     * em cascata a partir da compra. A venda já nasce aprovada, então entra nas estatísticas
+     * na mesma transação, assim como os eventos da venda e da baixa de estoque no outbox.
+     */
+    @Transactional
+    public CompraResponseDTO finalizar(CheckoutRequestDTO dto) {
+        Map<Integer, Integer> quantidades = agruparItens(dto.getItens());
+        Map<Integer, Produto> produtos = buscarProdutos(quantidades);
+
+        baixarEstoque(quantidades, produtos);
+
+        Compra compra = Compra.builder()
+                .statusCompra(STATUS_COMPRA_FINALIZADA)
+                .build();
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Integer, Integer> item : quantidades.entrySet()) {
+            Produto produto = produtos.get(item.getKey());
+            compra.getItensCompra().add(ItemCompra.builder()
+                    .compra(compra)
+                    .produto(produto)
+                    .preco(produto.getPreco())
+                    .quantidade(item.getValue())
+                    .build());
+            total = total.add(produto.getPreco().multiply(BigDecimal.valueOf(item.getValue())));
+        }
+
+        compra.setPagamento(Pagamento.builder()
+                .compra(compra)
+                .valor(total)
+                .formaPagamento(dto.getFormaPagamento())
+                .statusPagamento(STATUS_PAGAMENTO_APROVADO)
+                .dataAprovacao(LocalDate.now())
+                .build());
+
+        compra = compraRepository.save(compra);
+        estatisticaVendasService.registrarVenda(compra.getIdCompra(), compra.getPagamento().getDataAprovacao(),
+                compra.getItensCompra());
+        CompraResponseDTO resposta = converterParaDTO(compra);
+        outboxService.publicar(OutboxService.COMPRA_FINALIZADA, OutboxService.COMPRA, compra.getIdCompra(), resposta);
+        return resposta;
+    }
+
+    private Map<Integer, Integer> agruparItens(List<ItemCarrinhoDTO> itens) {
+        return itens.stream()
+                .collect(Collectors.toMap(ItemCarrinhoDTO::getIdProduto, ItemCarrinhoDTO::getQuantidade,
+                        Integer::sum, LinkedHashMap::new));
+    }
+
+    private Map<Integer, Produto> buscarProdutos(Map<Integer, Integer> quantidades) {
+        Map<Integer, Produto> produtos = produtoRepository.findAllById(quantidades.keySet())
+                .stream()
+                .collect(Collectors.toMap(Produto::getIdProduto, Function.identity()));
+
+        for (Integer idProduto : quantidades.keySet()) {
+            if (!produtos.containsKey(idProduto)) {
+                throw new RecursoNaoEncontradoException("Produto", "id", idProduto);
+            }
+        }
+        return produtos;
+    }
+
+    private void baixarEstoque(Map<Integer, Integer> quantidades, Map<Integer, Produto> produtos) {
+        Map<Integer, Estoque> estoques = estoqueRepository.travarPorProdutos(quantidades.keySet())
+                .stream()
+                .collect(Collectors.toMap(estoque -> estoque.getProduto().getIdProduto(), Function.identity()));
+
+        for (Map.Entry<Integer, Integer> item : quantidades.entrySet()) {
+            Estoque estoque = estoques.get(item.getKey());
+            int disponivel = estoque != null ? estoque.getQuantidadeProdutos() : 0;
+            if (disponivel < item.getValue()) {
+                throw new EstoqueInsuficienteException(produtos.get(item.getKey()).getNome(), disponivel, item.getValue());
+            }
+        }
+
+        for (Map.Entry<Integer, Integer> item : quantidades.entrySet()) {
+            Estoque estoque = estoques.get(item.getKey());
+            estoque.setQuantidadeProdutos(estoque.getQuantidadeProdutos() - item.getValue());
+        }
+        sincronizacaoService.registrarAlteracoes(SincronizacaoService.ESTOQUE,
+                estoques.values().stream().map(Estoque::getIdEstoque).toList());
+        outboxService.publicarTodos(OutboxService.ESTOQUE_ALTERADO, OutboxService.ESTOQUE, estoques.values().stream()
+                .collect(Collectors.toMap(Estoque::getIdEstoque, estoque -> EstoqueResponseDTO.builder()
+                        .idEstoque(estoque.getIdEstoque())
+                        .idProduto(estoque.getProduto().getIdProduto())
+                        .quantidadeProdutos(estoque.getQuantidadeProdutos())
+                        .build())));
+    }
+
+    private CompraResponseDTO converterParaDTO(Compra compra) {
+        Pagamento pagamento = compra.getPagamento();
+        return CompraResponseDTO.builder()
+                .idCompra(compra.getIdCompra())
+                .statusCompra(compra.getStatusCompra())
+                .itensCompra(compra.getItensCompra().stream()
+                        .map(item -> ItemCompraResponseDTO.builder()
+                                .idItemCompra(item.getIdItemCompra())
+                                .produto(ProdutoResponseDTO.builder()
+                                        .idProduto(item.getProduto().getIdProduto())
+                                        .nome(item.getProduto().getNome())
+                                        .preco(item.getProduto().getPreco())
+                                        .build())
+                                .preco(item.getPreco())
+                                .quantidade(item.getQuantidade())
+                                .build())
+                        .collect(Collectors.toList()))
+                .pagamento(PagamentoResponseDTO.builder()
+                        .idPagamento(pagamento.getIdPagamento())
+                        .valor(pagamento.getValor())
+                        .formaPagamento(pagamento.getFormaPagamento())
+                        .statusPagamento(pagamento.getStatusPagamento())
+                        .build())
+                .build();
+    }
+}
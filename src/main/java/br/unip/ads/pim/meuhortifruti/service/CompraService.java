@@ -1,16 +1,28 @@
 package br.unip.ads.pim.meuhortifruti.service;
 
 import br.unip.ads.pim.meuhortifruti.entity.Compra;
+import br.unip.ads.pim.meuhortifruti.entity.ItemCompra;
+import br.unip.ads.pim.meuhortifruti.entity.Pagamento;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
 import br.unip.ads.pim.meuhortifruti.dto.CompraRequestDTO;
 import br.unip.ads.pim.meuhortifruti.dto.CompraResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ItemCompraResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.PagamentoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoResponseDTO;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoDuplicadoException;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
 import br.unip.ads.pim.meuhortifruti.repository.CompraRepository;
+import br.unip.ads.pim.meuhortifruti.repository.ItemCompraRepository;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.CompraResumo;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 
@@ -18,20 +30,56 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CompraService {
 
+    static final int LOTE_DETALHADAS = 1000;
+
     private final CompraRepository compraRepository;
+    private final ItemCompraRepository itemCompraRepository;
+    private final OutboxService outboxService;
+    private final EstatisticaVendasService estatisticaVendasService;
+    private final EntityManager entityManager;
 
     @Transactional(readOnly = true)
     public List<CompraResponseDTO> listarTodas(){
-        return compraRepository.findAll()
+        return compraRepository.listarResumos()
                 .stream()
                 .map(this::converterParaDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Compras com itens e pagamento, lidas em lotes de {@link #LOTE_DETALHADAS} pela chave: cada
+     * lote são duas consultas (compras + pagamento, depois os itens com produto), então o
+     * {@code IN} dos itens nunca passa do tamanho do lote nem do limite de parâmetros do driver.
+     * Buscar os itens à parte evita repetir as colunas da compra em cada linha de item; as
+     * entidades de um lote saem do contexto de persistência antes do próximo.
+     */
+    @Transactional(readOnly = true)
+    public List<CompraResponseDTO> listarDetalhadas(){
+        List<CompraResponseDTO> resultado = new ArrayList<>();
+        Integer ultimoId = Integer.MIN_VALUE;
+        List<Compra> compras;
+        do {
+            compras = compraRepository.buscarComPagamentoApos(ultimoId, Limit.of(LOTE_DETALHADAS));
+            if (compras.isEmpty()) {
+                break;
+            }
+            Map<Integer, List<ItemCompra>> itensPorCompra = itemCompraRepository
+                    .buscarPorCompras(compras.stream().map(Compra::getIdCompra).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.groupingBy(item -> item.getCompra().getIdCompra()));
+            compras.forEach(compra -> resultado.add(
+                    converterParaDTO(compra, itensPorCompra.getOrDefault(compra.getIdCompra(), List.of()))));
+            ultimoId = compras.get(compras.size() - 1).getIdCompra();
+            entityManager.clear();
+        } while (compras.size() == LOTE_DETALHADAS);
+        return resultado;
+    }
+
     @Transactional(readOnly = true)
     public CompraResponseDTO buscarPorId(Integer id){
-        Compra compra = buscarCompraPorId(id);
-        return converterParaDTO(compra);
+        Compra compra = compraRepository.buscarCompleta(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Compra", "id", id));
+        return converterParaDTO(compra, compra.getItensCompra());
     }
 
     @Transactional
@@ -39,12 +87,17 @@ public class CompraService {
         if(compraRepository.existsById(dto.getIdCompra())){
             throw new RecursoDuplicadoException("Compra", "id", dto.getIdCompra());
         }
-        Compra compra = Compra.builder()
+        Compra novaCompra = Compra.builder()
                 .itensCompra(dto.getItensCompra())
                 .statusCompra(dto.getStatusCompra())
                 .build();
-        compra = compraRepository.save(compra);
-        return converterParaDTO(compra);
+        if (novaCompra.getItensCompra() != null) {
+            novaCompra.getItensCompra().forEach(item -> item.setCompra(novaCompra));
+        }
+        Compra compra = compraRepository.save(novaCompra);
+        CompraResponseDTO resposta = converterParaDTO(compra);
+        outboxService.publicar(OutboxService.COMPRA_CRIADA, OutboxService.COMPRA, compra.getIdCompra(), resposta);
+        return resposta;
     }
 
     @Transactional
@@ -57,16 +110,45 @@ public class CompraService {
             }
         });
 
+        // Os itens são substituídos: os antigos saem da compra e, se a venda já estava aprovada,
+        // também dos acumulados do dia da aprovação, onde entram os novos
+        Pagamento pagamento = compra.getPagamento();
+        List<ItemCompra> itensAntigos = itemCompraRepository.buscarPorCompras(List.of(id));
+        List<ItemCompra> itensNovos = dto.getItensCompra() != null ? dto.getItensCompra() : new ArrayList<>();
+        for (ItemCompra item : itensNovos) {
+            item.setCompra(compra);
+            if (item.getProduto() != null && item.getProduto().getIdProduto() != null) {
+                item.setProduto(entityManager.getReference(Produto.class, item.getProduto().getIdProduto()));
+            }
+        }
+        itemCompraRepository.deleteAll(itensAntigos);
         compra.setStatusCompra(dto.getStatusCompra());
-        compra.setItensCompra(dto.getItensCompra());
+        compra.setItensCompra(itensNovos);
         compra = compraRepository.save(compra);
-        return converterParaDTO(compra);
+        if (aprovado(pagamento)) {
+            estatisticaVendasService.estornarVenda(id, pagamento.getDataAprovacao(), itensAntigos);
+            estatisticaVendasService.registrarVenda(id, pagamento.getDataAprovacao(), itensNovos);
+        }
+        CompraResponseDTO resposta = converterParaDTO(compra);
+        outboxService.publicar(OutboxService.COMPRA_ATUALIZADA, OutboxService.COMPRA, compra.getIdCompra(), resposta);
+        return resposta;
     }
 
     @Transactional
     public void excluir(Integer id){
         Compra compra = buscarCompraPorId(id);
-       compraRepository.delete(compra);
+        // O pagamento é excluído junto com a compra; aprovado, a venda sai dos acumulados
+        Pagamento pagamento = compra.getPagamento();
+        if (aprovado(pagamento)) {
+            estatisticaVendasService.estornarVenda(id, pagamento.getDataAprovacao(),
+                    itemCompraRepository.buscarPorCompras(List.of(id)));
+        }
+        compraRepository.delete(compra);
+        outboxService.publicar(OutboxService.COMPRA_EXCLUIDA, OutboxService.COMPRA, id, null);
+    }
+
+    private boolean aprovado(Pagamento pagamento) {
+        return pagamento != null && CheckoutService.STATUS_PAGAMENTO_APROVADO.equals(pagamento.getStatusPagamento());
     }
 
     private Compra buscarCompraPorId(Integer id) {
@@ -78,6 +160,49 @@ public class CompraService {
         return CompraResponseDTO.builder()
                 .idCompra(compra.getIdCompra())
                 .statusCompra(compra.getStatusCompra())
+                .pagamento(converterPagamento(compra.getPagamento()))
+                .build();
+    }
+
+    private CompraResponseDTO converterParaDTO(CompraResumo resumo) {
+        return CompraResponseDTO.builder()
+                .idCompra(resumo.idCompra())
+                .statusCompra(resumo.statusCompra())
+                .pagamento(resumo.idPagamento() == null ? null : PagamentoResponseDTO.builder()
+                        .idPagamento(resumo.idPagamento())
+                        .valor(resumo.valor())
+                        .formaPagamento(resumo.formaPagamento())
+                        .statusPagamento(resumo.statusPagamento())
+                        .build())
+                .build();
+    }
+
+    private CompraResponseDTO converterParaDTO(Compra compra, List<ItemCompra> itens) {
+        CompraResponseDTO dto = converterParaDTO(compra);
+        dto.setItensCompra(itens.stream()
+                .map(item -> ItemCompraResponseDTO.builder()
+                        .idItemCompra(item.getIdItemCompra())
+                        .produto(ProdutoResponseDTO.builder()
+                                .idProduto(item.getProduto().getIdProduto())
+                                .nome(item.getProduto().getNome())
+                                .preco(item.getProduto().getPreco())
+                                .build())
+                        .preco(item.getPreco())
+                        .quantidade(item.getQuantidade())
+                        .build())
+                .collect(Collectors.toList()));
+        return dto;
+    }
+
+    private PagamentoResponseDTO converterPagamento(Pagamento pagamento) {
+        if (pagamento == null) {
+            return null;
+        }
+        return PagamentoResponseDTO.builder()
+                .idPagamento(pagamento.getIdPagamento())
+                .valor(pagamento.getValor())
+                .formaPagamento(pagamento.getFormaPagamento())
+                .statusPagamento(pagamento.getStatusPagamento())
                 .build();
     }
 }
@@ -0,0 +1,23 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.dto.EventoDTO;
+
+import java.util.Set;
+
+/**
+ * Consumidor dos eventos do outbox: basta registrar um bean que implemente esta interface para o
+ * {@link RelayOutboxService} começar a entregar. A entrega é ao menos uma vez: se algum consumidor
+ * falhar, o evento volta para todos na próxima tentativa, então o consumidor deve tolerar repetição
+ * (o {@code idEvento} identifica o evento). Roda dentro da transação do relay, que guarda a
+ * reserva do lote; escritas próprias que não devam cair junto com ela vão em
+ * {@code REQUIRES_NEW}.
+ */
+public interface ConsumidorEventos {
+
+    /** Tipos de evento que o consumidor quer receber; vazio recebe todos. */
+    default Set<String> tipos() {
+        return Set.of();
+    }
+
+    void consumir(EventoDTO evento);
+}
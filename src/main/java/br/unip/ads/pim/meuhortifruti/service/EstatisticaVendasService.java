@@ -0,0 +1,147 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.dto.VendaCategoriaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VendaDiariaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VendaProdutoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.ItemCompra;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import br.unip.ads.pim.meuhortifruti.repository.VendaDiariaCategoriaRepository;
+import br.unip.ads.pim.meuhortifruti.repository.VendaDiariaProdutoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.VendaDiariaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Estatísticas de vendas pré-agregadas por dia, por produto e por categoria. Cada venda aprovada
+ * soma (e cada estorno subtrai) os seus itens nas tabelas de acumulados dentro da mesma transação
+ * que a confirmou, então as consultas leem só os acumulados do período, sem tocar no histórico de
+ * {@code item_compra}. O dia é o da confirmação, que é quando a venda passa a contar; ele fica em
+ * {@code Pagamento.dataAprovacao} e o estorno subtrai desse mesmo dia, não do dia em que acontece.
+ */
+@Service
+@RequiredArgsConstructor
+public class EstatisticaVendasService {
+
+    public static final int PERIODO_PADRAO_DIAS = 30;
+    public static final int PERIODO_MAXIMO_DIAS = 366;
+    public static final int LIMITE_PRODUTOS_PADRAO = 20;
+    public static final int LIMITE_PRODUTOS_MAXIMO = 100;
+
+    /** Quantidade de linhas em que o total do dia e o de cada categoria são divididos. */
+    static final int FAIXAS = 8;
+
+    private final VendaDiariaRepository vendaDiariaRepository;
+    private final VendaDiariaProdutoRepository vendaDiariaProdutoRepository;
+    private final VendaDiariaCategoriaRepository vendaDiariaCategoriaRepository;
+
+    @Transactional
+    public void registrarVenda(Integer idCompra, LocalDate dia, Collection<ItemCompra> itens) {
+        acumular(idCompra, dia, itens, 1);
+    }
+
+    /**
+     * Subtrai a venda do dia em que ela foi confirmada. Pagamentos aprovados antes de a data ser
+     * guardada não a têm; esses saem do dia do estorno.
+     */
+    @Transactional
+    public void estornarVenda(Integer idCompra, LocalDate dia, Collection<ItemCompra> itens) {
+        acumular(idCompra, dia != null ? dia : LocalDate.now(), itens, -1);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VendaDiariaResponseDTO> listarPorDia(LocalDate inicio, LocalDate fim) {
+        Periodo periodo = validarPeriodo(inicio, fim);
+        return vendaDiariaRepository.listarPorPeriodo(periodo.inicio(), periodo.fim());
+    }
+
+    @Transactional(readOnly = true)
+    public List<VendaProdutoResponseDTO> listarPorProduto(LocalDate inicio, LocalDate fim, Integer limite) {
+        Periodo periodo = validarPeriodo(inicio, fim);
+        int quantidade = limite != null ? limite : LIMITE_PRODUTOS_PADRAO;
+        if (quantidade < 1) {
+            throw new RegraNegocioException("O limite deve ser maior que zero");
+        }
+        return vendaDiariaProdutoRepository.resumirPorProduto(periodo.inicio(), periodo.fim(),
+                Limit.of(Math.min(quantidade, LIMITE_PRODUTOS_MAXIMO)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<VendaCategoriaResponseDTO> listarPorCategoria(LocalDate inicio, LocalDate fim) {
+        Periodo periodo = validarPeriodo(inicio, fim);
+        return vendaDiariaCategoriaRepository.resumirPorCategoria(periodo.inicio(), periodo.fim());
+    }
+
+    /**
+     * Agrupa os itens em memória e grava um upsert por produto, um por categoria e um para o dia.
+     * As linhas são atualizadas sempre na mesma ordem (ids crescentes, produtos antes de
+     * categorias e do dia) para que duas vendas concorrentes não travem uma à espera da outra.
+     */
+    private void acumular(Integer idCompra, LocalDate dia, Collection<ItemCompra> itens, int sinal) {
+        if (itens.isEmpty()) {
+            return;
+        }
+        int faixa = Math.floorMod(idCompra, FAIXAS);
+        BigDecimal fator = BigDecimal.valueOf(sinal);
+
+        Map<Integer, Acumulado> porProduto = new TreeMap<>();
+        Map<Integer, Acumulado> porCategoria = new TreeMap<>();
+        Acumulado total = new Acumulado(null);
+        for (ItemCompra item : itens) {
+            Produto produto = item.getProduto();
+            Integer idCategoria = produto.getCategoria().getIdCategoria();
+            long unidades = item.getQuantidade();
+            BigDecimal receita = item.getPreco().multiply(BigDecimal.valueOf(unidades));
+
+            porProduto.computeIfAbsent(produto.getIdProduto(), id -> new Acumulado(idCategoria)).somar(unidades, receita);
+            porCategoria.computeIfAbsent(idCategoria, Acumulado::new).somar(unidades, receita);
+            total.somar(unidades, receita);
+        }
+
+        porProduto.forEach((idProduto, acumulado) -> vendaDiariaProdutoRepository.acumular(
+                dia, idProduto, acumulado.idCategoria, sinal * acumulado.unidades, acumulado.receita.multiply(fator)));
+        porCategoria.forEach((idCategoria, acumulado) -> vendaDiariaCategoriaRepository.acumular(
+                dia, idCategoria, faixa, sinal * acumulado.unidades, acumulado.receita.multiply(fator)));
+        vendaDiariaRepository.acumular(dia, faixa, sinal, sinal * total.unidades, total.receita.multiply(fator));
+    }
+
+    private Periodo validarPeriodo(LocalDate inicio, LocalDate fim) {
+        LocalDate fimPeriodo = fim != null ? fim : LocalDate.now();
+        LocalDate inicioPeriodo = inicio != null ? inicio : fimPeriodo.minusDays(PERIODO_PADRAO_DIAS - 1);
+        if (inicioPeriodo.isAfter(fimPeriodo)) {
+            throw new RegraNegocioException("A data inicial não pode ser posterior à data final");
+        }
+        if (ChronoUnit.DAYS.between(inicioPeriodo, fimPeriodo) >= PERIODO_MAXIMO_DIAS) {
+            throw new RegraNegocioException("O período consultado não pode passar de " + PERIODO_MAXIMO_DIAS + " dias");
+        }
+        return new Periodo(inicioPeriodo, fimPeriodo);
+    }
+
+    private record Periodo(LocalDate inicio, LocalDate fim) {
+    }
+
+    private static final class Acumulado {
+        private final Integer idCategoria;
+        private long unidades;
+        private BigDecimal receita = BigDecimal.ZERO;
+
+        private Acumulado(Integer idCategoria) {
+            this.idCategoria = idCategoria;
+        }
+
+        private void somar(long quantidade, BigDecimal valor) {
+            unidades += quantidade;
+            receita = receita.add(valor);
+        }
+    }
+}
@@ -3,7 +3,9 @@ package br.unip.ads.pim.meuhortifruti.service;
 import br.unip.ads.pim.meuhortifruti.entity.Estoque;
 import br.unip.ads.pim.meuhortifruti.dto.EstoqueRequestDTO;
 import br.unip.ads.pim.meuhortifruti.dto.EstoqueResponseDTO;
+import br.unip.ads.pim.meuhortifruti.exception.EstoqueInsuficienteException;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
 import br.unip.ads.pim.meuhortifruti.repository.EstoqueRepository;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoDuplicadoException;
 import lombok.RequiredArgsConstructor;
@@ -15,8 +17,10 @@ import org.springframework.transaction.annotation.Transactional;
 public class EstoqueService {
 
     private final EstoqueRepository estoqueRepository;
+    private final SincronizacaoService sincronizacaoService;
+    private final OutboxService outboxService;
 
-    @Transactional
+    @Transactional(readOnly = true)
     public EstoqueResponseDTO buscarPorId(Integer id){
         Estoque estoque = buscarEstoquePorId(id);
         return converterParaDTO(estoque);
@@ -30,6 +34,8 @@ public class EstoqueService {
                 .quantidadeProdutos(dto.getQuantidadeProdutos())
                 .build();
         estoque = estoqueRepository.save(estoque);
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.ESTOQUE, estoque.getIdEstoque());
+        publicarAlteracao(estoque);
         return converterParaDTO(estoque);
     }
     @Transactional
@@ -42,17 +48,62 @@ public class EstoqueService {
         });
         estoque.setQuantidadeProdutos(dto.getQuantidadeProdutos());
         estoque = estoqueRepository.save(estoque);
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.ESTOQUE, estoque.getIdEstoque());
+        publicarAlteracao(estoque);
+        return converterParaDTO(estoque);
+    }
+    // Débito condicional em um único UPDATE: só a linha do estoque fica bloqueada e
+    // duas vendas concorrentes nunca deixam a quantidade negativa.
+    @Transactional
+    public EstoqueResponseDTO debitar(Integer id, Integer quantidade){
+        validarQuantidade(quantidade);
+        if (estoqueRepository.debitar(id, quantidade) == 0) {
+            Estoque estoque = buscarEstoquePorId(id);
+            throw new EstoqueInsuficienteException(descreverProduto(estoque), estoque.getQuantidadeProdutos(), quantidade);
+        }
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.ESTOQUE, id);
+        Estoque estoque = buscarEstoquePorId(id);
+        publicarAlteracao(estoque);
+        return converterParaDTO(estoque);
+    }
+    @Transactional
+    public EstoqueResponseDTO repor(Integer id, Integer quantidade){
+        validarQuantidade(quantidade);
+        if (estoqueRepository.repor(id, quantidade) == 0) {
+            throw new RecursoNaoEncontradoException("Estoque", "id", id);
+        }
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.ESTOQUE, id);
+        Estoque estoque = buscarEstoquePorId(id);
+        publicarAlteracao(estoque);
         return converterParaDTO(estoque);
     }
     @Transactional
     public void excluir(Integer id){
         Estoque estoque = buscarEstoquePorId(id);
         estoqueRepository.delete(estoque);
+        sincronizacaoService.registrarExclusao(SincronizacaoService.ESTOQUE, id);
+        outboxService.publicar(OutboxService.ESTOQUE_EXCLUIDO, OutboxService.ESTOQUE, id, null);
     }
     private Estoque buscarEstoquePorId(Integer id){
         return estoqueRepository.findById(id)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Estoque","id", id ));
     }
+    private void validarQuantidade(Integer quantidade){
+        if (quantidade == null || quantidade < 1) {
+            throw new RegraNegocioException("A quantidade deve ser maior que zero");
+        }
+    }
+    private String descreverProduto(Estoque estoque){
+        return estoque.getProduto() != null ? estoque.getProduto().getNome() : "do estoque " + estoque.getIdEstoque();
+    }
+    private void publicarAlteracao(Estoque estoque){
+        outboxService.publicar(OutboxService.ESTOQUE_ALTERADO, OutboxService.ESTOQUE, estoque.getIdEstoque(),
+                EstoqueResponseDTO.builder()
+                        .idEstoque(estoque.getIdEstoque())
+                        .idProduto(estoque.getProduto() != null ? estoque.getProduto().getIdProduto() : null)
+                        .quantidadeProdutos(estoque.getQuantidadeProdutos())
+                        .build());
+    }
     private EstoqueResponseDTO converterParaDTO (Estoque estoque){
         return EstoqueResponseDTO.builder()
                 .quantidadeProdutos(estoque.getQuantidadeProdutos())
@@ -1,5 +1,6 @@
 package br.unip.ads.pim.meuhortifruti.service;
 
+import br.unip.ads.pim.meuhortifruti.config.CacheConfig;
 import br.unip.ads.pim.meuhortifruti.dto.FornecedorRequestDTO;
 import br.unip.ads.pim.meuhortifruti.dto.FornecedorResponseDTO;
 import br.unip.ads.pim.meuhortifruti.entity.Fornecedor;
@@ -7,24 +8,22 @@ import br.unip.ads.pim.meuhortifruti.exception.RecursoDuplicadoException;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
 import br.unip.ads.pim.meuhortifruti.repository.FornecedorRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class FornecedorService {
 
     private final FornecedorRepository fornecedorRepository;
+    private final VersaoCatalogoService versaoCatalogoService;
 
     @Transactional(readOnly = true)
     public List<FornecedorResponseDTO> listarTodas() {
-        return fornecedorRepository.findAll()
-                .stream()
-                .map(this::converterParaDTO)
-                .collect(Collectors.toList());
+        return fornecedorRepository.listarResumos();
     }
     @Transactional(readOnly = true)
     public FornecedorResponseDTO buscarPorId(Integer id){
@@ -48,7 +47,9 @@ public class FornecedorService {
         fornecedor = fornecedorRepository.save(fornecedor);
         return converterParaDTO(fornecedor);
     }
+    // As respostas de produto trazem o fornecedor: alterá-lo muda a listagem e os itens de produto
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.PRODUTOS, CacheConfig.PRODUTOS_LISTA}, allEntries = true)
     public FornecedorResponseDTO atualizar (Integer id, FornecedorRequestDTO dto){
         Fornecedor fornecedor = buscarFornecedorPorId(id);
 
@@ -64,12 +65,15 @@ public class FornecedorService {
         fornecedor.setEmail(dto.getEmail());
         fornecedor.setProdutosFornecidos(dto.getProdutosFornecidos());
         fornecedor = fornecedorRepository.save(fornecedor);
+        versaoCatalogoService.registrarAlteracao(VersaoCatalogoService.PRODUTOS);
         return converterParaDTO(fornecedor);
     }
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.PRODUTOS, CacheConfig.PRODUTOS_LISTA}, allEntries = true)
     public void excluir(Integer id){
         Fornecedor fornecedor = buscarFornecedorPorId(id);
         fornecedorRepository.delete(fornecedor);
+        versaoCatalogoService.registrarAlteracao(VersaoCatalogoService.PRODUTOS);
     }
 
     private Fornecedor buscarFornecedorPorId(Integer id) {
@@ -0,0 +1,184 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.IdempotenciaProperties;
+import br.unip.ads.pim.meuhortifruti.entity.ChaveIdempotencia;
+import br.unip.ads.pim.meuhortifruti.repository.ChaveIdempotenciaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Respostas guardadas por {@code Idempotency-Key}. A memória é um cache com expiração, limitado
+ * pelo tamanho das respostas guardadas; com {@code app.idempotencia.persistir} a tabela {@code chave_idempotencia} fica
+ * atrás dele e só é consultada quando a chave não está na memória desta instância.
+ */
+@Slf4j
+@Service
+public class IdempotenciaService {
+
+    public enum Situacao {
+        /** A chave é nova: a requisição deve ser processada e o resultado entregue a {@link #concluir}. */
+        RESERVADA,
+        /** Outra requisição com a mesma chave ainda está sendo processada. */
+        EM_ANDAMENTO,
+        /** A chave já foi processada com o mesmo corpo; a resposta guardada vem junto. */
+        REPETIDA,
+        /** A chave já foi usada com outro corpo. */
+        DIVERGENTE
+    }
+
+    public record Resposta(int status, String tipoConteudo, byte[] corpo) {
+    }
+
+    public record Reserva(Situacao situacao, Resposta resposta) {
+    }
+
+    /** {@code resposta} nula enquanto a requisição está em andamento. */
+    private record Registro(String impressao, Resposta resposta) {
+    }
+
+    private static final Reserva RESERVADA = new Reserva(Situacao.RESERVADA, null);
+    /** Peso da chave e da impressão, que toda entrada tem mesmo sem resposta. */
+    private static final int PESO_MINIMO = 128;
+
+    private final ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+    private final IdempotenciaProperties propriedades;
+    private final TransactionTemplate transacao;
+    private final Cache<String, Registro> registros;
+
+    public IdempotenciaService(ChaveIdempotenciaRepository chaveIdempotenciaRepository,
+                               IdempotenciaProperties propriedades,
+                               PlatformTransactionManager transactionManager) {
+        this.chaveIdempotenciaRepository = chaveIdempotenciaRepository;
+        this.propriedades = propriedades;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.registros = Caffeine.newBuilder()
+                .maximumWeight(propriedades.getMaximoMemoria().toBytes())
+                .weigher(IdempotenciaService::pesar)
+                .expireAfterWrite(propriedades.getTtl())
+                .build();
+    }
+
+    /**
+     * Reserva a chave para esta requisição ou informa o que já existe para ela. A reserva em
+     * memória é atômica, então duas tentativas simultâneas na mesma instância não passam juntas;
+     * com a persistência, o {@code INSERT ... ON CONFLICT} faz o mesmo entre instâncias.
+     */
+    public Reserva reservar(String chave, String impressao) {
+        Registro emAndamento = new Registro(impressao, null);
+        Registro existente = registros.asMap().putIfAbsent(chave, emAndamento);
+        if (existente != null) {
+            return avaliar(existente, impressao);
+        }
+        if (!propriedades.isPersistir()) {
+            return RESERVADA;
+        }
+        try {
+            Optional<Registro> gravado = transacao.execute(status -> reservarGravada(chave, impressao));
+            if (gravado.isEmpty()) {
+                return RESERVADA;
+            }
+            if (gravado.get().resposta() != null && cabeNaMemoria(gravado.get().resposta())) {
+                registros.put(chave, gravado.get());
+            } else {
+                registros.asMap().remove(chave, emAndamento);
+            }
+            return avaliar(gravado.get(), impressao);
+        } catch (RuntimeException e) {
+            registros.asMap().remove(chave, emAndamento);
+            throw e;
+        }
+    }
+
+    /**
+     * Guarda a resposta da requisição que reservou a chave. Se a gravação no banco falhar a
+     * resposta continua valendo nesta instância; a requisição em si já foi processada. Acima de
+     * {@code app.idempotencia.maximo-resposta} a resposta só fica no banco, quando há persistência.
+     */
+    public void concluir(String chave, String impressao, Resposta resposta) {
+        boolean cabe = cabeNaMemoria(resposta);
+        if (cabe) {
+            registros.put(chave, new Registro(impressao, resposta));
+        }
+        if (propriedades.isPersistir()) {
+            try {
+                transacao.executeWithoutResult(status -> chaveIdempotenciaRepository.concluir(
+                        chave, resposta.status(), resposta.tipoConteudo(), resposta.corpo()));
+            } catch (DataAccessException e) {
+                log.warn("Não foi possível gravar a resposta da chave de idempotência {}: {}", chave, e.getMessage());
+            }
+        }
+        if (!cabe) {
+            registros.invalidate(chave);
+            log.warn("Resposta de {} bytes da chave de idempotência {} não foi guardada em memória",
+                    resposta.corpo().length, chave);
+        }
+    }
+
+    /** Desfaz a reserva de uma requisição que falhou, para que a próxima tentativa seja processada. */
+    public void liberar(String chave) {
+        registros.asMap().computeIfPresent(chave, (k, registro) -> registro.resposta() == null ? null : registro);
+        if (propriedades.isPersistir()) {
+            try {
+                transacao.executeWithoutResult(status -> chaveIdempotenciaRepository.liberar(chave));
+            } catch (DataAccessException e) {
+                log.warn("Não foi possível liberar a chave de idempotência {}: {}", chave, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.idempotencia.cron-expurgo:0 45 4 * * *}")
+    @Transactional
+    public void expurgar() {
+        if (!propriedades.isPersistir()) {
+            return;
+        }
+        int excluidas = chaveIdempotenciaRepository.excluirExpiradas(Instant.now());
+        log.info("Expurgo das chaves de idempotência: {} chave(s) expirada(s)", excluidas);
+    }
+
+    /** Vazio quando a chave ficou reservada para esta requisição. */
+    private Optional<Registro> reservarGravada(String chave, String impressao) {
+        Instant agora = Instant.now();
+        Instant expiraEm = agora.plus(propriedades.getTtl());
+        if (chaveIdempotenciaRepository.reservar(chave, impressao, agora, expiraEm) == 1
+                || chaveIdempotenciaRepository.retomar(chave, impressao, agora, expiraEm,
+                agora.minus(propriedades.getAbandono())) == 1) {
+            return Optional.empty();
+        }
+        // Sem reserva nem retomada a linha existe e está válida; findById não a encontraria só se
+        // tivesse sido liberada agora, e aí basta tratar a chave como em andamento
+        ChaveIdempotencia gravada = chaveIdempotenciaRepository.findById(chave)
+                .orElseGet(() -> ChaveIdempotencia.builder().impressao(impressao).build());
+        Resposta resposta = gravada.getStatusHttp() == null ? null
+                : new Resposta(gravada.getStatusHttp(), gravada.getTipoConteudo(), gravada.getCorpo());
+        return Optional.of(new Registro(gravada.getImpressao(), resposta));
+    }
+
+    private boolean cabeNaMemoria(Resposta resposta) {
+        return resposta.corpo().length <= propriedades.getMaximoResposta().toBytes();
+    }
+
+    private static int pesar(String chave, Registro registro) {
+        return PESO_MINIMO + (registro.resposta() == null ? 0 : registro.resposta().corpo().length);
+    }
+
+    private static Reserva avaliar(Registro registro, String impressao) {
+        if (!registro.impressao().equals(impressao)) {
+            return new Reserva(Situacao.DIVERGENTE, null);
+        }
+        if (registro.resposta() == null) {
+            return new Reserva(Situacao.EM_ANDAMENTO, null);
+        }
+        return new Reserva(Situacao.REPETIDA, registro.resposta());
+    }
+}
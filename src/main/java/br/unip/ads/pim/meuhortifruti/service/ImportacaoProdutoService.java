@@ -0,0 +1,395 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.CacheConfig;
+import br.unip.ads.pim.meuhortifruti.config.ImportacaoProperties;
+import br.unip.ads.pim.meuhortifruti.dto.ErroImportacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ImportacaoProdutosResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoImportacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSugestaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.Fornecedor;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.repository.CategoriaRepository;
+import br.unip.ads.pim.meuhortifruti.repository.FornecedorRepository;
+import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoNome;
+import br.unip.ads.pim.meuhortifruti.service.LeitorImportacaoProdutos.Formato;
+import br.unip.ads.pim.meuhortifruti.service.LeitorImportacaoProdutos.LinhaImportacao;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de produtos a partir da lista de preços do fornecedor, em CSV ou NDJSON.
+ * O arquivo é lido em fluxo e gravado em lotes de {@code app.importacao.lote} linhas: cada lote é
+ * uma transação que resolve os produtos existentes pelo nome em um único {@code IN}, valida as
+ * linhas com as restrições de {@link Produto} e grava inserções e atualizações em batches JDBC.
+ * Nome que já existe atualiza o produto só com os campos preenchidos; nome novo cria o produto.
+ *
+ * <p>Linha inválida entra no relatório e não impede as demais. Se a gravação de um lote falhar,
+ * só as linhas daquele lote saem como rejeitadas; os lotes já confirmados ficam.
+ */
+@Slf4j
+@Service
+public class ImportacaoProdutoService {
+
+    /**
+     * Atualização de produto existente: campo nulo na linha mantém o valor atual, então todas as
+     * linhas usam o mesmo comando e vão juntas no batch JDBC.
+     */
+    static final String SQL_ATUALIZAR = "UPDATE produto SET " +
+            "preço = COALESCE(?, preço), " +
+            "quantidade_estoque = COALESCE(?, quantidade_estoque), " +
+            "data = COALESCE(?, data), " +
+            "dt_validade = COALESCE(?, dt_validade), " +
+            "id_categoria = COALESCE(?, id_categoria), " +
+            "id_fornecedor = COALESCE(?, id_fornecedor), " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id_produto = ?";
+
+    private final ProdutoRepository produtoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final FornecedorRepository fornecedorRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final ObjectReader leitorJson;
+    private final IndiceAutocompletarProdutos indiceAutocompletar;
+    private final VersaoCatalogoService versaoCatalogoService;
+    private final SincronizacaoService sincronizacaoService;
+    private final ImportacaoProperties propriedades;
+    private final TransactionTemplate transacao;
+
+    public ImportacaoProdutoService(ProdutoRepository produtoRepository,
+                                    CategoriaRepository categoriaRepository,
+                                    FornecedorRepository fornecedorRepository,
+                                    EntityManager entityManager,
+                                    JdbcTemplate jdbcTemplate,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    IndiceAutocompletarProdutos indiceAutocompletar,
+                                    VersaoCatalogoService versaoCatalogoService,
+                                    SincronizacaoService sincronizacaoService,
+                                    ImportacaoProperties propriedades,
+                                    PlatformTransactionManager transactionManager) {
+        this.produtoRepository = produtoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.fornecedorRepository = fornecedorRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.leitorJson = objectMapper.readerFor(ProdutoImportacaoDTO.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.indiceAutocompletar = indiceAutocompletar;
+        this.versaoCatalogoService = versaoCatalogoService;
+        this.sincronizacaoService = sincronizacaoService;
+        this.propriedades = propriedades;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @param nomeArquivo  decide o formato pela extensão: {@code .csv}, {@code .ndjson} ou {@code .jsonl}
+     * @param idFornecedor fornecedor da lista de preços, aplicado às linhas que não trazem o seu
+     */
+    @CacheEvict(cacheNames = CacheConfig.PRODUTOS_LISTA, allEntries = true)
+    public ImportacaoProdutosResponseDTO importar(InputStream entrada, String nomeArquivo, Integer idFornecedor)
+            throws IOException {
+        Formato formato = Formato.doArquivo(nomeArquivo);
+        if (idFornecedor != null && !fornecedorRepository.existsById(idFornecedor)) {
+            throw new RecursoNaoEncontradoException("Fornecedor", "id", idFornecedor);
+        }
+        Importacao importacao = new Importacao(idFornecedor,
+                new HashSet<>(categoriaRepository.listarIds()),
+                new HashSet<>(fornecedorRepository.listarIds()));
+
+        List<LinhaImportacao> lote = new ArrayList<>(propriedades.getLote());
+        try (LeitorImportacaoProdutos leitor = new LeitorImportacaoProdutos(entrada, formato, leitorJson)) {
+            while (leitor.hasNext()) {
+                LinhaImportacao linha = leitor.next();
+                importacao.linhas++;
+                if (linha.erro() != null) {
+                    importacao.rejeitar(linha, linha.erro());
+                    continue;
+                }
+                ProdutoImportacaoDTO produto = linha.produto();
+                produto.setNome(produto.getNome() == null ? null : produto.getNome().strip());
+                if (produto.getNome() == null || produto.getNome().isEmpty()) {
+                    importacao.rejeitar(linha, "O nome do produto é obrigatório");
+                    continue;
+                }
+                lote.add(linha);
+                if (lote.size() == propriedades.getLote()) {
+                    gravar(lote, importacao);
+                    lote.clear();
+                }
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravar(lote, importacao);
+        }
+        log.info("Importação de produtos: {} linha(s), {} criada(s), {} atualizada(s), {} rejeitada(s)",
+                importacao.linhas, importacao.criados, importacao.atualizados, importacao.rejeitados);
+        return importacao.paraDTO();
+    }
+
+    private void gravar(List<LinhaImportacao> lote, Importacao importacao) {
+        Lote resultado = new Lote();
+        try {
+            transacao.executeWithoutResult(status -> gravarNaTransacao(lote, importacao, resultado));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote da importação de produtos: {}", e.getMessage());
+            for (LinhaImportacao linha : lote) {
+                importacao.rejeitar(linha, resultado.rejeitadas.getOrDefault(linha.numero(),
+                        "Falha ao gravar o lote: " + e.getMessage()));
+            }
+            return;
+        }
+        for (LinhaImportacao linha : lote) {
+            String erro = resultado.rejeitadas.get(linha.numero());
+            if (erro != null) {
+                importacao.rejeitar(linha, erro);
+            }
+        }
+        importacao.criados += resultado.criadas;
+        importacao.atualizados += resultado.atualizadas;
+    }
+
+    private void gravarNaTransacao(List<LinhaImportacao> lote, Importacao importacao, Lote resultado) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(propriedades.getLote());
+        Set<String> nomes = lote.stream().map(linha -> linha.produto().getNome()).collect(Collectors.toSet());
+        // Com nomes repetidos no banco, vale o produto mais antigo
+        Map<String, ProdutoNome> existentes = new HashMap<>();
+        for (ProdutoNome produto : produtoRepository.listarPorNomes(nomes.toArray(String[]::new))) {
+            existentes.merge(produto.nome(), produto,
+                    (atual, outro) -> atual.idProduto() < outro.idProduto() ? atual : outro);
+        }
+
+        Map<String, Produto> criados = new HashMap<>();
+        List<Alteracao> alteracoes = new ArrayList<>();
+        Map<Integer, ProdutoSugestaoResponseDTO> gravados = new LinkedHashMap<>();
+        for (LinhaImportacao linha : lote) {
+            ProdutoImportacaoDTO dto = linha.produto();
+            Integer idFornecedor = dto.getIdFornecedor() != null ? dto.getIdFornecedor() : importacao.idFornecedor;
+            ProdutoNome existente = existentes.get(dto.getNome());
+            Produto criado = criados.get(dto.getNome());
+            boolean novo = existente == null && criado == null;
+            String erro = novo
+                    ? validarNovo(dto, idFornecedor, importacao)
+                    : validarAlteracao(dto, idFornecedor, importacao);
+            if (erro != null) {
+                resultado.rejeitadas.put(linha.numero(), erro);
+                continue;
+            }
+            if (novo) {
+                criado = Produto.builder().nome(dto.getNome()).build();
+                aplicar(dto, idFornecedor, criado);
+                produtoRepository.save(criado);
+                criados.put(criado.getNome(), criado);
+                gravados.put(criado.getIdProduto(), sugestao(criado.getIdProduto(), criado.getNome(), criado.getPreco()));
+                resultado.criadas++;
+                continue;
+            }
+            if (criado != null) {
+                // O nome repetiu no arquivo: a entidade criada neste lote ainda não foi gravada
+                aplicar(dto, idFornecedor, criado);
+                gravados.put(criado.getIdProduto(), sugestao(criado.getIdProduto(), criado.getNome(), criado.getPreco()));
+            } else {
+                alteracoes.add(new Alteracao(existente.idProduto(), dto, idFornecedor));
+                BigDecimal preco = dto.getPreco() != null ? dto.getPreco()
+                        : gravados.containsKey(existente.idProduto()) ? gravados.get(existente.idProduto()).getPreco()
+                        : existente.preco();
+                gravados.put(existente.idProduto(), sugestao(existente.idProduto(), existente.nome(), preco));
+            }
+            resultado.atualizadas++;
+        }
+        if (!alteracoes.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_ATUALIZAR, alteracoes, propriedades.getLote(), ImportacaoProdutoService::preencher);
+        }
+        if (gravados.isEmpty()) {
+            return;
+        }
+        indiceAutocompletar.registrarTodos(gravados.values());
+        versaoCatalogoService.registrarAlteracao(VersaoCatalogoService.PRODUTOS);
+        sincronizacaoService.registrarAlteracoes(SincronizacaoService.PRODUTO, gravados.keySet());
+    }
+
+    private static void preencher(PreparedStatement comando, Alteracao alteracao) throws SQLException {
+        ProdutoImportacaoDTO dto = alteracao.dto();
+        comando.setObject(1, dto.getPreco(), Types.NUMERIC);
+        comando.setObject(2, dto.getQuantidadeEstoque(), Types.INTEGER);
+        comando.setObject(3, dto.getDataEntrega(), Types.DATE);
+        comando.setObject(4, dto.getDtValidade(), Types.DATE);
+        comando.setObject(5, dto.getIdCategoria(), Types.INTEGER);
+        comando.setObject(6, alteracao.idFornecedor(), Types.INTEGER);
+        comando.setInt(7, alteracao.idProduto());
+    }
+
+    private static ProdutoSugestaoResponseDTO sugestao(Integer idProduto, String nome, BigDecimal preco) {
+        return ProdutoSugestaoResponseDTO.builder()
+                .idProduto(idProduto)
+                .nome(nome)
+                .preco(preco)
+                .build();
+    }
+
+    private String validarNovo(ProdutoImportacaoDTO dto, Integer idFornecedor, Importacao importacao) {
+        if (dto.getIdCategoria() == null) {
+            return "A categoria é obrigatória para produto novo";
+        }
+        String erro = validarReferencias(dto, idFornecedor, importacao);
+        if (erro != null) {
+            return erro;
+        }
+        Produto candidato = Produto.builder()
+                .nome(dto.getNome())
+                .preco(dto.getPreco())
+                .quantidadeEstoque(dto.getQuantidadeEstoque())
+                .dataEntrega(dto.getDataEntrega())
+                .dtValidade(dto.getDtValidade())
+                .build();
+        return mensagens(validator.validate(candidato));
+    }
+
+    // Produto existente: só os campos que a linha trouxe passam pela validação
+    private String validarAlteracao(ProdutoImportacaoDTO dto, Integer idFornecedor, Importacao importacao) {
+        String erro = validarReferencias(dto, idFornecedor, importacao);
+        if (erro != null) {
+            return erro;
+        }
+        Set<ConstraintViolation<Produto>> violacoes = new LinkedHashSet<>();
+        validarCampo("preco", dto.getPreco(), violacoes);
+        validarCampo("quantidadeEstoque", dto.getQuantidadeEstoque(), violacoes);
+        validarCampo("dataEntrega", dto.getDataEntrega(), violacoes);
+        validarCampo("dtValidade", dto.getDtValidade(), violacoes);
+        return mensagens(violacoes);
+    }
+
+    private void validarCampo(String campo, Object valor, Set<ConstraintViolation<Produto>> violacoes) {
+        if (valor != null) {
+            violacoes.addAll(validator.validateValue(Produto.class, campo, valor));
+        }
+    }
+
+    private static String validarReferencias(ProdutoImportacaoDTO dto, Integer idFornecedor, Importacao importacao) {
+        if (dto.getIdCategoria() != null && !importacao.categorias.contains(dto.getIdCategoria())) {
+            return "Categoria não encontrada com id: " + dto.getIdCategoria();
+        }
+        if (idFornecedor != null && !importacao.fornecedores.contains(idFornecedor)) {
+            return "Fornecedor não encontrado com id: " + idFornecedor;
+        }
+        return null;
+    }
+
+    private static String mensagens(Set<ConstraintViolation<Produto>> violacoes) {
+        if (violacoes.isEmpty()) {
+            return null;
+        }
+        return violacoes.stream()
+                .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void aplicar(ProdutoImportacaoDTO dto, Integer idFornecedor, Produto produto) {
+        if (dto.getPreco() != null) {
+            produto.setPreco(dto.getPreco());
+        }
+        if (dto.getQuantidadeEstoque() != null) {
+            produto.setQuantidadeEstoque(dto.getQuantidadeEstoque());
+        }
+        if (dto.getDataEntrega() != null) {
+            produto.setDataEntrega(dto.getDataEntrega());
+        }
+        if (dto.getDtValidade() != null) {
+            produto.setDtValidade(dto.getDtValidade());
+        }
+        if (dto.getIdCategoria() != null) {
+            produto.setCategoria(entityManager.getReference(Categoria.class, dto.getIdCategoria()));
+        }
+        if (idFornecedor != null) {
+            produto.setFornecedor(entityManager.getReference(Fornecedor.class, idFornecedor));
+        }
+    }
+
+    /** Estado de uma importação: totais, erros detalhados até o limite e as referências válidas. */
+    private final class Importacao {
+
+        private final Integer idFornecedor;
+        private final Set<Integer> categorias;
+        private final Set<Integer> fornecedores;
+        private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+        private long linhas;
+        private long criados;
+        private long atualizados;
+        private long rejeitados;
+        private long errosOmitidos;
+
+        private Importacao(Integer idFornecedor, Set<Integer> categorias, Set<Integer> fornecedores) {
+            this.idFornecedor = idFornecedor;
+            this.categorias = categorias;
+            this.fornecedores = fornecedores;
+        }
+
+        private void rejeitar(LinhaImportacao linha, String mensagem) {
+            rejeitados++;
+            if (erros.size() >= propriedades.getMaximoErros()) {
+                errosOmitidos++;
+                return;
+            }
+            erros.add(ErroImportacaoDTO.builder()
+                    .linha(linha.numero())
+                    .nome(linha.produto() == null ? null : linha.produto().getNome())
+                    .mensagem(mensagem)
+                    .build());
+        }
+
+        private ImportacaoProdutosResponseDTO paraDTO() {
+            return ImportacaoProdutosResponseDTO.builder()
+                    .linhas(linhas)
+                    .criados(criados)
+                    .atualizados(atualizados)
+                    .rejeitados(rejeitados)
+                    .errosOmitidos(errosOmitidos)
+                    .erros(erros)
+                    .build();
+        }
+    }
+
+    private record Alteracao(Integer idProduto, ProdutoImportacaoDTO dto, Integer idFornecedor) {
+    }
+
+    /** O que um lote gravou; só entra na importação depois do commit. */
+    private static final class Lote {
+
+        private final Map<Long, String> rejeitadas = new HashMap<>();
+        private int criadas;
+        private int atualizadas;
+    }
+}
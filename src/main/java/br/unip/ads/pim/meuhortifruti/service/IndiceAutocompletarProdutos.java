@@ -0,0 +1,195 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSugestaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Índice em memória do autocompletar: um vetor ordenado com o nome normalizado (minúsculo e sem
+ * acentos) a partir do início de cada palavra, para que "mor" ache "Morango" e "Abóbora Moranga".
+ * A consulta é uma busca binária num retrato imutável, sem trava e sem ir ao banco. As escritas,
+ * raras, montam um retrato novo e só entram depois do commit da transação que as originou.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndiceAutocompletarProdutos implements InitializingBean {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final Comparator<Entrada> ORDEM = Comparator.comparing(Entrada::chave)
+            .thenComparing(Entrada::idProduto);
+
+    private final ProdutoRepository produtoRepository;
+
+    private volatile Entrada[] entradas = new Entrada[0];
+
+    @Override
+    public void afterPropertiesSet() {
+        recarregar();
+    }
+
+    public synchronized void recarregar() {
+        List<ProdutoSugestaoResponseDTO> produtos = produtoRepository.listarSugestoes();
+        List<Entrada> novas = new ArrayList<>();
+        for (ProdutoSugestaoResponseDTO produto : produtos) {
+            novas.addAll(entradasDe(produto.getIdProduto(), produto.getNome(), produto.getPreco()));
+        }
+        novas.sort(ORDEM);
+        entradas = novas.toArray(Entrada[]::new);
+        log.info("Índice de autocompletar carregado com {} produto(s)", produtos.size());
+    }
+
+    /**
+     * Até {@code limite} produtos com alguma palavra do nome começando por {@code prefixo},
+     * em ordem alfabética do trecho encontrado.
+     */
+    public List<ProdutoSugestaoResponseDTO> sugerir(String prefixo, int limite) {
+        String chave = normalizar(prefixo);
+        if (chave.isEmpty()) {
+            return List.of();
+        }
+        Entrada[] atuais = entradas;
+        Map<Integer, ProdutoSugestaoResponseDTO> encontrados = new LinkedHashMap<>();
+        for (int i = primeiraPosicao(atuais, chave);
+             i < atuais.length && encontrados.size() < limite && atuais[i].chave().startsWith(chave); i++) {
+            Entrada entrada = atuais[i];
+            encontrados.computeIfAbsent(entrada.idProduto(), id -> ProdutoSugestaoResponseDTO.builder()
+                    .idProduto(id)
+                    .nome(entrada.nome())
+                    .preco(entrada.preco())
+                    .build());
+        }
+        return new ArrayList<>(encontrados.values());
+    }
+
+    public void registrar(Integer idProduto, String nome, BigDecimal preco) {
+        aposCommit(() -> substituir(idProduto, entradasDe(idProduto, nome, preco)));
+    }
+
+    /** Registra vários produtos com uma única intercalação, em vez de uma cópia do vetor por produto. */
+    public void registrarTodos(Collection<ProdutoSugestaoResponseDTO> produtos) {
+        if (produtos.isEmpty()) {
+            return;
+        }
+        Set<Integer> ids = new HashSet<>();
+        List<Entrada> novas = new ArrayList<>();
+        for (ProdutoSugestaoResponseDTO produto : produtos) {
+            ids.add(produto.getIdProduto());
+            novas.addAll(entradasDe(produto.getIdProduto(), produto.getNome(), produto.getPreco()));
+        }
+        novas.sort(ORDEM);
+        aposCommit(() -> substituir(ids, novas));
+    }
+
+    public void remover(Integer idProduto) {
+        aposCommit(() -> substituir(idProduto, List.of()));
+    }
+
+    /** Remove vários produtos numa única passada, como na exclusão em cascata de uma categoria. */
+    public void removerTodos(Collection<Integer> idsProdutos) {
+        if (idsProdutos.isEmpty()) {
+            return;
+        }
+        Set<Integer> ids = Set.copyOf(idsProdutos);
+        aposCommit(() -> substituir(ids, List.of()));
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private void substituir(Integer idProduto, List<Entrada> novas) {
+        substituir(Set.of(idProduto), novas);
+    }
+
+    /** Remove as entradas antigas dos produtos e intercala as novas, sem reordenar o vetor inteiro. */
+    private synchronized void substituir(Set<Integer> idsProdutos, List<Entrada> novas) {
+        Entrada[] atuais = entradas;
+        Entrada[] resultado = new Entrada[atuais.length + novas.size()];
+        int tamanho = 0;
+        int n = 0;
+        for (Entrada atual : atuais) {
+            if (idsProdutos.contains(atual.idProduto())) {
+                continue;
+            }
+            while (n < novas.size() && ORDEM.compare(novas.get(n), atual) < 0) {
+                resultado[tamanho++] = novas.get(n++);
+            }
+            resultado[tamanho++] = atual;
+        }
+        while (n < novas.size()) {
+            resultado[tamanho++] = novas.get(n++);
+        }
+        entradas = Arrays.copyOf(resultado, tamanho);
+    }
+
+    private static List<Entrada> entradasDe(Integer idProduto, String nome, BigDecimal preco) {
+        String normalizado = normalizar(nome);
+        List<Entrada> resultado = new ArrayList<>();
+        int inicio = 0;
+        while (inicio < normalizado.length()) {
+            resultado.add(new Entrada(normalizado.substring(inicio), idProduto, nome, preco));
+            int espaco = normalizado.indexOf(' ', inicio);
+            if (espaco < 0) {
+                break;
+            }
+            inicio = espaco + 1;
+        }
+        resultado.sort(ORDEM);
+        return resultado;
+    }
+
+    private static int primeiraPosicao(Entrada[] atuais, String chave) {
+        int inicio = 0;
+        int fim = atuais.length;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (atuais[meio].chave().compareTo(chave) < 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    private record Entrada(String chave, Integer idProduto, String nome, BigDecimal preco) {
+    }
+}
@@ -0,0 +1,238 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoImportacaoDTO;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê o arquivo de importação uma linha por vez, sem carregá-lo inteiro. Linha que não dá para
+ * converter volta com o erro, e a leitura segue na próxima.
+ *
+ * <p>CSV: a primeira linha é o cabeçalho com os nomes dos campos de {@link ProdutoImportacaoDTO}
+ * (sem diferenciar maiúsculas; colunas desconhecidas são ignoradas), separados por vírgula ou,
+ * se o cabeçalho tiver ponto e vírgula, por ponto e vírgula. Valores podem vir entre aspas, com
+ * aspas duplicadas dentro, mas não podem quebrar linha. Decimais aceitam vírgula e datas,
+ * {@code aaaa-mm-dd} ou {@code dd/mm/aaaa}.
+ *
+ * <p>NDJSON: um objeto JSON por linha, com os mesmos campos.
+ */
+final class LeitorImportacaoProdutos implements Iterator<LeitorImportacaoProdutos.LinhaImportacao>, Closeable {
+
+    private static final DateTimeFormatter DATA_BRASILEIRA = DateTimeFormatter.ofPattern("dd/MM/uuuu");
+
+    enum Formato {
+        CSV, NDJSON;
+
+        static Formato doArquivo(String nomeArquivo) {
+            String nome = nomeArquivo == null ? "" : nomeArquivo.toLowerCase(Locale.ROOT);
+            if (nome.endsWith(".csv")) {
+                return CSV;
+            }
+            if (nome.endsWith(".ndjson") || nome.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            throw new RegraNegocioException("Formato de arquivo não suportado: use .csv, .ndjson ou .jsonl");
+        }
+    }
+
+    record LinhaImportacao(long numero, ProdutoImportacaoDTO produto, String erro) {
+    }
+
+    private final BufferedReader leitor;
+    private final Formato formato;
+    private final ObjectReader leitorJson;
+    private Map<String, Integer> colunas;
+    private char separador;
+    private long numero;
+    private LinhaImportacao proxima;
+
+    LeitorImportacaoProdutos(InputStream entrada, Formato formato, ObjectReader leitorJson) throws IOException {
+        this.leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        this.formato = formato;
+        this.leitorJson = leitorJson;
+        if (formato == Formato.CSV) {
+            lerCabecalho();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (proxima == null) {
+            proxima = ler();
+        }
+        return proxima != null;
+    }
+
+    @Override
+    public LinhaImportacao next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        LinhaImportacao atual = proxima;
+        proxima = null;
+        return atual;
+    }
+
+    @Override
+    public void close() throws IOException {
+        leitor.close();
+    }
+
+    private LinhaImportacao ler() {
+        String linha;
+        try {
+            do {
+                linha = leitor.readLine();
+                numero++;
+            } while (linha != null && linha.isBlank());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (linha == null) {
+            return null;
+        }
+        try {
+            ProdutoImportacaoDTO produto = formato == Formato.CSV ? converterCsv(linha) : converterJson(linha);
+            return new LinhaImportacao(numero, produto, null);
+        } catch (IllegalArgumentException e) {
+            return new LinhaImportacao(numero, null, e.getMessage());
+        }
+    }
+
+    private void lerCabecalho() throws IOException {
+        String cabecalho = leitor.readLine();
+        numero++;
+        if (cabecalho == null) {
+            throw new RegraNegocioException("O arquivo CSV está vazio");
+        }
+        if (cabecalho.startsWith("\uFEFF")) {
+            cabecalho = cabecalho.substring(1);
+        }
+        separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+        colunas = new HashMap<>();
+        List<String> nomes = dividir(cabecalho);
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.putIfAbsent(nomes.get(i).strip().toLowerCase(Locale.ROOT), i);
+        }
+        if (!colunas.containsKey("nome")) {
+            throw new RegraNegocioException("O cabeçalho do CSV precisa da coluna nome");
+        }
+    }
+
+    private ProdutoImportacaoDTO converterCsv(String linha) {
+        List<String> valores = dividir(linha);
+        return ProdutoImportacaoDTO.builder()
+                .nome(valor(valores, "nome"))
+                .preco(decimal(valor(valores, "preco"), "preco"))
+                .quantidadeEstoque(inteiro(valor(valores, "quantidadeestoque"), "quantidadeEstoque"))
+                .dataEntrega(data(valor(valores, "dataentrega"), "dataEntrega"))
+                .dtValidade(data(valor(valores, "dtvalidade"), "dtValidade"))
+                .idCategoria(inteiro(valor(valores, "idcategoria"), "idCategoria"))
+                .idFornecedor(inteiro(valor(valores, "idfornecedor"), "idFornecedor"))
+                .build();
+    }
+
+    private ProdutoImportacaoDTO converterJson(String linha) {
+        try {
+            return leitorJson.readValue(linha);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    // Divide uma linha CSV respeitando aspas; "" dentro de aspas vira uma aspa
+    private List<String> dividir(String linha) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                valores.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        valores.add(atual.toString());
+        return valores;
+    }
+
+    private String valor(List<String> valores, String coluna) {
+        Integer indice = colunas.get(coluna);
+        if (indice == null || indice >= valores.size()) {
+            return null;
+        }
+        String valor = valores.get(indice).strip();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static BigDecimal decimal(String valor, String campo) {
+        if (valor == null) {
+            return null;
+        }
+        String normalizado = valor.indexOf(',') >= 0 ? valor.replace(".", "").replace(',', '.') : valor;
+        try {
+            return new BigDecimal(normalizado);
+        } catch (NumberFormatException e) {
+            throw invalido(campo, valor);
+        }
+    }
+
+    private static Integer inteiro(String valor, String campo) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw invalido(campo, valor);
+        }
+    }
+
+    private static LocalDate data(String valor, String campo) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return valor.indexOf('/') >= 0 ? LocalDate.parse(valor, DATA_BRASILEIRA) : LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw invalido(campo, valor);
+        }
+    }
+
+    private static IllegalArgumentException invalido(String campo, String valor) {
+        return new IllegalArgumentException("Valor inválido para " + campo + ": '" + valor + "'");
+    }
+}
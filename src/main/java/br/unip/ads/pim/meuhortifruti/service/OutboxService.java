@@ -0,0 +1,83 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.entity.EventoOutbox;
+import br.unip.ads.pim.meuhortifruti.repository.EventoOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publica eventos de compra, pagamento e estoque na tabela {@code evento_outbox}. Só aceita ser
+ * chamado dentro da transação da escrita ({@link Propagation#MANDATORY}): o evento é confirmado ou
+ * desfeito junto com ela, e a requisição paga apenas pelo INSERT, que vai no mesmo lote JDBC das
+ * outras linhas do flush. A entrega aos consumidores fica com o {@link RelayOutboxService}.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String COMPRA = "COMPRA";
+    public static final String PAGAMENTO = "PAGAMENTO";
+    public static final String ESTOQUE = "ESTOQUE";
+
+    public static final String COMPRA_FINALIZADA = "COMPRA_FINALIZADA";
+    public static final String COMPRA_CRIADA = "COMPRA_CRIADA";
+    public static final String COMPRA_ATUALIZADA = "COMPRA_ATUALIZADA";
+    public static final String COMPRA_EXCLUIDA = "COMPRA_EXCLUIDA";
+    public static final String PAGAMENTO_CRIADO = "PAGAMENTO_CRIADO";
+    public static final String PAGAMENTO_ATUALIZADO = "PAGAMENTO_ATUALIZADO";
+    public static final String PAGAMENTO_EXCLUIDO = "PAGAMENTO_EXCLUIDO";
+    public static final String ESTOQUE_ALTERADO = "ESTOQUE_ALTERADO";
+    public static final String ESTOQUE_EXCLUIDO = "ESTOQUE_EXCLUIDO";
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    /** Publica um evento; o {@code payload} vai como JSON e pode ser nulo (exclusões). */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publicar(String tipo, String agregado, Integer idAgregado, Object payload) {
+        eventoOutboxRepository.save(criar(tipo, agregado, idAgregado, payload, Instant.now()));
+    }
+
+    /** Publica um evento por agregado do mapa, todos do mesmo tipo, em um único saveAll. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publicarTodos(String tipo, String agregado, Map<Integer, ?> payloadsPorId) {
+        if (payloadsPorId.isEmpty()) {
+            return;
+        }
+        Instant agora = Instant.now();
+        List<EventoOutbox> eventos = payloadsPorId.entrySet().stream()
+                .map(entrada -> criar(tipo, agregado, entrada.getKey(), entrada.getValue(), agora))
+                .toList();
+        eventoOutboxRepository.saveAll(eventos);
+    }
+
+    private EventoOutbox criar(String tipo, String agregado, Integer idAgregado, Object payload, Instant agora) {
+        return EventoOutbox.builder()
+                .tipo(tipo)
+                .agregado(agregado)
+                .idAgregado(idAgregado)
+                .payload(serializar(payload))
+                .criadoEm(agora)
+                .disponivelEm(agora)
+                .build();
+    }
+
+    private String serializar(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o evento: " + e.getMessage(), e);
+        }
+    }
+}
@@ -1,20 +1,30 @@
 package br.unip.ads.pim.meuhortifruti.service;
 
 import br.unip.ads.pim.meuhortifruti.dto.PagamentoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.CompraResponseDTO;
 import br.unip.ads.pim.meuhortifruti.dto.PagamentoRequestDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Compra;
+import br.unip.ads.pim.meuhortifruti.entity.ItemCompra;
 import br.unip.ads.pim.meuhortifruti.entity.Pagamento;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoDuplicadoException;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.repository.ItemCompraRepository;
 import br.unip.ads.pim.meuhortifruti.repository.PagamentoRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class PagamentoService {
 
     private final PagamentoRepository pagamentoRepository;
+    private final ItemCompraRepository itemCompraRepository;
+    private final EstatisticaVendasService estatisticaVendasService;
+    private final OutboxService outboxService;
 
     @Transactional(readOnly = true)
     public PagamentoResponseDTO buscarPorId(Integer id){
@@ -33,6 +43,7 @@ public class PagamentoService {
                 .valor(dto.getValor())
                 .build();
         pagamento = pagamentoRepository.save(pagamento);
+        publicar(OutboxService.PAGAMENTO_CRIADO, pagamento);
         return converterParaDTO(pagamento);
     }
 
@@ -45,18 +56,62 @@ public class PagamentoService {
                 throw new RecursoDuplicadoException("Pagamento", "idCompra", id);
             }
         });
+        boolean aprovadoAntes = aprovado(pagamento);
+        LocalDate diaEstatisticas = aprovadoAntes ? pagamento.getDataAprovacao() : LocalDate.now();
         pagamento.setFormaPagamento(dto.getFormaPagamento());
         pagamento.setStatusPagamento(dto.getStatusPagamento());
         pagamento.setValor(dto.getValor());
+        boolean mudouAprovacao = aprovado(pagamento) != aprovadoAntes;
+        if (mudouAprovacao) {
+            pagamento.setDataAprovacao(aprovadoAntes ? null : diaEstatisticas);
+        }
         pagamento = pagamentoRepository.save(pagamento);
+        if (mudouAprovacao) {
+            atualizarEstatisticas(pagamento.getCompra(), !aprovadoAntes, diaEstatisticas);
+        }
+        publicar(OutboxService.PAGAMENTO_ATUALIZADO, pagamento);
         return converterParaDTO(pagamento);
     }
 
     @Transactional
     public void excluir(Integer id){
         Pagamento pagamento = buscarPagamentoPorId(id);
+        if (aprovado(pagamento)) {
+            atualizarEstatisticas(pagamento.getCompra(), false, pagamento.getDataAprovacao());
+        }
         pagamentoRepository.delete(pagamento);
+        outboxService.publicar(OutboxService.PAGAMENTO_EXCLUIDO, OutboxService.PAGAMENTO, id, null);
+    }
+
+    private boolean aprovado(Pagamento pagamento) {
+        return CheckoutService.STATUS_PAGAMENTO_APROVADO.equals(pagamento.getStatusPagamento());
+    }
+
+    /**
+     * Venda que passou a ser aprovada entra nas estatísticas do dia; a que deixou de ser sai delas,
+     * no dia em que tinha entrado.
+     */
+    private void atualizarEstatisticas(Compra compra, boolean aprovado, LocalDate dia) {
+        if (compra == null) {
+            return;
+        }
+        List<ItemCompra> itens = itemCompraRepository.buscarPorCompras(List.of(compra.getIdCompra()));
+        if (aprovado) {
+            estatisticaVendasService.registrarVenda(compra.getIdCompra(), dia, itens);
+        } else {
+            estatisticaVendasService.estornarVenda(compra.getIdCompra(), dia, itens);
+        }
     }
+
+    // O evento leva o id da compra, que a resposta da API não traz
+    private void publicar(String tipo, Pagamento pagamento) {
+        PagamentoResponseDTO evento = converterParaDTO(pagamento);
+        if (pagamento.getCompra() != null) {
+            evento.setCompra(CompraResponseDTO.builder().idCompra(pagamento.getCompra().getIdCompra()).build());
+        }
+        outboxService.publicar(tipo, OutboxService.PAGAMENTO, pagamento.getIdPagamento(), evento);
+    }
+
     private Pagamento buscarPagamentoPorId(Integer id) {
         return pagamentoRepository.findById(id)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Pagamento", "id", id));
@@ -0,0 +1,194 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.dto.ItemSugestaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.SugestaoCompraDTO;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ItemReposicao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Estado em memória do motor de reposição: um item por produto com ponto de reposição e, por
+ * fornecedor, só os itens que estão no ponto ou abaixo. Cada atualização mexe em um item e, se ele
+ * cruzou o ponto, em um balde; montar as sugestões percorre só os baldes, nunca o catálogo inteiro.
+ * As escritas vêm da thread que acompanha o log e as leituras das requisições, daí o
+ * {@code synchronized} em tudo.
+ */
+final class PainelReposicao {
+
+    private static final Comparator<Integer> POR_FORNECEDOR = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final Map<Integer, Item> itens = new HashMap<>();
+    private final Map<Integer, Integer> produtoPorEstoque = new HashMap<>();
+    private final Map<Integer, Map<Integer, Item>> baixosPorFornecedor = new HashMap<>();
+
+    synchronized void carregar(Collection<ItemReposicao> carga) {
+        itens.clear();
+        produtoPorEstoque.clear();
+        baixosPorFornecedor.clear();
+        for (ItemReposicao dados : carga) {
+            definirItem(dados);
+        }
+    }
+
+    /** Inclui ou substitui o item do produto (ponto, fornecedor, nome e saldo). */
+    synchronized void definir(ItemReposicao dados) {
+        definirItem(dados);
+    }
+
+    synchronized void remover(Integer idProduto) {
+        removerItem(idProduto);
+    }
+
+    /** Aplica o saldo atual de um estoque; estoque de produto sem ponto de reposição é ignorado. */
+    synchronized void atualizarEstoque(Integer idEstoque, Integer idProduto, Integer quantidade) {
+        Item item = itens.get(idProduto);
+        if (item == null) {
+            return;
+        }
+        if (!Objects.equals(item.idEstoque, idEstoque)) {
+            if (item.idEstoque != null) {
+                produtoPorEstoque.remove(item.idEstoque);
+            }
+            item.idEstoque = idEstoque;
+            produtoPorEstoque.put(idEstoque, idProduto);
+        }
+        alterarQuantidade(item, quantidade);
+    }
+
+    /** Estoque excluído: o produto continua com ponto de reposição, agora sem saldo. */
+    synchronized void excluirEstoque(Integer idEstoque) {
+        Integer idProduto = produtoPorEstoque.remove(idEstoque);
+        Item item = idProduto == null ? null : itens.get(idProduto);
+        if (item != null) {
+            item.idEstoque = null;
+            alterarQuantidade(item, 0);
+        }
+    }
+
+    synchronized boolean contem(Integer idProduto) {
+        return itens.containsKey(idProduto);
+    }
+
+    synchronized int tamanho() {
+        return itens.size();
+    }
+
+    /** Uma sugestão por fornecedor com produto no ponto ou abaixo, em ordem de fornecedor. */
+    synchronized List<SugestaoCompraDTO> sugestoes() {
+        List<Integer> fornecedores = new ArrayList<>(baixosPorFornecedor.keySet());
+        fornecedores.sort(POR_FORNECEDOR);
+        List<SugestaoCompraDTO> sugestoes = new ArrayList<>(fornecedores.size());
+        for (Integer idFornecedor : fornecedores) {
+            sugestoes.add(montar(idFornecedor, baixosPorFornecedor.get(idFornecedor).values()));
+        }
+        return sugestoes;
+    }
+
+    /** A sugestão de um fornecedor; sem nada a repor, volta com a lista de itens vazia. */
+    synchronized SugestaoCompraDTO sugestao(Integer idFornecedor) {
+        return montar(idFornecedor, baixosPorFornecedor.getOrDefault(idFornecedor, Map.of()).values());
+    }
+
+    private void definirItem(ItemReposicao dados) {
+        removerItem(dados.idProduto());
+        Item item = new Item(dados);
+        itens.put(item.idProduto, item);
+        if (item.idEstoque != null) {
+            produtoPorEstoque.put(item.idEstoque, item.idProduto);
+        }
+        if (item.baixo()) {
+            baixosPorFornecedor.computeIfAbsent(item.idFornecedor, fornecedor -> new HashMap<>())
+                    .put(item.idProduto, item);
+        }
+    }
+
+    private void removerItem(Integer idProduto) {
+        Item item = itens.remove(idProduto);
+        if (item == null) {
+            return;
+        }
+        if (item.idEstoque != null) {
+            produtoPorEstoque.remove(item.idEstoque);
+        }
+        if (item.baixo()) {
+            tirarDoBalde(item);
+        }
+    }
+
+    // Só mexe no balde quando o saldo cruza o ponto de reposição
+    private void alterarQuantidade(Item item, Integer quantidade) {
+        boolean estavaBaixo = item.baixo();
+        item.quantidade = quantidade == null ? 0 : quantidade;
+        boolean baixo = item.baixo();
+        if (baixo && !estavaBaixo) {
+            baixosPorFornecedor.computeIfAbsent(item.idFornecedor, fornecedor -> new HashMap<>())
+                    .put(item.idProduto, item);
+        } else if (!baixo && estavaBaixo) {
+            tirarDoBalde(item);
+        }
+    }
+
+    private void tirarDoBalde(Item item) {
+        Map<Integer, Item> balde = baixosPorFornecedor.get(item.idFornecedor);
+        if (balde != null) {
+            balde.remove(item.idProduto);
+            if (balde.isEmpty()) {
+                baixosPorFornecedor.remove(item.idFornecedor);
+            }
+        }
+    }
+
+    private static SugestaoCompraDTO montar(Integer idFornecedor, Collection<Item> baixos) {
+        List<ItemSugestaoDTO> itens = new ArrayList<>(baixos.size());
+        int total = 0;
+        for (Item item : baixos) {
+            int sugerida = Math.max(item.estoqueMaximo - item.quantidade, 0);
+            total += sugerida;
+            itens.add(ItemSugestaoDTO.builder()
+                    .idProduto(item.idProduto)
+                    .nome(item.nome)
+                    .quantidadeAtual(item.quantidade)
+                    .pontoReposicao(item.pontoReposicao)
+                    .estoqueMaximo(item.estoqueMaximo)
+                    .quantidadeSugerida(sugerida)
+                    .build());
+        }
+        itens.sort(Comparator.comparing(ItemSugestaoDTO::getIdProduto));
+        return SugestaoCompraDTO.builder()
+                .idFornecedor(idFornecedor)
+                .quantidadeTotal(total)
+                .itens(itens)
+                .build();
+    }
+
+    private static final class Item {
+
+        private final Integer idProduto;
+        private final String nome;
+        private final Integer idFornecedor;
+        private final int pontoReposicao;
+        private final int estoqueMaximo;
+        private Integer idEstoque;
+        private int quantidade;
+
+        private Item(ItemReposicao dados) {
+            this.idProduto = dados.idProduto();
+            this.nome = dados.nome();
+            this.idFornecedor = dados.idFornecedor();
+            this.pontoReposicao = dados.pontoReposicao();
+            this.estoqueMaximo = dados.estoqueMaximo();
+            this.idEstoque = dados.idEstoque();
+            this.quantidade = dados.quantidade() == null ? 0 : dados.quantidade();
+        }
+
+        private boolean baixo() {
+            return quantidade <= pontoReposicao;
+        }
+    }
+}
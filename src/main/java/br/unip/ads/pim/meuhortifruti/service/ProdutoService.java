@@ -1,37 +1,184 @@
 package br.unip.ads.pim.meuhortifruti.service;
 
+import br.unip.ads.pim.meuhortifruti.config.CacheConfig;
+import br.unip.ads.pim.meuhortifruti.dto.FornecedorResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoBuscaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoPaginaResponseDTO;
 import br.unip.ads.pim.meuhortifruti.dto.ProdutoRequestDTO;
 import br.unip.ads.pim.meuhortifruti.dto.ProdutoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSugestaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VersaoRecursoDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Fornecedor;
 import br.unip.ads.pim.meuhortifruti.entity.Produto;
 import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoBusca;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoResumo;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoDuplicadoException;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ProdutoService {
 
+    public static final int TAMANHO_PAGINA_PADRAO = 50;
+    public static final int TAMANHO_PAGINA_MAXIMO = 200;
+    public static final int TAMANHO_MINIMO_BUSCA = 2;
+    public static final String LIMIAR_SIMILARIDADE_BUSCA = "0.45";
+    public static final int LIMITE_SUGESTOES_PADRAO = 10;
+    public static final int LIMITE_SUGESTOES_MAXIMO = 50;
+    private static final int LINHAS_POR_FLUSH = 500;
+
     private final ProdutoRepository produtoRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final IndiceAutocompletarProdutos indiceAutocompletar;
+    private final VersaoCatalogoService versaoCatalogoService;
+    private final SincronizacaoService sincronizacaoService;
 
+    /**
+     * A {@code versao} é a da coleção lida antes da listagem e só entra na chave do cache: assim
+     * uma listagem carregada de uma réplica atrasada fica sob a versão antiga e nunca é servida
+     * com o ETag de uma versão mais nova.
+     */
     @Transactional(readOnly = true)
-    public List<ProdutoResponseDTO> listarTodas(){
-        return produtoRepository.findAll()
+    @Cacheable(cacheNames = CacheConfig.PRODUTOS_LISTA, key = "#versao")
+    public List<ProdutoResponseDTO> listarTodas(String versao){
+        return produtoRepository.listarResumos()
                 .stream()
                 .map(this::converterParaDTO)
                 .collect(Collectors.toList());
     }
-    @Transactional
-    public ProdutoResponseDTO buscarPorId(Integer id){
+    /**
+     * Paginação por chave (keyset) ordenada por nome e id. O cursor é opaco para o cliente
+     * e carrega o último (id, nome) da página anterior, então o custo de cada página não
+     * cresce com o tamanho do catálogo como aconteceria com OFFSET.
+     */
+    @Transactional(readOnly = true)
+    public ProdutoPaginaResponseDTO listarPagina(String cursor, Integer tamanho){
+        int tamanhoPagina = normalizarTamanhoPagina(tamanho);
+        Limit limite = Limit.of(tamanhoPagina + 1);
+
+        List<Produto> produtos;
+        if (cursor == null || cursor.isBlank()) {
+            produtos = produtoRepository.buscarPrimeiraPagina(limite);
+        } else {
+            Produto ultimo = decodificarCursor(cursor);
+            produtos = produtoRepository.buscarPaginaApos(ultimo.getNome(), ultimo.getIdProduto(), limite);
+        }
+
+        boolean temProxima = produtos.size() > tamanhoPagina;
+        List<Produto> pagina = temProxima ? produtos.subList(0, tamanhoPagina) : produtos;
+
+        return ProdutoPaginaResponseDTO.builder()
+                .conteudo(pagina.stream().map(this::converterParaDTO).collect(Collectors.toList()))
+                .tamanho(pagina.size())
+                .proximoCursor(temProxima ? codificarCursor(pagina.get(pagina.size() - 1)) : null)
+                .build();
+    }
+    /**
+     * Busca aproximada pelo nome, tolerante a erros de digitação, com os mais parecidos primeiro.
+     * A paginação é por deslocamento porque a ordem depende do termo; uma linha a mais é lida
+     * para saber se existe próxima página sem contar o resultado inteiro.
+     */
+    @Transactional(readOnly = true)
+    public ProdutoBuscaResponseDTO buscar(String termo, Integer pagina, Integer tamanho){
+        String termoNormalizado = termo == null ? "" : termo.strip();
+        if (termoNormalizado.length() < TAMANHO_MINIMO_BUSCA) {
+            throw new RegraNegocioException(
+                    "O termo de busca deve ter ao menos " + TAMANHO_MINIMO_BUSCA + " caracteres");
+        }
+        int numeroPagina = pagina == null ? 0 : pagina;
+        if (numeroPagina < 0) {
+            throw new RegraNegocioException("O número da página não pode ser negativo");
+        }
+        int tamanhoPagina = normalizarTamanhoPagina(tamanho);
+
+        produtoRepository.definirLimiarSimilaridade(LIMIAR_SIMILARIDADE_BUSCA);
+        List<ProdutoBusca> encontrados = produtoRepository.buscarPorSimilaridade(
+                termoNormalizado, tamanhoPagina + 1, (long) numeroPagina * tamanhoPagina);
+
+        boolean temProxima = encontrados.size() > tamanhoPagina;
+        List<ProdutoBusca> resultado = temProxima ? encontrados.subList(0, tamanhoPagina) : encontrados;
+
+        return ProdutoBuscaResponseDTO.builder()
+                .conteudo(resultado.stream().map(this::converterParaDTO).collect(Collectors.toList()))
+                .pagina(numeroPagina)
+                .tamanho(resultado.size())
+                .temProximaPagina(temProxima)
+                .build();
+    }
+    /**
+     * Sugestões para o autocompletar do PDV, servidas do índice em memória: nenhuma consulta ao
+     * banco por tecla digitada.
+     */
+    public List<ProdutoSugestaoResponseDTO> autocompletar(String prefixo, Integer limite){
+        int quantidade = limite == null ? LIMITE_SUGESTOES_PADRAO : limite;
+        if (quantidade < 1) {
+            throw new RegraNegocioException("O limite de sugestões deve ser maior que zero");
+        }
+        return indiceAutocompletar.sugerir(prefixo, Math.min(quantidade, LIMITE_SUGESTOES_MAXIMO));
+    }
+    /**
+     * Escreve o catálogo inteiro como um array JSON direto na saída, lendo o banco por cursor
+     * e desanexando cada entidade depois de serializada, para que a memória não cresça com a tabela.
+     */
+    @Transactional(readOnly = true)
+    public void exportar(OutputStream saida) throws IOException {
+        ObjectWriter escritor = objectMapper.writerFor(ProdutoResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<Produto> produtos = produtoRepository.streamTodos();
+             JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+            gerador.writeStartArray();
+            int linhas = 0;
+            for (Produto produto : (Iterable<Produto>) produtos::iterator) {
+                escritor.writeValue(gerador, converterParaDTO(produto));
+                entityManager.detach(produto);
+                if (++linhas % LINHAS_POR_FLUSH == 1) {
+                    gerador.flush();
+                }
+            }
+            gerador.writeEndArray();
+        }
+    }
+    /**
+     * A versão do item (o ETag de {@link #buscarVersao}) entra na chave do cache, como em
+     * {@link #listarTodas}: uma alteração gera outra chave e o corpo antigo nunca sai com o ETag novo.
+     * Sem versão, o produto é lido do banco e não vai para o cache.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUTOS, key = "#id + ':' + #versao", condition = "#versao != null")
+    public ProdutoResponseDTO buscarPorId(Integer id, String versao){
         Produto produto = buscarProdutoPorId(id);
         return converterParaDTO(produto);
     }
+    @Transactional(readOnly = true)
+    public Optional<VersaoRecursoDTO> buscarVersao(Integer id){
+        return produtoRepository.buscarUltimaAlteracao(id)
+                .map(atualizadoEm -> VersaoCatalogoService.versaoDoItem(VersaoCatalogoService.PRODUTOS, id, atualizadoEm));
+    }
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUTOS_LISTA, allEntries = true)
     public ProdutoResponseDTO criar(ProdutoRequestDTO dto){
         if (produtoRepository.existsByNome(dto.getNome())){
             throw new RecursoDuplicadoException("Produto", "nome", dto.getNome());
@@ -46,9 +193,13 @@ public class ProdutoService {
                 .build();
 
         produto = produtoRepository.save(produto);
+        indiceAutocompletar.registrar(produto.getIdProduto(), produto.getNome(), produto.getPreco());
+        versaoCatalogoService.registrarAlteracao(VersaoCatalogoService.PRODUTOS);
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.PRODUTO, produto.getIdProduto());
         return converterParaDTO(produto);
     }
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUTOS_LISTA, allEntries = true)
     public ProdutoResponseDTO atualizar(Integer id, ProdutoRequestDTO dto){
         Produto produto = buscarProdutoPorId(id);
 
@@ -63,12 +214,19 @@ public class ProdutoService {
         produto.setDataEntrega(dto.getDataEntrega());
         produto.setDtValidade(dto.getDtValidade());
         produto = produtoRepository.save(produto);
+        indiceAutocompletar.registrar(produto.getIdProduto(), produto.getNome(), produto.getPreco());
+        versaoCatalogoService.registrarAlteracao(VersaoCatalogoService.PRODUTOS);
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.PRODUTO, produto.getIdProduto());
         return converterParaDTO(produto);
     }
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUTOS_LISTA, allEntries = true)
     public void excluir (Integer id){
         Produto produto = buscarProdutoPorId(id);
         produtoRepository.delete(produto);
+        indiceAutocompletar.remover(id);
+        versaoCatalogoService.registrarAlteracao(VersaoCatalogoService.PRODUTOS);
+        sincronizacaoService.registrarExclusao(SincronizacaoService.PRODUTO, id);
     }
 
     private Produto buscarProdutoPorId(Integer id){
@@ -76,15 +234,92 @@ public class ProdutoService {
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Produto", "id", id));
     }
 
-    private ProdutoResponseDTO converterParaDTO(Produto produto){
+    private int normalizarTamanhoPagina(Integer tamanho){
+        if (tamanho == null) {
+            return TAMANHO_PAGINA_PADRAO;
+        }
+        if (tamanho < 1) {
+            throw new RegraNegocioException("O tamanho da página deve ser maior que zero");
+        }
+        return Math.min(tamanho, TAMANHO_PAGINA_MAXIMO);
+    }
+
+    private String codificarCursor(Produto produto){
+        String valor = produto.getIdProduto() + ":" + produto.getNome();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Produto decodificarCursor(String cursor){
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(':');
+            return Produto.builder()
+                    .idProduto(Integer.valueOf(valor.substring(0, separador)))
+                    .nome(valor.substring(separador + 1))
+                    .build();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new RegraNegocioException("Cursor de paginação inválido", e);
+        }
+    }
+
+    ProdutoResponseDTO converterParaDTO(Produto produto){
         return ProdutoResponseDTO.builder()
                 .idProduto(produto.getIdProduto())
                 .nome(produto.getNome())
                 .quantidadeEstoque(produto.getQuantidadeEstoque())
                 .preco(produto.getPreco())
                 .dataEntrega(produto.getDataEntrega())
-                .fornecedor(produto.getFornecedor())
+                .fornecedor(converterParaDTO(produto.getFornecedor()))
                 .dtValidade(produto.getDtValidade())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * O fornecedor sai como DTO, nunca como entidade: o de {@code Produto} é lazy e o Jackson
+     * serializaria o proxy do Hibernate, que também acabaria guardado no cache.
+     */
+    private static FornecedorResponseDTO converterParaDTO(Fornecedor fornecedor){
+        return fornecedor == null ? null : FornecedorResponseDTO.builder()
+                .idFornecedor(fornecedor.getIdFornecedor())
+                .nome(fornecedor.getNome())
+                .cnpj(fornecedor.getCnpj())
+                .telefone(fornecedor.getTelefone())
+                .email(fornecedor.getEmail())
+                .endereco(fornecedor.getEndereco())
+                .produtosFornecidos(fornecedor.getProdutosFornecidos())
+                .build();
+    }
+
+    private ProdutoResponseDTO converterParaDTO(ProdutoBusca encontrado){
+        return ProdutoResponseDTO.builder()
+                .idProduto(encontrado.getIdProduto())
+                .nome(encontrado.getNome())
+                .quantidadeEstoque(encontrado.getQuantidadeEstoque())
+                .preco(encontrado.getPreco())
+                .dataEntrega(encontrado.getDataEntrega())
+                .dtValidade(encontrado.getDtValidade())
+                .build();
+    }
+
+    private ProdutoResponseDTO converterParaDTO(ProdutoResumo resumo){
+        FornecedorResponseDTO fornecedor = resumo.idFornecedor() == null ? null : FornecedorResponseDTO.builder()
+                .idFornecedor(resumo.idFornecedor())
+                .nome(resumo.nomeFornecedor())
+                .cnpj(resumo.cnpjFornecedor())
+                .telefone(resumo.telefoneFornecedor())
+                .email(resumo.emailFornecedor())
+                .endereco(resumo.enderecoFornecedor())
+                .produtosFornecidos(resumo.produtosFornecidos())
+                .build();
+        return ProdutoResponseDTO.builder()
+                .idProduto(resumo.idProduto())
+                .nome(resumo.nome())
+                .quantidadeEstoque(resumo.quantidadeEstoque())
+                .preco(resumo.preco())
+                .dataEntrega(resumo.dataEntrega())
+                .fornecedor(fornecedor)
+                .dtValidade(resumo.dtValidade())
+                .build();
+    }
+}
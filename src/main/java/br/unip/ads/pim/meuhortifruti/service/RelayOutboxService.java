@@ -0,0 +1,185 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.OutboxProperties;
+import br.unip.ads.pim.meuhortifruti.dto.EventoDTO;
+import br.unip.ads.pim.meuhortifruti.entity.EventoOutbox;
+import br.unip.ads.pim.meuhortifruti.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drena o {@code evento_outbox} em segundo plano e entrega cada evento aos
+ * {@link ConsumidorEventos} registrados. Cada rodada é uma transação: reserva um lote com
+ * {@code FOR UPDATE SKIP LOCKED}, entrega, apaga os entregues em um DELETE e reagenda os que
+ * falharam com espera exponencial. Cada entrega roda na sua própria transação, para que um
+ * consumidor transacional que falha desfaça só o que ele fez, e não a reserva e a contagem de
+ * tentativas do lote; cada thread do relay usa, então, duas conexões durante a entrega. As threads são próprias (não dependem do
+ * {@code @EnableScheduling}), então o relay roda em todas as instâncias ao mesmo tempo.
+ */
+@Slf4j
+@Service
+public class RelayOutboxService implements InitializingBean, DisposableBean {
+
+    static final String METRICA_EVENTOS = "hortifruti.outbox.eventos";
+
+    private static final Duration ESPERA_INICIAL = Duration.ofSeconds(1);
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final ObjectProvider<ConsumidorEventos> consumidoresDisponiveis;
+    private final OutboxProperties propriedades;
+    private final TransactionTemplate transacao;
+    private final TransactionTemplate transacaoEntrega;
+    private final Counter entregues;
+    private final Counter falhas;
+
+    private List<ConsumidorEventos> consumidores = List.of();
+    private ScheduledExecutorService executor;
+
+    public RelayOutboxService(EventoOutboxRepository eventoOutboxRepository,
+                              ObjectProvider<ConsumidorEventos> consumidores,
+                              OutboxProperties propriedades,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.consumidoresDisponiveis = consumidores;
+        this.propriedades = propriedades;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.transacaoEntrega = new TransactionTemplate(transactionManager);
+        this.transacaoEntrega.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.entregues = Counter.builder(METRICA_EVENTOS)
+                .description("Eventos do outbox processados pelo relay, por resultado")
+                .tag("resultado", "entregue")
+                .register(meterRegistry);
+        this.falhas = Counter.builder(METRICA_EVENTOS)
+                .description("Eventos do outbox processados pelo relay, por resultado")
+                .tag("resultado", "falha")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        consumidores = consumidoresDisponiveis.orderedStream().toList();
+        if (!propriedades.isRelayHabilitado()) {
+            return;
+        }
+        AtomicInteger numero = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(propriedades.getThreads(), tarefa -> {
+            Thread thread = new Thread(tarefa, "outbox-relay-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = propriedades.getIntervalo().toMillis();
+        for (int i = 0; i < propriedades.getThreads(); i++) {
+            executor.scheduleWithFixedDelay(this::drenar, intervalo, intervalo, TimeUnit.MILLISECONDS);
+        }
+        log.info("Relay do outbox ativo com {} thread(s) e {} consumidor(es)", propriedades.getThreads(), consumidores.size());
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Processa um lote e devolve quantos eventos reservou (entregues ou reagendados). */
+    public int relay() {
+        Integer reservados = transacao.execute(status -> {
+            Instant agora = Instant.now();
+            List<EventoOutbox> lote = eventoOutboxRepository.reservarDisponiveis(agora, Limit.of(propriedades.getLote()));
+            List<Long> idsEntregues = new ArrayList<>(lote.size());
+            for (EventoOutbox evento : lote) {
+                try {
+                    transacaoEntrega.executeWithoutResult(entrega -> entregar(evento));
+                    idsEntregues.add(evento.getIdEvento());
+                } catch (RuntimeException e) {
+                    reagendar(evento, e, agora);
+                }
+            }
+            if (!idsEntregues.isEmpty()) {
+                eventoOutboxRepository.excluirEntregues(idsEntregues);
+            }
+            entregues.increment(idsEntregues.size());
+            falhas.increment(lote.size() - idsEntregues.size());
+            return lote.size();
+        });
+        return reservados == null ? 0 : reservados;
+    }
+
+    // Enquanto os lotes vierem cheios ainda há fila; lote incompleto espera o próximo intervalo
+    private void drenar() {
+        try {
+            int reservados;
+            do {
+                reservados = relay();
+            } while (reservados == propriedades.getLote() && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            log.warn("Falha no relay do outbox: {}", e.getMessage());
+        }
+    }
+
+    private void entregar(EventoOutbox evento) {
+        EventoDTO dto = converterParaDTO(evento);
+        for (ConsumidorEventos consumidor : consumidores) {
+            if (consumidor.tipos().isEmpty() || consumidor.tipos().contains(evento.getTipo())) {
+                consumidor.consumir(dto);
+            }
+        }
+    }
+
+    private void reagendar(EventoOutbox evento, RuntimeException erro, Instant agora) {
+        int tentativas = evento.getTentativas() + 1;
+        evento.setTentativas(tentativas);
+        evento.setUltimoErro(resumirErro(erro));
+        if (tentativas >= propriedades.getMaximoTentativas()) {
+            evento.setDisponivelEm(null);
+            log.error("Evento {} ({}) descartado do relay após {} tentativas: {}",
+                    evento.getIdEvento(), evento.getTipo(), tentativas, evento.getUltimoErro());
+            return;
+        }
+        evento.setDisponivelEm(agora.plus(espera(tentativas)));
+        log.warn("Evento {} ({}) falhou na tentativa {}: {}",
+                evento.getIdEvento(), evento.getTipo(), tentativas, evento.getUltimoErro());
+    }
+
+    private Duration espera(int tentativas) {
+        Duration espera = ESPERA_INICIAL.multipliedBy(1L << Math.min(tentativas - 1, 20));
+        return espera.compareTo(propriedades.getEsperaMaxima()) > 0 ? propriedades.getEsperaMaxima() : espera;
+    }
+
+    private String resumirErro(RuntimeException erro) {
+        String descricao = erro.getClass().getSimpleName() + ": " + erro.getMessage();
+        return descricao.length() > TAMANHO_MAXIMO_ERRO ? descricao.substring(0, TAMANHO_MAXIMO_ERRO) : descricao;
+    }
+
+    private EventoDTO converterParaDTO(EventoOutbox evento) {
+        return EventoDTO.builder()
+                .idEvento(evento.getIdEvento())
+                .tipo(evento.getTipo())
+                .agregado(evento.getAgregado())
+                .idAgregado(evento.getIdAgregado())
+                .payload(evento.getPayload())
+                .criadoEm(evento.getCriadoEm())
+                .tentativa(evento.getTentativas() + 1)
+                .build();
+    }
+}
@@ -0,0 +1,238 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.ReposicaoProperties;
+import br.unip.ads.pim.meuhortifruti.dto.EstoqueSincronizacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.PontoReposicaoRequestDTO;
+import br.unip.ads.pim.meuhortifruti.dto.PontoReposicaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSincronizacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.SincronizacaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.SugestaoCompraDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Fornecedor;
+import br.unip.ads.pim.meuhortifruti.entity.PontoReposicao;
+import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import br.unip.ads.pim.meuhortifruti.repository.FornecedorRepository;
+import br.unip.ads.pim.meuhortifruti.repository.PontoReposicaoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ItemReposicao;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Motor de reposição. Cada produto pode ter um ponto de reposição; os que estão no ponto ou abaixo
+ * viram, agrupados por fornecedor, uma sugestão de compra que leva o estoque até o máximo.
+ *
+ * <p>As sugestões saem do {@link PainelReposicao} em memória, mantido em dia por uma thread própria
+ * que acompanha o log de sincronização ({@link SincronizacaoService#buscarAlteracoes}) como um
+ * terminal de caixa: cada rodada aplica só o que mudou desde a última versão. Como o log é lido por
+ * versão e não consumido, todas as instâncias mantêm o seu painel. Mudar o ponto de reposição
+ * registra no mesmo log uma alteração de tipo {@link SincronizacaoService#PONTO_REPOSICAO}, que os
+ * terminais não recebem, e é assim que as outras instâncias ficam sabendo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReposicaoService implements InitializingBean, DisposableBean {
+
+    private final PontoReposicaoRepository pontoReposicaoRepository;
+    private final ProdutoRepository produtoRepository;
+    private final FornecedorRepository fornecedorRepository;
+    private final SincronizacaoService sincronizacaoService;
+    private final ReposicaoProperties propriedades;
+    private final PainelReposicao painel = new PainelReposicao();
+
+    private Long versao;
+    private Instant proximaRecarga = Instant.MIN;
+    private ScheduledExecutorService executor;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!propriedades.isHabilitado()) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "reposicao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = propriedades.getIntervalo().toMillis();
+        executor.scheduleWithFixedDelay(this::rodada, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<SugestaoCompraDTO> listarSugestoes() {
+        atualizarSeDesligado();
+        List<SugestaoCompraDTO> sugestoes = painel.sugestoes();
+        Set<Integer> idsFornecedores = sugestoes.stream()
+                .map(SugestaoCompraDTO::getIdFornecedor)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, String> nomes = fornecedorRepository.findAllById(idsFornecedores).stream()
+                .collect(Collectors.toMap(Fornecedor::getIdFornecedor, Fornecedor::getNome));
+        sugestoes.forEach(sugestao -> sugestao.setNomeFornecedor(nomes.get(sugestao.getIdFornecedor())));
+        return sugestoes;
+    }
+
+    @Transactional(readOnly = true)
+    public SugestaoCompraDTO buscarSugestao(Integer idFornecedor) {
+        Fornecedor fornecedor = fornecedorRepository.findById(idFornecedor)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Fornecedor", "id", idFornecedor));
+        atualizarSeDesligado();
+        SugestaoCompraDTO sugestao = painel.sugestao(idFornecedor);
+        sugestao.setNomeFornecedor(fornecedor.getNome());
+        return sugestao;
+    }
+
+    @Transactional(readOnly = true)
+    public PontoReposicaoResponseDTO buscarPonto(Integer idProduto) {
+        return pontoReposicaoRepository.findById(idProduto)
+                .map(this::converterParaDTO)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Ponto de reposição", "produto", idProduto));
+    }
+
+    @Transactional
+    public PontoReposicaoResponseDTO definirPonto(Integer idProduto, PontoReposicaoRequestDTO dto) {
+        if (dto.getEstoqueMaximo() <= dto.getPontoReposicao()) {
+            throw new RegraNegocioException("O estoque máximo deve ser maior que o ponto de reposição");
+        }
+        if (!produtoRepository.existsById(idProduto)) {
+            throw new RecursoNaoEncontradoException("Produto", "id", idProduto);
+        }
+        PontoReposicao ponto = pontoReposicaoRepository.saveAndFlush(PontoReposicao.builder()
+                .idProduto(idProduto)
+                .pontoReposicao(dto.getPontoReposicao())
+                .estoqueMaximo(dto.getEstoqueMaximo())
+                .atualizadoEm(Instant.now())
+                .build());
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.PONTO_REPOSICAO, idProduto);
+        List<ItemReposicao> itens = pontoReposicaoRepository.listarItensPorProdutos(List.of(idProduto));
+        aposCommit(() -> itens.forEach(painel::definir));
+        return converterParaDTO(ponto);
+    }
+
+    @Transactional
+    public void removerPonto(Integer idProduto) {
+        if (!pontoReposicaoRepository.existsById(idProduto)) {
+            throw new RecursoNaoEncontradoException("Ponto de reposição", "produto", idProduto);
+        }
+        pontoReposicaoRepository.deleteById(idProduto);
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.PONTO_REPOSICAO, idProduto);
+        aposCommit(() -> painel.remover(idProduto));
+    }
+
+    /**
+     * Aplica o log de sincronização desde a última versão vista, página por página. Sem versão,
+     * com o log expurgado ou vencido o intervalo de recarga, recarrega o painel inteiro.
+     */
+    public synchronized void acompanhar() {
+        if (versao == null || !Instant.now().isBefore(proximaRecarga)) {
+            recarregar();
+            return;
+        }
+        SincronizacaoResponseDTO delta;
+        do {
+            delta = sincronizacaoService.buscarAlteracoes(versao);
+            if (delta.isRessincronizar()) {
+                recarregar();
+                return;
+            }
+            aplicar(versao, delta);
+            versao = delta.getVersao();
+        } while (delta.isTemMais());
+    }
+
+    public synchronized void recarregar() {
+        // A versão vem antes da carga: o que mudar entre as duas é reaplicado pelo log, e aplicar
+        // de novo o estado atual de um recurso não muda o painel
+        Long atual = sincronizacaoService.buscarAlteracoes(null).getVersao();
+        painel.carregar(pontoReposicaoRepository.listarItens());
+        versao = atual;
+        proximaRecarga = Instant.now().plus(propriedades.getRecarga());
+        log.info("Painel de reposição recarregado: {} produto(s) na versão {}", painel.tamanho(), versao);
+    }
+
+    private void aplicar(long desde, SincronizacaoResponseDTO delta) {
+        delta.getExcluidos().getProdutos().forEach(painel::remover);
+        // Produto alterado pode ter trocado de fornecedor, e o ponto de reposição vem do mesmo
+        // trecho do log: relê o item de todos em uma consulta; quem não volta deixou de ter ponto
+        Set<Integer> produtos = delta.getProdutos().stream()
+                .map(ProdutoSincronizacaoDTO::getIdProduto)
+                .collect(Collectors.toCollection(HashSet::new));
+        if (delta.getVersao() > desde) {
+            produtos.addAll(sincronizacaoService.buscarRecursosAlterados(
+                    SincronizacaoService.PONTO_REPOSICAO, desde, delta.getVersao()));
+        }
+        if (!produtos.isEmpty()) {
+            for (ItemReposicao item : pontoReposicaoRepository.listarItensPorProdutos(produtos)) {
+                painel.definir(item);
+                produtos.remove(item.idProduto());
+            }
+            produtos.forEach(painel::remover);
+        }
+        for (EstoqueSincronizacaoDTO estoque : delta.getEstoques()) {
+            painel.atualizarEstoque(estoque.getIdEstoque(), estoque.getIdProduto(), estoque.getQuantidadeProdutos());
+        }
+        delta.getExcluidos().getEstoques().forEach(painel::excluirEstoque);
+    }
+
+    private void rodada() {
+        try {
+            acompanhar();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar o painel de reposição: {}", e.getMessage());
+        }
+    }
+
+    // Com a thread desligada nesta instância, a consulta põe o painel em dia antes de responder
+    private void atualizarSeDesligado() {
+        if (executor == null) {
+            acompanhar();
+        }
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    private PontoReposicaoResponseDTO converterParaDTO(PontoReposicao ponto) {
+        return PontoReposicaoResponseDTO.builder()
+                .idProduto(ponto.getIdProduto())
+                .pontoReposicao(ponto.getPontoReposicao())
+                .estoqueMaximo(ponto.getEstoqueMaximo())
+                .atualizadoEm(ponto.getAtualizadoEm())
+                .build();
+    }
+}
@@ -0,0 +1,231 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.SincronizacaoProperties;
+import br.unip.ads.pim.meuhortifruti.dto.CategoriaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.EstoqueSincronizacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ExclusoesSincronizacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSincronizacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.SincronizacaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.AlteracaoCatalogo;
+import br.unip.ads.pim.meuhortifruti.entity.VersaoCatalogo;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import br.unip.ads.pim.meuhortifruti.repository.AlteracaoCatalogoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.CategoriaRepository;
+import br.unip.ads.pim.meuhortifruti.repository.EstoqueRepository;
+import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.VersaoCatalogoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sincronização incremental dos terminais. As escritas de produto, categoria e estoque registram
+ * no log {@code alteracao_catalogo}, na própria transação, qual recurso mudou; o sequenciador
+ * numera essas linhas depois de confirmadas e {@link #buscarAlteracoes} devolve o que mudou depois
+ * da versão que o terminal já tem.
+ *
+ * <p>A versão não pode vir da sequência do id: uma transação que pegou o id 10 e confirmou depois
+ * da que pegou o 11 ficaria para trás de um terminal que já leu o 11. O sequenciador só enxerga
+ * linhas confirmadas e roda uma rodada por vez (trava a linha {@code sincronizacao} de
+ * {@code versao_catalogo}), então toda versão nova é maior que qualquer versão já entregue.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SincronizacaoService {
+
+    public static final String PRODUTO = "PRODUTO";
+    public static final String CATEGORIA = "CATEGORIA";
+    public static final String ESTOQUE = "ESTOQUE";
+    /**
+     * Ponto de reposição de um produto. Não vai para os terminais, que não o conhecem: só avança a
+     * versão deles. Quem acompanha é o {@link ReposicaoService}, por {@link #buscarRecursosAlterados}.
+     */
+    public static final String PONTO_REPOSICAO = "PONTO_REPOSICAO";
+
+    static final String SEQUENCIA = "sincronizacao";
+    static final String EXPURGO = "sincronizacao-expurgo";
+
+    private final AlteracaoCatalogoRepository alteracaoCatalogoRepository;
+    private final VersaoCatalogoRepository versaoCatalogoRepository;
+    private final ProdutoRepository produtoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final EstoqueRepository estoqueRepository;
+    private final SincronizacaoProperties propriedades;
+
+    @Transactional
+    public void registrarAlteracao(String tipo, Integer id) {
+        registrar(tipo, List.of(id), false);
+    }
+
+    @Transactional
+    public void registrarAlteracoes(String tipo, Collection<Integer> ids) {
+        registrar(tipo, ids, false);
+    }
+
+    @Transactional
+    public void registrarExclusao(String tipo, Integer id) {
+        registrar(tipo, List.of(id), true);
+    }
+
+    @Transactional
+    public void registrarExclusoes(String tipo, Collection<Integer> ids) {
+        registrar(tipo, ids, true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.sincronizacao.intervalo-ms:1000}")
+    @Transactional
+    public int sequenciar() {
+        // Sem nada pendente, a rodada termina sem travar nem escrever nada
+        if (alteracaoCatalogoRepository.buscarPendentes(Limit.of(1)).isEmpty()) {
+            return 0;
+        }
+        Instant agora = Instant.now();
+        VersaoCatalogo sequencia = travar(SEQUENCIA, agora);
+        List<Long> pendentes = alteracaoCatalogoRepository.buscarPendentes(Limit.of(propriedades.getLoteSequenciamento()));
+        if (pendentes.isEmpty()) {
+            return 0;
+        }
+        long deslocamento = sequencia.getVersao() - pendentes.get(0) + 1;
+        alteracaoCatalogoRepository.sequenciar(pendentes, deslocamento);
+        sequencia.setVersao(pendentes.get(pendentes.size() - 1) + deslocamento);
+        sequencia.setAtualizadoEm(agora);
+        return pendentes.size();
+    }
+
+    @Scheduled(cron = "${app.sincronizacao.cron-expurgo:0 30 4 * * *}")
+    @Transactional
+    public void expurgar() {
+        Instant agora = Instant.now();
+        alteracaoCatalogoRepository.buscarUltimaVersaoAntes(agora.minus(propriedades.getRetencao()))
+                .ifPresent(versao -> {
+                    VersaoCatalogo expurgo = travar(EXPURGO, agora);
+                    int excluidas = alteracaoCatalogoRepository.excluirAte(versao);
+                    expurgo.setVersao(Math.max(expurgo.getVersao(), versao));
+                    expurgo.setAtualizadoEm(agora);
+                    log.info("Expurgo do log de sincronização: {} alteração(ões) até a versão {}", excluidas, versao);
+                });
+    }
+
+    @Transactional(readOnly = true)
+    public SincronizacaoResponseDTO buscarAlteracoes(Long desde) {
+        if (desde != null && desde < 0) {
+            throw new RegraNegocioException("A versão de sincronização não pode ser negativa");
+        }
+        long ultimaVersao = versaoAtual(SEQUENCIA);
+        // Sem versão, com uma versão já expurgada ou com uma que este banco nunca entregou,
+        // o terminal precisa do catálogo inteiro
+        if (desde == null || desde < versaoAtual(EXPURGO) || desde > ultimaVersao) {
+            return SincronizacaoResponseDTO.builder()
+                    .versao(ultimaVersao)
+                    .ressincronizar(true)
+                    .build();
+        }
+
+        int limite = propriedades.getLimite();
+        List<AlteracaoCatalogo> alteracoes = alteracaoCatalogoRepository.buscarDesde(desde, Limit.of(limite + 1));
+        boolean temMais = alteracoes.size() > limite;
+        if (temMais) {
+            alteracoes = alteracoes.subList(0, limite);
+        }
+
+        // Várias alterações do mesmo recurso viram uma só; vale a última
+        Map<String, Map<Integer, Boolean>> excluidoPorTipo = new LinkedHashMap<>();
+        for (AlteracaoCatalogo alteracao : alteracoes) {
+            excluidoPorTipo.computeIfAbsent(alteracao.getTipo(), tipo -> new LinkedHashMap<>())
+                    .put(alteracao.getIdRecurso(), alteracao.isExclusao());
+        }
+
+        ExclusoesSincronizacaoDTO excluidos = ExclusoesSincronizacaoDTO.builder().build();
+        List<ProdutoSincronizacaoDTO> produtos = carregar(excluidoPorTipo.get(PRODUTO),
+                produtoRepository::listarParaSincronizacao, ProdutoSincronizacaoDTO::getIdProduto,
+                excluidos.getProdutos());
+        List<CategoriaResponseDTO> categorias = carregar(excluidoPorTipo.get(CATEGORIA),
+                categoriaRepository::listarResumosPorIds, CategoriaResponseDTO::getIdCategoria,
+                excluidos.getCategorias());
+        List<EstoqueSincronizacaoDTO> estoques = carregar(excluidoPorTipo.get(ESTOQUE),
+                estoqueRepository::listarParaSincronizacao, EstoqueSincronizacaoDTO::getIdEstoque,
+                excluidos.getEstoques());
+
+        return SincronizacaoResponseDTO.builder()
+                .versao(alteracoes.isEmpty() ? desde : alteracoes.get(alteracoes.size() - 1).getVersao())
+                .temMais(temMais)
+                .produtos(produtos)
+                .categorias(categorias)
+                .estoques(estoques)
+                .excluidos(excluidos)
+                .build();
+    }
+
+    /** Ids dos recursos do tipo que mudaram nas versões depois de {@code desde} até {@code ate}. */
+    @Transactional(readOnly = true)
+    public List<Integer> buscarRecursosAlterados(String tipo, long desde, long ate) {
+        return alteracaoCatalogoRepository.buscarRecursosEntre(tipo, desde, ate);
+    }
+
+    private void registrar(String tipo, Collection<Integer> ids, boolean exclusao) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Instant agora = Instant.now();
+        alteracaoCatalogoRepository.saveAll(ids.stream()
+                .map(id -> AlteracaoCatalogo.builder()
+                        .tipo(tipo)
+                        .idRecurso(id)
+                        .exclusao(exclusao)
+                        .registradoEm(agora)
+                        .build())
+                .toList());
+    }
+
+    /**
+     * Busca em uma consulta o estado atual dos recursos alterados. Os excluídos, e os que sumiram
+     * sem passar pelo serviço (a exclusão de uma categoria leva os produtos junto), saem como
+     * exclusão.
+     */
+    private <T> List<T> carregar(Map<Integer, Boolean> excluidoPorId,
+                                 Function<Collection<Integer>, List<T>> consulta,
+                                 Function<T, Integer> id,
+                                 List<Integer> excluidos) {
+        if (excluidoPorId == null) {
+            return List.of();
+        }
+        Set<Integer> alterados = excluidoPorId.entrySet().stream()
+                .filter(entrada -> !entrada.getValue())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<T> encontrados = alterados.isEmpty() ? List.of() : consulta.apply(alterados);
+        Set<Integer> idsEncontrados = encontrados.stream().map(id).collect(Collectors.toSet());
+        excluidoPorId.keySet().stream()
+                .filter(recurso -> !idsEncontrados.contains(recurso))
+                .forEach(excluidos::add);
+        return encontrados;
+    }
+
+    // A linha só é criada na primeira rodada; daí em diante é só o SELECT ... FOR UPDATE
+    private VersaoCatalogo travar(String colecao, Instant agora) {
+        return versaoCatalogoRepository.travar(colecao).orElseGet(() -> {
+            versaoCatalogoRepository.criarSeAusente(colecao, agora);
+            return versaoCatalogoRepository.travar(colecao).orElseThrow();
+        });
+    }
+
+    private long versaoAtual(String colecao) {
+        return versaoCatalogoRepository.findById(colecao)
+                .map(VersaoCatalogo::getVersao)
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,159 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.ValidadeProperties;
+import br.unip.ads.pim.meuhortifruti.dto.ItemValidadeResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.RelatorioValidadeResponseDTO;
+import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoValidade;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rotação de estoque por validade (FEFO): percorre em lotes, pela faixa do índice de
+ * {@code dt_validade}, os produtos com estoque que vencem dentro do horizonte e monta a lista de
+ * remarcação e retirada que as telas de administração consultam. A memória fica limitada ao
+ * lote corrente mais os {@code maximoItens} do relatório, qualquer que seja o tamanho da tabela.
+ */
+@Slf4j
+@Service
+public class ValidadeService {
+
+    public static final String ACAO_RETIRAR = "RETIRAR";
+    public static final String ACAO_REMARCAR = "REMARCAR";
+
+    static final String METRICA_EXECUCAO = "hortifruti.validade.execucao";
+    static final String METRICA_LINHAS = "hortifruti.validade.linhas.lidas";
+    static final String METRICA_ITENS = "hortifruti.validade.itens";
+
+    private final ProdutoRepository produtoRepository;
+    private final ValidadeProperties propriedades;
+    private final Timer tempoExecucao;
+    private final Counter linhasLidas;
+    private final AtomicLong itensUltimaExecucao = new AtomicLong();
+
+    private volatile RelatorioValidadeResponseDTO ultimoRelatorio;
+
+    public ValidadeService(ProdutoRepository produtoRepository,
+                           ValidadeProperties propriedades,
+                           MeterRegistry meterRegistry) {
+        this.produtoRepository = produtoRepository;
+        this.propriedades = propriedades;
+        this.tempoExecucao = Timer.builder(METRICA_EXECUCAO)
+                .description("Duração da varredura de validade")
+                .register(meterRegistry);
+        this.linhasLidas = Counter.builder(METRICA_LINHAS)
+                .description("Produtos lidos pela varredura de validade")
+                .register(meterRegistry);
+        meterRegistry.gauge(METRICA_ITENS, itensUltimaExecucao);
+    }
+
+    @Scheduled(cron = "${app.validade.cron:0 0 5 * * *}")
+    public void processarAgendado() {
+        RelatorioValidadeResponseDTO relatorio = processar();
+        log.info("Varredura de validade: {} produto(s) lidos, {} a retirar, {} a remarcar em {} ms",
+                relatorio.getLinhasLidas(), relatorio.getTotalRetirar(),
+                relatorio.getTotalRemarcar(), relatorio.getDuracaoMs());
+    }
+
+    /** Último relatório gerado; se ainda não houver nenhum, processa na hora. */
+    public RelatorioValidadeResponseDTO obterRelatorio() {
+        RelatorioValidadeResponseDTO relatorio = ultimoRelatorio;
+        return relatorio != null ? relatorio : processar();
+    }
+
+    public synchronized RelatorioValidadeResponseDTO processar() {
+        long inicioExecucao = System.nanoTime();
+        LocalDate hoje = LocalDate.now();
+        LocalDate inicio = hoje.minusDays(propriedades.getDiasVencidos());
+        LocalDate fim = hoje.plusDays(propriedades.getHorizonteDias());
+        Limit lote = Limit.of(propriedades.getTamanhoLote());
+
+        List<ItemValidadeResponseDTO> itens = new ArrayList<>();
+        long lidas = 0;
+        long retirar = 0;
+        long remarcar = 0;
+        LocalDate ultimaData = inicio;
+        Integer ultimoId = 0;
+        List<ProdutoValidade> produtos;
+        do {
+            produtos = produtoRepository.buscarVencendoApos(ultimaData, ultimoId, fim, lote);
+            for (ProdutoValidade produto : produtos) {
+                ItemValidadeResponseDTO item = avaliar(produto, hoje);
+                if (ACAO_RETIRAR.equals(item.getAcao())) {
+                    retirar++;
+                } else {
+                    remarcar++;
+                }
+                if (itens.size() < propriedades.getMaximoItens()) {
+                    itens.add(item);
+                }
+            }
+            lidas += produtos.size();
+            linhasLidas.increment(produtos.size());
+            if (!produtos.isEmpty()) {
+                ProdutoValidade ultimo = produtos.get(produtos.size() - 1);
+                ultimaData = ultimo.dtValidade();
+                ultimoId = ultimo.idProduto();
+            }
+        } while (produtos.size() == propriedades.getTamanhoLote());
+
+        long duracao = System.nanoTime() - inicioExecucao;
+        tempoExecucao.record(duracao, TimeUnit.NANOSECONDS);
+        itensUltimaExecucao.set(lidas);
+
+        RelatorioValidadeResponseDTO relatorio = RelatorioValidadeResponseDTO.builder()
+                .geradoEm(LocalDateTime.now())
+                .validadeInicial(inicio)
+                .validadeFinal(fim)
+                .linhasLidas(lidas)
+                .totalRetirar(retirar)
+                .totalRemarcar(remarcar)
+                .duracaoMs(TimeUnit.NANOSECONDS.toMillis(duracao))
+                .truncado(lidas > itens.size())
+                .itens(itens)
+                .build();
+        ultimoRelatorio = relatorio;
+        return relatorio;
+    }
+
+    /**
+     * Vencido sai da prateleira; nos demais o desconto cresce conforme o vencimento se aproxima:
+     * 50% até 1 dia, 30% até 3 dias e 15% no restante do horizonte.
+     */
+    ItemValidadeResponseDTO avaliar(ProdutoValidade produto, LocalDate hoje) {
+        long dias = ChronoUnit.DAYS.between(hoje, produto.dtValidade());
+        ItemValidadeResponseDTO.ItemValidadeResponseDTOBuilder item = ItemValidadeResponseDTO.builder()
+                .idProduto(produto.idProduto())
+                .nome(produto.nome())
+                .dtValidade(produto.dtValidade())
+                .diasParaVencer(dias)
+                .quantidadeEstoque(produto.quantidadeEstoque())
+                .preco(produto.preco());
+        if (dias < 0) {
+            return item.acao(ACAO_RETIRAR).build();
+        }
+        int desconto = dias <= 1 ? 50 : dias <= 3 ? 30 : 15;
+        BigDecimal precoSugerido = produto.preco()
+                .multiply(BigDecimal.valueOf(100 - desconto))
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        return item.acao(ACAO_REMARCAR)
+                .percentualDesconto(desconto)
+                .precoSugerido(precoSugerido)
+                .build();
+    }
+}
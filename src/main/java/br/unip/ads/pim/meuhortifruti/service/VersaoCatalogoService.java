@@ -0,0 +1,58 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.dto.VersaoRecursoDTO;
+import br.unip.ads.pim.meuhortifruti.repository.VersaoCatalogoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Versões das coleções do catálogo, usadas como ETag/Last-Modified das listagens. Os serviços
+ * chamam {@link #registrarAlteracao} dentro da transação da escrita, então a versão nova só
+ * aparece junto com os dados novos.
+ */
+@Service
+@RequiredArgsConstructor
+public class VersaoCatalogoService {
+
+    public static final String PRODUTOS = "produtos";
+    public static final String CATEGORIAS = "categorias";
+
+    private final VersaoCatalogoRepository versaoCatalogoRepository;
+
+    @Transactional
+    public void registrarAlteracao(String... colecoes) {
+        Instant agora = Instant.now();
+        // Sempre na mesma ordem, para duas escritas não travarem as linhas em ordem inversa
+        Arrays.stream(colecoes)
+                .sorted()
+                .forEach(colecao -> versaoCatalogoRepository.incrementar(colecao, agora));
+    }
+
+    @Transactional(readOnly = true)
+    public VersaoRecursoDTO buscarVersao(String colecao) {
+        return versaoCatalogoRepository.findById(colecao)
+                .map(versao -> VersaoRecursoDTO.builder()
+                        .etag(colecao + "-" + versao.getVersao())
+                        .ultimaAlteracao(versao.getAtualizadoEm())
+                        .build())
+                .orElseGet(() -> VersaoRecursoDTO.builder()
+                        .etag(colecao + "-0")
+                        .build());
+    }
+
+    /**
+     * Versão de um item do catálogo a partir do {@code updated_at} dele. O ETag usa microssegundos,
+     * a precisão da coluna, para duas alterações no mesmo milissegundo não gerarem o mesmo ETag.
+     */
+    static VersaoRecursoDTO versaoDoItem(String colecao, Integer id, Instant atualizadoEm) {
+        return VersaoRecursoDTO.builder()
+                .etag(colecao + "-" + id + "-" + ChronoUnit.MICROS.between(Instant.EPOCH, atualizadoEm))
+                .ultimaAlteracao(atualizadoEm)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import br.unip.ads.pim.meuhortifruti.repository.ChaveIdempotenciaRepository;
+import br.unip.ads.pim.meuhortifruti.service.IdempotenciaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do IdempotenciaFilter")
+public class IdempotenciaFilterTest {
+
+    private static final String COMPRA = "{\"statusCompra\":\"ABERTA\"}";
+
+    @Mock
+    private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotenciaFilter filtro;
+
+    /** Corpos que chegaram ao controller. */
+    private final List<String> recebidos = new ArrayList<>();
+
+    private int statusController = 201;
+
+    private final FilterChain controller = (request, response) -> {
+        recebidos.add(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        ((HttpServletResponse) response).setStatus(statusController);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"idCompra\":" + recebidos.size() + "}");
+    };
+
+    @BeforeEach
+    void setUp() {
+        IdempotenciaService idempotenciaService =
+                new IdempotenciaService(chaveIdempotenciaRepository, new IdempotenciaProperties(), transactionManager);
+        filtro = new IdempotenciaFilter(idempotenciaService, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    @DisplayName("Deve repetir a resposta da primeira requisição sem chegar ao controller")
+    void deveRepetirRespostaSemChegarAoController() throws Exception {
+        // Act
+        MockHttpServletResponse primeira = enviar("a1b2", COMPRA);
+        MockHttpServletResponse repetida = enviar("a1b2", COMPRA);
+
+        // Assert
+        assertThat(recebidos).containsExactly(COMPRA);
+        assertThat(primeira.getStatus()).isEqualTo(201);
+        assertThat(primeira.getContentAsString()).isEqualTo("{\"idCompra\":1}");
+        assertThat(primeira.getHeader(IdempotenciaFilter.CABECALHO_REPETIDA)).isNull();
+        assertThat(repetida.getStatus()).isEqualTo(201);
+        assertThat(repetida.getContentType()).isEqualTo("application/json");
+        assertThat(repetida.getContentAsString()).isEqualTo("{\"idCompra\":1}");
+        assertThat(repetida.getHeader(IdempotenciaFilter.CABECALHO_REPETIDA)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("Deve processar normalmente as requisições sem a chave")
+    void deveProcessarRequisicoesSemChave() throws Exception {
+        // Act
+        enviar(null, COMPRA);
+        enviar(null, COMPRA);
+
+        // Assert
+        assertThat(recebidos).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Deve tratar a mesma chave em outro endpoint como outra requisição")
+    void deveSepararChavePorEndpoint() throws Exception {
+        // Act
+        enviar("a1b2", COMPRA);
+        MockHttpServletRequest pagamento = requisicao("a1b2", COMPRA);
+        pagamento.setRequestURI("/v1/pagamentos");
+        filtro.doFilter(pagamento, new MockHttpServletResponse(), controller);
+
+        // Assert
+        assertThat(recebidos).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 422 para chave reutilizada com outro corpo")
+    void deveRetornar422ParaOutroCorpo() throws Exception {
+        // Act
+        enviar("a1b2", COMPRA);
+        MockHttpServletResponse resposta = enviar("a1b2", "{\"statusCompra\":\"FECHADA\"}");
+
+        // Assert
+        assertThat(recebidos).hasSize(1);
+        assertThat(resposta.getStatus()).isEqualTo(422);
+        assertThat(resposta.getContentAsString()).contains("outro corpo de requisição");
+    }
+
+    @Test
+    @DisplayName("Deve processar de novo a repetição de uma requisição que falhou com 5xx")
+    void deveProcessarDeNovoDepoisDeErroDoServidor() throws Exception {
+        // Arrange
+        statusController = 503;
+
+        // Act
+        MockHttpServletResponse falha = enviar("a1b2", COMPRA);
+        statusController = 201;
+        MockHttpServletResponse nova = enviar("a1b2", COMPRA);
+
+        // Assert
+        assertThat(falha.getStatus()).isEqualTo(503);
+        assertThat(nova.getStatus()).isEqualTo(201);
+        assertThat(recebidos).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para chave longa demais")
+    void deveRetornar400ParaChaveLonga() throws Exception {
+        // Act
+        MockHttpServletResponse resposta = enviar("x".repeat(IdempotenciaFilter.TAMANHO_MAXIMO_CHAVE + 1), COMPRA);
+
+        // Assert
+        assertThat(resposta.getStatus()).isEqualTo(400);
+        assertThat(recebidos).isEmpty();
+    }
+
+    private MockHttpServletResponse enviar(String chave, String corpo) throws Exception {
+        MockHttpServletResponse resposta = new MockHttpServletResponse();
+        filtro.doFilter(requisicao(chave, corpo), resposta, controller);
+        return resposta;
+    }
+
+    private MockHttpServletRequest requisicao(String chave, String corpo) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/compras");
+        request.setContentType("application/json");
+        request.setContent(corpo.getBytes(StandardCharsets.UTF_8));
+        if (chave != null) {
+            request.addHeader(IdempotenciaFilter.CABECALHO, chave);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,90 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do LimitadorConexoesDataSource")
+public class LimitadorConexoesDataSourceTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection conexao;
+
+    @Test
+    @DisplayName("Deve devolver a permissão ao fechar a conexão")
+    void deveDevolverPermissaoAoFechar() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(conexao);
+        LimitadorConexoesDataSource limitador = new LimitadorConexoesDataSource(dataSource, 2, Duration.ofMillis(50));
+
+        // Act
+        Connection obtida = limitador.getConnection();
+        int durante = limitador.getPermissoesDisponiveis();
+        obtida.close();
+        obtida.close();
+
+        // Assert
+        assertThat(durante).isEqualTo(1);
+        assertThat(limitador.getPermissoesDisponiveis()).isEqualTo(2);
+        verify(conexao, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("Deve repassar as demais chamadas para a conexão real")
+    void deveRepassarChamadas() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(conexao);
+        when(conexao.getAutoCommit()).thenReturn(false);
+        LimitadorConexoesDataSource limitador = new LimitadorConexoesDataSource(dataSource, 1, Duration.ofMillis(50));
+
+        // Act
+        boolean autoCommit = limitador.getConnection().getAutoCommit();
+
+        // Assert
+        assertThat(autoCommit).isFalse();
+        verify(conexao).getAutoCommit();
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando todas as permissões estiverem em uso")
+    void deveLancarExcecaoQuandoEsgotado() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(conexao);
+        LimitadorConexoesDataSource limitador = new LimitadorConexoesDataSource(dataSource, 1, Duration.ofMillis(50));
+        limitador.getConnection();
+
+        // Act & Assert
+        assertThatThrownBy(limitador::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Tempo esgotado");
+        verify(dataSource, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Deve devolver a permissão quando o pool falhar")
+    void deveDevolverPermissaoQuandoPoolFalhar() throws SQLException {
+        // Arrange
+        when(dataSource.getConnection()).thenThrow(new SQLException("pool indisponível"));
+        LimitadorConexoesDataSource limitador = new LimitadorConexoesDataSource(dataSource, 1, Duration.ofMillis(50));
+
+        // Act & Assert
+        assertThatThrownBy(limitador::getConnection).hasMessage("pool indisponível");
+        assertThat(limitador.getPermissoesDisponiveis()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,167 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do ReplicaLeituraDataSource")
+public class ReplicaLeituraDataSourceTest {
+
+    @Mock
+    private DataSource primario;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection conexaoPrimario;
+
+    @Mock
+    private Connection conexaoReplica;
+
+    private MeterRegistry meterRegistry;
+    private ReplicaProperties propriedades;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        propriedades = new ReplicaProperties();
+        propriedades.setAtrasoMaximo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Deve ler da réplica só depois de uma verificação com atraso dentro do limite")
+    void deveLerDaReplicaComAtrasoDentroDoLimite() throws SQLException {
+        // Arrange
+        ReplicaLeituraDataSource leitura = new ReplicaLeituraDataSource(primario, replica, propriedades, meterRegistry);
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+        Connection verificacao = conexaoComAtraso(0.8);
+        when(replica.getConnection()).thenReturn(verificacao, conexaoReplica);
+
+        // Act
+        Connection antes = leitura.getConnection();
+        leitura.verificar();
+        Connection depois = leitura.getConnection();
+
+        // Assert
+        assertThat(antes).isSameAs(conexaoPrimario);
+        assertThat(depois).isSameAs(conexaoReplica);
+        assertThat(meterRegistry.get(ReplicaLeituraDataSource.METRICA_ATRASO).gauge().value()).isEqualTo(0.8);
+        assertThat(meterRegistry.get(ReplicaLeituraDataSource.METRICA_DISPONIVEL).gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get(ReplicaLeituraDataSource.METRICA_LEITURAS).tag("destino", "replica")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve voltar para o primário quando o atraso passar do limite")
+    void deveVoltarParaPrimarioComAtrasoAlto() throws SQLException {
+        // Arrange
+        ReplicaLeituraDataSource leitura = new ReplicaLeituraDataSource(primario, replica, propriedades, meterRegistry);
+        Connection emDia = conexaoComAtraso(0);
+        Connection atrasada = conexaoComAtraso(12);
+        when(replica.getConnection()).thenReturn(emDia, atrasada);
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+        leitura.verificar();
+
+        // Act
+        leitura.verificar();
+        Connection obtida = leitura.getConnection();
+
+        // Assert
+        assertThat(obtida).isSameAs(conexaoPrimario);
+        assertThat(leitura.isReplicaDisponivel()).isFalse();
+        assertThat(meterRegistry.get(ReplicaLeituraDataSource.METRICA_ATRASO).gauge().value()).isEqualTo(12);
+        verify(replica, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Deve usar o primário quando a réplica recusar a conexão")
+    void deveUsarPrimarioQuandoReplicaFalhar() throws SQLException {
+        // Arrange
+        ReplicaLeituraDataSource leitura = new ReplicaLeituraDataSource(primario, replica, propriedades, meterRegistry);
+        Connection verificacao = conexaoComAtraso(0);
+        when(replica.getConnection())
+                .thenReturn(verificacao)
+                .thenThrow(new SQLTransientConnectionException("pool esgotado"));
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+        leitura.verificar();
+
+        // Act
+        Connection primeira = leitura.getConnection();
+        Connection segunda = leitura.getConnection();
+
+        // Assert
+        assertThat(primeira).isSameAs(conexaoPrimario);
+        assertThat(segunda).isSameAs(conexaoPrimario);
+        assertThat(leitura.isReplicaDisponivel()).isFalse();
+        verify(replica, times(2)).getConnection();
+        assertThat(meterRegistry.get(ReplicaLeituraDataSource.METRICA_LEITURAS).tag("destino", "primario")
+                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve levar transação somente leitura para a réplica e escrita para o primário")
+    void deveRotearTransacoesPeloReadOnly() {
+        // Arrange
+        DataSource bancoPrimario = bancoH2("rota_primario");
+        DataSource bancoReplica = bancoH2("rota_replica");
+        propriedades.setConsultaAtraso("SELECT 0");
+        ReplicaLeituraDataSource leitura = new ReplicaLeituraDataSource(bancoPrimario, bancoReplica, propriedades, meterRegistry);
+        leitura.verificar();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(bancoPrimario);
+        dataSource.setReadOnlyDataSource(leitura);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate escrita = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        TransactionTemplate somenteLeitura = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        somenteLeitura.setReadOnly(true);
+
+        // Act
+        String origemEscrita = escrita.execute(status -> jdbc.queryForObject("SELECT origem FROM banco", String.class));
+        String origemLeitura = somenteLeitura.execute(status -> jdbc.queryForObject("SELECT origem FROM banco", String.class));
+
+        // Assert
+        assertThat(origemEscrita).isEqualTo("rota_primario");
+        assertThat(origemLeitura).isEqualTo("rota_replica");
+    }
+
+    private Connection conexaoComAtraso(double segundos) throws SQLException {
+        Connection conexao = mock(Connection.class);
+        Statement comando = mock(Statement.class);
+        ResultSet resultado = mock(ResultSet.class);
+        when(conexao.createStatement()).thenReturn(comando);
+        when(comando.executeQuery(anyString())).thenReturn(resultado);
+        when(resultado.next()).thenReturn(true);
+        when(resultado.getDouble(1)).thenReturn(segundos);
+        return conexao;
+    }
+
+    private DataSource bancoH2(String nome) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(dataSource).execute("CREATE TABLE IF NOT EXISTS banco AS SELECT '" + nome + "' AS origem");
+        return dataSource;
+    }
+}
@@ -0,0 +1,144 @@
+package br.unip.ads.pim.meuhortifruti.config;
+
+import br.unip.ads.pim.meuhortifruti.MeuHortifrutiApplication;
+import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.repository.CategoriaRepository;
+import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga opcional comparando platform threads e virtual threads no Tomcat:
+ * {@code mvn test -Dtest=VirtualThreadsCargaTest -Dcarga=true}. Sobe a aplicação inteira
+ * duas vezes sobre H2 e dispara {@value #CLIENTES} clientes simultâneos contra a listagem
+ * paginada de produtos, que vai ao banco em toda chamada.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+@DisplayName("Carga: platform threads x virtual threads")
+public class VirtualThreadsCargaTest {
+
+    private static final int CLIENTES = 1000;
+    private static final int REQUISICOES_POR_CLIENTE = 10;
+    private static final int PRODUTOS = 500;
+
+    @Test
+    @DisplayName("Deve atender 1000 clientes simultâneos nos dois modos")
+    void deveCompararModos() throws Exception {
+        // Act
+        Resultado platform = executar(false);
+        Resultado virtual = executar(true);
+
+        // Assert
+        log.info(String.format("%n%-10s %12s %10s %10s %8s%n%s%n%s",
+                "modo", "req/s", "p50 (ms)", "p99 (ms)", "erros", platform, virtual));
+        assertThat(platform.erros()).as("erros com platform threads: %s", platform).isZero();
+        assertThat(virtual.erros()).as("erros com virtual threads: %s", virtual).isZero();
+    }
+
+    private Resultado executar(boolean virtualThreads) throws Exception {
+        String modo = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(MeuHortifrutiApplication.class)
+                .profiles("test")
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:carga-" + modo + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.devtools.restart.enabled=false")) {
+            popular(contexto);
+            int porta = Integer.parseInt(contexto.getEnvironment().getRequiredProperty("local.server.port"));
+            return disparar(modo, URI.create("http://localhost:" + porta + "/v1/produtos?tamanho=20"));
+        }
+    }
+
+    private void popular(ConfigurableApplicationContext contexto) {
+        Categoria categoria = contexto.getBean(CategoriaRepository.class)
+                .save(Categoria.builder().nome("Frutas").build());
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 1; i <= PRODUTOS; i++) {
+            produtos.add(Produto.builder()
+                    .nome("Produto " + i)
+                    .preco(new BigDecimal("5.90"))
+                    .quantidadeEstoque(100)
+                    .dataEntrega(LocalDate.now())
+                    .categoria(categoria)
+                    .build());
+        }
+        contexto.getBean(ProdutoRepository.class).saveAll(produtos);
+    }
+
+    private Resultado disparar(String modo, URI uri) throws InterruptedException {
+        HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest requisicao = HttpRequest.newBuilder(uri).GET().build();
+        long[] latencias = new long[CLIENTES * REQUISICOES_POR_CLIENTE];
+        AtomicInteger proxima = new AtomicInteger();
+        AtomicInteger erros = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        long inicio;
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTES; c++) {
+                clientes.submit(() -> {
+                    largada.await();
+                    for (int r = 0; r < REQUISICOES_POR_CLIENTE; r++) {
+                        long antes = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() != 200) {
+                                erros.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            erros.incrementAndGet();
+                        }
+                        latencias[proxima.getAndIncrement()] = System.nanoTime() - antes;
+                    }
+                    return null;
+                });
+            }
+            inicio = System.nanoTime();
+            largada.countDown();
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        Arrays.sort(latencias);
+        return new Resultado(
+                modo,
+                latencias.length / (duracao / 1e9),
+                latencias[(int) (latencias.length * 0.50)] / 1e6,
+                latencias[(int) (latencias.length * 0.99)] / 1e6,
+                erros.get());
+    }
+
+    private record Resultado(String modo, double vazao, double p50, double p99, int erros) {
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %12.1f %10.1f %10.1f %8d", modo, vazao, p50, p99, erros);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package br.unip.ads.pim.meuhortifruti.controller;
+
+import br.unip.ads.pim.meuhortifruti.dto.CargaHistoricaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.CargaHistorica;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import br.unip.ads.pim.meuhortifruti.service.CargaHistoricaService;
+import br.unip.ads.pim.meuhortifruti.service.CargaHistoricaService.Arquivo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CargaHistoricaController.class)
+@AutoConfigureMockMvc(addFilters = false)  // Desabilita filtros de segurança
+@DisplayName("Testes do CargaHistoricaController")
+public class CargaHistoricaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CargaHistoricaService cargaHistoricaService;
+
+    @Test
+    @DisplayName("Deve criar carga histórica e retornar 201")
+    void deveCriarCarga() throws Exception {
+        // Arrange
+        when(cargaHistoricaService.criar()).thenReturn(carga(CargaHistorica.RECEBENDO));
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/admin/cargas"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.idCarga").value(1))
+                .andExpect(jsonPath("$.status").value("RECEBENDO"));
+    }
+
+    @Test
+    @DisplayName("Deve receber o arquivo de itens como corpo CSV")
+    void deveReceberArquivoCsv() throws Exception {
+        // Arrange
+        CargaHistoricaResponseDTO carga = carga(CargaHistorica.RECEBENDO);
+        carga.setItensRecebidos(2);
+        when(cargaHistoricaService.receber(eq(1L), eq(Arquivo.ITENS), any(InputStream.class))).thenReturn(carga);
+
+        // Act & Assert
+        mockMvc.perform(put("/v1/admin/cargas/1/itens")
+                        .contentType("text/csv")
+                        .content("id_compra_externo,id_produto,preco,quantidade\n10,1,4.50,2\n10,2,3.00,1\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itensRecebidos").value(2));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar a mesclagem e retornar 202")
+    void deveAceitarMesclagem() throws Exception {
+        // Arrange
+        when(cargaHistoricaService.mesclar(1L)).thenReturn(carga(CargaHistorica.MESCLANDO));
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/admin/cargas/1/mesclagem"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("MESCLANDO"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 ao mesclar carga já concluída")
+    void deveRetornar400AoMesclarCargaConcluida() throws Exception {
+        // Arrange
+        when(cargaHistoricaService.mesclar(1L))
+                .thenThrow(new RegraNegocioException("A carga histórica 1 já foi concluída"));
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/admin/cargas/1/mesclagem"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve excluir carga e retornar 204")
+    void deveExcluirCarga() throws Exception {
+        // Act & Assert
+        mockMvc.perform(delete("/v1/admin/cargas/1"))
+                .andExpect(status().isNoContent());
+
+        verify(cargaHistoricaService).excluir(1L);
+    }
+
+    private CargaHistoricaResponseDTO carga(String status) {
+        return CargaHistoricaResponseDTO.builder()
+                .idCarga(1L)
+                .status(status)
+                .build();
+    }
+}
@@ -2,7 +2,9 @@ package br.unip.ads.pim.meuhortifruti.controller;
 
 import br.unip.ads.pim.meuhortifruti.dto.CategoriaRequestDTO;
 import br.unip.ads.pim.meuhortifruti.dto.CategoriaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VersaoRecursoDTO;
 import br.unip.ads.pim.meuhortifruti.service.CategoriaService;
+import br.unip.ads.pim.meuhortifruti.service.VersaoCatalogoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,11 +13,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,11 +43,19 @@ public class CategoriaControllerTest {
     @MockBean
     private CategoriaService categoriaService;
 
+    @MockBean
+    private VersaoCatalogoService versaoCatalogoService;
+
     private CategoriaResponseDTO categoriaResponse;
     private CategoriaRequestDTO categoriaRequest;
 
     @BeforeEach
     void setUp() {
+        when(versaoCatalogoService.buscarVersao(VersaoCatalogoService.CATEGORIAS)).thenReturn(VersaoRecursoDTO.builder()
+                .etag("categorias-3")
+                .ultimaAlteracao(Instant.parse("2025-10-01T12:00:00Z"))
+                .build());
+
         categoriaResponse = CategoriaResponseDTO.builder()
                 .idCategoria(1)
                 .nome("Frutas")
@@ -65,7 +78,7 @@ public class CategoriaControllerTest {
                 .build();
 
         List<CategoriaResponseDTO> categorias = Arrays.asList(categoriaResponse, categoria2);
-        when(categoriaService.listarTodas()).thenReturn(categorias);
+        when(categoriaService.listarTodas("categorias-3")).thenReturn(categorias);
 
         // Act & Assert
         mockMvc.perform(get("/v1/categorias")
@@ -77,14 +90,14 @@ public class CategoriaControllerTest {
                 .andExpect(jsonPath("$[1].idCategoria").value(2))
                 .andExpect(jsonPath("$[1].nome").value("Verduras"));
 
-        verify(categoriaService, times(1)).listarTodas();
+        verify(categoriaService, times(1)).listarTodas("categorias-3");
     }
 
     @Test
     @DisplayName("Deve retornar lista vazia quando não houver categorias")
     void deveRetornarListaVaziaQuandoNaoHouverCategorias() throws Exception {
         // Arrange
-        when(categoriaService.listarTodas()).thenReturn(Arrays.asList());
+        when(categoriaService.listarTodas("categorias-3")).thenReturn(Arrays.asList());
 
         // Act & Assert
         mockMvc.perform(get("/v1/categorias")
@@ -92,7 +105,42 @@ public class CategoriaControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(categoriaService, times(1)).listarTodas();
+        verify(categoriaService, times(1)).listarTodas("categorias-3");
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem carregar a listagem quando o ETag ainda vale")
+    void deveResponderNaoModificadoParaListagemComMesmoEtag() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/v1/categorias")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"categorias-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"categorias-3\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().string(""));
+
+        verify(categoriaService, never()).listarTodas(any());
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 pelo If-Modified-Since e 200 com o ETag novo quando a versão mudou")
+    void deveUsarLastModifiedEEtagDaColecao() throws Exception {
+        // Arrange
+        when(categoriaService.listarTodas("categorias-3")).thenReturn(List.of(categoriaResponse));
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/categorias")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 01 Oct 2025 12:00:00 GMT"))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/v1/categorias")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"categorias-2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"categorias-3\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Wed, 01 Oct 2025 12:00:00 GMT"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(categoriaService, times(1)).listarTodas("categorias-3");
     }
 
     // ========== TESTES DE BUSCA POR ID ==========
@@ -101,7 +149,7 @@ public class CategoriaControllerTest {
     @DisplayName("Deve buscar categoria por ID com sucesso")
     void deveBuscarCategoriaPorId() throws Exception {
         // Arrange
-        when(categoriaService.buscarPorId(1)).thenReturn(categoriaResponse);
+        when(categoriaService.buscarPorId(1, null)).thenReturn(categoriaResponse);
 
         // Act & Assert
         mockMvc.perform(get("/v1/categorias/{id}", 1)
@@ -110,14 +158,31 @@ public class CategoriaControllerTest {
                 .andExpect(jsonPath("$.idCategoria").value(1))
                 .andExpect(jsonPath("$.nome").value("Frutas"));
 
-        verify(categoriaService, times(1)).buscarPorId(1);
+        verify(categoriaService, times(1)).buscarPorId(1, null);
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 para a categoria sem buscá-la quando o ETag ainda vale")
+    void deveResponderNaoModificadoParaCategoriaPorId() throws Exception {
+        // Arrange
+        when(categoriaService.buscarVersao(1)).thenReturn(Optional.of(VersaoRecursoDTO.builder()
+                .etag("categorias-1-1759320000000000")
+                .ultimaAlteracao(Instant.parse("2025-10-01T12:00:00Z"))
+                .build()));
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/categorias/{id}", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"categorias-1-1759320000000000\""))
+                .andExpect(status().isNotModified());
+
+        verify(categoriaService, never()).buscarPorId(any(), any());
     }
 
     @Test
     @DisplayName("Deve retornar erro quando categoria não for encontrada")
     void deveRetornarErroQuandoCategoriaNaoForEncontrada() throws Exception {
         // Arrange
-        when(categoriaService.buscarPorId(999))
+        when(categoriaService.buscarPorId(999, null))
                 .thenThrow(new RuntimeException("Categoria não encontrada com ID: 999"));
 
         // Act & Assert
@@ -125,7 +190,7 @@ public class CategoriaControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().is5xxServerError());
 
-        verify(categoriaService, times(1)).buscarPorId(999);
+        verify(categoriaService, times(1)).buscarPorId(999, null);
     }
 
     // ========== TESTES DE CRIAÇÃO ==========
@@ -0,0 +1,120 @@
+package br.unip.ads.pim.meuhortifruti.controller;
+
+import br.unip.ads.pim.meuhortifruti.dto.CheckoutRequestDTO;
+import br.unip.ads.pim.meuhortifruti.dto.CompraResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ItemCarrinhoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.PagamentoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.exception.EstoqueInsuficienteException;
+import br.unip.ads.pim.meuhortifruti.service.CheckoutService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CheckoutController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("Testes do CheckoutController")
+public class CheckoutControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private CheckoutService checkoutService;
+
+    @Test
+    @DisplayName("Deve finalizar compra com sucesso")
+    void deveFinalizarCompraComSucesso() throws Exception {
+        // Arrange
+        CheckoutRequestDTO request = CheckoutRequestDTO.builder()
+                .itens(List.of(new ItemCarrinhoDTO(1, 2)))
+                .formaPagamento("PIX")
+                .build();
+        CompraResponseDTO response = CompraResponseDTO.builder()
+                .idCompra(100)
+                .statusCompra("FINALIZADA")
+                .itensCompra(List.of())
+                .pagamento(PagamentoResponseDTO.builder()
+                        .valor(new BigDecimal("11.80"))
+                        .formaPagamento("PIX")
+                        .statusPagamento("APROVADO")
+                        .build())
+                .build();
+        when(checkoutService.finalizar(any(CheckoutRequestDTO.class))).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.idCompra").value(100))
+                .andExpect(jsonPath("$.pagamento.valor").value(11.80));
+
+        verify(checkoutService, times(1)).finalizar(any(CheckoutRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 com carrinho vazio")
+    void deveRetornar400ComCarrinhoVazio() throws Exception {
+        CheckoutRequestDTO request = CheckoutRequestDTO.builder()
+                .itens(List.of())
+                .formaPagamento("PIX")
+                .build();
+
+        mockMvc.perform(post("/v1/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(checkoutService, never()).finalizar(any(CheckoutRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 com quantidade inválida no item")
+    void deveRetornar400ComQuantidadeInvalida() throws Exception {
+        CheckoutRequestDTO request = CheckoutRequestDTO.builder()
+                .itens(List.of(new ItemCarrinhoDTO(1, 0)))
+                .formaPagamento("PIX")
+                .build();
+
+        mockMvc.perform(post("/v1/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(checkoutService, never()).finalizar(any(CheckoutRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o estoque for insuficiente")
+    void deveRetornar400QuandoEstoqueInsuficiente() throws Exception {
+        CheckoutRequestDTO request = CheckoutRequestDTO.builder()
+                .itens(List.of(new ItemCarrinhoDTO(1, 50)))
+                .formaPagamento("PIX")
+                .build();
+        when(checkoutService.finalizar(any(CheckoutRequestDTO.class)))
+                .thenThrow(new EstoqueInsuficienteException("Tomate", 10, 50));
+
+        mockMvc.perform(post("/v1/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Estoque Insuficiente"));
+    }
+}
@@ -106,6 +106,24 @@ public class CompraControllerTest {
         verify(compraService, times(1)).listarTodas();
     }
 
+    @Test
+    @DisplayName("Deve listar compras detalhadas quando solicitado")
+    void deveListarComprasDetalhadas() throws Exception {
+        // Arrange
+        when(compraService.listarDetalhadas()).thenReturn(Arrays.asList(compraResponse));
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/compras")
+                        .param("detalhado", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].idCompra").value(1));
+
+        verify(compraService, times(1)).listarDetalhadas();
+        verify(compraService, never()).listarTodas();
+    }
+
     // ========== TESTES DE BUSCA POR ID ==========
 
     @Test
@@ -0,0 +1,90 @@
+package br.unip.ads.pim.meuhortifruti.controller;
+
+import br.unip.ads.pim.meuhortifruti.dto.VendaCategoriaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VendaDiariaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VendaProdutoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import br.unip.ads.pim.meuhortifruti.service.EstatisticaVendasService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EstatisticaVendasController.class)
+@AutoConfigureMockMvc(addFilters = false)  // Desabilita filtros de segurança
+@DisplayName("Testes do EstatisticaVendasController")
+public class EstatisticaVendasControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EstatisticaVendasService estatisticaVendasService;
+
+    @Test
+    @DisplayName("Deve retornar as vendas por dia do período informado")
+    void deveListarVendasPorDia() throws Exception {
+        // Arrange
+        LocalDate inicio = LocalDate.of(2026, 3, 1);
+        LocalDate fim = LocalDate.of(2026, 3, 2);
+        when(estatisticaVendasService.listarPorDia(inicio, fim)).thenReturn(List.of(
+                new VendaDiariaResponseDTO(inicio, 12L, 40L, new BigDecimal("230.50")),
+                new VendaDiariaResponseDTO(fim, 3L, 5L, new BigDecimal("18.00"))));
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/admin/vendas/dias")
+                        .param("inicio", "2026-03-01")
+                        .param("fim", "2026-03-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].dia").value("2026-03-01"))
+                .andExpect(jsonPath("$[0].receita").value(230.50));
+
+        verify(estatisticaVendasService, times(1)).listarPorDia(inicio, fim);
+    }
+
+    @Test
+    @DisplayName("Deve retornar os produtos e as categorias mais vendidos")
+    void deveListarPorProdutoECategoria() throws Exception {
+        // Arrange
+        when(estatisticaVendasService.listarPorProduto(null, null, 5)).thenReturn(List.of(
+                new VendaProdutoResponseDTO(1, "Tomate", 30L, new BigDecimal("177.00"))));
+        when(estatisticaVendasService.listarPorCategoria(null, null)).thenReturn(List.of(
+                new VendaCategoriaResponseDTO(2, "Verduras", 30L, new BigDecimal("177.00"))));
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/admin/vendas/produtos").param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Tomate"))
+                .andExpect(jsonPath("$[0].unidades").value(30));
+        mockMvc.perform(get("/v1/admin/vendas/categorias"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Verduras"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o período for inválido")
+    void deveRetornarBadRequestParaPeriodoInvalido() throws Exception {
+        // Arrange
+        when(estatisticaVendasService.listarPorCategoria(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 1)))
+                .thenThrow(new RegraNegocioException("A data inicial não pode ser posterior à data final"));
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/admin/vendas/categorias")
+                        .param("inicio", "2026-03-02")
+                        .param("fim", "2026-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -2,6 +2,8 @@ package br.unip.ads.pim.meuhortifruti.controller;
 
 import br.unip.ads.pim.meuhortifruti.dto.EstoqueRequestDTO;
 import br.unip.ads.pim.meuhortifruti.dto.EstoqueResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.MovimentacaoEstoqueRequestDTO;
+import br.unip.ads.pim.meuhortifruti.exception.EstoqueInsuficienteException;
 import br.unip.ads.pim.meuhortifruti.service.EstoqueService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -289,4 +291,64 @@ public class EstoqueControllerTest {
 
         verify(estoqueService, times(1)).excluir(999);
     }
+
+    // ========== TESTES DE DÉBITO E REPOSIÇÃO ==========
+
+    @Test
+    @DisplayName("Deve debitar estoque com sucesso")
+    void deveDebitarEstoqueComSucesso() throws Exception {
+        // Arrange
+        estoqueResponse.setQuantidadeProdutos(95);
+        when(estoqueService.debitar(1, 5)).thenReturn(estoqueResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/estoques/{id}/debito", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MovimentacaoEstoqueRequestDTO(5))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidadeProdutos").value(95));
+
+        verify(estoqueService, times(1)).debitar(1, 5);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o estoque for insuficiente")
+    void deveRetornar400QuandoEstoqueInsuficiente() throws Exception {
+        // Arrange
+        when(estoqueService.debitar(1, 500))
+                .thenThrow(new EstoqueInsuficienteException("Tomate", 100, 500));
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/estoques/{id}/debito", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MovimentacaoEstoqueRequestDTO(500))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Estoque Insuficiente"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 ao debitar quantidade zero")
+    void deveRetornar400AoDebitarQuantidadeZero() throws Exception {
+        mockMvc.perform(post("/v1/estoques/{id}/debito", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MovimentacaoEstoqueRequestDTO(0))))
+                .andExpect(status().isBadRequest());
+
+        verify(estoqueService, never()).debitar(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve repor estoque com sucesso")
+    void deveReporEstoqueComSucesso() throws Exception {
+        // Arrange
+        estoqueResponse.setQuantidadeProdutos(110);
+        when(estoqueService.repor(1, 10)).thenReturn(estoqueResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/estoques/{id}/reposicao", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MovimentacaoEstoqueRequestDTO(10))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidadeProdutos").value(110));
+    }
 }
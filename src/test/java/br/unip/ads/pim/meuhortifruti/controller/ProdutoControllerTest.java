@@ -1,8 +1,15 @@
 package br.unip.ads.pim.meuhortifruti.controller;
 
+import br.unip.ads.pim.meuhortifruti.dto.ImportacaoProdutosResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoBuscaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoPaginaResponseDTO;
 import br.unip.ads.pim.meuhortifruti.dto.ProdutoRequestDTO;
 import br.unip.ads.pim.meuhortifruti.dto.ProdutoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSugestaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VersaoRecursoDTO;
+import br.unip.ads.pim.meuhortifruti.service.ImportacaoProdutoService;
 import br.unip.ads.pim.meuhortifruti.service.ProdutoService;
+import br.unip.ads.pim.meuhortifruti.service.VersaoCatalogoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,13 +18,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
@@ -40,11 +53,22 @@ public class ProdutoControllerTest {
     @MockBean
     private ProdutoService produtoService;
 
+    @MockBean
+    private VersaoCatalogoService versaoCatalogoService;
+
+    @MockBean
+    private ImportacaoProdutoService importacaoProdutoService;
+
     private ProdutoResponseDTO produtoResponse;
     private ProdutoRequestDTO produtoRequest;
 
     @BeforeEach
     void setUp() {
+        when(versaoCatalogoService.buscarVersao(VersaoCatalogoService.PRODUTOS)).thenReturn(VersaoRecursoDTO.builder()
+                .etag("produtos-3")
+                .ultimaAlteracao(Instant.parse("2025-10-01T12:00:00Z"))
+                .build());
+
         produtoResponse = ProdutoResponseDTO.builder()
                 .idProduto(1)
                 .nome("Maçã")
@@ -79,7 +103,7 @@ public class ProdutoControllerTest {
                 .build();
 
         List<ProdutoResponseDTO> produtos = Arrays.asList(produtoResponse, produto2);
-        when(produtoService.listarTodas()).thenReturn(produtos);
+        when(produtoService.listarTodas("produtos-3")).thenReturn(produtos);
 
         // Act & Assert
         mockMvc.perform(get("/v1/produtos")
@@ -91,14 +115,14 @@ public class ProdutoControllerTest {
                 .andExpect(jsonPath("$[1].idProduto").value(2))
                 .andExpect(jsonPath("$[1].nome").value("Banana"));
 
-        verify(produtoService, times(1)).listarTodas();
+        verify(produtoService, times(1)).listarTodas("produtos-3");
     }
 
     @Test
     @DisplayName("Deve retornar lista vazia quando não houver produtos")
     void deveRetornarListaVaziaQuandoNaoHouverProdutos() throws Exception {
         // Arrange
-        when(produtoService.listarTodas()).thenReturn(Arrays.asList());
+        when(produtoService.listarTodas("produtos-3")).thenReturn(Arrays.asList());
 
         // Act & Assert
         mockMvc.perform(get("/v1/produtos")
@@ -106,7 +130,158 @@ public class ProdutoControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(produtoService, times(1)).listarTodas();
+        verify(produtoService, times(1)).listarTodas("produtos-3");
+    }
+
+    @Test
+    @DisplayName("Deve listar produtos paginados quando informado o tamanho da página")
+    void deveListarProdutosPaginados() throws Exception {
+        // Arrange
+        ProdutoPaginaResponseDTO pagina = ProdutoPaginaResponseDTO.builder()
+                .conteudo(List.of(produtoResponse))
+                .tamanho(1)
+                .proximoCursor("MTpNYcOnw6M")
+                .build();
+        when(produtoService.listarPagina(null, 1)).thenReturn(pagina);
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/produtos")
+                        .param("tamanho", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(1)))
+                .andExpect(jsonPath("$.conteudo[0].idProduto").value(1))
+                .andExpect(jsonPath("$.proximoCursor").value("MTpNYcOnw6M"));
+
+        verify(produtoService, times(1)).listarPagina(null, 1);
+        verify(produtoService, never()).listarTodas(any());
+    }
+
+    @Test
+    @DisplayName("Deve continuar a paginação a partir do cursor")
+    void deveContinuarPaginacaoAPartirDoCursor() throws Exception {
+        // Arrange
+        ProdutoPaginaResponseDTO pagina = ProdutoPaginaResponseDTO.builder()
+                .conteudo(List.of())
+                .tamanho(0)
+                .build();
+        when(produtoService.listarPagina("MTpNYcOnw6M", null)).thenReturn(pagina);
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/produtos")
+                        .param("cursor", "MTpNYcOnw6M")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(0)))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+
+        verify(produtoService, times(1)).listarPagina("MTpNYcOnw6M", null);
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem carregar o catálogo quando o ETag ainda vale")
+    void deveResponderNaoModificadoParaCatalogoComMesmoEtag() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/v1/produtos")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"produtos-2\", \"produtos-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"produtos-3\""))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/v1/produtos")
+                        .param("tamanho", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"produtos-3\""))
+                .andExpect(status().isNotModified());
+
+        verify(produtoService, never()).listarTodas(any());
+        verify(produtoService, never()).listarPagina(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve devolver o catálogo com ETag, Last-Modified e no-cache quando a versão mudou")
+    void deveDevolverCatalogoComValidadores() throws Exception {
+        // Arrange
+        when(produtoService.listarTodas("produtos-3")).thenReturn(List.of(produtoResponse));
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/produtos")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"produtos-2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"produtos-3\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Wed, 01 Oct 2025 12:00:00 GMT"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("Deve exportar o catálogo em streaming")
+    void deveExportarCatalogo() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(0);
+            saida.write("[{\"idProduto\":1,\"nome\":\"Maçã\"}]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(produtoService).exportar(any(OutputStream.class));
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/produtos/exportar"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].nome").value("Maçã"));
+
+        verify(produtoService, times(1)).exportar(any(OutputStream.class));
+        verify(produtoService, never()).buscarPorId(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar produtos por nome aproximado")
+    void deveBuscarProdutosPorNomeAproximado() throws Exception {
+        // Arrange
+        ProdutoBuscaResponseDTO resultado = ProdutoBuscaResponseDTO.builder()
+                .conteudo(List.of(produtoResponse))
+                .pagina(1)
+                .tamanho(1)
+                .temProximaPagina(false)
+                .build();
+        when(produtoService.buscar("maca", 1, 20)).thenReturn(resultado);
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/produtos/busca")
+                        .param("q", "maca")
+                        .param("pagina", "1")
+                        .param("tamanho", "20")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(1)))
+                .andExpect(jsonPath("$.conteudo[0].idProduto").value(1))
+                .andExpect(jsonPath("$.pagina").value(1))
+                .andExpect(jsonPath("$.temProximaPagina").value(false));
+
+        verify(produtoService, times(1)).buscar("maca", 1, 20);
+        verify(produtoService, never()).buscarPorId(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve sugerir produtos para o autocompletar")
+    void deveSugerirProdutosParaAutocompletar() throws Exception {
+        // Arrange
+        when(produtoService.autocompletar("ma", 5)).thenReturn(List.of(
+                new ProdutoSugestaoResponseDTO(1, "Maçã", new BigDecimal("5.50"))));
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/produtos/autocompletar")
+                        .param("prefixo", "ma")
+                        .param("limite", "5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].idProduto").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Maçã"))
+                .andExpect(jsonPath("$[0].preco").value(5.50));
+
+        verify(produtoService, times(1)).autocompletar("ma", 5);
+        verify(produtoService, never()).buscarPorId(any(), any());
     }
 
     // ========== TESTES DE BUSCA POR ID ==========
@@ -115,7 +290,11 @@ public class ProdutoControllerTest {
     @DisplayName("Deve buscar produto por ID com sucesso")
     void deveBuscarProdutoPorId() throws Exception {
         // Arrange
-        when(produtoService.buscarPorId(1)).thenReturn(produtoResponse);
+        when(produtoService.buscarVersao(1)).thenReturn(Optional.of(VersaoRecursoDTO.builder()
+                .etag("produtos-1-1759320000000000")
+                .ultimaAlteracao(Instant.parse("2025-10-01T12:00:00Z"))
+                .build()));
+        when(produtoService.buscarPorId(1, "produtos-1-1759320000000000")).thenReturn(produtoResponse);
 
         // Act & Assert
         mockMvc.perform(get("/v1/produtos/{id}", 1)
@@ -124,16 +303,35 @@ public class ProdutoControllerTest {
                 .andExpect(jsonPath("$.idProduto").value(1))
                 .andExpect(jsonPath("$.nome").value("Maçã"))
                 .andExpect(jsonPath("$.preco").value(5.50))
-                .andExpect(jsonPath("$.quantidadeEstoque").value(100));
+                .andExpect(jsonPath("$.quantidadeEstoque").value(100))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"produtos-1-1759320000000000\""));
+
+        verify(produtoService, times(1)).buscarPorId(1, "produtos-1-1759320000000000");
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 para o produto sem buscá-lo quando não mudou desde If-Modified-Since")
+    void deveResponderNaoModificadoParaProdutoPorId() throws Exception {
+        // Arrange
+        when(produtoService.buscarVersao(1)).thenReturn(Optional.of(VersaoRecursoDTO.builder()
+                .etag("produtos-1-1759320000000000")
+                .ultimaAlteracao(Instant.parse("2025-10-01T12:00:00Z"))
+                .build()));
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/produtos/{id}", 1)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 01 Oct 2025 12:00:00 GMT"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"produtos-1-1759320000000000\""));
 
-        verify(produtoService, times(1)).buscarPorId(1);
+        verify(produtoService, never()).buscarPorId(any(), any());
     }
 
     @Test
     @DisplayName("Deve retornar erro quando produto não for encontrado")
     void deveRetornarErroQuandoProdutoNaoForEncontrado() throws Exception {
         // Arrange
-        when(produtoService.buscarPorId(999))
+        when(produtoService.buscarPorId(999, null))
                 .thenThrow(new RuntimeException("Produto não encontrado com ID: 999"));
 
         // Act & Assert
@@ -141,7 +339,7 @@ public class ProdutoControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().is5xxServerError());
 
-        verify(produtoService, times(1)).buscarPorId(999);
+        verify(produtoService, times(1)).buscarPorId(999, null);
     }
 
     // ========== TESTES DE CRIAÇÃO ==========
@@ -361,6 +559,27 @@ public class ProdutoControllerTest {
         verify(produtoService, times(1)).atualizar(eq(999), any(ProdutoRequestDTO.class));
     }
 
+    // ========== TESTES DE IMPORTAÇÃO ==========
+
+    @Test
+    @DisplayName("Deve importar o arquivo enviado e retornar o relatório")
+    void deveImportarArquivo() throws Exception {
+        // Arrange
+        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "precos.csv", "text/csv",
+                "nome;preco\nTomate;6,50\n".getBytes(StandardCharsets.UTF_8));
+        when(importacaoProdutoService.importar(any(), eq("precos.csv"), eq(3)))
+                .thenReturn(ImportacaoProdutosResponseDTO.builder().linhas(1).atualizados(1).build());
+
+        // Act & Assert
+        mockMvc.perform(multipart("/v1/produtos/importacao").file(arquivo).param("idFornecedor", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhas").value(1))
+                .andExpect(jsonPath("$.atualizados").value(1))
+                .andExpect(jsonPath("$.erros", hasSize(0)));
+
+        verify(importacaoProdutoService, times(1)).importar(any(), eq("precos.csv"), eq(3));
+    }
+
     // ========== TESTES DE EXCLUSÃO ==========
 
     @Test
@@ -0,0 +1,134 @@
+package br.unip.ads.pim.meuhortifruti.controller;
+
+import br.unip.ads.pim.meuhortifruti.dto.ItemSugestaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.PontoReposicaoRequestDTO;
+import br.unip.ads.pim.meuhortifruti.dto.PontoReposicaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.SugestaoCompraDTO;
+import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import br.unip.ads.pim.meuhortifruti.service.ReposicaoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReposicaoController.class)
+@AutoConfigureMockMvc(addFilters = false)  // Desabilita filtros de segurança
+@DisplayName("Testes do ReposicaoController")
+public class ReposicaoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ReposicaoService reposicaoService;
+
+    @Test
+    @DisplayName("Deve retornar as sugestões de compra por fornecedor")
+    void deveRetornarSugestoes() throws Exception {
+        // Arrange
+        when(reposicaoService.listarSugestoes()).thenReturn(List.of(SugestaoCompraDTO.builder()
+                .idFornecedor(7)
+                .nomeFornecedor("Ceasa Campinas")
+                .quantidadeTotal(26)
+                .itens(List.of(ItemSugestaoDTO.builder()
+                        .idProduto(1)
+                        .nome("Tomate")
+                        .quantidadeAtual(4)
+                        .pontoReposicao(5)
+                        .estoqueMaximo(30)
+                        .quantidadeSugerida(26)
+                        .build()))
+                .build()));
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/admin/reposicao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].nomeFornecedor").value("Ceasa Campinas"))
+                .andExpect(jsonPath("$[0].itens[0].quantidadeSugerida").value(26));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 para sugestão de fornecedor inexistente")
+    void deveRetornar404ParaFornecedorInexistente() throws Exception {
+        // Arrange
+        when(reposicaoService.buscarSugestao(99))
+                .thenThrow(new RecursoNaoEncontradoException("Fornecedor", "id", 99));
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/admin/reposicao/fornecedores/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deve definir o ponto de reposição do produto")
+    void deveDefinirPonto() throws Exception {
+        // Arrange
+        PontoReposicaoRequestDTO dto = PontoReposicaoRequestDTO.builder().pontoReposicao(5).estoqueMaximo(30).build();
+        when(reposicaoService.definirPonto(eq(1), any(PontoReposicaoRequestDTO.class)))
+                .thenReturn(PontoReposicaoResponseDTO.builder().idProduto(1).pontoReposicao(5).estoqueMaximo(30).build());
+
+        // Act & Assert
+        mockMvc.perform(put("/v1/admin/reposicao/pontos/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pontoReposicao").value(5));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para ponto de reposição negativo")
+    void deveRetornar400ParaPontoNegativo() throws Exception {
+        // Arrange
+        PontoReposicaoRequestDTO dto = PontoReposicaoRequestDTO.builder().pontoReposicao(-1).estoqueMaximo(30).build();
+
+        // Act & Assert
+        mockMvc.perform(put("/v1/admin/reposicao/pontos/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+        verify(reposicaoService, never()).definirPonto(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o estoque máximo não passar do ponto")
+    void deveRetornar400ComMaximoAbaixoDoPonto() throws Exception {
+        // Arrange
+        PontoReposicaoRequestDTO dto = PontoReposicaoRequestDTO.builder().pontoReposicao(10).estoqueMaximo(5).build();
+        when(reposicaoService.definirPonto(eq(1), any(PontoReposicaoRequestDTO.class)))
+                .thenThrow(new RegraNegocioException("O estoque máximo deve ser maior que o ponto de reposição"));
+
+        // Act & Assert
+        mockMvc.perform(put("/v1/admin/reposicao/pontos/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve remover o ponto de reposição")
+    void deveRemoverPonto() throws Exception {
+        // Act & Assert
+        mockMvc.perform(delete("/v1/admin/reposicao/pontos/1"))
+                .andExpect(status().isNoContent());
+        verify(reposicaoService, times(1)).removerPonto(1);
+    }
+}
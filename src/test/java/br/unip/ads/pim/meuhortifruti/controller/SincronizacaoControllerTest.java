@@ -0,0 +1,90 @@
+package br.unip.ads.pim.meuhortifruti.controller;
+
+import br.unip.ads.pim.meuhortifruti.dto.ExclusoesSincronizacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSincronizacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.SincronizacaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import br.unip.ads.pim.meuhortifruti.service.SincronizacaoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SincronizacaoController.class)
+@AutoConfigureMockMvc(addFilters = false)  // Desabilita filtros de segurança
+@DisplayName("Testes do SincronizacaoController")
+public class SincronizacaoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SincronizacaoService sincronizacaoService;
+
+    @Test
+    @DisplayName("Deve retornar as alterações desde a versão informada")
+    void deveRetornarAlteracoesDesdeVersao() throws Exception {
+        // Arrange
+        when(sincronizacaoService.buscarAlteracoes(40L)).thenReturn(SincronizacaoResponseDTO.builder()
+                .versao(42L)
+                .produtos(List.of(ProdutoSincronizacaoDTO.builder()
+                        .idProduto(1)
+                        .nome("Tomate")
+                        .preco(new BigDecimal("5.90"))
+                        .idCategoria(2)
+                        .build()))
+                .excluidos(ExclusoesSincronizacaoDTO.builder().produtos(List.of(9)).build())
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/public/sync").param("since", "40"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.versao").value(42))
+                .andExpect(jsonPath("$.temMais").value(false))
+                .andExpect(jsonPath("$.ressincronizar").value(false))
+                .andExpect(jsonPath("$.produtos", hasSize(1)))
+                .andExpect(jsonPath("$.produtos[0].nome").value("Tomate"))
+                .andExpect(jsonPath("$.excluidos.produtos[0]").value(9));
+
+        verify(sincronizacaoService, times(1)).buscarAlteracoes(40L);
+    }
+
+    @Test
+    @DisplayName("Deve pedir ressincronização quando o terminal não informar versão")
+    void devePedirRessincronizacaoSemVersao() throws Exception {
+        // Arrange
+        when(sincronizacaoService.buscarAlteracoes(null)).thenReturn(SincronizacaoResponseDTO.builder()
+                .versao(42L)
+                .ressincronizar(true)
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/public/sync"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ressincronizar").value(true))
+                .andExpect(jsonPath("$.produtos", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para versão negativa")
+    void deveRetornarBadRequestParaVersaoNegativa() throws Exception {
+        // Arrange
+        when(sincronizacaoService.buscarAlteracoes(-1L))
+                .thenThrow(new RegraNegocioException("A versão de sincronização não pode ser negativa"));
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/public/sync").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,86 @@
+package br.unip.ads.pim.meuhortifruti.controller;
+
+import br.unip.ads.pim.meuhortifruti.dto.ItemValidadeResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.RelatorioValidadeResponseDTO;
+import br.unip.ads.pim.meuhortifruti.service.ValidadeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ValidadeController.class)
+@AutoConfigureMockMvc(addFilters = false)  // Desabilita filtros de segurança
+@DisplayName("Testes do ValidadeController")
+public class ValidadeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ValidadeService validadeService;
+
+    private RelatorioValidadeResponseDTO relatorio;
+
+    @BeforeEach
+    void setUp() {
+        relatorio = RelatorioValidadeResponseDTO.builder()
+                .linhasLidas(1L)
+                .totalRetirar(0L)
+                .totalRemarcar(1L)
+                .truncado(false)
+                .itens(List.of(ItemValidadeResponseDTO.builder()
+                        .idProduto(1)
+                        .nome("Alface Crespa")
+                        .dtValidade(LocalDate.now().plusDays(1))
+                        .percentualDesconto(50)
+                        .precoSugerido(new BigDecimal("1.50"))
+                        .acao(ValidadeService.ACAO_REMARCAR)
+                        .build()))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve retornar o relatório de validade")
+    void deveRetornarRelatorio() throws Exception {
+        // Arrange
+        when(validadeService.obterRelatorio()).thenReturn(relatorio);
+
+        // Act & Assert
+        mockMvc.perform(get("/v1/admin/validade"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhasLidas").value(1))
+                .andExpect(jsonPath("$.itens", hasSize(1)))
+                .andExpect(jsonPath("$.itens[0].acao").value("REMARCAR"))
+                .andExpect(jsonPath("$.itens[0].precoSugerido").value(1.50));
+
+        verify(validadeService, times(1)).obterRelatorio();
+        verify(validadeService, never()).processar();
+    }
+
+    @Test
+    @DisplayName("Deve processar a validade sob demanda")
+    void deveProcessarSobDemanda() throws Exception {
+        // Arrange
+        when(validadeService.processar()).thenReturn(relatorio);
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/admin/validade/processar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRemarcar").value(1));
+
+        verify(validadeService, times(1)).processar();
+    }
+}
@@ -0,0 +1,103 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.entity.ChaveIdempotencia;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Testes das chaves de idempotência")
+public class ChaveIdempotenciaRepositoryTest {
+
+    private static final Duration TTL = Duration.ofHours(24);
+
+    @Autowired
+    private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve reservar a chave uma única vez")
+    void deveReservarChaveUmaVez() {
+        // Arrange
+        Instant agora = Instant.now();
+
+        // Act
+        int primeira = chaveIdempotenciaRepository.reservar("chave", "corpo", agora, agora.plus(TTL));
+        int segunda = chaveIdempotenciaRepository.reservar("chave", "outro corpo", agora, agora.plus(TTL));
+
+        // Assert
+        assertThat(primeira).isEqualTo(1);
+        assertThat(segunda).isZero();
+        assertThat(chaveIdempotenciaRepository.findById("chave")).get()
+                .extracting(ChaveIdempotencia::getImpressao).isEqualTo("corpo");
+    }
+
+    @Test
+    @DisplayName("Deve retomar só a chave abandonada em andamento")
+    void deveRetomarChaveAbandonada() {
+        // Arrange
+        Instant agora = Instant.now();
+        Instant antes = agora.minus(Duration.ofMinutes(5));
+        chaveIdempotenciaRepository.reservar("abandonada", "corpo", antes, antes.plus(TTL));
+        chaveIdempotenciaRepository.reservar("concluida", "corpo", antes, antes.plus(TTL));
+        chaveIdempotenciaRepository.concluir("concluida", 201, "application/json", "{}".getBytes(StandardCharsets.UTF_8));
+        Instant abandono = agora.minus(Duration.ofMinutes(1));
+
+        // Act
+        int abandonada = chaveIdempotenciaRepository.retomar("abandonada", "novo corpo", agora, agora.plus(TTL), abandono);
+        int concluida = chaveIdempotenciaRepository.retomar("concluida", "novo corpo", agora, agora.plus(TTL), abandono);
+
+        // Assert
+        assertThat(abandonada).isEqualTo(1);
+        assertThat(concluida).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve guardar a resposta e não liberar a chave concluída")
+    void deveGuardarRespostaENaoLiberarConcluida() {
+        // Arrange
+        Instant agora = Instant.now();
+        byte[] corpo = "{\"idCompra\":1}".getBytes(StandardCharsets.UTF_8);
+        chaveIdempotenciaRepository.reservar("chave", "corpo", agora, agora.plus(TTL));
+
+        // Act
+        chaveIdempotenciaRepository.concluir("chave", 201, "application/json", corpo);
+        int liberadas = chaveIdempotenciaRepository.liberar("chave");
+        entityManager.clear();
+
+        // Assert
+        assertThat(liberadas).isZero();
+        ChaveIdempotencia gravada = chaveIdempotenciaRepository.findById("chave").orElseThrow();
+        assertThat(gravada.getStatusHttp()).isEqualTo(201);
+        assertThat(gravada.getCorpo()).isEqualTo(corpo);
+    }
+
+    @Test
+    @DisplayName("Deve excluir só as chaves expiradas")
+    void deveExcluirChavesExpiradas() {
+        // Arrange
+        Instant agora = Instant.now();
+        Instant ontem = agora.minus(Duration.ofDays(2));
+        chaveIdempotenciaRepository.reservar("expirada", "corpo", ontem, ontem.plus(TTL));
+        chaveIdempotenciaRepository.reservar("valida", "corpo", agora, agora.plus(TTL));
+
+        // Act
+        int excluidas = chaveIdempotenciaRepository.excluirExpiradas(agora);
+
+        // Assert
+        assertThat(excluidas).isEqualTo(1);
+        assertThat(chaveIdempotenciaRepository.existsById("valida")).isTrue();
+    }
+}
@@ -0,0 +1,198 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.config.ApplicationConfig;
+import br.unip.ads.pim.meuhortifruti.dto.CompraResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.Compra;
+import br.unip.ads.pim.meuhortifruti.entity.ItemCompra;
+import br.unip.ads.pim.meuhortifruti.entity.Pagamento;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.service.CompraService;
+import br.unip.ads.pim.meuhortifruti.service.EstatisticaVendasService;
+import br.unip.ads.pim.meuhortifruti.service.OutboxService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({CompraService.class, EstatisticaVendasService.class, OutboxService.class, ApplicationConfig.class})
+@DisplayName("Testes do CompraRepository")
+public class CompraRepositoryTest {
+
+    private static final int QUANTIDADE_ITENS = 200;
+    private static final int QUANTIDADE_COMPRAS = 500;
+    private static final int ITENS_POR_COMPRA = 3;
+
+    @Autowired
+    private CompraRepository compraRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private CompraService compraService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+    private Categoria categoria;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        categoria = categoriaRepository.save(Categoria.builder().nome("Frutas").build());
+        produto = produtoRepository.save(Produto.builder()
+                .nome("Maçã")
+                .preco(new BigDecimal("5.50"))
+                .quantidadeEstoque(1000)
+                .dataEntrega(LocalDate.now())
+                .categoria(categoria)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    @DisplayName("Deve gravar compra com 200 itens em lotes JDBC")
+    void deveGravarItensEmLote() {
+        // Arrange
+        Compra compra = Compra.builder().statusCompra("FINALIZADA").build();
+        for (int i = 0; i < QUANTIDADE_ITENS; i++) {
+            compra.getItensCompra().add(ItemCompra.builder()
+                    .compra(compra)
+                    .produto(entityManager.getReference(Produto.class, produto.getIdProduto()))
+                    .preco(new BigDecimal("5.50"))
+                    .quantidade(1)
+                    .build());
+        }
+        compra.setPagamento(Pagamento.builder()
+                .compra(compra)
+                .valor(new BigDecimal("1100.00"))
+                .formaPagamento("PIX")
+                .statusPagamento("APROVADO")
+                .build());
+
+        // Act
+        compraRepository.save(compra);
+        entityManager.flush();
+
+        // Assert
+        assertThat(estatisticas.getEntityInsertCount()).isEqualTo(QUANTIDADE_ITENS + 2);
+        // 3 inserts em lote de item_compra (lotes de 50 reaproveitam o statement), 1 compra, 1 pagamento
+        // e poucas chamadas de sequência graças ao allocationSize
+        assertThat(estatisticas.getPrepareStatementCount()).isLessThan(20);
+        assertThat(compraRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve listar 500 compras com itens e pagamento em número fixo de consultas")
+    void deveListarComprasSemNMaisUm() {
+        // Arrange
+        criarCompras();
+
+        // Act
+        List<CompraResponseDTO> resultado = compraService.listarDetalhadas();
+
+        // Assert
+        assertThat(resultado).hasSize(QUANTIDADE_COMPRAS);
+        assertThat(resultado).allSatisfy(compra -> {
+            assertThat(compra.getItensCompra()).hasSize(ITENS_POR_COMPRA);
+            assertThat(compra.getPagamento()).isNotNull();
+        });
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve listar o resumo das compras em uma consulta sem carregar entidades")
+    void deveListarResumoEmUmaConsulta() {
+        // Arrange
+        criarCompras();
+
+        // Act
+        List<CompraResponseDTO> resultado = compraService.listarTodas();
+
+        // Assert
+        assertThat(resultado).hasSize(QUANTIDADE_COMPRAS);
+        assertThat(resultado).allSatisfy(compra -> assertThat(compra.getPagamento()).isNotNull());
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(estatisticas.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve buscar uma compra completa em uma consulta")
+    void deveBuscarCompraCompletaEmUmaConsulta() {
+        // Arrange
+        Integer idCompra = criarCompras().get(0);
+
+        // Act
+        CompraResponseDTO resultado = compraService.buscarPorId(idCompra);
+
+        // Assert
+        assertThat(resultado.getItensCompra()).hasSize(ITENS_POR_COMPRA);
+        assertThat(resultado.getPagamento().getStatusPagamento()).isEqualTo("APROVADO");
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private List<Integer> criarCompras() {
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            produtos.add(produtoRepository.save(Produto.builder()
+                    .nome("Produto " + i)
+                    .preco(new BigDecimal("2.00"))
+                    .quantidadeEstoque(1000)
+                    .dataEntrega(LocalDate.now())
+                    .categoria(categoria)
+                    .build()));
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        for (int c = 0; c < QUANTIDADE_COMPRAS; c++) {
+            Compra compra = Compra.builder().statusCompra("FINALIZADA").build();
+            for (int i = 0; i < ITENS_POR_COMPRA; i++) {
+                compra.getItensCompra().add(ItemCompra.builder()
+                        .compra(compra)
+                        .produto(produtos.get((c + i) % produtos.size()))
+                        .preco(new BigDecimal("2.00"))
+                        .quantidade(1)
+                        .build());
+            }
+            compra.setPagamento(Pagamento.builder()
+                    .compra(compra)
+                    .valor(new BigDecimal("6.00"))
+                    .formaPagamento("PIX")
+                    .statusPagamento("APROVADO")
+                    .build());
+            ids.add(compraRepository.save(compra).getIdCompra());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        estatisticas.clear();
+        return ids;
+    }
+}
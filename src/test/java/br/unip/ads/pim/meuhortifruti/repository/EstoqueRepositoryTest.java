@@ -0,0 +1,172 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.config.ApplicationConfig;
+import br.unip.ads.pim.meuhortifruti.config.SincronizacaoProperties;
+import br.unip.ads.pim.meuhortifruti.dto.EstoqueResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.Estoque;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.service.EstoqueService;
+import br.unip.ads.pim.meuhortifruti.service.OutboxService;
+import br.unip.ads.pim.meuhortifruti.service.SincronizacaoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({EstoqueService.class, SincronizacaoService.class, SincronizacaoProperties.class,
+        OutboxService.class, ApplicationConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do EstoqueRepository")
+public class EstoqueRepositoryTest {
+
+    private static final int THREADS = 16;
+    private static final int ESTOQUE_INICIAL = 500;
+    private static final int TENTATIVAS = 800;
+
+    @Autowired
+    private EstoqueRepository estoqueRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate transacao;
+    private Integer idTomate;
+    private Integer idAlface;
+
+    @BeforeEach
+    void setUp() {
+        transacao = new TransactionTemplate(transactionManager);
+        Categoria categoria = categoriaRepository.save(Categoria.builder().nome("Legumes").build());
+        idTomate = criarEstoque(categoria, "Tomate", ESTOQUE_INICIAL);
+        idAlface = criarEstoque(categoria, "Alface", ESTOQUE_INICIAL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        estoqueRepository.deleteAll();
+        produtoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Não deve perder atualizações nem vender além do estoque sob concorrência")
+    void naoDevePerderAtualizacoesSobConcorrencia() throws Exception {
+        // Arrange
+        AtomicInteger sucessos = new AtomicInteger();
+        AtomicInteger recusas = new AtomicInteger();
+        List<Callable<Void>> vendas = new ArrayList<>();
+        for (int i = 0; i < TENTATIVAS; i++) {
+            vendas.add(() -> {
+                Integer linhas = transacao.execute(status -> estoqueRepository.debitar(idTomate, 1));
+                (linhas == 1 ? sucessos : recusas).incrementAndGet();
+                return null;
+            });
+        }
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> venda : executor.invokeAll(vendas)) {
+                venda.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        assertThat(sucessos.get()).isEqualTo(ESTOQUE_INICIAL);
+        assertThat(recusas.get()).isEqualTo(TENTATIVAS - ESTOQUE_INICIAL);
+        assertThat(estoqueRepository.findById(idTomate).orElseThrow().getQuantidadeProdutos()).isZero();
+        assertThat(estoqueRepository.findById(idAlface).orElseThrow().getQuantidadeProdutos()).isEqualTo(ESTOQUE_INICIAL);
+    }
+
+    @Test
+    @DisplayName("Não deve debitar quando a quantidade solicitada excede o disponível")
+    void naoDeveDebitarAlemDoDisponivel() {
+        // Act
+        Integer linhas = transacao.execute(status -> estoqueRepository.debitar(idTomate, ESTOQUE_INICIAL + 1));
+
+        // Assert
+        assertThat(linhas).isZero();
+        assertThat(estoqueRepository.findById(idTomate).orElseThrow().getQuantidadeProdutos()).isEqualTo(ESTOQUE_INICIAL);
+    }
+
+    @Test
+    @DisplayName("Deve repor estoque somando à quantidade atual")
+    void deveReporEstoque() {
+        // Act
+        transacao.execute(status -> estoqueRepository.debitar(idTomate, 200));
+        transacao.execute(status -> estoqueRepository.repor(idTomate, 50));
+
+        // Assert
+        assertThat(estoqueRepository.findById(idTomate).orElseThrow().getQuantidadeProdutos()).isEqualTo(350);
+    }
+
+    @Test
+    @DisplayName("Deve buscar o estoque em transação somente leitura, sem flush no commit")
+    void deveBuscarSemFlush() {
+        // Arrange
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // Act
+        EstoqueResponseDTO resultado = estoqueService.buscarPorId(idTomate);
+
+        // Assert
+        assertThat(resultado.getQuantidadeProdutos()).isEqualTo(ESTOQUE_INICIAL);
+        assertThat(estatisticas.getSuccessfulTransactionCount()).isEqualTo(1);
+        assertThat(estatisticas.getFlushCount()).isZero();
+    }
+
+    private Integer criarEstoque(Categoria categoria, String nome, int quantidade) {
+        Produto produto = produtoRepository.save(Produto.builder()
+                .nome(nome)
+                .preco(new BigDecimal("5.90"))
+                .quantidadeEstoque(quantidade)
+                .dataEntrega(LocalDate.now())
+                .categoria(categoria)
+                .build());
+        return estoqueRepository.save(Estoque.builder()
+                .produto(produto)
+                .quantidadeProdutos(quantidade)
+                .build()).getIdEstoque();
+    }
+}
@@ -0,0 +1,204 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.config.ApplicationConfig;
+import br.unip.ads.pim.meuhortifruti.config.OutboxProperties;
+import br.unip.ads.pim.meuhortifruti.dto.EstoqueResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.EventoDTO;
+import br.unip.ads.pim.meuhortifruti.entity.EventoOutbox;
+import br.unip.ads.pim.meuhortifruti.service.ConsumidorEventos;
+import br.unip.ads.pim.meuhortifruti.service.OutboxService;
+import br.unip.ads.pim.meuhortifruti.service.RelayOutboxService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "app.outbox.relay-habilitado=false")
+@ActiveProfiles("test")
+@Import({OutboxService.class, RelayOutboxService.class, OutboxProperties.class, ApplicationConfig.class,
+        EventoOutboxRepositoryTest.Consumidor.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do outbox de eventos")
+public class EventoOutboxRepositoryTest {
+
+    @TestConfiguration
+    static class Consumidor {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ConsumidorTeste consumidorTeste() {
+            return new ConsumidorTeste();
+        }
+
+        @Bean
+        ConsumidorTransacional consumidorTransacional() {
+            return new ConsumidorTransacional();
+        }
+    }
+
+    // Consumidor que grava no banco: a falha marca a transação em que ele roda para rollback
+    static class ConsumidorTransacional implements ConsumidorEventos {
+
+        private volatile boolean falhar;
+
+        // O bean é um proxy transacional: o estado só chega ao alvo por método público
+        public void setFalhar(boolean falhar) {
+            this.falhar = falhar;
+        }
+
+        @Override
+        public Set<String> tipos() {
+            return Set.of(OutboxService.PAGAMENTO_EXCLUIDO);
+        }
+
+        @Override
+        @Transactional
+        public void consumir(EventoDTO evento) {
+            if (falhar) {
+                throw new IllegalStateException("consumidor transacional fora do ar");
+            }
+        }
+    }
+
+    static class ConsumidorTeste implements ConsumidorEventos {
+
+        private final List<EventoDTO> recebidos = new CopyOnWriteArrayList<>();
+        private volatile boolean falhar;
+
+        @Override
+        public void consumir(EventoDTO evento) {
+            if (falhar) {
+                throw new IllegalStateException("consumidor fora do ar");
+            }
+            recebidos.add(evento);
+        }
+    }
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private RelayOutboxService relayOutboxService;
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private ConsumidorTeste consumidor;
+
+    @Autowired
+    private ConsumidorTransacional consumidorTransacional;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transacao;
+
+    @BeforeEach
+    void setUp() {
+        transacao = new TransactionTemplate(transactionManager);
+        eventoOutboxRepository.deleteAll();
+        consumidor.recebidos.clear();
+        consumidor.falhar = false;
+        consumidorTransacional.setFalhar(false);
+    }
+
+    @Test
+    @DisplayName("Deve entregar os eventos publicados na transação e apagá-los da fila")
+    void deveEntregarEApagarEventos() {
+        // Arrange
+        transacao.executeWithoutResult(status -> outboxService.publicarTodos(OutboxService.ESTOQUE_ALTERADO,
+                OutboxService.ESTOQUE, Map.of(
+                        10, EstoqueResponseDTO.builder().idEstoque(10).idProduto(1).quantidadeProdutos(17).build(),
+                        20, EstoqueResponseDTO.builder().idEstoque(20).idProduto(2).quantidadeProdutos(4).build())));
+
+        // Act
+        int reservados = relayOutboxService.relay();
+
+        // Assert
+        assertThat(reservados).isEqualTo(2);
+        assertThat(consumidor.recebidos).extracting(EventoDTO::getIdAgregado).containsExactlyInAnyOrder(10, 20);
+        assertThat(consumidor.recebidos).allSatisfy(evento -> {
+            assertThat(evento.getTipo()).isEqualTo(OutboxService.ESTOQUE_ALTERADO);
+            assertThat(evento.getTentativa()).isEqualTo(1);
+        });
+        assertThat(consumidor.recebidos.get(0).getPayload()).contains("\"quantidadeProdutos\"");
+        assertThat(eventoOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve gravar evento fora de uma transação de escrita")
+    void naoDevePublicarForaDeTransacao() {
+        // Act & Assert
+        assertThatThrownBy(() -> outboxService.publicar(OutboxService.COMPRA_EXCLUIDA, OutboxService.COMPRA, 1, null))
+                .isInstanceOf(IllegalTransactionStateException.class);
+
+        assertThat(eventoOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve reagendar o evento quando o consumidor falhar")
+    void deveReagendarQuandoConsumidorFalhar() {
+        // Arrange
+        transacao.executeWithoutResult(status ->
+                outboxService.publicar(OutboxService.COMPRA_EXCLUIDA, OutboxService.COMPRA, 5, null));
+        consumidor.falhar = true;
+
+        // Act
+        int primeira = relayOutboxService.relay();
+        int segunda = relayOutboxService.relay();
+
+        // Assert
+        assertThat(primeira).isEqualTo(1);
+        assertThat(segunda).isZero();
+        EventoOutbox evento = eventoOutboxRepository.findAll().get(0);
+        assertThat(evento.getTentativas()).isEqualTo(1);
+        assertThat(evento.getDisponivelEm()).isAfter(Instant.now());
+        assertThat(evento.getUltimoErro()).contains("consumidor fora do ar");
+        assertThat(consumidor.recebidos).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve reagendar o evento quando um consumidor transacional falhar")
+    void deveReagendarQuandoConsumidorTransacionalFalhar() {
+        // Arrange
+        transacao.executeWithoutResult(status ->
+                outboxService.publicar(OutboxService.PAGAMENTO_EXCLUIDO, OutboxService.PAGAMENTO, 8, null));
+        consumidorTransacional.setFalhar(true);
+
+        // Act
+        int reservados = relayOutboxService.relay();
+
+        // Assert
+        assertThat(reservados).isEqualTo(1);
+        EventoOutbox evento = eventoOutboxRepository.findAll().get(0);
+        assertThat(evento.getTentativas()).isEqualTo(1);
+        assertThat(evento.getDisponivelEm()).isAfter(Instant.now());
+        assertThat(evento.getUltimoErro()).contains("consumidor transacional fora do ar");
+    }
+}
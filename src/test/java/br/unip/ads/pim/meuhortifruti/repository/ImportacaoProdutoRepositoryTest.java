@@ -0,0 +1,225 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.config.ApplicationConfig;
+import br.unip.ads.pim.meuhortifruti.config.ImportacaoProperties;
+import br.unip.ads.pim.meuhortifruti.config.SincronizacaoProperties;
+import br.unip.ads.pim.meuhortifruti.dto.ErroImportacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ImportacaoProdutosResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSugestaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.Fornecedor;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import br.unip.ads.pim.meuhortifruti.service.ImportacaoProdutoService;
+import br.unip.ads.pim.meuhortifruti.service.IndiceAutocompletarProdutos;
+import br.unip.ads.pim.meuhortifruti.service.ProdutoService;
+import br.unip.ads.pim.meuhortifruti.service.SincronizacaoService;
+import br.unip.ads.pim.meuhortifruti.service.VersaoCatalogoService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "app.importacao.lote=2")
+@ActiveProfiles("test")
+@Import({ImportacaoProdutoService.class, ProdutoService.class, ImportacaoProperties.class, IndiceAutocompletarProdutos.class,
+        VersaoCatalogoService.class, SincronizacaoService.class, SincronizacaoProperties.class,
+        ApplicationConfig.class, ImportacaoProdutoRepositoryTest.Infraestrutura.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes da importação de produtos")
+public class ImportacaoProdutoRepositoryTest {
+
+    private static final String PREFIXO = "Importado ";
+
+    @TestConfiguration
+    static class Infraestrutura {
+
+        @Bean
+        LocalValidatorFactoryBean validator() {
+            return new LocalValidatorFactoryBean();
+        }
+    }
+
+    @Autowired
+    private ImportacaoProdutoService importacaoProdutoService;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IndiceAutocompletarProdutos indiceAutocompletar;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private FornecedorRepository fornecedorRepository;
+
+    private Categoria legumes;
+    private Fornecedor ceasa;
+
+    @BeforeEach
+    void setUp() {
+        legumes = categoriaRepository.save(Categoria.builder().nome("Legumes Importação").build());
+        ceasa = fornecedorRepository.save(Fornecedor.builder()
+                .nome("Ceasa Importação")
+                .cnpj("55666777000188")
+                .telefone("1144445555")
+                .email("importacao@ceasa.com.br")
+                .endereco("Av. Dr. Gastão Vidigal, 1946")
+                .produtosFornecidos("Legumes")
+                .build());
+        produtoRepository.save(Produto.builder()
+                .nome(PREFIXO + "Cenoura")
+                .preco(new BigDecimal("4.00"))
+                .quantidadeEstoque(30)
+                .dataEntrega(LocalDate.now())
+                .categoria(legumes)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        produtoRepository.deleteAllInBatch(produtoRepository.findAll().stream()
+                .filter(produto -> produto.getNome().startsWith(PREFIXO))
+                .toList());
+        categoriaRepository.delete(legumes);
+        fornecedorRepository.delete(ceasa);
+    }
+
+    @Test
+    @DisplayName("Deve criar e atualizar pelo nome, em lotes, e relatar as linhas rejeitadas")
+    void deveImportarCsvEmLotes() throws IOException {
+        // Arrange
+        String validade = LocalDate.now().plusDays(20).toString();
+        String csv = "nome;preco;quantidadeEstoque;dataEntrega;dtValidade;idCategoria\n"
+                + PREFIXO + "Cenoura;4,50;;;;\n"
+                + PREFIXO + "Beterraba;3,20;15;" + LocalDate.now() + ";" + validade + ";" + legumes.getIdCategoria() + "\n"
+                + "\n"
+                + PREFIXO + "Chuchu;0;10;" + LocalDate.now() + ";;" + legumes.getIdCategoria() + "\n"
+                + PREFIXO + "Inhame;2,00;10;" + LocalDate.now() + ";;\n"
+                + PREFIXO + "Abobrinha;abc;10;;;\n"
+                + "\"" + PREFIXO + "Beterraba\";3,40;;;;\n";
+
+        // Act
+        ImportacaoProdutosResponseDTO resultado = importar(csv, "precos.csv", null);
+
+        // Assert
+        assertThat(resultado.getLinhas()).isEqualTo(6);
+        assertThat(resultado.getCriados()).isEqualTo(1);
+        assertThat(resultado.getAtualizados()).isEqualTo(2);
+        assertThat(resultado.getRejeitados()).isEqualTo(3);
+        assertThat(resultado.getErros()).extracting(ErroImportacaoDTO::getLinha).containsExactly(5L, 6L, 7L);
+        assertThat(resultado.getErros().get(0).getMensagem()).contains("preco");
+        assertThat(resultado.getErros().get(1).getMensagem()).contains("categoria");
+        assertThat(resultado.getErros().get(2).getMensagem()).contains("Valor inválido para preco");
+
+        Produto cenoura = produtoRepository.findByNome(PREFIXO + "Cenoura").orElseThrow();
+        assertThat(cenoura.getPreco()).isEqualByComparingTo("4.50");
+        assertThat(cenoura.getQuantidadeEstoque()).isEqualTo(30);
+        Produto beterraba = produtoRepository.findByNome(PREFIXO + "Beterraba").orElseThrow();
+        assertThat(beterraba.getPreco()).isEqualByComparingTo("3.40");
+        assertThat(produtoRepository.existsByNome(PREFIXO + "Chuchu")).isFalse();
+        assertThat(indiceAutocompletar.sugerir("beterr", 10))
+                .extracting(ProdutoSugestaoResponseDTO::getPreco)
+                .containsExactly(new BigDecimal("3.40"));
+    }
+
+    @Test
+    @DisplayName("Deve importar NDJSON aplicando o fornecedor da lista às linhas sem fornecedor")
+    void deveImportarNdjsonComFornecedorDaLista() throws IOException {
+        // Arrange
+        String ndjson = "{\"nome\":\"" + PREFIXO + "Cenoura\",\"preco\":4.10,\"unidade\":\"kg\"}\n"
+                + "{\"nome\":\"" + PREFIXO + "Quiabo\",\"preco\":9.90,\"quantidadeEstoque\":5,"
+                + "\"dataEntrega\":\"" + LocalDate.now() + "\",\"idCategoria\":" + legumes.getIdCategoria() + "}\n"
+                + "{\"nome\": \n"
+                + "{\"nome\":\"" + PREFIXO + "Jiló\",\"preco\":5.00,\"idFornecedor\":-1,"
+                + "\"idCategoria\":" + legumes.getIdCategoria() + "}\n";
+
+        // Act
+        ImportacaoProdutosResponseDTO resultado = importar(ndjson, "precos.ndjson", ceasa.getIdFornecedor());
+
+        // Assert
+        assertThat(resultado.getCriados()).isEqualTo(1);
+        assertThat(resultado.getAtualizados()).isEqualTo(1);
+        assertThat(resultado.getErros()).extracting(ErroImportacaoDTO::getLinha).containsExactly(3L, 4L);
+        assertThat(resultado.getErros().get(0).getMensagem()).startsWith("JSON inválido");
+        assertThat(resultado.getErros().get(1).getMensagem()).contains("Fornecedor não encontrado");
+        assertThat(produtoRepository.findByNome(PREFIXO + "Cenoura").orElseThrow().getFornecedor().getIdFornecedor())
+                .isEqualTo(ceasa.getIdFornecedor());
+        assertThat(produtoRepository.findByNome(PREFIXO + "Quiabo").orElseThrow().getFornecedor().getIdFornecedor())
+                .isEqualTo(ceasa.getIdFornecedor());
+    }
+
+    @Test
+    @DisplayName("Deve ler e exportar produto com fornecedor sem serializar o proxy da entidade")
+    void deveLerEExportarProdutoComFornecedor() throws IOException {
+        // Arrange
+        importar("{\"nome\":\"" + PREFIXO + "Cenoura\",\"preco\":4.10}\n", "precos.ndjson", ceasa.getIdFornecedor());
+        Integer idCenoura = produtoRepository.findByNome(PREFIXO + "Cenoura").orElseThrow().getIdProduto();
+        ByteArrayOutputStream exportacao = new ByteArrayOutputStream();
+
+        // Act
+        ProdutoResponseDTO porId = produtoService.buscarPorId(idCenoura, null);
+        String json = objectMapper.writeValueAsString(porId);
+        List<ProdutoResponseDTO> pagina = produtoService.listarPagina(null, 100).getConteudo();
+        produtoService.exportar(exportacao);
+
+        // Assert
+        assertThat(objectMapper.readTree(json).get("fornecedor").get("nome").asText()).isEqualTo("Ceasa Importação");
+        assertThat(pagina).filteredOn(produto -> produto.getIdProduto().equals(idCenoura))
+                .singleElement()
+                .extracting(produto -> produto.getFornecedor().getCnpj())
+                .isEqualTo("55666777000188");
+        JsonNode exportados = objectMapper.readTree(exportacao.toByteArray());
+        assertThat(exportados.findParents("idProduto")).filteredOn(produto -> produto.get("idProduto").asInt() == idCenoura)
+                .singleElement()
+                .extracting(produto -> produto.get("fornecedor").get("idFornecedor").asInt())
+                .isEqualTo(ceasa.getIdFornecedor());
+    }
+
+    @Test
+    @DisplayName("Deve recusar arquivo de formato desconhecido")
+    void deveRecusarFormatoDesconhecido() {
+        // Act & Assert
+        assertThatThrownBy(() -> importar("nome\n", "precos.xlsx", null))
+                .isInstanceOf(RegraNegocioException.class)
+                .hasMessageContaining("Formato de arquivo");
+    }
+
+    private ImportacaoProdutosResponseDTO importar(String conteudo, String nomeArquivo, Integer idFornecedor)
+            throws IOException {
+        InputStream entrada = new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+        return importacaoProdutoService.importar(entrada, nomeArquivo, idFornecedor);
+    }
+}
@@ -0,0 +1,128 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.Estoque;
+import br.unip.ads.pim.meuhortifruti.entity.Fornecedor;
+import br.unip.ads.pim.meuhortifruti.entity.PontoReposicao;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ItemReposicao;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Testes do PontoReposicaoRepository")
+public class PontoReposicaoRepositoryTest {
+
+    @Autowired
+    private PontoReposicaoRepository pontoReposicaoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private FornecedorRepository fornecedorRepository;
+
+    @Autowired
+    private EstoqueRepository estoqueRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Categoria verduras;
+    private Fornecedor ceasa;
+
+    @BeforeEach
+    void setUp() {
+        verduras = categoriaRepository.save(Categoria.builder().nome("Verduras Reposição").build());
+        ceasa = fornecedorRepository.save(Fornecedor.builder()
+                .nome("Ceasa Reposição")
+                .cnpj("11222333000144")
+                .telefone("1133334444")
+                .email("reposicao@ceasa.com.br")
+                .endereco("Av. Dr. Gastão Vidigal, 1946")
+                .produtosFornecidos("Verduras")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Deve listar os produtos com ponto de reposição, com fornecedor e saldo do estoque")
+    void deveListarItensComFornecedorESaldo() {
+        // Arrange
+        Produto alface = salvarProduto("Alface Reposição", ceasa);
+        Produto rucula = salvarProduto("Rúcula Reposição", null);
+        Produto couve = salvarProduto("Couve Reposição", ceasa);
+        Estoque estoqueAlface = estoqueRepository.save(Estoque.builder().produto(alface).quantidadeProdutos(4).build());
+        salvarPonto(alface.getIdProduto(), 5, 30);
+        salvarPonto(rucula.getIdProduto(), 2, 10);
+        // Ponto órfão de um produto que não existe mais
+        salvarPonto(Integer.MAX_VALUE, 1, 5);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<ItemReposicao> itens = pontoReposicaoRepository.listarItens();
+
+        // Assert
+        assertThat(itens)
+                .filteredOn(item -> item.nome().endsWith("Reposição"))
+                .containsExactlyInAnyOrder(
+                        new ItemReposicao(alface.getIdProduto(), "Alface Reposição", ceasa.getIdFornecedor(),
+                                estoqueAlface.getIdEstoque(), 4, 5, 30),
+                        new ItemReposicao(rucula.getIdProduto(), "Rúcula Reposição", null, null, null, 2, 10));
+        assertThat(itens).extracting(ItemReposicao::idProduto)
+                .doesNotContain(couve.getIdProduto(), Integer.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("Deve listar só os itens dos produtos pedidos")
+    void deveListarItensPorProdutos() {
+        // Arrange
+        Produto alface = salvarProduto("Alface Reposição", ceasa);
+        Produto rucula = salvarProduto("Rúcula Reposição", ceasa);
+        salvarPonto(alface.getIdProduto(), 5, 30);
+        salvarPonto(rucula.getIdProduto(), 2, 10);
+        entityManager.flush();
+
+        // Act
+        List<ItemReposicao> itens = pontoReposicaoRepository.listarItensPorProdutos(List.of(rucula.getIdProduto(), -1));
+
+        // Assert
+        assertThat(itens).extracting(ItemReposicao::idProduto).containsExactly(rucula.getIdProduto());
+    }
+
+    private Produto salvarProduto(String nome, Fornecedor fornecedor) {
+        return produtoRepository.save(Produto.builder()
+                .nome(nome)
+                .preco(new BigDecimal("3.50"))
+                .quantidadeEstoque(10)
+                .dataEntrega(LocalDate.now())
+                .categoria(verduras)
+                .fornecedor(fornecedor)
+                .build());
+    }
+
+    private void salvarPonto(Integer idProduto, int ponto, int maximo) {
+        pontoReposicaoRepository.save(PontoReposicao.builder()
+                .idProduto(idProduto)
+                .pontoReposicao(ponto)
+                .estoqueMaximo(maximo)
+                .atualizadoEm(Instant.now())
+                .build());
+    }
+}
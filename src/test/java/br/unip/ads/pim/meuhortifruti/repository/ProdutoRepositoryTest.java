@@ -0,0 +1,111 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.config.ValidadeProperties;
+import br.unip.ads.pim.meuhortifruti.dto.ItemValidadeResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.RelatorioValidadeResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.service.ValidadeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "app.validade.tamanho-lote=4")
+@ActiveProfiles("test")
+@Import({ValidadeService.class, ValidadeProperties.class, ProdutoRepositoryTest.Metricas.class})
+@DisplayName("Testes do ProdutoRepository")
+public class ProdutoRepositoryTest {
+
+    @TestConfiguration
+    static class Metricas {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ValidadeService validadeService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve percorrer em lotes só os produtos com estoque dentro da janela, em ordem FEFO")
+    void devePercorrerProdutosAVencerEmOrdemFefo() {
+        // Arrange
+        Categoria categoria = categoriaRepository.save(Categoria.builder().nome("Verduras").build());
+        LocalDate hoje = LocalDate.now();
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            produtos.add(Produto.builder()
+                    .nome("Produto " + i)
+                    .preco(new BigDecimal("4.00"))
+                    .quantidadeEstoque(i % 5 == 0 ? 0 : 10)
+                    .dataEntrega(hoje.minusDays(20))
+                    .dtValidade(hoje.plusDays(30))
+                    .categoria(categoria)
+                    .build());
+        }
+        produtos.add(Produto.builder()
+                .nome("Sem validade")
+                .preco(new BigDecimal("4.00"))
+                .quantidadeEstoque(10)
+                .dataEntrega(hoje)
+                .categoria(categoria)
+                .build());
+        produtoRepository.saveAll(produtos);
+        entityManager.flush();
+        entityManager.clear();
+        // @Future impede gravar produto já vencido; o UPDATE em massa não passa pela validação.
+        // Um ou dois produtos por dia, de 10 dias atrás a 9 dias à frente
+        for (int i = 0; i < 30; i++) {
+            Produto produto = produtos.get(i);
+            produto.setDtValidade(hoje.plusDays(9 - (i % 20)));
+            entityManager.createQuery("UPDATE Produto p SET p.dtValidade = :data WHERE p.idProduto = :id")
+                    .setParameter("data", produto.getDtValidade())
+                    .setParameter("id", produto.getIdProduto())
+                    .executeUpdate();
+        }
+
+        List<Produto> esperados = produtos.stream()
+                .filter(p -> p.getQuantidadeEstoque() > 0 && p.getDtValidade() != null)
+                .filter(p -> !p.getDtValidade().isBefore(hoje.minusDays(7)))
+                .filter(p -> !p.getDtValidade().isAfter(hoje.plusDays(7)))
+                .sorted(Comparator.comparing(Produto::getDtValidade).thenComparing(Produto::getIdProduto))
+                .toList();
+
+        // Act
+        RelatorioValidadeResponseDTO relatorio = validadeService.processar();
+
+        // Assert
+        assertThat(relatorio.getItens()).extracting(ItemValidadeResponseDTO::getIdProduto)
+                .containsExactlyElementsOf(esperados.stream().map(Produto::getIdProduto).toList());
+        assertThat(relatorio.getLinhasLidas()).isEqualTo(esperados.size());
+        assertThat(relatorio.getTotalRetirar())
+                .isEqualTo(esperados.stream().filter(p -> p.getDtValidade().isBefore(hoje)).count());
+    }
+}
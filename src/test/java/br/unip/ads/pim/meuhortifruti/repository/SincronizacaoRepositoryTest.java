@@ -0,0 +1,167 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.config.SincronizacaoProperties;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSincronizacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.SincronizacaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.service.SincronizacaoService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({SincronizacaoService.class, SincronizacaoProperties.class})
+@DisplayName("Testes do log de sincronização")
+public class SincronizacaoRepositoryTest {
+
+    @Autowired
+    private SincronizacaoService sincronizacaoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Categoria frutas;
+    private long versaoInicial;
+
+    @BeforeEach
+    void setUp() {
+        // Outros testes deixam alterações pendentes no banco compartilhado; numera tudo antes
+        sincronizacaoService.sequenciar();
+        versaoInicial = sincronizacaoService.buscarAlteracoes(null).getVersao();
+        frutas = categoriaRepository.save(Categoria.builder().nome("Frutas Sincronizadas").build());
+    }
+
+    @Test
+    @DisplayName("Deve entregar só o que mudou depois da versão do terminal, com uma linha por produto")
+    void deveEntregarDeltaDesdeAVersao() {
+        // Arrange
+        Produto maca = salvarProduto("Maçã Sync", "5.50");
+        Produto pera = salvarProduto("Pera Sync", "7.00");
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.PRODUTO, maca.getIdProduto());
+        sincronizacaoService.sequenciar();
+        limparContexto();
+        long versaoDoTerminal = sincronizacaoService.buscarAlteracoes(versaoInicial).getVersao();
+
+        maca.setPreco(new BigDecimal("6.00"));
+        produtoRepository.save(maca);
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.PRODUTO, maca.getIdProduto());
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.PRODUTO, maca.getIdProduto());
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.PRODUTO, pera.getIdProduto());
+
+        // Act
+        int numeradas = sincronizacaoService.sequenciar();
+        limparContexto();
+        SincronizacaoResponseDTO resposta = sincronizacaoService.buscarAlteracoes(versaoDoTerminal);
+
+        // Assert
+        assertThat(versaoDoTerminal).isGreaterThan(versaoInicial);
+        assertThat(numeradas).isEqualTo(3);
+        assertThat(resposta.isRessincronizar()).isFalse();
+        assertThat(resposta.isTemMais()).isFalse();
+        assertThat(resposta.getVersao()).isEqualTo(versaoDoTerminal + 3);
+        assertThat(resposta.getProdutos()).extracting(ProdutoSincronizacaoDTO::getIdProduto)
+                .containsExactlyInAnyOrder(maca.getIdProduto(), pera.getIdProduto());
+        assertThat(resposta.getProdutos()).filteredOn(produto -> produto.getIdProduto().equals(maca.getIdProduto()))
+                .singleElement()
+                .satisfies(produto -> {
+                    assertThat(produto.getPreco()).isEqualByComparingTo("6.00");
+                    assertThat(produto.getIdCategoria()).isEqualTo(frutas.getIdCategoria());
+                });
+        assertThat(sincronizacaoService.buscarAlteracoes(resposta.getVersao()).getProdutos()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve devolver exclusão para o produto excluído e para o que sumiu sem registro")
+    void deveDevolverExclusoes() {
+        // Arrange
+        Produto maca = salvarProduto("Maçã Excluída", "5.50");
+        Produto pera = salvarProduto("Pera Sumida", "7.00");
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.PRODUTO, pera.getIdProduto());
+        produtoRepository.delete(maca);
+        produtoRepository.delete(pera);
+        sincronizacaoService.registrarExclusao(SincronizacaoService.PRODUTO, maca.getIdProduto());
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.CATEGORIA, frutas.getIdCategoria());
+
+        // Act
+        sincronizacaoService.sequenciar();
+        limparContexto();
+        SincronizacaoResponseDTO resposta = sincronizacaoService.buscarAlteracoes(versaoInicial);
+
+        // Assert
+        assertThat(resposta.getProdutos()).isEmpty();
+        assertThat(resposta.getExcluidos().getProdutos())
+                .containsExactlyInAnyOrder(maca.getIdProduto(), pera.getIdProduto());
+        assertThat(resposta.getCategorias()).singleElement()
+                .satisfies(categoria -> assertThat(categoria.getNome()).isEqualTo("Frutas Sincronizadas"));
+        assertThat(resposta.getExcluidos().getCategorias()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve avançar a versão do terminal sem entregar a alteração de ponto de reposição")
+    void naoDeveEntregarPontoDeReposicaoAoTerminal() {
+        // Arrange
+        Produto maca = salvarProduto("Maçã Reposição", "5.50");
+        sincronizacaoService.registrarAlteracao(SincronizacaoService.PONTO_REPOSICAO, maca.getIdProduto());
+
+        // Act
+        sincronizacaoService.sequenciar();
+        limparContexto();
+        SincronizacaoResponseDTO resposta = sincronizacaoService.buscarAlteracoes(versaoInicial);
+
+        // Assert
+        assertThat(resposta.getVersao()).isEqualTo(versaoInicial + 1);
+        assertThat(resposta.getProdutos()).isEmpty();
+        assertThat(resposta.getExcluidos().getProdutos()).isEmpty();
+        assertThat(sincronizacaoService.buscarRecursosAlterados(SincronizacaoService.PONTO_REPOSICAO,
+                versaoInicial, resposta.getVersao())).containsExactly(maca.getIdProduto());
+        assertThat(sincronizacaoService.buscarRecursosAlterados(SincronizacaoService.PONTO_REPOSICAO,
+                resposta.getVersao(), resposta.getVersao())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve pedir ressincronização para versão que o servidor ainda não entregou")
+    void devePedirRessincronizacaoParaVersaoFutura() {
+        // Act
+        SincronizacaoResponseDTO resposta = sincronizacaoService.buscarAlteracoes(versaoInicial + 1_000);
+
+        // Assert
+        assertThat(resposta.isRessincronizar()).isTrue();
+        assertThat(resposta.getVersao()).isEqualTo(versaoInicial);
+    }
+
+    // O sequenciador numera com um UPDATE em lote, que não passa pelas entidades já carregadas
+    private void limparContexto() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Produto salvarProduto(String nome, String preco) {
+        Produto produto = produtoRepository.save(Produto.builder()
+                .nome(nome)
+                .preco(new BigDecimal(preco))
+                .quantidadeEstoque(10)
+                .dataEntrega(LocalDate.now())
+                .categoria(frutas)
+                .build());
+        entityManager.flush();
+        return produto;
+    }
+}
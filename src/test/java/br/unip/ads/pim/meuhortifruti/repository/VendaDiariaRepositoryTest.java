@@ -0,0 +1,162 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.dto.VendaCategoriaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VendaDiariaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VendaProdutoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.ItemCompra;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.service.EstatisticaVendasService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(EstatisticaVendasService.class)
+@DisplayName("Testes dos acumulados de vendas")
+public class VendaDiariaRepositoryTest {
+
+    @Autowired
+    private EstatisticaVendasService estatisticaVendasService;
+
+    @Autowired
+    private VendaDiariaRepository vendaDiariaRepository;
+
+    @Autowired
+    private VendaDiariaCategoriaRepository vendaDiariaCategoriaRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Produto tomate;
+    private Produto alface;
+    private Produto maca;
+
+    @BeforeEach
+    void setUp() {
+        Categoria verduras = categoriaRepository.save(Categoria.builder().nome("Verduras").build());
+        Categoria frutas = categoriaRepository.save(Categoria.builder().nome("Frutas").build());
+        tomate = salvarProduto("Tomate", verduras);
+        alface = salvarProduto("Alface", verduras);
+        maca = salvarProduto("Maçã", frutas);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Deve acumular vendas de compras diferentes nas mesmas linhas do dia")
+    void deveAcumularVendasNoMesmoDia() {
+        // Arrange
+        LocalDate hoje = LocalDate.now();
+
+        // Act
+        estatisticaVendasService.registrarVenda(1, hoje, List.of(item(tomate, "5.00", 2), item(maca, "8.00", 1)));
+        estatisticaVendasService.registrarVenda(2, hoje, List.of(item(tomate, "5.00", 3), item(alface, "3.00", 1)));
+        estatisticaVendasService.registrarVenda(9, hoje, List.of(item(maca, "8.00", 2)));
+        entityManager.clear();
+
+        // Assert
+        List<VendaDiariaResponseDTO> dias = estatisticaVendasService.listarPorDia(hoje, hoje);
+        assertThat(dias).hasSize(1);
+        assertThat(dias.get(0).getQuantidadeCompras()).isEqualTo(3);
+        assertThat(dias.get(0).getUnidades()).isEqualTo(9);
+        assertThat(dias.get(0).getReceita()).isEqualByComparingTo("52.00");
+        // compras 1 e 9 caem na mesma faixa, então somam nas mesmas linhas
+        assertThat(vendaDiariaRepository.count()).isEqualTo(2);
+
+        List<VendaProdutoResponseDTO> produtos = estatisticaVendasService.listarPorProduto(hoje, hoje, 10);
+        assertThat(produtos).extracting(VendaProdutoResponseDTO::getNome).containsExactly("Tomate", "Maçã", "Alface");
+        assertThat(produtos).extracting(VendaProdutoResponseDTO::getUnidades).containsExactly(5L, 3L, 1L);
+        assertThat(produtos.get(0).getReceita()).isEqualByComparingTo("25.00");
+
+        List<VendaCategoriaResponseDTO> categorias = estatisticaVendasService.listarPorCategoria(hoje, hoje);
+        assertThat(categorias).extracting(VendaCategoriaResponseDTO::getNome).containsExactly("Verduras", "Frutas");
+        assertThat(categorias).extracting(VendaCategoriaResponseDTO::getUnidades).containsExactly(6L, 3L);
+        assertThat(categorias.get(1).getReceita()).isEqualByComparingTo("24.00");
+        assertThat(vendaDiariaCategoriaRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve descontar dos acumulados a venda estornada")
+    void deveDescontarVendaEstornada() {
+        // Arrange
+        LocalDate hoje = LocalDate.now();
+        List<ItemCompra> cancelada = List.of(item(alface, "3.00", 4));
+        estatisticaVendasService.registrarVenda(1, hoje, List.of(item(tomate, "5.00", 2)));
+        estatisticaVendasService.registrarVenda(2, hoje, cancelada);
+
+        // Act
+        estatisticaVendasService.estornarVenda(2, hoje, cancelada);
+        entityManager.clear();
+
+        // Assert
+        VendaDiariaResponseDTO dia = estatisticaVendasService.listarPorDia(hoje, hoje).get(0);
+        assertThat(dia.getQuantidadeCompras()).isEqualTo(1);
+        assertThat(dia.getUnidades()).isEqualTo(2);
+        assertThat(dia.getReceita()).isEqualByComparingTo("10.00");
+        assertThat(estatisticaVendasService.listarPorProduto(hoje, hoje, 10))
+                .filteredOn(produto -> produto.getIdProduto().equals(alface.getIdProduto()))
+                .singleElement()
+                .satisfies(produto -> assertThat(produto.getUnidades()).isZero());
+        assertThat(estatisticaVendasService.listarPorDia(hoje.minusDays(10), hoje.minusDays(1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve descontar a venda estornada do dia em que ela foi aprovada")
+    void deveEstornarNoDiaDaAprovacao() {
+        // Arrange
+        LocalDate hoje = LocalDate.now();
+        LocalDate ontem = hoje.minusDays(1);
+        List<ItemCompra> cancelada = List.of(item(alface, "3.00", 4));
+        estatisticaVendasService.registrarVenda(1, ontem, List.of(item(tomate, "5.00", 2)));
+        estatisticaVendasService.registrarVenda(2, ontem, cancelada);
+
+        // Act
+        estatisticaVendasService.estornarVenda(2, ontem, cancelada);
+        entityManager.clear();
+
+        // Assert
+        List<VendaDiariaResponseDTO> dias = estatisticaVendasService.listarPorDia(ontem, hoje);
+        assertThat(dias).singleElement().satisfies(dia -> {
+            assertThat(dia.getDia()).isEqualTo(ontem);
+            assertThat(dia.getQuantidadeCompras()).isEqualTo(1);
+            assertThat(dia.getUnidades()).isEqualTo(2);
+            assertThat(dia.getReceita()).isEqualByComparingTo("10.00");
+        });
+    }
+
+    private Produto salvarProduto(String nome, Categoria categoria) {
+        return produtoRepository.save(Produto.builder()
+                .nome(nome)
+                .preco(new BigDecimal("1.00"))
+                .quantidadeEstoque(100)
+                .dataEntrega(LocalDate.now())
+                .categoria(categoria)
+                .build());
+    }
+
+    private ItemCompra item(Produto produto, String preco, int quantidade) {
+        return ItemCompra.builder()
+                .produto(produto)
+                .preco(new BigDecimal(preco))
+                .quantidade(quantidade)
+                .build();
+    }
+}
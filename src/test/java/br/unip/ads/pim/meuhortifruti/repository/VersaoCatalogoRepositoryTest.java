@@ -0,0 +1,162 @@
+package br.unip.ads.pim.meuhortifruti.repository;
+
+import br.unip.ads.pim.meuhortifruti.config.ApplicationConfig;
+import br.unip.ads.pim.meuhortifruti.config.SincronizacaoProperties;
+import br.unip.ads.pim.meuhortifruti.controller.ProdutoController;
+import br.unip.ads.pim.meuhortifruti.dto.FornecedorRequestDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.Fornecedor;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.service.FornecedorService;
+import br.unip.ads.pim.meuhortifruti.service.IndiceAutocompletarProdutos;
+import br.unip.ads.pim.meuhortifruti.service.ProdutoService;
+import br.unip.ads.pim.meuhortifruti.service.SincronizacaoService;
+import br.unip.ads.pim.meuhortifruti.service.VersaoCatalogoService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({VersaoCatalogoService.class, ProdutoService.class, FornecedorService.class, IndiceAutocompletarProdutos.class,
+        SincronizacaoService.class, SincronizacaoProperties.class, ApplicationConfig.class})
+@DisplayName("Testes das versões do catálogo")
+public class VersaoCatalogoRepositoryTest {
+
+    @Autowired
+    private VersaoCatalogoService versaoCatalogoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private FornecedorRepository fornecedorRepository;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private FornecedorService fornecedorService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve criar a versão da coleção na primeira escrita e incrementá-la nas seguintes")
+    void deveIncrementarVersaoDaColecao() {
+        // Arrange
+        String antes = versaoCatalogoService.buscarVersao(VersaoCatalogoService.PRODUTOS).getEtag();
+
+        // Act
+        versaoCatalogoService.registrarAlteracao(VersaoCatalogoService.PRODUTOS);
+        versaoCatalogoService.registrarAlteracao(VersaoCatalogoService.CATEGORIAS, VersaoCatalogoService.PRODUTOS);
+        entityManager.clear();
+
+        // Assert
+        assertThat(antes).isEqualTo("produtos-0");
+        assertThat(versaoCatalogoService.buscarVersao(VersaoCatalogoService.PRODUTOS).getEtag()).isEqualTo("produtos-2");
+        assertThat(versaoCatalogoService.buscarVersao(VersaoCatalogoService.CATEGORIAS).getEtag()).isEqualTo("categorias-1");
+        assertThat(versaoCatalogoService.buscarVersao(VersaoCatalogoService.PRODUTOS).getUltimaAlteracao()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve avançar o updated_at do produto a cada alteração")
+    void deveAtualizarUltimaAlteracaoDoProduto() throws InterruptedException {
+        // Arrange
+        Categoria frutas = categoriaRepository.save(Categoria.builder().nome("Frutas").build());
+        Produto maca = produtoRepository.save(Produto.builder()
+                .nome("Maçã")
+                .preco(new BigDecimal("5.50"))
+                .quantidadeEstoque(100)
+                .dataEntrega(LocalDate.now())
+                .categoria(frutas)
+                .build());
+        entityManager.flush();
+        Instant criado = produtoRepository.buscarUltimaAlteracao(maca.getIdProduto()).orElseThrow();
+        Thread.sleep(5);
+
+        // Act
+        maca.setPreco(new BigDecimal("6.00"));
+        entityManager.flush();
+        Instant alterado = produtoRepository.buscarUltimaAlteracao(maca.getIdProduto()).orElseThrow();
+
+        // Assert
+        assertThat(alterado).isAfter(criado);
+        assertThat(categoriaRepository.buscarUltimaAlteracao(frutas.getIdCategoria())).isPresent();
+        assertThat(produtoRepository.buscarUltimaAlteracao(-1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve responder 200 ao GET condicional do produto depois de alterar o fornecedor dele")
+    void deveMudarVersaoDoProdutoAoAlterarFornecedor() throws Exception {
+        // Arrange
+        Categoria frutas = categoriaRepository.save(Categoria.builder().nome("Frutas").build());
+        Fornecedor ceasa = fornecedorRepository.save(Fornecedor.builder()
+                .nome("Ceasa")
+                .cnpj("55666777000188")
+                .telefone("1144445555")
+                .email("contato@ceasa.com.br")
+                .endereco("Av. Dr. Gastão Vidigal, 1946")
+                .produtosFornecidos("Frutas")
+                .build());
+        Produto maca = produtoRepository.save(Produto.builder()
+                .nome("Maçã")
+                .preco(new BigDecimal("5.50"))
+                .quantidadeEstoque(100)
+                .dataEntrega(LocalDate.now())
+                .categoria(frutas)
+                .fornecedor(ceasa)
+                .build());
+        entityManager.flush();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(
+                new ProdutoController(produtoService, versaoCatalogoService, null)).build();
+        String etagItem = mockMvc.perform(get("/v1/produtos/{id}", maca.getIdProduto()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String etagLista = mockMvc.perform(get("/v1/produtos"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/v1/produtos/{id}", maca.getIdProduto()).header(HttpHeaders.IF_NONE_MATCH, etagItem))
+                .andExpect(status().isNotModified());
+        Thread.sleep(5);
+
+        // Act
+        fornecedorService.atualizar(ceasa.getIdFornecedor(), FornecedorRequestDTO.builder()
+                .nome("Ceasa Campinas")
+                .cnpj("55666777000188")
+                .telefone("1144445555")
+                .email("contato@ceasa.com.br")
+                .endereco("Rod. Dom Pedro I, Km 140")
+                .produtosFornecidos("Frutas")
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        mockMvc.perform(get("/v1/produtos/{id}", maca.getIdProduto()).header(HttpHeaders.IF_NONE_MATCH, etagItem))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fornecedor.nome").value("Ceasa Campinas"));
+        mockMvc.perform(get("/v1/produtos").header(HttpHeaders.IF_NONE_MATCH, etagLista))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].fornecedor.nome").value("Ceasa Campinas"));
+    }
+}
@@ -0,0 +1,173 @@
+package br.unip.ads.pim.meuhortifruti.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Usa um {@link HttpServer} local no lugar do endpoint de certificados do Keycloak.
+ */
+@DisplayName("Testes do JwksCache")
+public class JwksCacheTest {
+
+    private static final String ISSUER = "http://localhost:8180/realms/hortifruti-realm";
+
+    private HttpServer servidor;
+    private final AtomicReference<String> respostaJwks = new AtomicReference<>();
+    private final AtomicInteger statusJwks = new AtomicInteger(200);
+    private final AtomicInteger requisicoesJwks = new AtomicInteger();
+
+    private RSAKey chave1;
+    private RSAKey chave2;
+    private JwksCache jwksCache;
+    private JwtDecoder jwtDecoder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        chave1 = new RSAKeyGenerator(2048).keyID("chave-1").generate();
+        chave2 = new RSAKeyGenerator(2048).keyID("chave-2").generate();
+        respostaJwks.set(new JWKSet(chave1.toPublicJWK()).toString());
+
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/certs", troca -> {
+            requisicoesJwks.incrementAndGet();
+            byte[] corpo = respostaJwks.get().getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().add("Content-Type", "application/json");
+            troca.sendResponseHeaders(statusJwks.get(), corpo.length);
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(corpo);
+            }
+        });
+        servidor.start();
+
+        URI uri = URI.create("http://localhost:" + servidor.getAddress().getPort() + "/certs");
+        jwksCache = new JwksCache(uri.toURL(), Duration.ofHours(1), Duration.ZERO);
+        jwksCache.afterPropertiesSet();
+        jwtDecoder = SecurityConfig.criarJwtDecoder(jwksCache, ISSUER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jwksCache.destroy();
+        servidor.stop(0);
+    }
+
+    @Test
+    @DisplayName("Deve validar tokens sem consultar o JWKS a cada requisição")
+    void deveValidarSemConsultarJwks() throws Exception {
+        // Arrange
+        String token = assinar(chave1);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            jwtDecoder.decode(token);
+        }
+
+        // Assert
+        assertThat(requisicoesJwks.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve continuar validando com o último conjunto quando o Keycloak cair")
+    void deveValidarComServidorFora() throws Exception {
+        // Arrange
+        String token = assinar(chave1);
+        servidor.stop(0);
+
+        // Act
+        jwksCache.atualizar();
+        Jwt jwt = jwtDecoder.decode(token);
+
+        // Assert
+        assertThat(jwt.getSubject()).isEqualTo("usuario-1");
+        assertThat(jwksCache.getConjunto().getKeyByKeyId("chave-1")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve manter o último conjunto quando o JWKS responder com erro")
+    void deveManterConjuntoEmErro() throws Exception {
+        // Arrange
+        statusJwks.set(500);
+        respostaJwks.set("erro");
+
+        // Act
+        jwksCache.atualizar();
+
+        // Assert
+        assertThat(requisicoesJwks.get()).isEqualTo(2);
+        assertThat(jwtDecoder.decode(assinar(chave1)).getSubject()).isEqualTo("usuario-1");
+    }
+
+    @Test
+    @DisplayName("Deve recarregar em segundo plano ao receber kid desconhecido")
+    void deveRecarregarComKidDesconhecido() throws Exception {
+        // Arrange
+        respostaJwks.set(new JWKSet(List.of(chave1.toPublicJWK(), chave2.toPublicJWK())).toString());
+        String token = assinar(chave2);
+
+        // Act / Assert
+        assertThatThrownBy(() -> jwtDecoder.decode(token)).isInstanceOf(BadJwtException.class);
+
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (jwksCache.getConjunto().getKeyByKeyId("chave-2") == null && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertThat(jwtDecoder.decode(token).getSubject()).isEqualTo("usuario-1");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token de outro issuer")
+    void deveRejeitarIssuerDiferente() throws Exception {
+        // Arrange
+        String token = assinar(chave1, "http://outro-issuer");
+
+        // Act / Assert
+        assertThatThrownBy(() -> jwtDecoder.decode(token)).isInstanceOf(BadJwtException.class);
+    }
+
+    private String assinar(RSAKey chave) throws JOSEException {
+        return assinar(chave, ISSUER);
+    }
+
+    private String assinar(RSAKey chave, String issuer) throws JOSEException {
+        Instant agora = Instant.now();
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(chave.getKeyID()).build(),
+                new JWTClaimsSet.Builder()
+                        .issuer(issuer)
+                        .subject("usuario-1")
+                        .issueTime(Date.from(agora))
+                        .expirationTime(Date.from(agora.plusSeconds(300)))
+                        .build());
+        jwt.sign(new RSASSASigner(chave));
+        return jwt.serialize();
+    }
+}
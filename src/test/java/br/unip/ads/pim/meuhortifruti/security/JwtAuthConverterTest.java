@@ -0,0 +1,124 @@
+package br.unip.ads.pim.meuhortifruti.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Testes do JwtAuthConverter")
+public class JwtAuthConverterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtAuthConverter jwtAuthConverter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtAuthConverter = new JwtAuthConverter(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Deve extrair roles do client e scopes do token")
+    void deveExtrairAutoridades() {
+        // Arrange
+        Jwt jwt = token("jti-1", Instant.now().plusSeconds(300));
+
+        // Act
+        AbstractAuthenticationToken autenticacao = jwtAuthConverter.convert(jwt);
+
+        // Assert
+        assertThat(autenticacao.getName()).isEqualTo("usuario-1");
+        assertThat(autenticacao.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("SCOPE_openid", "SCOPE_profile", "ROLE_ADMIN", "ROLE_CLIENTE");
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar as authorities do mesmo token")
+    void deveReutilizarAutoridadesDoMesmoToken() {
+        // Arrange
+        Jwt jwt = token("jti-1", Instant.now().plusSeconds(300));
+
+        // Act
+        AbstractAuthenticationToken primeira = jwtAuthConverter.convert(jwt);
+        AbstractAuthenticationToken segunda = jwtAuthConverter.convert(jwt);
+
+        // Assert
+        assertThat(segunda.getAuthorities()).containsExactlyInAnyOrderElementsOf(primeira.getAuthorities());
+        assertThat(jwtAuthConverter.getCacheAutoridades().stats().hitCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets")
+                .tag("cache", JwtAuthConverter.NOME_CACHE)
+                .tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve separar tokens com jti diferentes")
+    void deveSepararTokensDiferentes() {
+        // Arrange
+        Instant expiraEm = Instant.now().plusSeconds(300);
+
+        // Act
+        jwtAuthConverter.convert(token("jti-1", expiraEm));
+        jwtAuthConverter.convert(token("jti-2", expiraEm));
+
+        // Assert
+        assertThat(jwtAuthConverter.getCacheAutoridades().stats().missCount()).isEqualTo(2);
+        assertThat(jwtAuthConverter.getCacheAutoridades().estimatedSize()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Não deve manter em cache token já expirado")
+    void naoDeveManterTokenExpirado() {
+        // Arrange
+        Jwt jwt = token("jti-1", Instant.now().minusSeconds(1));
+
+        // Act
+        AbstractAuthenticationToken autenticacao = jwtAuthConverter.convert(jwt);
+        jwtAuthConverter.getCacheAutoridades().cleanUp();
+
+        // Assert
+        assertThat(autenticacao.getAuthorities()).isNotEmpty();
+        assertThat(jwtAuthConverter.getCacheAutoridades().getIfPresent("jti-1|" + jwt.getExpiresAt().getEpochSecond()))
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("Não deve usar cache para token sem exp")
+    void naoDeveUsarCacheSemExpiracao() {
+        // Arrange
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("usuario-1")
+                .claim("scope", "openid")
+                .build();
+
+        // Act
+        jwtAuthConverter.convert(jwt);
+
+        // Assert
+        assertThat(jwtAuthConverter.getCacheAutoridades().stats().requestCount()).isZero();
+    }
+
+    private Jwt token(String jti, Instant expiraEm) {
+        return Jwt.withTokenValue("token-" + jti)
+                .header("alg", "RS256")
+                .jti(jti)
+                .subject("usuario-1")
+                .issuedAt(expiraEm.minusSeconds(300))
+                .expiresAt(expiraEm)
+                .claim("scope", "openid profile")
+                .claim("resource_access", Map.of(
+                        "hortifruti-backend", Map.of("roles", List.of("ADMIN", "CLIENTE"))))
+                .build();
+    }
+}
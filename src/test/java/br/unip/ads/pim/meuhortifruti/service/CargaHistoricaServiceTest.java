@@ -0,0 +1,245 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.CargaHistoricaProperties;
+import br.unip.ads.pim.meuhortifruti.dto.CargaHistoricaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.CargaHistorica;
+import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import br.unip.ads.pim.meuhortifruti.repository.CargaHistoricaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CargaHistoricaService")
+public class CargaHistoricaServiceTest {
+
+    @Mock
+    private CargaHistoricaRepository cargaHistoricaRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection conexao;
+
+    @Mock
+    private DatabaseMetaData metadados;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CargaHistoricaService cargaHistoricaService;
+
+    @BeforeEach
+    void setUp() {
+        CargaHistoricaProperties propriedades = new CargaHistoricaProperties();
+        propriedades.setAbandono(Duration.ofMinutes(5));
+        cargaHistoricaService = new CargaHistoricaService(cargaHistoricaRepository, jdbcTemplate, dataSource,
+                propriedades, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cargaHistoricaService.destroy();
+    }
+
+    @Test
+    @DisplayName("Deve criar a carga com uma tabela de preparação por arquivo")
+    void deveCriarCargaComTabelasDePreparacao() throws SQLException {
+        // Arrange
+        banco("PostgreSQL");
+        when(cargaHistoricaRepository.save(any(CargaHistorica.class))).thenAnswer(invocacao -> {
+            CargaHistorica carga = invocacao.getArgument(0);
+            carga.setIdCarga(7L);
+            return carga;
+        });
+        ArgumentCaptor<String> comandos = ArgumentCaptor.forClass(String.class);
+
+        // Act
+        CargaHistoricaResponseDTO resultado = cargaHistoricaService.criar();
+
+        // Assert
+        assertThat(resultado.getIdCarga()).isEqualTo(7L);
+        assertThat(resultado.getStatus()).isEqualTo(CargaHistorica.RECEBENDO);
+        verify(jdbcTemplate, times(3)).execute(comandos.capture());
+        assertThat(comandos.getAllValues()).extracting(comando -> comando.substring(0, comando.indexOf(" (")))
+                .containsExactly("CREATE TABLE carga_historica_7_compra", "CREATE TABLE carga_historica_7_item",
+                        "CREATE TABLE carga_historica_7_pagamento");
+    }
+
+    @Test
+    @DisplayName("Deve recusar a carga quando o banco não for PostgreSQL")
+    void deveRecusarCargaForaDoPostgres() throws SQLException {
+        // Arrange
+        banco("H2");
+
+        // Act & Assert
+        assertThatThrownBy(() -> cargaHistoricaService.criar())
+                .isInstanceOf(RegraNegocioException.class)
+                .hasMessageContaining("PostgreSQL");
+        verify(cargaHistoricaRepository, never()).save(any());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve recusar arquivo novo depois que a carga começou a mesclar compras")
+    void deveRecusarArquivoDepoisDeMesclar() throws SQLException {
+        // Arrange
+        banco("PostgreSQL");
+        CargaHistorica carga = carga(CargaHistorica.FALHOU, Instant.now());
+        carga.setUltimoIdExterno(5000L);
+        when(cargaHistoricaRepository.travar(1L)).thenReturn(Optional.of(carga));
+
+        // Act & Assert
+        assertThatThrownBy(() -> cargaHistoricaService.receber(1L, CargaHistoricaService.Arquivo.ITENS,
+                new ByteArrayInputStream(new byte[0])))
+                .isInstanceOf(RegraNegocioException.class)
+                .hasMessageContaining("já teve compras mescladas");
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve recusar nova mesclagem enquanto a anterior estiver avançando")
+    void deveRecusarMesclagemEmAndamento() throws SQLException {
+        // Arrange
+        banco("PostgreSQL");
+        CargaHistorica carga = carga(CargaHistorica.MESCLANDO, Instant.now().minusSeconds(30));
+        when(cargaHistoricaRepository.travar(1L)).thenReturn(Optional.of(carga));
+
+        // Act & Assert
+        assertThatThrownBy(() -> cargaHistoricaService.mesclar(1L))
+                .isInstanceOf(RegraNegocioException.class)
+                .hasMessageContaining("já está em mesclagem");
+        assertThat(carga.getStatus()).isEqualTo(CargaHistorica.MESCLANDO);
+    }
+
+    @Test
+    @DisplayName("Deve recusar a mesclagem antes do arquivo de compras")
+    void deveRecusarMesclagemSemCompras() throws SQLException {
+        // Arrange
+        banco("PostgreSQL");
+        CargaHistorica carga = carga(CargaHistorica.RECEBENDO, Instant.now());
+        carga.setComprasRecebidas(0);
+        when(cargaHistoricaRepository.travar(1L)).thenReturn(Optional.of(carga));
+
+        // Act & Assert
+        assertThatThrownBy(() -> cargaHistoricaService.mesclar(1L))
+                .isInstanceOf(RegraNegocioException.class)
+                .hasMessageContaining("arquivo de compras");
+        assertThat(carga.getStatus()).isEqualTo(CargaHistorica.RECEBENDO);
+    }
+
+    @Test
+    @DisplayName("Deve parar sem inserir quando outra execução já avançou o cursor da carga")
+    void devePararQuandoOutraExecucaoAvancouCursor() {
+        // Arrange
+        CargaHistorica retomada = carga(CargaHistorica.MESCLANDO, Instant.now());
+        retomada.setUltimoIdExterno(5000L);
+        CargaHistorica avancada = carga(CargaHistorica.MESCLANDO, Instant.now());
+        avancada.setUltimoIdExterno(6000L);
+        when(cargaHistoricaRepository.findById(1L)).thenReturn(Optional.of(retomada));
+        when(cargaHistoricaRepository.travar(1L)).thenReturn(Optional.of(avancada));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), anyString())).thenReturn(50);
+
+        // Act
+        cargaHistoricaService.executarMesclagem(1L);
+
+        // Assert
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        assertThat(avancada.getStatus()).isEqualTo(CargaHistorica.MESCLANDO);
+        assertThat(avancada.getUltimoIdExterno()).isEqualTo(6000L);
+        assertThat(avancada.getErro()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve parar sem inserir quando a carga saiu de mesclagem")
+    void devePararQuandoCargaSaiuDeMesclagem() {
+        // Arrange
+        CargaHistorica carga = carga(CargaHistorica.MESCLANDO, Instant.now());
+        carga.setUltimoIdExterno(5000L);
+        CargaHistorica concluida = carga(CargaHistorica.CONCLUIDA, Instant.now());
+        concluida.setUltimoIdExterno(5000L);
+        when(cargaHistoricaRepository.findById(1L)).thenReturn(Optional.of(carga));
+        when(cargaHistoricaRepository.travar(1L)).thenReturn(Optional.of(concluida));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), anyString())).thenReturn(50);
+
+        // Act
+        cargaHistoricaService.executarMesclagem(1L);
+
+        // Assert
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        assertThat(concluida.getStatus()).isEqualTo(CargaHistorica.CONCLUIDA);
+        assertThat(carga.getStatus()).isEqualTo(CargaHistorica.MESCLANDO);
+    }
+
+    @Test
+    @DisplayName("Deve informar o andamento da carga em porcentagem das compras")
+    void deveInformarAndamento() {
+        // Arrange
+        CargaHistorica carga = carga(CargaHistorica.MESCLANDO, Instant.now());
+        carga.setComprasRecebidas(300);
+        carga.setComprasMescladas(100);
+        when(cargaHistoricaRepository.findById(1L)).thenReturn(Optional.of(carga));
+
+        // Act
+        CargaHistoricaResponseDTO resultado = cargaHistoricaService.buscarPorId(1L);
+
+        // Assert
+        assertThat(resultado.getProgresso()).isEqualTo(33.3);
+        assertThat(resultado.getComprasMescladas()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao buscar carga inexistente")
+    void deveLancarExcecaoCargaInexistente() {
+        // Arrange
+        when(cargaHistoricaRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> cargaHistoricaService.buscarPorId(99L))
+                .isInstanceOf(RecursoNaoEncontradoException.class);
+    }
+
+    private void banco(String nome) throws SQLException {
+        when(dataSource.getConnection()).thenReturn(conexao);
+        when(conexao.getMetaData()).thenReturn(metadados);
+        when(metadados.getDatabaseProductName()).thenReturn(nome);
+    }
+
+    private CargaHistorica carga(String status, Instant atualizadoEm) {
+        return CargaHistorica.builder()
+                .idCarga(1L)
+                .status(status)
+                .comprasRecebidas(10)
+                .criadoEm(atualizadoEm)
+                .atualizadoEm(atualizadoEm)
+                .build();
+    }
+}
@@ -0,0 +1,250 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.CacheConfig;
+import br.unip.ads.pim.meuhortifruti.dto.CategoriaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.FornecedorRequestDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoRequestDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.Fornecedor;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.repository.CategoriaRepository;
+import br.unip.ads.pim.meuhortifruti.repository.FornecedorRepository;
+import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoResumo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(CatalogoCacheTest.Config.class)
+@DisplayName("Testes do cache do catálogo")
+public class CatalogoCacheTest {
+
+    @Configuration
+    @Import({CacheConfig.class, ProdutoService.class, CategoriaService.class, FornecedorService.class})
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+                    CacheConfig.PRODUTOS, CacheConfig.PRODUTOS_LISTA,
+                    CacheConfig.CATEGORIAS, CacheConfig.CATEGORIAS_LISTA);
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100).recordStats());
+            return cacheManager;
+        }
+
+        @Bean
+        ProdutoRepository produtoRepository() {
+            return mock(ProdutoRepository.class);
+        }
+
+        @Bean
+        IndiceAutocompletarProdutos indiceAutocompletarProdutos() {
+            return mock(IndiceAutocompletarProdutos.class);
+        }
+
+        @Bean
+        VersaoCatalogoService versaoCatalogoService() {
+            return mock(VersaoCatalogoService.class);
+        }
+
+        @Bean
+        SincronizacaoService sincronizacaoService() {
+            return mock(SincronizacaoService.class);
+        }
+
+        @Bean
+        CategoriaRepository categoriaRepository() {
+            return mock(CategoriaRepository.class);
+        }
+
+        @Bean
+        FornecedorRepository fornecedorRepository() {
+            return mock(FornecedorRepository.class);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        EntityManager entityManager() {
+            return mock(EntityManager.class);
+        }
+    }
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private FornecedorService fornecedorService;
+
+    @Autowired
+    private FornecedorRepository fornecedorRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        reset(produtoRepository, categoriaRepository, fornecedorRepository);
+        cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+
+        produto = Produto.builder()
+                .idProduto(1)
+                .nome("Maçã")
+                .preco(new BigDecimal("5.50"))
+                .quantidadeEstoque(100)
+                .dataEntrega(LocalDate.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve servir buscas repetidas de produto na mesma versão a partir do cache")
+    void deveServirBuscasRepetidasDoCache() {
+        when(produtoRepository.findById(1)).thenReturn(Optional.of(produto));
+
+        produtoService.buscarPorId(1, "produtos-1-1");
+        produtoService.buscarPorId(1, "produtos-1-1");
+        produtoService.buscarPorId(1, "produtos-1-1");
+
+        verify(produtoRepository, times(1)).findById(1);
+    }
+
+    @Test
+    @DisplayName("Deve ler de novo o produto quando a versão muda depois de atualizar")
+    void deveLerProdutoDeNovoNaVersaoNova() {
+        when(produtoRepository.findById(1)).thenReturn(Optional.of(produto));
+        when(produtoRepository.findByNome("Maçã Gala")).thenReturn(Optional.empty());
+        when(produtoRepository.save(any(Produto.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        produtoService.buscarPorId(1, "produtos-1-1");
+
+        produtoService.atualizar(1, ProdutoRequestDTO.builder()
+                .nome("Maçã Gala")
+                .preco(new BigDecimal("6.00"))
+                .quantidadeEstoque(80)
+                .dataEntrega(LocalDate.now())
+                .build());
+
+        assertThat(produtoService.buscarPorId(1, "produtos-1-2").getNome()).isEqualTo("Maçã Gala");
+        verify(produtoRepository, times(3)).findById(1);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar no cache o produto buscado sem versão")
+    void naoDeveGuardarProdutoSemVersao() {
+        when(produtoRepository.findById(1)).thenReturn(Optional.of(produto));
+
+        produtoService.buscarPorId(1, null);
+        produtoService.buscarPorId(1, null);
+
+        verify(produtoRepository, times(2)).findById(1);
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTOS).get("1:null")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve invalidar a listagem ao excluir produto")
+    void deveInvalidarCacheAoExcluirProduto() {
+        when(produtoRepository.findById(1)).thenReturn(Optional.of(produto));
+        when(produtoRepository.listarResumos()).thenReturn(List.of(resumo(produto)));
+        produtoService.listarTodas("produtos-1");
+
+        produtoService.excluir(1);
+        when(produtoRepository.listarResumos()).thenReturn(List.of());
+
+        assertThat(produtoService.listarTodas("produtos-1")).isEmpty();
+        verify(produtoRepository, times(2)).listarResumos();
+    }
+
+    @Test
+    @DisplayName("Deve invalidar cache de produtos ao excluir categoria")
+    void deveInvalidarProdutosAoExcluirCategoria() {
+        Categoria categoria = Categoria.builder().idCategoria(1).nome("Frutas").build();
+        when(categoriaRepository.findById(1)).thenReturn(Optional.of(categoria));
+        when(categoriaRepository.listarResumos()).thenReturn(List.of(new CategoriaResponseDTO(1, "Frutas")));
+        when(produtoRepository.listarResumos()).thenReturn(List.of(resumo(produto)));
+        categoriaService.listarTodas("categorias-1");
+        categoriaService.listarTodas("categorias-1");
+        produtoService.listarTodas("produtos-1");
+
+        categoriaService.excluir(1);
+        categoriaService.listarTodas("categorias-1");
+        produtoService.listarTodas("produtos-1");
+
+        verify(categoriaRepository, times(2)).listarResumos();
+        verify(produtoRepository, times(2)).listarResumos();
+    }
+
+    @Test
+    @DisplayName("Deve invalidar listagem e itens de produto ao atualizar fornecedor")
+    void deveInvalidarProdutosAoAtualizarFornecedor() {
+        Fornecedor fornecedor = Fornecedor.builder().idFornecedor(1).nome("Ceasa").email("ceasa@ceasa.com.br").build();
+        when(fornecedorRepository.findById(1)).thenReturn(Optional.of(fornecedor));
+        when(fornecedorRepository.findByEmail("ceasa@ceasa.com.br")).thenReturn(Optional.of(fornecedor));
+        when(fornecedorRepository.save(any(Fornecedor.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(produtoRepository.findById(1)).thenReturn(Optional.of(produto));
+        when(produtoRepository.listarResumos()).thenReturn(List.of(resumo(produto)));
+        produtoService.listarTodas("produtos-1");
+        produtoService.buscarPorId(1, "produtos-1-1");
+
+        fornecedorService.atualizar(1, FornecedorRequestDTO.builder()
+                .nome("Ceasa Campinas")
+                .email("ceasa@ceasa.com.br")
+                .build());
+        produtoService.listarTodas("produtos-1");
+        produtoService.buscarPorId(1, "produtos-1-1");
+
+        verify(produtoRepository, times(2)).listarResumos();
+        verify(produtoRepository, times(2)).findById(1);
+    }
+
+    @Test
+    @DisplayName("Deve guardar a listagem sob a versão da coleção em que foi carregada")
+    void deveSepararListagemPorVersao() {
+        when(produtoRepository.listarResumos()).thenReturn(List.of(resumo(produto)));
+        produtoService.listarTodas("produtos-1");
+        produtoService.listarTodas("produtos-1");
+
+        when(produtoRepository.listarResumos()).thenReturn(List.of());
+
+        assertThat(produtoService.listarTodas("produtos-2")).isEmpty();
+        assertThat(produtoService.listarTodas("produtos-1")).hasSize(1);
+        verify(produtoRepository, times(2)).listarResumos();
+    }
+
+    private ProdutoResumo resumo(Produto produto) {
+        return new ProdutoResumo(produto.getIdProduto(), produto.getNome(), produto.getPreco(),
+                produto.getQuantidadeEstoque(), produto.getDataEntrega(), produto.getDtValidade(),
+                null, null, null, null, null, null, null);
+    }
+}
@@ -3,6 +3,7 @@ package br.unip.ads.pim.meuhortifruti.service;
 import br.unip.ads.pim.meuhortifruti.dto.CategoriaRequestDTO;
 import br.unip.ads.pim.meuhortifruti.dto.CategoriaResponseDTO;
 import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
 import br.unip.ads.pim.meuhortifruti.repository.CategoriaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,6 +29,15 @@ public class CategoriaServiceTest {
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Mock
+    private VersaoCatalogoService versaoCatalogoService;
+
+    @Mock
+    private SincronizacaoService sincronizacaoService;
+
+    @Mock
+    private IndiceAutocompletarProdutos indiceAutocompletar;
+
     @InjectMocks
     private CategoriaService categoriaService;
 
@@ -53,16 +63,13 @@ public class CategoriaServiceTest {
     @DisplayName("Deve listar todas as categorias com sucesso")
     void deveListarTodasCategorias() {
         // Arrange
-        Categoria categoria2 = Categoria.builder()
-                .idCategoria(2)
-                .nome("Verduras")
-                .build();
-
-        List<Categoria> categorias = Arrays.asList(categoria, categoria2);
-        when(categoriaRepository.findAll()).thenReturn(categorias);
+        List<CategoriaResponseDTO> categorias = Arrays.asList(
+                new CategoriaResponseDTO(1, "Frutas"),
+                new CategoriaResponseDTO(2, "Verduras"));
+        when(categoriaRepository.listarResumos()).thenReturn(categorias);
 
         // Act
-        List<CategoriaResponseDTO> resultado = categoriaService.listarTodas();
+        List<CategoriaResponseDTO> resultado = categoriaService.listarTodas("categorias-1");
 
         // Assert
         assertThat(resultado)
@@ -71,7 +78,7 @@ public class CategoriaServiceTest {
         assertThat(resultado.get(0).getNome()).isEqualTo("Frutas");
         assertThat(resultado.get(1).getNome()).isEqualTo("Verduras");
 
-        verify(categoriaRepository, times(1)).findAll();
+        verify(categoriaRepository, times(1)).listarResumos();
     }
 
     // ========== TESTES DE BUSCA POR ID ==========
@@ -83,7 +90,7 @@ public class CategoriaServiceTest {
         when(categoriaRepository.findById(1)).thenReturn(Optional.of(categoria));
 
         // Act
-        CategoriaResponseDTO resultado = categoriaService.buscarPorId(1);
+        CategoriaResponseDTO resultado = categoriaService.buscarPorId(1, "categorias-1-1759320000000000");
 
         // Assert
         assertThat(resultado).isNotNull();
@@ -100,7 +107,7 @@ public class CategoriaServiceTest {
         when(categoriaRepository.findById(999)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> categoriaService.buscarPorId(999))
+        assertThatThrownBy(() -> categoriaService.buscarPorId(999, null))
                 .isInstanceOf(Exception.class)
                 .hasMessageContaining("Categoria")
                 .hasMessageContaining("999");
@@ -127,6 +134,8 @@ public class CategoriaServiceTest {
 
         verify(categoriaRepository, times(1)).existsByNome("Frutas");
         verify(categoriaRepository, times(1)).save(any(Categoria.class));
+        verify(versaoCatalogoService).registrarAlteracao(VersaoCatalogoService.CATEGORIAS);
+        verify(sincronizacaoService).registrarAlteracao(SincronizacaoService.CATEGORIA, 1);
     }
 
     @Test
@@ -176,6 +185,8 @@ public class CategoriaServiceTest {
         verify(categoriaRepository, times(1)).findById(1);
         verify(categoriaRepository, times(1)).findByNome("Frutas Tropicais");
         verify(categoriaRepository, times(1)).save(any(Categoria.class));
+        verify(versaoCatalogoService).registrarAlteracao(VersaoCatalogoService.CATEGORIAS);
+        verify(sincronizacaoService).registrarAlteracao(SincronizacaoService.CATEGORIA, 1);
     }
 
     @Test
@@ -244,6 +255,7 @@ public class CategoriaServiceTest {
     @DisplayName("Deve excluir categoria com sucesso")
     void deveExcluirCategoria() {
         // Arrange
+        categoria.getProdutos().add(Produto.builder().idProduto(7).categoria(categoria).build());
         when(categoriaRepository.findById(1)).thenReturn(Optional.of(categoria));
         doNothing().when(categoriaRepository).delete(categoria);
 
@@ -253,6 +265,10 @@ public class CategoriaServiceTest {
         // Assert
         verify(categoriaRepository, times(1)).findById(1);
         verify(categoriaRepository, times(1)).delete(categoria);
+        verify(indiceAutocompletar).removerTodos(List.of(7));
+        verify(versaoCatalogoService).registrarAlteracao(VersaoCatalogoService.CATEGORIAS, VersaoCatalogoService.PRODUTOS);
+        verify(sincronizacaoService).registrarExclusao(SincronizacaoService.CATEGORIA, 1);
+        verify(sincronizacaoService).registrarExclusoes(SincronizacaoService.PRODUTO, List.of(7));
     }
 
     @Test
@@ -267,5 +283,6 @@ public class CategoriaServiceTest {
 
         verify(categoriaRepository, times(1)).findById(999);
         verify(categoriaRepository, never()).delete(any(Categoria.class));
+        verifyNoInteractions(versaoCatalogoService, sincronizacaoService, indiceAutocompletar);
     }
 }
@@ -0,0 +1,176 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.dto.CheckoutRequestDTO;
+import br.unip.ads.pim.meuhortifruti.dto.CompraResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ItemCarrinhoDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Compra;
+import br.unip.ads.pim.meuhortifruti.entity.Estoque;
+import br.unip.ads.pim.meuhortifruti.entity.ItemCompra;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.exception.EstoqueInsuficienteException;
+import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.repository.CompraRepository;
+import br.unip.ads.pim.meuhortifruti.repository.EstoqueRepository;
+import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CheckoutService")
+public class CheckoutServiceTest {
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private EstoqueRepository estoqueRepository;
+
+    @Mock
+    private CompraRepository compraRepository;
+
+    @Mock
+    private EstatisticaVendasService estatisticaVendasService;
+
+    @Mock
+    private SincronizacaoService sincronizacaoService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @InjectMocks
+    private CheckoutService checkoutService;
+
+    private Produto tomate;
+    private Produto alface;
+    private Estoque estoqueTomate;
+    private Estoque estoqueAlface;
+
+    @BeforeEach
+    void setUp() {
+        tomate = Produto.builder().idProduto(1).nome("Tomate").preco(new BigDecimal("5.90")).build();
+        alface = Produto.builder().idProduto(2).nome("Alface").preco(new BigDecimal("3.50")).build();
+        estoqueTomate = Estoque.builder().idEstoque(10).produto(tomate).quantidadeProdutos(20).build();
+        estoqueAlface = Estoque.builder().idEstoque(20).produto(alface).quantidadeProdutos(5).build();
+    }
+
+    @Test
+    @DisplayName("Deve finalizar compra com itens, pagamento e baixa de estoque")
+    void deveFinalizarCompra() {
+        // Arrange
+        CheckoutRequestDTO dto = CheckoutRequestDTO.builder()
+                .itens(List.of(
+                        new ItemCarrinhoDTO(1, 2),
+                        new ItemCarrinhoDTO(2, 1),
+                        new ItemCarrinhoDTO(1, 1)))
+                .formaPagamento("PIX")
+                .build();
+        when(produtoRepository.findAllById(Set.of(1, 2))).thenReturn(List.of(tomate, alface));
+        when(estoqueRepository.travarPorProdutos(Set.of(1, 2))).thenReturn(List.of(estoqueTomate, estoqueAlface));
+        when(compraRepository.save(any(Compra.class))).thenAnswer(invocation -> {
+            Compra compra = invocation.getArgument(0);
+            compra.setIdCompra(100);
+            return compra;
+        });
+
+        // Act
+        CompraResponseDTO resultado = checkoutService.finalizar(dto);
+
+        // Assert
+        assertThat(resultado.getIdCompra()).isEqualTo(100);
+        assertThat(resultado.getStatusCompra()).isEqualTo(CheckoutService.STATUS_COMPRA_FINALIZADA);
+        assertThat(resultado.getItensCompra()).hasSize(2);
+        assertThat(resultado.getItensCompra().get(0).getQuantidade()).isEqualTo(3);
+        assertThat(resultado.getPagamento().getValor()).isEqualByComparingTo(new BigDecimal("21.20"));
+        assertThat(resultado.getPagamento().getFormaPagamento()).isEqualTo("PIX");
+        assertThat(estoqueTomate.getQuantidadeProdutos()).isEqualTo(17);
+        assertThat(estoqueAlface.getQuantidadeProdutos()).isEqualTo(4);
+
+        ArgumentCaptor<Compra> captor = ArgumentCaptor.forClass(Compra.class);
+        verify(compraRepository, times(1)).save(captor.capture());
+        Compra salva = captor.getValue();
+        assertThat(salva.getItensCompra()).extracting(ItemCompra::getCompra).containsOnly(salva);
+        assertThat(salva.getPagamento().getCompra()).isSameAs(salva);
+        verify(produtoRepository, times(1)).findAllById(any());
+        verify(estoqueRepository, times(1)).travarPorProdutos(any());
+        assertThat(salva.getPagamento().getDataAprovacao()).isEqualTo(LocalDate.now());
+        verify(estatisticaVendasService, times(1)).registrarVenda(100, LocalDate.now(), salva.getItensCompra());
+        verify(sincronizacaoService).registrarAlteracoes(eq(SincronizacaoService.ESTOQUE),
+                argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(10, 20))));
+        verify(outboxService).publicar(OutboxService.COMPRA_FINALIZADA, OutboxService.COMPRA, 100, resultado);
+        verify(outboxService).publicarTodos(eq(OutboxService.ESTOQUE_ALTERADO), eq(OutboxService.ESTOQUE),
+                argThat(eventos -> eventos.keySet().equals(Set.of(10, 20))));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando algum produto não existir")
+    void deveLancarExcecaoQuandoProdutoNaoExistir() {
+        // Arrange
+        CheckoutRequestDTO dto = CheckoutRequestDTO.builder()
+                .itens(List.of(new ItemCarrinhoDTO(1, 1), new ItemCarrinhoDTO(99, 1)))
+                .formaPagamento("PIX")
+                .build();
+        when(produtoRepository.findAllById(Set.of(1, 99))).thenReturn(List.of(tomate));
+
+        // Act & Assert
+        assertThatThrownBy(() -> checkoutService.finalizar(dto))
+                .isInstanceOf(RecursoNaoEncontradoException.class)
+                .hasMessageContaining("99");
+
+        verify(estoqueRepository, never()).travarPorProdutos(any());
+        verify(compraRepository, never()).save(any(Compra.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção sem baixar nada quando um item não tiver estoque")
+    void deveLancarExcecaoQuandoEstoqueInsuficiente() {
+        // Arrange
+        CheckoutRequestDTO dto = CheckoutRequestDTO.builder()
+                .itens(List.of(new ItemCarrinhoDTO(1, 2), new ItemCarrinhoDTO(2, 6)))
+                .formaPagamento("DINHEIRO")
+                .build();
+        when(produtoRepository.findAllById(Set.of(1, 2))).thenReturn(List.of(tomate, alface));
+        when(estoqueRepository.travarPorProdutos(Set.of(1, 2))).thenReturn(List.of(estoqueTomate, estoqueAlface));
+
+        // Act & Assert
+        assertThatThrownBy(() -> checkoutService.finalizar(dto))
+                .isInstanceOf(EstoqueInsuficienteException.class)
+                .hasMessageContaining("Alface");
+
+        assertThat(estoqueTomate.getQuantidadeProdutos()).isEqualTo(20);
+        verify(compraRepository, never()).save(any(Compra.class));
+        verifyNoInteractions(estatisticaVendasService, sincronizacaoService, outboxService);
+    }
+
+    @Test
+    @DisplayName("Deve tratar produto sem registro de estoque como indisponível")
+    void deveTratarProdutoSemEstoqueComoIndisponivel() {
+        // Arrange
+        CheckoutRequestDTO dto = CheckoutRequestDTO.builder()
+                .itens(List.of(new ItemCarrinhoDTO(2, 1)))
+                .formaPagamento("PIX")
+                .build();
+        when(produtoRepository.findAllById(Set.of(2))).thenReturn(List.of(alface));
+        when(estoqueRepository.travarPorProdutos(Set.of(2))).thenReturn(List.of());
+
+        // Act & Assert
+        assertThatThrownBy(() -> checkoutService.finalizar(dto))
+                .isInstanceOf(EstoqueInsuficienteException.class)
+                .hasMessageContaining("Disponível: 0");
+    }
+}
@@ -6,7 +6,12 @@ import br.unip.ads.pim.meuhortifruti.entity.Compra;
 import br.unip.ads.pim.meuhortifruti.entity.ItemCompra;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoDuplicadoException;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.entity.Pagamento;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
 import br.unip.ads.pim.meuhortifruti.repository.CompraRepository;
+import br.unip.ads.pim.meuhortifruti.repository.ItemCompraRepository;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.CompraResumo;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,11 +19,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -32,6 +41,18 @@ public class CompraServiceTest {
     @Mock
     private CompraRepository compraRepository;
 
+    @Mock
+    private ItemCompraRepository itemCompraRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private EstatisticaVendasService estatisticaVendasService;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private CompraService compraService;
 
@@ -62,14 +83,10 @@ public class CompraServiceTest {
     @DisplayName("Deve listar todas as compras com sucesso")
     void deveListarTodasCompras() {
         // Arrange
-        Compra compra2 = Compra.builder()
-                .idCompra(2)
-                .statusCompra("APROVADA")
-                .itensCompra(new ArrayList<>())
-                .build();
-
-        List<Compra> compras = Arrays.asList(compra, compra2);
-        when(compraRepository.findAll()).thenReturn(compras);
+        List<CompraResumo> compras = Arrays.asList(
+                new CompraResumo(1, "PENDENTE", null, null, null, null),
+                new CompraResumo(2, "APROVADA", 10, new BigDecimal("11.80"), "PIX", "APROVADO"));
+        when(compraRepository.listarResumos()).thenReturn(compras);
 
         // Act
         List<CompraResponseDTO> resultado = compraService.listarTodas();
@@ -82,15 +99,17 @@ public class CompraServiceTest {
         assertThat(resultado.get(0).getStatusCompra()).isEqualTo("PENDENTE");
         assertThat(resultado.get(1).getIdCompra()).isEqualTo(2);
         assertThat(resultado.get(1).getStatusCompra()).isEqualTo("APROVADA");
+        assertThat(resultado.get(0).getPagamento()).isNull();
+        assertThat(resultado.get(1).getPagamento().getFormaPagamento()).isEqualTo("PIX");
 
-        verify(compraRepository, times(1)).findAll();
+        verify(compraRepository, times(1)).listarResumos();
     }
 
     @Test
     @DisplayName("Deve retornar lista vazia quando não houver compras")
     void deveRetornarListaVaziaQuandoNaoHouverCompras() {
         // Arrange
-        when(compraRepository.findAll()).thenReturn(Arrays.asList());
+        when(compraRepository.listarResumos()).thenReturn(Arrays.asList());
 
         // Act
         List<CompraResponseDTO> resultado = compraService.listarTodas();
@@ -100,7 +119,87 @@ public class CompraServiceTest {
                 .isNotNull()
                 .isEmpty();
 
-        verify(compraRepository, times(1)).findAll();
+        verify(compraRepository, times(1)).listarResumos();
+    }
+
+    @Test
+    @DisplayName("Deve listar compras detalhadas com itens agrupados por compra")
+    void deveListarComprasDetalhadas() {
+        // Arrange
+        Compra compra2 = Compra.builder()
+                .idCompra(2)
+                .statusCompra("FINALIZADA")
+                .pagamento(Pagamento.builder()
+                        .idPagamento(10)
+                        .valor(new BigDecimal("11.80"))
+                        .formaPagamento("PIX")
+                        .statusPagamento("APROVADO")
+                        .build())
+                .build();
+        Produto tomate = Produto.builder().idProduto(5).nome("Tomate").preco(new BigDecimal("5.90")).build();
+        ItemCompra item = ItemCompra.builder()
+                .idItemCompra(20)
+                .compra(compra2)
+                .produto(tomate)
+                .preco(new BigDecimal("5.90"))
+                .quantidade(2)
+                .build();
+
+        when(compraRepository.buscarComPagamentoApos(Integer.MIN_VALUE, Limit.of(CompraService.LOTE_DETALHADAS)))
+                .thenReturn(Arrays.asList(compra, compra2));
+        when(itemCompraRepository.buscarPorCompras(List.of(1, 2))).thenReturn(List.of(item));
+
+        // Act
+        List<CompraResponseDTO> resultado = compraService.listarDetalhadas();
+
+        // Assert
+        assertThat(resultado).hasSize(2);
+        assertThat(resultado.get(0).getItensCompra()).isEmpty();
+        assertThat(resultado.get(0).getPagamento()).isNull();
+        assertThat(resultado.get(1).getItensCompra()).hasSize(1);
+        assertThat(resultado.get(1).getItensCompra().get(0).getProduto().getNome()).isEqualTo("Tomate");
+        assertThat(resultado.get(1).getPagamento().getFormaPagamento()).isEqualTo("PIX");
+
+        verify(itemCompraRepository, times(1)).buscarPorCompras(List.of(1, 2));
+    }
+
+    @Test
+    @DisplayName("Deve listar compras detalhadas em lotes pela chave, sem IN maior que o lote")
+    void deveListarDetalhadasEmLotes() {
+        // Arrange
+        int lote = CompraService.LOTE_DETALHADAS;
+        List<Compra> primeiroLote = IntStream.rangeClosed(1, lote)
+                .mapToObj(id -> Compra.builder().idCompra(id).statusCompra("FINALIZADA").build())
+                .toList();
+        List<Compra> segundoLote = List.of(Compra.builder().idCompra(lote + 1).statusCompra("FINALIZADA").build());
+        when(compraRepository.buscarComPagamentoApos(Integer.MIN_VALUE, Limit.of(lote))).thenReturn(primeiroLote);
+        when(compraRepository.buscarComPagamentoApos(lote, Limit.of(lote))).thenReturn(segundoLote);
+        when(itemCompraRepository.buscarPorCompras(any())).thenReturn(List.of());
+
+        // Act
+        List<CompraResponseDTO> resultado = compraService.listarDetalhadas();
+
+        // Assert
+        assertThat(resultado).hasSize(lote + 1);
+        assertThat(resultado.get(lote).getIdCompra()).isEqualTo(lote + 1);
+        verify(itemCompraRepository).buscarPorCompras(IntStream.rangeClosed(1, lote).boxed().toList());
+        verify(itemCompraRepository).buscarPorCompras(List.of(lote + 1));
+        verify(compraRepository, times(2)).buscarComPagamentoApos(any(), any());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("Não deve buscar itens quando não houver compras")
+    void naoDeveBuscarItensSemCompras() {
+        // Arrange
+        when(compraRepository.buscarComPagamentoApos(any(), any())).thenReturn(List.of());
+
+        // Act
+        List<CompraResponseDTO> resultado = compraService.listarDetalhadas();
+
+        // Assert
+        assertThat(resultado).isEmpty();
+        verifyNoInteractions(itemCompraRepository);
     }
 
     // ========== TESTES DE BUSCA POR ID ==========
@@ -109,7 +208,7 @@ public class CompraServiceTest {
     @DisplayName("Deve buscar compra por ID com sucesso")
     void deveBuscarCompraPorId() {
         // Arrange
-        when(compraRepository.findById(1)).thenReturn(Optional.of(compra));
+        when(compraRepository.buscarCompleta(1)).thenReturn(Optional.of(compra));
 
         // Act
         CompraResponseDTO resultado = compraService.buscarPorId(1);
@@ -119,14 +218,14 @@ public class CompraServiceTest {
         assertThat(resultado.getIdCompra()).isEqualTo(1);
         assertThat(resultado.getStatusCompra()).isEqualTo("PENDENTE");
 
-        verify(compraRepository, times(1)).findById(1);
+        verify(compraRepository, times(1)).buscarCompleta(1);
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao buscar compra inexistente")
     void deveLancarExcecaoAoBuscarCompraInexistente() {
         // Arrange
-        when(compraRepository.findById(999)).thenReturn(Optional.empty());
+        when(compraRepository.buscarCompleta(999)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> compraService.buscarPorId(999))
@@ -135,7 +234,7 @@ public class CompraServiceTest {
                 .hasMessageContaining("id")
                 .hasMessageContaining("999");
 
-        verify(compraRepository, times(1)).findById(999);
+        verify(compraRepository, times(1)).buscarCompleta(999);
     }
 
     // ========== TESTES DE CRIAÇÃO ==========
@@ -169,6 +268,7 @@ public class CompraServiceTest {
 
         verify(compraRepository, times(1)).existsById(null);
         verify(compraRepository, times(1)).save(any(Compra.class));
+        verify(outboxService).publicar(eq(OutboxService.COMPRA_CRIADA), eq(OutboxService.COMPRA), eq(2), any(CompraResponseDTO.class));
     }
 
     @Test
@@ -360,6 +460,45 @@ public class CompraServiceTest {
         verify(compraRepository, times(1)).save(any(Compra.class));
     }
 
+    @Test
+    @DisplayName("Deve trocar os itens da venda aprovada nas estatísticas do dia da aprovação")
+    void deveAtualizarEstatisticasAoTrocarItensDeVendaAprovada() {
+        // Arrange
+        LocalDate diaAprovacao = LocalDate.now().minusDays(1);
+        compra.setPagamento(Pagamento.builder()
+                .idPagamento(5)
+                .statusPagamento(CheckoutService.STATUS_PAGAMENTO_APROVADO)
+                .dataAprovacao(diaAprovacao)
+                .build());
+        List<ItemCompra> itensAntigos = List.of(ItemCompra.builder().idItemCompra(7).build());
+        Produto produto = Produto.builder().idProduto(10).nome("Tomate").build();
+        ItemCompra itemNovo = ItemCompra.builder()
+                .produto(Produto.builder().idProduto(10).build())
+                .preco(new BigDecimal("5.00"))
+                .quantidade(3)
+                .build();
+        CompraRequestDTO requestNovosItens = CompraRequestDTO.builder()
+                .idCompra(1)
+                .statusCompra("APROVADA")
+                .itensCompra(new ArrayList<>(List.of(itemNovo)))
+                .build();
+
+        when(compraRepository.findById(1)).thenReturn(Optional.of(compra));
+        when(itemCompraRepository.buscarPorCompras(List.of(1))).thenReturn(itensAntigos);
+        when(entityManager.getReference(Produto.class, 10)).thenReturn(produto);
+        when(compraRepository.save(any(Compra.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        compraService.atualizar(1, requestNovosItens);
+
+        // Assert
+        assertThat(itemNovo.getCompra()).isSameAs(compra);
+        assertThat(itemNovo.getProduto()).isSameAs(produto);
+        verify(itemCompraRepository, times(1)).deleteAll(itensAntigos);
+        verify(estatisticaVendasService, times(1)).estornarVenda(1, diaAprovacao, itensAntigos);
+        verify(estatisticaVendasService, times(1)).registrarVenda(1, diaAprovacao, List.of(itemNovo));
+    }
+
     // ========== TESTES DE EXCLUSÃO ==========
 
     @Test
@@ -375,6 +514,30 @@ public class CompraServiceTest {
         // Assert
         verify(compraRepository, times(1)).findById(1);
         verify(compraRepository, times(1)).delete(compra);  // ← Agora verifica o delete
+        verify(outboxService).publicar(OutboxService.COMPRA_EXCLUIDA, OutboxService.COMPRA, 1, null);
+        verifyNoInteractions(estatisticaVendasService);
+    }
+
+    @Test
+    @DisplayName("Deve estornar a venda aprovada ao excluir a compra")
+    void deveEstornarVendaAprovadaAoExcluirCompra() {
+        // Arrange
+        LocalDate diaAprovacao = LocalDate.now().minusDays(4);
+        compra.setPagamento(Pagamento.builder()
+                .idPagamento(5)
+                .statusPagamento(CheckoutService.STATUS_PAGAMENTO_APROVADO)
+                .dataAprovacao(diaAprovacao)
+                .build());
+        List<ItemCompra> itens = List.of(ItemCompra.builder().idItemCompra(7).build());
+        when(compraRepository.findById(1)).thenReturn(Optional.of(compra));
+        when(itemCompraRepository.buscarPorCompras(List.of(1))).thenReturn(itens);
+
+        // Act
+        compraService.excluir(1);
+
+        // Assert
+        verify(estatisticaVendasService, times(1)).estornarVenda(1, diaAprovacao, itens);
+        verify(compraRepository, times(1)).delete(compra);
     }
 
     @Test
@@ -392,5 +555,6 @@ public class CompraServiceTest {
 
         verify(compraRepository, times(1)).findById(999);
         verify(compraRepository, never()).delete(any(Compra.class));  // ← Verifica que delete não foi chamado
+        verifyNoInteractions(outboxService);
     }
 }
\ No newline at end of file
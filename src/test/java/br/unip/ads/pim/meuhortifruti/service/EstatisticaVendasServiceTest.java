@@ -0,0 +1,156 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.entity.Categoria;
+import br.unip.ads.pim.meuhortifruti.entity.ItemCompra;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import br.unip.ads.pim.meuhortifruti.repository.VendaDiariaCategoriaRepository;
+import br.unip.ads.pim.meuhortifruti.repository.VendaDiariaProdutoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.VendaDiariaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do EstatisticaVendasService")
+public class EstatisticaVendasServiceTest {
+
+    @Mock
+    private VendaDiariaRepository vendaDiariaRepository;
+
+    @Mock
+    private VendaDiariaProdutoRepository vendaDiariaProdutoRepository;
+
+    @Mock
+    private VendaDiariaCategoriaRepository vendaDiariaCategoriaRepository;
+
+    @InjectMocks
+    private EstatisticaVendasService estatisticaVendasService;
+
+    private Produto tomate;
+    private Produto alface;
+    private Produto maca;
+
+    @BeforeEach
+    void setUp() {
+        Categoria verduras = Categoria.builder().idCategoria(2).nome("Verduras").build();
+        Categoria frutas = Categoria.builder().idCategoria(1).nome("Frutas").build();
+        tomate = Produto.builder().idProduto(30).nome("Tomate").categoria(verduras).build();
+        alface = Produto.builder().idProduto(10).nome("Alface").categoria(verduras).build();
+        maca = Produto.builder().idProduto(20).nome("Maçã").categoria(frutas).build();
+    }
+
+    @Test
+    @DisplayName("Deve somar a venda por produto, por categoria e no dia, em ordem de id")
+    void deveRegistrarVendaAgrupada() {
+        // Arrange
+        LocalDate hoje = LocalDate.now();
+        List<ItemCompra> itens = List.of(
+                item(tomate, "5.00", 2),
+                item(maca, "8.00", 1),
+                item(alface, "3.00", 1));
+
+        // Act
+        estatisticaVendasService.registrarVenda(11, hoje, itens);
+
+        // Assert
+        InOrder ordem = inOrder(vendaDiariaProdutoRepository, vendaDiariaCategoriaRepository, vendaDiariaRepository);
+        ordem.verify(vendaDiariaProdutoRepository).acumular(hoje, 10, 2, 1L, new BigDecimal("3.00"));
+        ordem.verify(vendaDiariaProdutoRepository).acumular(hoje, 20, 1, 1L, new BigDecimal("8.00"));
+        ordem.verify(vendaDiariaProdutoRepository).acumular(hoje, 30, 2, 2L, new BigDecimal("10.00"));
+        ordem.verify(vendaDiariaCategoriaRepository).acumular(hoje, 1, 3, 1L, new BigDecimal("8.00"));
+        ordem.verify(vendaDiariaCategoriaRepository).acumular(hoje, 2, 3, 3L, new BigDecimal("13.00"));
+        ordem.verify(vendaDiariaRepository).acumular(hoje, 3, 1, 4L, new BigDecimal("21.00"));
+    }
+
+    @Test
+    @DisplayName("Deve subtrair a venda estornada do dia da aprovação e ignorar compra sem itens")
+    void deveEstornarVenda() {
+        // Arrange
+        LocalDate diaAprovacao = LocalDate.now().minusDays(5);
+
+        // Act
+        estatisticaVendasService.estornarVenda(16, diaAprovacao, List.of(item(maca, "8.00", 2)));
+        estatisticaVendasService.estornarVenda(17, diaAprovacao, List.of());
+
+        // Assert
+        verify(vendaDiariaProdutoRepository).acumular(diaAprovacao, 20, 1, -2L, new BigDecimal("-16.00"));
+        verify(vendaDiariaCategoriaRepository).acumular(diaAprovacao, 1, 0, -2L, new BigDecimal("-16.00"));
+        verify(vendaDiariaRepository, times(1)).acumular(diaAprovacao, 0, -1, -2L, new BigDecimal("-16.00"));
+        verifyNoMoreInteractions(vendaDiariaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve estornar no dia do estorno o pagamento aprovado sem data de aprovação")
+    void deveEstornarNoDiaAtualSemDataDeAprovacao() {
+        // Arrange
+        LocalDate hoje = LocalDate.now();
+
+        // Act
+        estatisticaVendasService.estornarVenda(16, null, List.of(item(maca, "8.00", 2)));
+
+        // Assert
+        verify(vendaDiariaRepository).acumular(hoje, 0, -1, -2L, new BigDecimal("-16.00"));
+    }
+
+    @Test
+    @DisplayName("Deve usar os últimos 30 dias e 20 produtos quando nada for informado")
+    void deveUsarPeriodoELimitePadrao() {
+        // Arrange
+        LocalDate hoje = LocalDate.now();
+
+        // Act
+        estatisticaVendasService.listarPorProduto(null, null, null);
+        estatisticaVendasService.listarPorDia(null, null);
+        estatisticaVendasService.listarPorProduto(hoje, hoje, 500);
+
+        // Assert
+        verify(vendaDiariaProdutoRepository).resumirPorProduto(hoje.minusDays(29), hoje, Limit.of(20));
+        verify(vendaDiariaRepository).listarPorPeriodo(hoje.minusDays(29), hoje);
+        verify(vendaDiariaProdutoRepository).resumirPorProduto(hoje, hoje,
+                Limit.of(EstatisticaVendasService.LIMITE_PRODUTOS_MAXIMO));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar período invertido, período longo demais e limite inválido")
+    void deveRejeitarParametrosInvalidos() {
+        // Arrange
+        LocalDate hoje = LocalDate.now();
+
+        // Act & Assert
+        assertThatThrownBy(() -> estatisticaVendasService.listarPorDia(hoje, hoje.minusDays(1)))
+                .isInstanceOf(RegraNegocioException.class)
+                .hasMessageContaining("data inicial");
+        assertThatThrownBy(() -> estatisticaVendasService.listarPorCategoria(hoje.minusDays(366), hoje))
+                .isInstanceOf(RegraNegocioException.class)
+                .hasMessageContaining("366");
+        assertThatThrownBy(() -> estatisticaVendasService.listarPorProduto(hoje, hoje, 0))
+                .isInstanceOf(RegraNegocioException.class)
+                .hasMessageContaining("limite");
+
+        verify(vendaDiariaProdutoRepository, never()).resumirPorProduto(any(), any(), any());
+        verifyNoInteractions(vendaDiariaRepository, vendaDiariaCategoriaRepository);
+    }
+
+    private ItemCompra item(Produto produto, String preco, int quantidade) {
+        return ItemCompra.builder()
+                .produto(produto)
+                .preco(new BigDecimal(preco))
+                .quantidade(quantidade)
+                .build();
+    }
+}
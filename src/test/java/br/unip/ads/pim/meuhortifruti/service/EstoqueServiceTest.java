@@ -3,13 +3,17 @@ package br.unip.ads.pim.meuhortifruti.service;
 import br.unip.ads.pim.meuhortifruti.dto.EstoqueRequestDTO;
 import br.unip.ads.pim.meuhortifruti.dto.EstoqueResponseDTO;
 import br.unip.ads.pim.meuhortifruti.entity.Estoque;
+import br.unip.ads.pim.meuhortifruti.entity.Produto;
+import br.unip.ads.pim.meuhortifruti.exception.EstoqueInsuficienteException;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoDuplicadoException;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
 import br.unip.ads.pim.meuhortifruti.repository.EstoqueRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -28,6 +32,12 @@ public class EstoqueServiceTest {
     @Mock
     private EstoqueRepository estoqueRepository;
 
+    @Mock
+    private SincronizacaoService sincronizacaoService;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private EstoqueService estoqueService;
 
@@ -102,6 +112,7 @@ public class EstoqueServiceTest {
 
         verify(estoqueRepository, times(1)).existsById(1);
         verify(estoqueRepository, times(1)).save(any(Estoque.class));
+        verify(sincronizacaoService).registrarAlteracao(SincronizacaoService.ESTOQUE, 1);
     }
 
     @Test
@@ -180,6 +191,8 @@ public class EstoqueServiceTest {
         // Assert
         verify(estoqueRepository, times(1)).findById(1);
         verify(estoqueRepository, times(1)).delete(estoque);
+        verify(sincronizacaoService).registrarExclusao(SincronizacaoService.ESTOQUE, 1);
+        verify(outboxService).publicar(OutboxService.ESTOQUE_EXCLUIDO, OutboxService.ESTOQUE, 1, null);
     }
 
     @Test
@@ -194,5 +207,94 @@ public class EstoqueServiceTest {
 
         verify(estoqueRepository, times(1)).findById(999);
         verify(estoqueRepository, never()).delete(any(Estoque.class));
+        verifyNoInteractions(sincronizacaoService, outboxService);
+    }
+
+    // ========== TESTES DE DÉBITO E REPOSIÇÃO ==========
+
+    @Test
+    @DisplayName("Deve debitar estoque com sucesso")
+    void deveDebitarEstoque() {
+        // Arrange
+        Estoque estoqueDebitado = Estoque.builder().idEstoque(1).quantidadeProdutos(95).build();
+        when(estoqueRepository.debitar(1, 5)).thenReturn(1);
+        when(estoqueRepository.findById(1)).thenReturn(Optional.of(estoqueDebitado));
+
+        // Act
+        EstoqueResponseDTO resultado = estoqueService.debitar(1, 5);
+
+        // Assert
+        assertThat(resultado.getQuantidadeProdutos()).isEqualTo(95);
+        verify(estoqueRepository, times(1)).debitar(1, 5);
+        verify(estoqueRepository, never()).save(any(Estoque.class));
+        verify(sincronizacaoService).registrarAlteracao(SincronizacaoService.ESTOQUE, 1);
+        ArgumentCaptor<EstoqueResponseDTO> evento = ArgumentCaptor.forClass(EstoqueResponseDTO.class);
+        verify(outboxService).publicar(eq(OutboxService.ESTOQUE_ALTERADO), eq(OutboxService.ESTOQUE), eq(1), evento.capture());
+        assertThat(evento.getValue().getQuantidadeProdutos()).isEqualTo(95);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o estoque for insuficiente")
+    void deveLancarExcecaoQuandoEstoqueInsuficiente() {
+        // Arrange
+        estoque.setProduto(Produto.builder().idProduto(10).nome("Tomate").build());
+        estoque.setQuantidadeProdutos(3);
+        when(estoqueRepository.debitar(1, 5)).thenReturn(0);
+        when(estoqueRepository.findById(1)).thenReturn(Optional.of(estoque));
+
+        // Act & Assert
+        assertThatThrownBy(() -> estoqueService.debitar(1, 5))
+                .isInstanceOf(EstoqueInsuficienteException.class)
+                .hasMessageContaining("Tomate")
+                .hasMessageContaining("Disponível: 3")
+                .hasMessageContaining("Solicitado: 5");
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao debitar estoque inexistente")
+    void deveLancarExcecaoAoDebitarEstoqueInexistente() {
+        // Arrange
+        when(estoqueRepository.debitar(999, 5)).thenReturn(0);
+        when(estoqueRepository.findById(999)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> estoqueService.debitar(999, 5))
+                .isInstanceOf(RecursoNaoEncontradoException.class);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar quantidade não positiva no débito")
+    void deveRejeitarQuantidadeNaoPositiva() {
+        assertThatThrownBy(() -> estoqueService.debitar(1, 0))
+                .isInstanceOf(RegraNegocioException.class);
+
+        verify(estoqueRepository, never()).debitar(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve repor estoque com sucesso")
+    void deveReporEstoque() {
+        // Arrange
+        Estoque estoqueReposto = Estoque.builder().idEstoque(1).quantidadeProdutos(110).build();
+        when(estoqueRepository.repor(1, 10)).thenReturn(1);
+        when(estoqueRepository.findById(1)).thenReturn(Optional.of(estoqueReposto));
+
+        // Act
+        EstoqueResponseDTO resultado = estoqueService.repor(1, 10);
+
+        // Assert
+        assertThat(resultado.getQuantidadeProdutos()).isEqualTo(110);
+        verify(sincronizacaoService).registrarAlteracao(SincronizacaoService.ESTOQUE, 1);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao repor estoque inexistente")
+    void deveLancarExcecaoAoReporEstoqueInexistente() {
+        // Arrange
+        when(estoqueRepository.repor(999, 10)).thenReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> estoqueService.repor(999, 10))
+                .isInstanceOf(RecursoNaoEncontradoException.class);
     }
-}
\ No newline at end of file
+}
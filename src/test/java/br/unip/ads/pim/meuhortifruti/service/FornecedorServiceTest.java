@@ -30,6 +30,9 @@ public class FornecedorServiceTest {
     @Mock
     private FornecedorRepository fornecedorRepository;
 
+    @Mock
+    private VersaoCatalogoService versaoCatalogoService;
+
     @InjectMocks
     private FornecedorService fornecedorService;
 
@@ -64,7 +67,12 @@ public class FornecedorServiceTest {
     @DisplayName("Deve listar todos os fornecedores com sucesso")
     void deveListarTodosFornecedores() {
         // Arrange
-        Fornecedor fornecedor2 = Fornecedor.builder()
+        FornecedorResponseDTO fornecedor1 = FornecedorResponseDTO.builder()
+                .idFornecedor(1)
+                .nome("Fornecedor Frutas Ltda")
+                .email("contato@frutas.com")
+                .build();
+        FornecedorResponseDTO fornecedor2 = FornecedorResponseDTO.builder()
                 .idFornecedor(2)
                 .nome("Fornecedor Verduras Ltda")
                 .cnpj("98765432109876")
@@ -74,8 +82,8 @@ public class FornecedorServiceTest {
                 .produtosFornecidos("Alface, Tomate, Cenoura")
                 .build();
 
-        List<Fornecedor> fornecedores = Arrays.asList(fornecedor, fornecedor2);
-        when(fornecedorRepository.findAll()).thenReturn(fornecedores);
+        List<FornecedorResponseDTO> fornecedores = Arrays.asList(fornecedor1, fornecedor2);
+        when(fornecedorRepository.listarResumos()).thenReturn(fornecedores);
 
         // Act
         List<FornecedorResponseDTO> resultado = fornecedorService.listarTodas();
@@ -89,14 +97,14 @@ public class FornecedorServiceTest {
         assertThat(resultado.get(1).getNome()).isEqualTo("Fornecedor Verduras Ltda");
         assertThat(resultado.get(1).getEmail()).isEqualTo("contato@verduras.com");
 
-        verify(fornecedorRepository, times(1)).findAll();
+        verify(fornecedorRepository, times(1)).listarResumos();
     }
 
     @Test
     @DisplayName("Deve retornar lista vazia quando não houver fornecedores")
     void deveRetornarListaVaziaQuandoNaoHouverFornecedores() {
         // Arrange
-        when(fornecedorRepository.findAll()).thenReturn(Arrays.asList());
+        when(fornecedorRepository.listarResumos()).thenReturn(Arrays.asList());
 
         // Act
         List<FornecedorResponseDTO> resultado = fornecedorService.listarTodas();
@@ -106,7 +114,7 @@ public class FornecedorServiceTest {
                 .isNotNull()
                 .isEmpty();
 
-        verify(fornecedorRepository, times(1)).findAll();
+        verify(fornecedorRepository, times(1)).listarResumos();
     }
 
     // ========== TESTES DE BUSCA POR ID ==========
@@ -236,6 +244,7 @@ public class FornecedorServiceTest {
         verify(fornecedorRepository, times(1)).findById(1);
         verify(fornecedorRepository, times(1)).findByEmail(requestAtualizado.getEmail());
         verify(fornecedorRepository, times(1)).save(any(Fornecedor.class));
+        verify(versaoCatalogoService).registrarAlteracao(VersaoCatalogoService.PRODUTOS);
     }
 
     @Test
@@ -317,6 +326,7 @@ public class FornecedorServiceTest {
         // Assert
         verify(fornecedorRepository, times(1)).findById(1);
         verify(fornecedorRepository, times(1)).delete(fornecedor);
+        verify(versaoCatalogoService).registrarAlteracao(VersaoCatalogoService.PRODUTOS);
     }
 
     @Test
@@ -334,5 +344,6 @@ public class FornecedorServiceTest {
 
         verify(fornecedorRepository, times(1)).findById(999);
         verify(fornecedorRepository, never()).delete(any(Fornecedor.class));
+        verifyNoInteractions(versaoCatalogoService);
     }
 }
\ No newline at end of file
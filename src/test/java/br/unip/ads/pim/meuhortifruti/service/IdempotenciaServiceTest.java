@@ -0,0 +1,241 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.IdempotenciaProperties;
+import br.unip.ads.pim.meuhortifruti.entity.ChaveIdempotencia;
+import br.unip.ads.pim.meuhortifruti.repository.ChaveIdempotenciaRepository;
+import br.unip.ads.pim.meuhortifruti.service.IdempotenciaService.Reserva;
+import br.unip.ads.pim.meuhortifruti.service.IdempotenciaService.Resposta;
+import br.unip.ads.pim.meuhortifruti.service.IdempotenciaService.Situacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do IdempotenciaService")
+public class IdempotenciaServiceTest {
+
+    @Mock
+    private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotenciaProperties propriedades;
+
+    private final Resposta criada = new Resposta(201, "application/json", "{\"idCompra\":1}".getBytes(StandardCharsets.UTF_8));
+
+    @BeforeEach
+    void setUp() {
+        propriedades = new IdempotenciaProperties();
+    }
+
+    @Test
+    @DisplayName("Deve repetir a resposta guardada sem consultar o banco")
+    void deveRepetirRespostaGuardada() {
+        // Arrange
+        IdempotenciaService idempotenciaService = criarServico();
+        idempotenciaService.reservar("chave", "corpo");
+        idempotenciaService.concluir("chave", "corpo", criada);
+
+        // Act
+        Reserva reserva = idempotenciaService.reservar("chave", "corpo");
+
+        // Assert
+        assertThat(reserva.situacao()).isEqualTo(Situacao.REPETIDA);
+        assertThat(reserva.resposta()).isSameAs(criada);
+        verifyNoInteractions(chaveIdempotenciaRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Deve recusar a mesma chave enquanto a primeira requisição estiver em andamento")
+    void deveRecusarChaveEmAndamento() {
+        // Arrange
+        IdempotenciaService idempotenciaService = criarServico();
+
+        // Act
+        Reserva primeira = idempotenciaService.reservar("chave", "corpo");
+        Reserva segunda = idempotenciaService.reservar("chave", "corpo");
+
+        // Assert
+        assertThat(primeira.situacao()).isEqualTo(Situacao.RESERVADA);
+        assertThat(segunda.situacao()).isEqualTo(Situacao.EM_ANDAMENTO);
+    }
+
+    @Test
+    @DisplayName("Deve apontar chave reutilizada com outro corpo")
+    void deveApontarChaveComOutroCorpo() {
+        // Arrange
+        IdempotenciaService idempotenciaService = criarServico();
+        idempotenciaService.reservar("chave", "corpo");
+        idempotenciaService.concluir("chave", "corpo", criada);
+
+        // Act
+        Reserva reserva = idempotenciaService.reservar("chave", "outro corpo");
+
+        // Assert
+        assertThat(reserva.situacao()).isEqualTo(Situacao.DIVERGENTE);
+        assertThat(reserva.resposta()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve liberar a chave de uma requisição que falhou")
+    void deveLiberarChaveQueFalhou() {
+        // Arrange
+        IdempotenciaService idempotenciaService = criarServico();
+        idempotenciaService.reservar("chave", "corpo");
+
+        // Act
+        idempotenciaService.liberar("chave");
+        Reserva reserva = idempotenciaService.reservar("chave", "corpo");
+
+        // Assert
+        assertThat(reserva.situacao()).isEqualTo(Situacao.RESERVADA);
+    }
+
+    @Test
+    @DisplayName("Não deve liberar uma chave já concluída")
+    void naoDeveLiberarChaveConcluida() {
+        // Arrange
+        IdempotenciaService idempotenciaService = criarServico();
+        idempotenciaService.reservar("chave", "corpo");
+        idempotenciaService.concluir("chave", "corpo", criada);
+
+        // Act
+        idempotenciaService.liberar("chave");
+        Reserva reserva = idempotenciaService.reservar("chave", "corpo");
+
+        // Assert
+        assertThat(reserva.situacao()).isEqualTo(Situacao.REPETIDA);
+    }
+
+    @Test
+    @DisplayName("Deve gravar a reserva e a resposta quando a persistência estiver ligada")
+    void deveGravarReservaEResposta() {
+        // Arrange
+        propriedades.setPersistir(true);
+        IdempotenciaService idempotenciaService = criarServico();
+        when(chaveIdempotenciaRepository.reservar(eq("chave"), eq("corpo"), any(), any())).thenReturn(1);
+
+        // Act
+        Reserva reserva = idempotenciaService.reservar("chave", "corpo");
+        idempotenciaService.concluir("chave", "corpo", criada);
+
+        // Assert
+        assertThat(reserva.situacao()).isEqualTo(Situacao.RESERVADA);
+        verify(chaveIdempotenciaRepository).concluir("chave", 201, "application/json", criada.corpo());
+        verify(chaveIdempotenciaRepository, never()).retomar(anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve repetir a resposta gravada por outra instância e guardá-la em memória")
+    void deveRepetirRespostaDeOutraInstancia() {
+        // Arrange
+        propriedades.setPersistir(true);
+        IdempotenciaService idempotenciaService = criarServico();
+        when(chaveIdempotenciaRepository.reservar(eq("chave"), eq("corpo"), any(), any())).thenReturn(0);
+        when(chaveIdempotenciaRepository.retomar(eq("chave"), eq("corpo"), any(), any(), any())).thenReturn(0);
+        when(chaveIdempotenciaRepository.findById("chave")).thenReturn(Optional.of(ChaveIdempotencia.builder()
+                .chave("chave")
+                .impressao("corpo")
+                .statusHttp(201)
+                .tipoConteudo("application/json")
+                .corpo(criada.corpo())
+                .build()));
+
+        // Act
+        Reserva primeira = idempotenciaService.reservar("chave", "corpo");
+        Reserva segunda = idempotenciaService.reservar("chave", "corpo");
+
+        // Assert
+        assertThat(primeira.situacao()).isEqualTo(Situacao.REPETIDA);
+        assertThat(primeira.resposta().status()).isEqualTo(201);
+        assertThat(segunda.situacao()).isEqualTo(Situacao.REPETIDA);
+        verify(chaveIdempotenciaRepository, times(1)).findById("chave");
+    }
+
+    @Test
+    @DisplayName("Deve tratar como em andamento a chave reservada por outra instância")
+    void deveTratarReservaDeOutraInstancia() {
+        // Arrange
+        propriedades.setPersistir(true);
+        IdempotenciaService idempotenciaService = criarServico();
+        when(chaveIdempotenciaRepository.reservar(eq("chave"), eq("corpo"), any(), any())).thenReturn(0);
+        when(chaveIdempotenciaRepository.retomar(eq("chave"), eq("corpo"), any(), any(), any())).thenReturn(0, 1);
+        when(chaveIdempotenciaRepository.findById("chave")).thenReturn(Optional.of(ChaveIdempotencia.builder()
+                .chave("chave")
+                .impressao("corpo")
+                .build()));
+
+        // Act
+        Reserva enquantoProcessa = idempotenciaService.reservar("chave", "corpo");
+        Reserva depoisDoAbandono = idempotenciaService.reservar("chave", "corpo");
+
+        // Assert
+        assertThat(enquantoProcessa.situacao()).isEqualTo(Situacao.EM_ANDAMENTO);
+        assertThat(depoisDoAbandono.situacao()).isEqualTo(Situacao.RESERVADA);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar em memória a resposta acima do tamanho máximo")
+    void naoDeveGuardarRespostaGrandeEmMemoria() {
+        // Arrange
+        propriedades.setMaximoResposta(DataSize.ofBytes(8));
+        IdempotenciaService idempotenciaService = criarServico();
+        idempotenciaService.reservar("chave", "corpo");
+
+        // Act
+        idempotenciaService.concluir("chave", "corpo", criada);
+        Reserva reserva = idempotenciaService.reservar("chave", "corpo");
+
+        // Assert
+        assertThat(reserva.situacao()).isEqualTo(Situacao.RESERVADA);
+    }
+
+    @Test
+    @DisplayName("Deve repetir do banco a resposta grande demais para a memória")
+    void deveRepetirRespostaGrandeDoBanco() {
+        // Arrange
+        propriedades.setPersistir(true);
+        propriedades.setMaximoResposta(DataSize.ofBytes(8));
+        IdempotenciaService idempotenciaService = criarServico();
+        when(chaveIdempotenciaRepository.reservar(eq("chave"), eq("corpo"), any(), any())).thenReturn(1, 0);
+        when(chaveIdempotenciaRepository.retomar(eq("chave"), eq("corpo"), any(), any(), any())).thenReturn(0);
+        when(chaveIdempotenciaRepository.findById("chave")).thenReturn(Optional.of(ChaveIdempotencia.builder()
+                .chave("chave")
+                .impressao("corpo")
+                .statusHttp(201)
+                .tipoConteudo("application/json")
+                .corpo(criada.corpo())
+                .build()));
+        idempotenciaService.reservar("chave", "corpo");
+
+        // Act
+        idempotenciaService.concluir("chave", "corpo", criada);
+        Reserva primeira = idempotenciaService.reservar("chave", "corpo");
+        Reserva segunda = idempotenciaService.reservar("chave", "corpo");
+
+        // Assert
+        verify(chaveIdempotenciaRepository).concluir("chave", 201, "application/json", criada.corpo());
+        assertThat(primeira.situacao()).isEqualTo(Situacao.REPETIDA);
+        assertThat(segunda.situacao()).isEqualTo(Situacao.REPETIDA);
+        verify(chaveIdempotenciaRepository, times(2)).findById("chave");
+    }
+
+    private IdempotenciaService criarServico() {
+        return new IdempotenciaService(chaveIdempotenciaRepository, propriedades, transactionManager);
+    }
+}
@@ -0,0 +1,127 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSugestaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do IndiceAutocompletarProdutos")
+public class IndiceAutocompletarProdutosTest {
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @InjectMocks
+    private IndiceAutocompletarProdutos indice;
+
+    @BeforeEach
+    void setUp() {
+        when(produtoRepository.listarSugestoes()).thenReturn(List.of(
+                new ProdutoSugestaoResponseDTO(1, "Maçã Fuji", new BigDecimal("8.90")),
+                new ProdutoSugestaoResponseDTO(2, "Abóbora Moranga", new BigDecimal("4.50")),
+                new ProdutoSugestaoResponseDTO(3, "Morango", new BigDecimal("12.00")),
+                new ProdutoSugestaoResponseDTO(4, "Mamão Formosa", new BigDecimal("6.30")),
+                new ProdutoSugestaoResponseDTO(5, "Limão Taiti", new BigDecimal("3.10"))));
+        indice.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve sugerir pelo início de qualquer palavra do nome")
+    void deveSugerirPeloInicioDeQualquerPalavra() {
+        // Act
+        List<ProdutoSugestaoResponseDTO> resultado = indice.sugerir("mor", 10);
+
+        // Assert
+        assertThat(resultado).extracting(ProdutoSugestaoResponseDTO::getNome)
+                .containsExactly("Abóbora Moranga", "Morango");
+        assertThat(resultado.get(1).getPreco()).isEqualByComparingTo("12.00");
+    }
+
+    @Test
+    @DisplayName("Deve ignorar acentos, maiúsculas e espaços extras")
+    void deveIgnorarAcentosEMaiusculas() {
+        // Act & Assert
+        assertThat(indice.sugerir("  MACA ", 10)).extracting(ProdutoSugestaoResponseDTO::getIdProduto)
+                .containsExactly(1);
+        assertThat(indice.sugerir("limao   tai", 10)).extracting(ProdutoSugestaoResponseDTO::getIdProduto)
+                .containsExactly(5);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite e devolver vazio para prefixo em branco")
+    void deveRespeitarLimite() {
+        // Act & Assert
+        assertThat(indice.sugerir("ma", 2)).extracting(ProdutoSugestaoResponseDTO::getNome)
+                .containsExactly("Maçã Fuji", "Mamão Formosa");
+        assertThat(indice.sugerir("   ", 10)).isEmpty();
+        assertThat(indice.sugerir("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve refletir cadastro, renomeação e exclusão sem recarregar do banco")
+    void deveRefletirAlteracoes() {
+        // Act
+        indice.registrar(6, "Manga Palmer", new BigDecimal("7.00"));
+        indice.registrar(3, "Framboesa", new BigDecimal("15.00"));
+        indice.remover(4);
+
+        // Assert
+        assertThat(indice.sugerir("ma", 10)).extracting(ProdutoSugestaoResponseDTO::getNome)
+                .containsExactly("Maçã Fuji", "Manga Palmer");
+        assertThat(indice.sugerir("mor", 10)).extracting(ProdutoSugestaoResponseDTO::getNome)
+                .containsExactly("Abóbora Moranga");
+        assertThat(indice.sugerir("fra", 10)).extracting(ProdutoSugestaoResponseDTO::getPreco)
+                .containsExactly(new BigDecimal("15.00"));
+        verify(produtoRepository, times(1)).listarSugestoes();
+    }
+
+    @Test
+    @DisplayName("Deve remover de uma vez os produtos de uma categoria excluída")
+    void deveRemoverVariosProdutos() {
+        // Act
+        indice.removerTodos(List.of(2, 3));
+
+        // Assert
+        assertThat(indice.sugerir("mor", 10)).isEmpty();
+        assertThat(indice.sugerir("m", 10)).extracting(ProdutoSugestaoResponseDTO::getIdProduto)
+                .containsExactly(1, 4);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a alteração só depois do commit da transação")
+    void deveAplicarAlteracaoAposCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        indice.remover(3);
+        List<ProdutoSugestaoResponseDTO> antesDoCommit = indice.sugerir("morango", 10);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertThat(antesDoCommit).hasSize(1);
+        assertThat(indice.sugerir("morango", 10)).isEmpty();
+    }
+}
@@ -4,8 +4,10 @@ import br.unip.ads.pim.meuhortifruti.dto.PagamentoRequestDTO;
 import br.unip.ads.pim.meuhortifruti.dto.PagamentoResponseDTO;
 import br.unip.ads.pim.meuhortifruti.entity.Pagamento;
 import br.unip.ads.pim.meuhortifruti.entity.Compra;
+import br.unip.ads.pim.meuhortifruti.entity.ItemCompra;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoDuplicadoException;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.repository.ItemCompraRepository;
 import br.unip.ads.pim.meuhortifruti.repository.PagamentoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,11 +18,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +35,15 @@ public class PagamentoServiceTest {
     @Mock
     private PagamentoRepository pagamentoRepository;
 
+    @Mock
+    private ItemCompraRepository itemCompraRepository;
+
+    @Mock
+    private EstatisticaVendasService estatisticaVendasService;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private PagamentoService pagamentoService;
 
@@ -118,6 +132,8 @@ public class PagamentoServiceTest {
 
         verify(pagamentoRepository, times(1)).existsByIdCompra(100);
         verify(pagamentoRepository, times(1)).save(any(Pagamento.class));
+        verify(outboxService).publicar(eq(OutboxService.PAGAMENTO_CRIADO), eq(OutboxService.PAGAMENTO), eq(1),
+                any(PagamentoResponseDTO.class));
     }
 
     @Test
@@ -240,6 +256,8 @@ public class PagamentoServiceTest {
                 .statusPagamento("CANCELADO")
                 .build();
 
+        LocalDate diaAprovacao = LocalDate.now().minusDays(2);
+        pagamento.setDataAprovacao(diaAprovacao);
         when(pagamentoRepository.findById(1)).thenReturn(Optional.of(pagamento));
         when(pagamentoRepository.findByIdCompra(100)).thenReturn(Optional.of(pagamento));
         when(pagamentoRepository.save(any(Pagamento.class))).thenReturn(pagamentoAtualizado);
@@ -257,6 +275,8 @@ public class PagamentoServiceTest {
         verify(pagamentoRepository, times(1)).findById(1);
         verify(pagamentoRepository, times(1)).findByIdCompra(100);
         verify(pagamentoRepository, times(1)).save(any(Pagamento.class));
+        verify(estatisticaVendasService, times(1)).estornarVenda(eq(100), eq(diaAprovacao), anyCollection());
+        assertThat(pagamento.getDataAprovacao()).isNull();
     }
 
     @Test
@@ -354,6 +374,27 @@ public class PagamentoServiceTest {
         verify(pagamentoRepository, times(1)).findById(1);
         verify(pagamentoRepository, times(1)).findByIdCompra(100);
         verify(pagamentoRepository, times(1)).save(any(Pagamento.class));
+        verifyNoInteractions(estatisticaVendasService);
+    }
+
+    @Test
+    @DisplayName("Deve somar a venda nas estatísticas quando o pagamento passar a aprovado")
+    void deveRegistrarVendaQuandoPagamentoForAprovado() {
+        // Arrange
+        pagamento.setStatusPagamento("PENDENTE");
+        List<ItemCompra> itens = List.of(ItemCompra.builder().idItemCompra(7).build());
+        when(pagamentoRepository.findById(1)).thenReturn(Optional.of(pagamento));
+        when(pagamentoRepository.findByIdCompra(100)).thenReturn(Optional.of(pagamento));
+        when(pagamentoRepository.save(any(Pagamento.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(itemCompraRepository.buscarPorCompras(List.of(100))).thenReturn(itens);
+
+        // Act
+        pagamentoService.atualizar(1, requestDTO);
+
+        // Assert
+        verify(estatisticaVendasService, times(1)).registrarVenda(100, LocalDate.now(), itens);
+        verify(estatisticaVendasService, never()).estornarVenda(any(), any(), anyCollection());
+        assertThat(pagamento.getDataAprovacao()).isEqualTo(LocalDate.now());
     }
 
     @Test
@@ -402,6 +443,8 @@ public class PagamentoServiceTest {
     @DisplayName("Deve excluir pagamento com sucesso")
     void deveExcluirPagamentoComSucesso() {
         // Arrange
+        LocalDate diaAprovacao = LocalDate.now().minusDays(3);
+        pagamento.setDataAprovacao(diaAprovacao);
         when(pagamentoRepository.findById(1)).thenReturn(Optional.of(pagamento));
         doNothing().when(pagamentoRepository).delete(pagamento);
 
@@ -411,6 +454,8 @@ public class PagamentoServiceTest {
         // Assert
         verify(pagamentoRepository, times(1)).findById(1);
         verify(pagamentoRepository, times(1)).delete(pagamento);
+        verify(estatisticaVendasService, times(1)).estornarVenda(eq(100), eq(diaAprovacao), anyCollection());
+        verify(outboxService).publicar(OutboxService.PAGAMENTO_EXCLUIDO, OutboxService.PAGAMENTO, 1, null);
     }
 
     @Test
@@ -428,5 +473,6 @@ public class PagamentoServiceTest {
 
         verify(pagamentoRepository, times(1)).findById(999);
         verify(pagamentoRepository, never()).delete(any(Pagamento.class));
+        verifyNoInteractions(outboxService);
     }
 }
@@ -0,0 +1,84 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.dto.ItemSugestaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.SugestaoCompraDTO;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ItemReposicao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("Testes do PainelReposicao")
+public class PainelReposicaoTest {
+
+    private PainelReposicao painel;
+
+    @BeforeEach
+    void setUp() {
+        painel = new PainelReposicao();
+        painel.carregar(List.of(
+                new ItemReposicao(1, "Tomate", 10, 100, 4, 5, 30),
+                new ItemReposicao(2, "Cebola", 10, 200, 20, 5, 40),
+                new ItemReposicao(3, "Alface", 20, 300, 0, 2, 12),
+                new ItemReposicao(4, "Rúcula", null, null, null, 1, 8)));
+    }
+
+    @Test
+    @DisplayName("Deve agrupar por fornecedor só os produtos no ponto de reposição ou abaixo")
+    void deveAgruparBaixosPorFornecedor() {
+        // Act
+        List<SugestaoCompraDTO> sugestoes = painel.sugestoes();
+
+        // Assert
+        assertThat(sugestoes).extracting(SugestaoCompraDTO::getIdFornecedor).containsExactly(10, 20, null);
+        assertThat(sugestoes.get(0).getItens()).extracting(ItemSugestaoDTO::getIdProduto).containsExactly(1);
+        assertThat(sugestoes.get(0).getItens().get(0).getQuantidadeSugerida()).isEqualTo(26);
+        assertThat(sugestoes.get(0).getQuantidadeTotal()).isEqualTo(26);
+        assertThat(sugestoes.get(2).getItens().get(0).getQuantidadeAtual()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve entrar e sair da sugestão quando o saldo cruzar o ponto de reposição")
+    void deveAtualizarQuandoSaldoCruzarOPonto() {
+        // Act
+        painel.atualizarEstoque(200, 2, 5);
+        painel.atualizarEstoque(100, 1, 30);
+
+        // Assert
+        SugestaoCompraDTO sugestao = painel.sugestao(10);
+        assertThat(sugestao.getItens()).extracting(ItemSugestaoDTO::getIdProduto).containsExactly(2);
+        assertThat(sugestao.getQuantidadeTotal()).isEqualTo(35);
+    }
+
+    @Test
+    @DisplayName("Deve zerar o saldo do produto quando o estoque for excluído")
+    void deveZerarSaldoQuandoEstoqueForExcluido() {
+        // Act
+        painel.excluirEstoque(200);
+
+        // Assert
+        assertThat(painel.sugestao(10).getItens())
+                .extracting(ItemSugestaoDTO::getIdProduto, ItemSugestaoDTO::getQuantidadeSugerida)
+                .containsExactly(tuple(1, 26), tuple(2, 40));
+    }
+
+    @Test
+    @DisplayName("Deve mover o produto de balde quando trocar de fornecedor e sumir quando for removido")
+    void deveMoverEntreFornecedoresERemover() {
+        // Act
+        painel.definir(new ItemReposicao(1, "Tomate", 20, 100, 4, 5, 30));
+        painel.remover(3);
+        painel.atualizarEstoque(999, 42, 0);
+
+        // Assert
+        assertThat(painel.sugestao(10).getItens()).isEmpty();
+        assertThat(painel.sugestao(20).getItens()).extracting(ItemSugestaoDTO::getIdProduto).containsExactly(1);
+        assertThat(painel.contem(3)).isFalse();
+        assertThat(painel.contem(42)).isFalse();
+        assertThat(painel.tamanho()).isEqualTo(3);
+    }
+}
@@ -1,29 +1,50 @@
 package br.unip.ads.pim.meuhortifruti.service;
 
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoBuscaResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoPaginaResponseDTO;
 import br.unip.ads.pim.meuhortifruti.dto.ProdutoRequestDTO;
 import br.unip.ads.pim.meuhortifruti.dto.ProdutoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSugestaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.VersaoRecursoDTO;
 import br.unip.ads.pim.meuhortifruti.entity.Produto;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoDuplicadoException;
 import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
 import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoBusca;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoResumo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +54,23 @@ public class ProdutoServiceTest {
     @Mock
     private ProdutoRepository produtoRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private IndiceAutocompletarProdutos indiceAutocompletar;
+
+    @Mock
+    private VersaoCatalogoService versaoCatalogoService;
+
+    @Mock
+    private SincronizacaoService sincronizacaoService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
     @InjectMocks
     private ProdutoService produtoService;
 
@@ -65,31 +103,240 @@ public class ProdutoServiceTest {
     @Test
     @DisplayName("Deve listar todos os produtos com sucesso")
     void deveListarTodosProdutos() {
+        // Arrange
+        List<ProdutoResumo> produtos = Arrays.asList(
+                new ProdutoResumo(1, "Maçã", new BigDecimal("5.50"), 100, LocalDate.now(),
+                        LocalDate.now().plusMonths(1), 7, "Ceasa", "12345678000199", "11999990000",
+                        "contato@ceasa.com.br", "Rua A, 1", "Frutas"),
+                new ProdutoResumo(2, "Banana", new BigDecimal("3.20"), 150, LocalDate.now(),
+                        LocalDate.now().plusMonths(1), null, null, null, null, null, null, null));
+        when(produtoRepository.listarResumos()).thenReturn(produtos);
+
+        // Act
+        List<ProdutoResponseDTO> resultado = produtoService.listarTodas("produtos-1");
+
+        // Assert
+        assertThat(resultado)
+                .isNotNull()
+                .hasSize(2);
+        assertThat(resultado.get(0).getNome()).isEqualTo("Maçã");
+        assertThat(resultado.get(0).getPreco()).isEqualByComparingTo(new BigDecimal("5.50"));
+        assertThat(resultado.get(0).getFornecedor().getNome()).isEqualTo("Ceasa");
+        assertThat(resultado.get(1).getNome()).isEqualTo("Banana");
+        assertThat(resultado.get(1).getFornecedor()).isNull();
+
+        verify(produtoRepository, times(1)).listarResumos();
+    }
+
+    // ========== TESTES DE PAGINAÇÃO ==========
+
+    @Test
+    @DisplayName("Deve retornar primeira página com cursor para a próxima")
+    void deveRetornarPrimeiraPaginaComProximoCursor() {
+        // Arrange
+        Produto produto2 = Produto.builder().idProduto(2).nome("Banana").build();
+        Produto produto3 = Produto.builder().idProduto(3).nome("Caqui").build();
+        when(produtoRepository.buscarPrimeiraPagina(Limit.of(3)))
+                .thenReturn(Arrays.asList(produto2, produto3, produto));
+
+        // Act
+        ProdutoPaginaResponseDTO pagina = produtoService.listarPagina(null, 2);
+
+        // Assert
+        assertThat(pagina.getConteudo()).hasSize(2);
+        assertThat(pagina.getTamanho()).isEqualTo(2);
+        assertThat(pagina.getConteudo().get(1).getNome()).isEqualTo("Caqui");
+        assertThat(pagina.getProximoCursor()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Deve buscar a página seguinte a partir do cursor")
+    void deveBuscarPaginaSeguinteAPartirDoCursor() {
+        // Arrange
+        Produto produto2 = Produto.builder().idProduto(2).nome("Banana").build();
+        Produto produto3 = Produto.builder().idProduto(3).nome("Caqui: Rama Forte").build();
+        when(produtoRepository.buscarPrimeiraPagina(Limit.of(3)))
+                .thenReturn(Arrays.asList(produto2, produto3, produto));
+        String cursor = produtoService.listarPagina(null, 2).getProximoCursor();
+        when(produtoRepository.buscarPaginaApos(eq("Caqui: Rama Forte"), eq(3), eq(Limit.of(3))))
+                .thenReturn(List.of(produto));
+
+        // Act
+        ProdutoPaginaResponseDTO pagina = produtoService.listarPagina(cursor, 2);
+
+        // Assert
+        assertThat(pagina.getConteudo()).hasSize(1);
+        assertThat(pagina.getConteudo().get(0).getNome()).isEqualTo("Maçã");
+        assertThat(pagina.getProximoCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve limitar o tamanho da página ao máximo permitido")
+    void deveLimitarTamanhoDaPagina() {
+        // Arrange
+        when(produtoRepository.buscarPrimeiraPagina(any(Limit.class))).thenReturn(List.of());
+
+        // Act
+        produtoService.listarPagina(null, 10_000);
+
+        // Assert
+        verify(produtoRepository).buscarPrimeiraPagina(Limit.of(ProdutoService.TAMANHO_PAGINA_MAXIMO + 1));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para cursor inválido")
+    void deveLancarExcecaoParaCursorInvalido() {
+        assertThatThrownBy(() -> produtoService.listarPagina("cursor-invalido", 10))
+                .isInstanceOf(RegraNegocioException.class)
+                .hasMessageContaining("Cursor");
+
+        verify(produtoRepository, never()).buscarPaginaApos(anyString(), any(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para tamanho de página inválido")
+    void deveLancarExcecaoParaTamanhoDePaginaInvalido() {
+        assertThatThrownBy(() -> produtoService.listarPagina(null, 0))
+                .isInstanceOf(RegraNegocioException.class);
+    }
+
+    // ========== TESTES DE BUSCA ==========
+
+    @Test
+    @DisplayName("Deve buscar produtos por similaridade indicando a próxima página")
+    void deveBuscarPorSimilaridade() {
+        // Arrange
+        when(produtoRepository.buscarPorSimilaridade("moranga", 3, 0L))
+                .thenReturn(Arrays.asList(
+                        encontrado(4, "Abóbora Moranga", 1.0),
+                        encontrado(9, "Moranga Cabotiá", 1.0),
+                        encontrado(2, "Morango", 0.75)));
+
+        // Act
+        ProdutoBuscaResponseDTO resultado = produtoService.buscar("  moranga ", null, 2);
+
+        // Assert
+        assertThat(resultado.getConteudo()).extracting(ProdutoResponseDTO::getNome)
+                .containsExactly("Abóbora Moranga", "Moranga Cabotiá");
+        assertThat(resultado.getPagina()).isZero();
+        assertThat(resultado.getTamanho()).isEqualTo(2);
+        assertThat(resultado.getTemProximaPagina()).isTrue();
+        verify(produtoRepository).definirLimiarSimilaridade(ProdutoService.LIMIAR_SIMILARIDADE_BUSCA);
+    }
+
+    @Test
+    @DisplayName("Deve calcular o deslocamento a partir da página pedida")
+    void deveCalcularDeslocamentoDaPagina() {
+        // Arrange
+        when(produtoRepository.buscarPorSimilaridade("alfce", 11, 20L))
+                .thenReturn(List.of(encontrado(5, "Alface Crespa", 0.8)));
+
+        // Act
+        ProdutoBuscaResponseDTO resultado = produtoService.buscar("alfce", 2, 10);
+
+        // Assert
+        assertThat(resultado.getConteudo()).hasSize(1);
+        assertThat(resultado.getPagina()).isEqualTo(2);
+        assertThat(resultado.getTemProximaPagina()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para termo de busca curto demais")
+    void deveLancarExcecaoParaTermoCurto() {
+        assertThatThrownBy(() -> produtoService.buscar(" a ", null, null))
+                .isInstanceOf(RegraNegocioException.class)
+                .hasMessageContaining("termo de busca");
+
+        verify(produtoRepository, never()).buscarPorSimilaridade(anyString(), anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para página negativa na busca")
+    void deveLancarExcecaoParaPaginaNegativa() {
+        assertThatThrownBy(() -> produtoService.buscar("maçã", -1, null))
+                .isInstanceOf(RegraNegocioException.class);
+
+        verify(produtoRepository, never()).buscarPorSimilaridade(anyString(), anyInt(), anyLong());
+    }
+
+    // ========== TESTES DE AUTOCOMPLETAR ==========
+
+    @Test
+    @DisplayName("Deve sugerir produtos pelo índice em memória sem consultar o banco")
+    void deveSugerirProdutosPeloIndice() {
+        // Arrange
+        List<ProdutoSugestaoResponseDTO> sugestoes = List.of(
+                new ProdutoSugestaoResponseDTO(1, "Maçã", new BigDecimal("5.50")));
+        when(indiceAutocompletar.sugerir("ma", ProdutoService.LIMITE_SUGESTOES_PADRAO)).thenReturn(sugestoes);
+
+        // Act
+        List<ProdutoSugestaoResponseDTO> resultado = produtoService.autocompletar("ma", null);
+
+        // Assert
+        assertThat(resultado).isEqualTo(sugestoes);
+        verifyNoInteractions(produtoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de sugestões ao máximo permitido")
+    void deveLimitarQuantidadeDeSugestoes() {
+        // Act
+        produtoService.autocompletar("ma", 1_000);
+
+        // Assert
+        verify(indiceAutocompletar).sugerir("ma", ProdutoService.LIMITE_SUGESTOES_MAXIMO);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para limite de sugestões inválido")
+    void deveLancarExcecaoParaLimiteDeSugestoesInvalido() {
+        assertThatThrownBy(() -> produtoService.autocompletar("ma", 0))
+                .isInstanceOf(RegraNegocioException.class);
+
+        verifyNoInteractions(indiceAutocompletar);
+    }
+
+    // ========== TESTES DE EXPORTAÇÃO ==========
+
+    @Test
+    @DisplayName("Deve exportar o catálogo como array JSON desanexando cada produto")
+    void deveExportarCatalogoEmStreaming() throws IOException {
         // Arrange
         Produto produto2 = Produto.builder()
                 .idProduto(2)
                 .nome("Banana")
                 .preco(new BigDecimal("3.20"))
                 .quantidadeEstoque(150)
-                .dtValidade(LocalDate.now().plusMonths(1))
                 .dataEntrega(LocalDate.now())
                 .build();
-
-        List<Produto> produtos = Arrays.asList(produto, produto2);
-        when(produtoRepository.findAll()).thenReturn(produtos);
+        when(produtoRepository.streamTodos()).thenReturn(Stream.of(produto, produto2));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
 
         // Act
-        List<ProdutoResponseDTO> resultado = produtoService.listarTodas();
+        produtoService.exportar(saida);
 
         // Assert
-        assertThat(resultado)
-                .isNotNull()
-                .hasSize(2);
-        assertThat(resultado.get(0).getNome()).isEqualTo("Maçã");
-        assertThat(resultado.get(0).getPreco()).isEqualByComparingTo(new BigDecimal("5.50"));
-        assertThat(resultado.get(1).getNome()).isEqualTo("Banana");
+        JsonNode json = objectMapper.readTree(saida.toByteArray());
+        assertThat(json.isArray()).isTrue();
+        assertThat(json).hasSize(2);
+        assertThat(json.get(0).get("nome").asText()).isEqualTo("Maçã");
+        assertThat(json.get(1).get("idProduto").asInt()).isEqualTo(2);
+        verify(entityManager).detach(produto);
+        verify(entityManager).detach(produto2);
+    }
 
-        verify(produtoRepository, times(1)).findAll();
+    @Test
+    @DisplayName("Deve exportar array vazio quando não houver produtos")
+    void deveExportarArrayVazio() throws IOException {
+        // Arrange
+        when(produtoRepository.streamTodos()).thenReturn(Stream.empty());
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act
+        produtoService.exportar(saida);
+
+        // Assert
+        assertThat(saida.toString()).isEqualTo("[]");
     }
 
     // ========== TESTES DE BUSCA POR ID ==========
@@ -101,7 +348,7 @@ public class ProdutoServiceTest {
         when(produtoRepository.findById(1)).thenReturn(Optional.of(produto));
 
         // Act
-        ProdutoResponseDTO resultado = produtoService.buscarPorId(1);
+        ProdutoResponseDTO resultado = produtoService.buscarPorId(1, "produtos-1-1759320000000000");
 
         // Assert
         assertThat(resultado).isNotNull();
@@ -113,6 +360,26 @@ public class ProdutoServiceTest {
         verify(produtoRepository, times(1)).findById(1);
     }
 
+    @Test
+    @DisplayName("Deve montar a versão do produto a partir do updated_at")
+    void deveBuscarVersaoDoProduto() {
+        // Arrange
+        Instant atualizadoEm = Instant.parse("2025-10-01T12:00:00.123456Z");
+        when(produtoRepository.buscarUltimaAlteracao(1)).thenReturn(Optional.of(atualizadoEm));
+        when(produtoRepository.buscarUltimaAlteracao(999)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<VersaoRecursoDTO> versao = produtoService.buscarVersao(1);
+        Optional<VersaoRecursoDTO> inexistente = produtoService.buscarVersao(999);
+
+        // Assert
+        assertThat(versao).isPresent();
+        assertThat(versao.get().getEtag()).isEqualTo("produtos-1-1759320000123456");
+        assertThat(versao.get().getUltimaAlteracao()).isEqualTo(atualizadoEm);
+        assertThat(inexistente).isEmpty();
+        verify(produtoRepository, never()).findById(any());
+    }
+
     @Test
     @DisplayName("Deve lançar exceção quando produto não for encontrado")
     void deveLancarExcecaoQuandoProdutoNaoForEncontrado() {
@@ -120,7 +387,7 @@ public class ProdutoServiceTest {
         when(produtoRepository.findById(999)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> produtoService.buscarPorId(999))
+        assertThatThrownBy(() -> produtoService.buscarPorId(999, null))
                 .isInstanceOf(RecursoNaoEncontradoException.class)
                 .hasMessageContaining("Produto")
                 .hasMessageContaining("999");
@@ -149,6 +416,9 @@ public class ProdutoServiceTest {
 
         verify(produtoRepository, times(1)).existsByNome("Maçã");
         verify(produtoRepository, times(1)).save(any(Produto.class));
+        verify(indiceAutocompletar).registrar(1, "Maçã", new BigDecimal("5.50"));
+        verify(versaoCatalogoService).registrarAlteracao(VersaoCatalogoService.PRODUTOS);
+        verify(sincronizacaoService).registrarAlteracao(SincronizacaoService.PRODUTO, 1);
     }
 
     @Test
@@ -166,6 +436,7 @@ public class ProdutoServiceTest {
 
         verify(produtoRepository, times(1)).existsByNome("Maçã");
         verify(produtoRepository, never()).save(any(Produto.class));
+        verifyNoInteractions(versaoCatalogoService, sincronizacaoService);
     }
 
     // ========== TESTES DE ATUALIZAÇÃO ==========
@@ -208,6 +479,8 @@ public class ProdutoServiceTest {
         verify(produtoRepository, times(1)).findById(1);
         verify(produtoRepository, times(1)).findByNome("Maçã Gala");
         verify(produtoRepository, times(1)).save(any(Produto.class));
+        verify(indiceAutocompletar).registrar(1, "Maçã Gala", new BigDecimal("6.00"));
+        verify(versaoCatalogoService).registrarAlteracao(VersaoCatalogoService.PRODUTOS);
     }
 
     @Test
@@ -262,6 +535,7 @@ public class ProdutoServiceTest {
 
         verify(produtoRepository, times(1)).findById(1);
         verify(produtoRepository, never()).save(any(Produto.class));
+        verifyNoInteractions(indiceAutocompletar);
     }
 
     @Test
@@ -293,6 +567,9 @@ public class ProdutoServiceTest {
         // Assert
         verify(produtoRepository, times(1)).findById(1);
         verify(produtoRepository, times(1)).delete(produto);
+        verify(indiceAutocompletar).remover(1);
+        verify(versaoCatalogoService).registrarAlteracao(VersaoCatalogoService.PRODUTOS);
+        verify(sincronizacaoService).registrarExclusao(SincronizacaoService.PRODUTO, 1);
     }
 
     @Test
@@ -308,4 +585,16 @@ public class ProdutoServiceTest {
         verify(produtoRepository, times(1)).findById(999);
         verify(produtoRepository, never()).delete(any(Produto.class));
     }
-}
\ No newline at end of file
+
+    private static ProdutoBusca encontrado(Integer id, String nome, double similaridade) {
+        return new ProdutoBusca() {
+            public Integer getIdProduto() { return id; }
+            public String getNome() { return nome; }
+            public BigDecimal getPreco() { return new BigDecimal("4.90"); }
+            public Integer getQuantidadeEstoque() { return 10; }
+            public LocalDate getDataEntrega() { return LocalDate.now(); }
+            public LocalDate getDtValidade() { return null; }
+            public Double getSimilaridade() { return similaridade; }
+        };
+    }
+}
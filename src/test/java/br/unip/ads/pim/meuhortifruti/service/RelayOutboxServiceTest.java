@@ -0,0 +1,138 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.OutboxProperties;
+import br.unip.ads.pim.meuhortifruti.dto.EventoDTO;
+import br.unip.ads.pim.meuhortifruti.entity.EventoOutbox;
+import br.unip.ads.pim.meuhortifruti.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do RelayOutboxService")
+public class RelayOutboxServiceTest {
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<ConsumidorEventos> consumidoresDisponiveis;
+
+    @Mock
+    private ConsumidorEventos consumidorEstoque;
+
+    @Mock
+    private ConsumidorEventos consumidorGeral;
+
+    private MeterRegistry meterRegistry;
+    private OutboxProperties propriedades;
+    private RelayOutboxService relayOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        propriedades = new OutboxProperties();
+        propriedades.setRelayHabilitado(false);
+        propriedades.setMaximoTentativas(3);
+        propriedades.setEsperaMaxima(Duration.ofSeconds(3));
+        when(consumidoresDisponiveis.orderedStream()).thenReturn(Stream.of(consumidorEstoque, consumidorGeral));
+        relayOutboxService = new RelayOutboxService(eventoOutboxRepository, consumidoresDisponiveis, propriedades,
+                transactionManager, meterRegistry);
+        relayOutboxService.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("Deve entregar cada evento só aos consumidores que pediram o tipo dele")
+    void deveEntregarConformeTiposDoConsumidor() {
+        // Arrange
+        when(consumidorEstoque.tipos()).thenReturn(Set.of(OutboxService.ESTOQUE_ALTERADO));
+        EventoOutbox estoque = evento(1L, OutboxService.ESTOQUE_ALTERADO, 0);
+        EventoOutbox compra = evento(2L, OutboxService.COMPRA_FINALIZADA, 0);
+        when(eventoOutboxRepository.reservarDisponiveis(any(Instant.class), any(Limit.class)))
+                .thenReturn(List.of(estoque, compra));
+
+        // Act
+        int reservados = relayOutboxService.relay();
+
+        // Assert
+        assertThat(reservados).isEqualTo(2);
+        verify(consumidorEstoque, times(1)).consumir(any(EventoDTO.class));
+        verify(consumidorGeral, times(2)).consumir(any(EventoDTO.class));
+        verify(eventoOutboxRepository).excluirEntregues(List.of(1L, 2L));
+        assertThat(meterRegistry.get(RelayOutboxService.METRICA_EVENTOS).tag("resultado", "entregue")
+                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve dobrar a espera a cada falha até o teto configurado")
+    void deveReagendarComEsperaExponencial() {
+        // Arrange
+        EventoOutbox evento = evento(1L, OutboxService.COMPRA_FINALIZADA, 1);
+        when(eventoOutboxRepository.reservarDisponiveis(any(Instant.class), any(Limit.class))).thenReturn(List.of(evento));
+        doThrow(new IllegalStateException("fora do ar")).when(consumidorGeral).consumir(any(EventoDTO.class));
+
+        // Act
+        Instant antes = Instant.now();
+        relayOutboxService.relay();
+
+        // Assert
+        assertThat(evento.getTentativas()).isEqualTo(2);
+        assertThat(evento.getDisponivelEm()).isBetween(antes.plusSeconds(2), antes.plusMillis(2500));
+        assertThat(evento.getUltimoErro()).isEqualTo("IllegalStateException: fora do ar");
+        verify(eventoOutboxRepository, never()).excluirEntregues(any());
+        assertThat(meterRegistry.get(RelayOutboxService.METRICA_EVENTOS).tag("resultado", "falha")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve tirar o evento do relay quando as tentativas acabarem")
+    void devePararEventoAposMaximoDeTentativas() {
+        // Arrange
+        EventoOutbox evento = evento(1L, OutboxService.COMPRA_FINALIZADA, 2);
+        EventoOutbox entregue = evento(2L, OutboxService.COMPRA_FINALIZADA, 0);
+        when(eventoOutboxRepository.reservarDisponiveis(any(Instant.class), any(Limit.class)))
+                .thenReturn(List.of(evento, entregue));
+        doThrow(new IllegalStateException("fora do ar")).doNothing().when(consumidorGeral).consumir(any(EventoDTO.class));
+
+        // Act
+        relayOutboxService.relay();
+
+        // Assert
+        assertThat(evento.getTentativas()).isEqualTo(3);
+        assertThat(evento.getDisponivelEm()).isNull();
+        verify(eventoOutboxRepository).excluirEntregues(List.of(2L));
+    }
+
+    private EventoOutbox evento(Long id, String tipo, int tentativas) {
+        return EventoOutbox.builder()
+                .idEvento(id)
+                .tipo(tipo)
+                .agregado(OutboxService.COMPRA)
+                .idAgregado(id.intValue())
+                .criadoEm(Instant.now())
+                .disponivelEm(Instant.now())
+                .tentativas(tentativas)
+                .build();
+    }
+}
@@ -0,0 +1,245 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.ReposicaoProperties;
+import br.unip.ads.pim.meuhortifruti.dto.EstoqueSincronizacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ExclusoesSincronizacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ItemSugestaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.PontoReposicaoRequestDTO;
+import br.unip.ads.pim.meuhortifruti.dto.PontoReposicaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.ProdutoSincronizacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.SincronizacaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.SugestaoCompraDTO;
+import br.unip.ads.pim.meuhortifruti.entity.Fornecedor;
+import br.unip.ads.pim.meuhortifruti.entity.PontoReposicao;
+import br.unip.ads.pim.meuhortifruti.exception.RecursoNaoEncontradoException;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import br.unip.ads.pim.meuhortifruti.repository.FornecedorRepository;
+import br.unip.ads.pim.meuhortifruti.repository.PontoReposicaoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ItemReposicao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do ReposicaoService")
+public class ReposicaoServiceTest {
+
+    @Mock
+    private PontoReposicaoRepository pontoReposicaoRepository;
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private FornecedorRepository fornecedorRepository;
+
+    @Mock
+    private SincronizacaoService sincronizacaoService;
+
+    private ReposicaoService reposicaoService;
+
+    @BeforeEach
+    void setUp() {
+        ReposicaoProperties propriedades = new ReposicaoProperties();
+        propriedades.setHabilitado(false);
+        reposicaoService = new ReposicaoService(pontoReposicaoRepository, produtoRepository, fornecedorRepository,
+                sincronizacaoService, propriedades);
+    }
+
+    @Test
+    @DisplayName("Deve carregar o painel na primeira consulta e devolver as sugestões com o nome do fornecedor")
+    void deveCarregarPainelNaPrimeiraConsulta() {
+        // Arrange
+        when(sincronizacaoService.buscarAlteracoes(null)).thenReturn(ressincronizar(10L));
+        when(pontoReposicaoRepository.listarItens()).thenReturn(List.of(
+                new ItemReposicao(1, "Tomate", 7, 100, 3, 5, 30),
+                new ItemReposicao(2, "Cebola", 7, 200, 50, 5, 40)));
+        when(fornecedorRepository.findAllById(Set.of(7))).thenReturn(List.of(fornecedor(7, "Ceasa Campinas")));
+
+        // Act
+        List<SugestaoCompraDTO> sugestoes = reposicaoService.listarSugestoes();
+
+        // Assert
+        assertThat(sugestoes).hasSize(1);
+        assertThat(sugestoes.get(0).getNomeFornecedor()).isEqualTo("Ceasa Campinas");
+        assertThat(sugestoes.get(0).getItens()).extracting(ItemSugestaoDTO::getIdProduto).containsExactly(1);
+        assertThat(sugestoes.get(0).getQuantidadeTotal()).isEqualTo(27);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar só o delta do log de sincronização depois da carga")
+    void deveAplicarDeltaDoLog() {
+        // Arrange
+        when(sincronizacaoService.buscarAlteracoes(null)).thenReturn(ressincronizar(10L));
+        when(pontoReposicaoRepository.listarItens()).thenReturn(List.of(
+                new ItemReposicao(1, "Tomate", 7, 100, 3, 5, 30),
+                new ItemReposicao(2, "Cebola", 7, 200, 50, 5, 40),
+                new ItemReposicao(3, "Alface", 8, 300, 1, 2, 12)));
+        reposicaoService.acompanhar();
+        when(sincronizacaoService.buscarAlteracoes(10L)).thenReturn(SincronizacaoResponseDTO.builder()
+                .versao(12L)
+                .temMais(true)
+                .estoques(List.of(
+                        EstoqueSincronizacaoDTO.builder().idEstoque(100).idProduto(1).quantidadeProdutos(30).build(),
+                        EstoqueSincronizacaoDTO.builder().idEstoque(200).idProduto(2).quantidadeProdutos(4).build()))
+                .build());
+        when(sincronizacaoService.buscarAlteracoes(12L)).thenReturn(SincronizacaoResponseDTO.builder()
+                .versao(13L)
+                .produtos(List.of(ProdutoSincronizacaoDTO.builder().idProduto(3).nome("Alface").build()))
+                .build());
+        when(pontoReposicaoRepository.listarItensPorProdutos(Set.of(3))).thenReturn(List.of());
+        when(fornecedorRepository.findAllById(Set.of(7))).thenReturn(List.of(fornecedor(7, "Ceasa Campinas")));
+
+        // Act
+        List<SugestaoCompraDTO> sugestoes = reposicaoService.listarSugestoes();
+
+        // Assert
+        assertThat(sugestoes).hasSize(1);
+        assertThat(sugestoes.get(0).getItens()).extracting(ItemSugestaoDTO::getIdProduto).containsExactly(2);
+        verify(pontoReposicaoRepository, times(1)).listarItens();
+    }
+
+    @Test
+    @DisplayName("Deve reler o item do produto cujo ponto de reposição mudou no log")
+    void deveAplicarPontoAlteradoNoLog() {
+        // Arrange
+        when(sincronizacaoService.buscarAlteracoes(null)).thenReturn(ressincronizar(10L));
+        when(pontoReposicaoRepository.listarItens()).thenReturn(List.of(
+                new ItemReposicao(1, "Tomate", 7, 100, 8, 5, 30)));
+        reposicaoService.acompanhar();
+        when(sincronizacaoService.buscarAlteracoes(10L)).thenReturn(SincronizacaoResponseDTO.builder()
+                .versao(11L)
+                .build());
+        when(sincronizacaoService.buscarRecursosAlterados(SincronizacaoService.PONTO_REPOSICAO, 10L, 11L))
+                .thenReturn(List.of(1));
+        when(pontoReposicaoRepository.listarItensPorProdutos(Set.of(1)))
+                .thenReturn(List.of(new ItemReposicao(1, "Tomate", 7, 100, 8, 10, 30)));
+        when(fornecedorRepository.findAllById(Set.of(7))).thenReturn(List.of(fornecedor(7, "Ceasa Campinas")));
+
+        // Act
+        List<SugestaoCompraDTO> sugestoes = reposicaoService.listarSugestoes();
+
+        // Assert
+        assertThat(sugestoes).singleElement()
+                .satisfies(sugestao -> assertThat(sugestao.getQuantidadeTotal()).isEqualTo(22));
+        verify(pontoReposicaoRepository, times(1)).listarItens();
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o painel quando o log pedir ressincronização")
+    void deveRecarregarQuandoLogPedirRessincronizacao() {
+        // Arrange
+        when(sincronizacaoService.buscarAlteracoes(null)).thenReturn(ressincronizar(10L), ressincronizar(90L));
+        when(pontoReposicaoRepository.listarItens()).thenReturn(
+                List.of(new ItemReposicao(1, "Tomate", 7, 100, 3, 5, 30)),
+                List.of());
+        reposicaoService.acompanhar();
+        when(sincronizacaoService.buscarAlteracoes(10L)).thenReturn(ressincronizar(90L));
+
+        when(sincronizacaoService.buscarAlteracoes(90L)).thenReturn(SincronizacaoResponseDTO.builder().versao(90L).build());
+
+        // Act
+        reposicaoService.acompanhar();
+
+        // Assert
+        assertThat(reposicaoService.listarSugestoes()).isEmpty();
+        verify(pontoReposicaoRepository, times(2)).listarItens();
+    }
+
+    @Test
+    @DisplayName("Deve gravar o ponto de reposição e registrar a alteração no log")
+    void deveDefinirPonto() {
+        // Arrange
+        PontoReposicaoRequestDTO dto = PontoReposicaoRequestDTO.builder().pontoReposicao(5).estoqueMaximo(30).build();
+        when(produtoRepository.existsById(1)).thenReturn(true);
+        when(pontoReposicaoRepository.saveAndFlush(any(PontoReposicao.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+        when(pontoReposicaoRepository.listarItensPorProdutos(List.of(1)))
+                .thenReturn(List.of(new ItemReposicao(1, "Tomate", 7, 100, 3, 5, 30)));
+
+        // Act
+        PontoReposicaoResponseDTO resultado = reposicaoService.definirPonto(1, dto);
+
+        // Assert
+        assertThat(resultado.getPontoReposicao()).isEqualTo(5);
+        assertThat(resultado.getEstoqueMaximo()).isEqualTo(30);
+        assertThat(resultado.getAtualizadoEm()).isNotNull();
+        verify(sincronizacaoService, times(1)).registrarAlteracao(SincronizacaoService.PONTO_REPOSICAO, 1);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o estoque máximo não passar do ponto de reposição")
+    void deveLancarExcecaoComMaximoAbaixoDoPonto() {
+        // Arrange
+        PontoReposicaoRequestDTO dto = PontoReposicaoRequestDTO.builder().pontoReposicao(10).estoqueMaximo(10).build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> reposicaoService.definirPonto(1, dto))
+                .isInstanceOf(RegraNegocioException.class)
+                .hasMessageContaining("estoque máximo");
+        verify(pontoReposicaoRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao definir ponto de produto inexistente")
+    void deveLancarExcecaoParaProdutoInexistente() {
+        // Arrange
+        PontoReposicaoRequestDTO dto = PontoReposicaoRequestDTO.builder().pontoReposicao(5).estoqueMaximo(30).build();
+        when(produtoRepository.existsById(99)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> reposicaoService.definirPonto(99, dto))
+                .isInstanceOf(RecursoNaoEncontradoException.class);
+        verify(sincronizacaoService, never()).registrarAlteracao(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve remover o ponto de reposição e registrar a alteração no log")
+    void deveRemoverPonto() {
+        // Arrange
+        when(pontoReposicaoRepository.existsById(1)).thenReturn(true);
+
+        // Act
+        reposicaoService.removerPonto(1);
+
+        // Assert
+        verify(pontoReposicaoRepository, times(1)).deleteById(1);
+        verify(sincronizacaoService, times(1)).registrarAlteracao(SincronizacaoService.PONTO_REPOSICAO, 1);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao buscar sugestão de fornecedor inexistente")
+    void deveLancarExcecaoParaFornecedorInexistente() {
+        // Arrange
+        when(fornecedorRepository.findById(99)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> reposicaoService.buscarSugestao(99))
+                .isInstanceOf(RecursoNaoEncontradoException.class)
+                .hasMessageContaining("Fornecedor");
+    }
+
+    private static SincronizacaoResponseDTO ressincronizar(long versao) {
+        return SincronizacaoResponseDTO.builder()
+                .versao(versao)
+                .ressincronizar(true)
+                .excluidos(new ExclusoesSincronizacaoDTO())
+                .build();
+    }
+
+    private static Fornecedor fornecedor(Integer id, String nome) {
+        return Fornecedor.builder().idFornecedor(id).nome(nome).build();
+    }
+}
@@ -0,0 +1,176 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.SincronizacaoProperties;
+import br.unip.ads.pim.meuhortifruti.dto.EstoqueSincronizacaoDTO;
+import br.unip.ads.pim.meuhortifruti.dto.SincronizacaoResponseDTO;
+import br.unip.ads.pim.meuhortifruti.entity.AlteracaoCatalogo;
+import br.unip.ads.pim.meuhortifruti.entity.VersaoCatalogo;
+import br.unip.ads.pim.meuhortifruti.exception.RegraNegocioException;
+import br.unip.ads.pim.meuhortifruti.repository.AlteracaoCatalogoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.CategoriaRepository;
+import br.unip.ads.pim.meuhortifruti.repository.EstoqueRepository;
+import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.VersaoCatalogoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do SincronizacaoService")
+public class SincronizacaoServiceTest {
+
+    @Mock
+    private AlteracaoCatalogoRepository alteracaoCatalogoRepository;
+
+    @Mock
+    private VersaoCatalogoRepository versaoCatalogoRepository;
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    @Mock
+    private EstoqueRepository estoqueRepository;
+
+    private SincronizacaoService sincronizacaoService;
+
+    @BeforeEach
+    void setUp() {
+        SincronizacaoProperties propriedades = new SincronizacaoProperties();
+        propriedades.setLimite(3);
+        sincronizacaoService = new SincronizacaoService(alteracaoCatalogoRepository, versaoCatalogoRepository,
+                produtoRepository, categoriaRepository, estoqueRepository, propriedades);
+    }
+
+    @Test
+    @DisplayName("Deve juntar alterações do mesmo estoque e paginar pelo limite")
+    void deveJuntarAlteracoesEPaginar() {
+        // Arrange
+        versao(SincronizacaoService.SEQUENCIA, 20L);
+        when(alteracaoCatalogoRepository.buscarDesde(10L, Limit.of(4))).thenReturn(List.of(
+                alteracao(SincronizacaoService.ESTOQUE, 1, false, 11L),
+                alteracao(SincronizacaoService.ESTOQUE, 2, false, 12L),
+                alteracao(SincronizacaoService.ESTOQUE, 1, false, 14L),
+                alteracao(SincronizacaoService.ESTOQUE, 3, false, 15L)));
+        when(estoqueRepository.listarParaSincronizacao(Set.of(1, 2))).thenReturn(List.of(
+                new EstoqueSincronizacaoDTO(1, 7, 40)));
+
+        // Act
+        SincronizacaoResponseDTO resposta = sincronizacaoService.buscarAlteracoes(10L);
+
+        // Assert
+        assertThat(resposta.isTemMais()).isTrue();
+        assertThat(resposta.getVersao()).isEqualTo(14L);
+        assertThat(resposta.getEstoques()).extracting(EstoqueSincronizacaoDTO::getIdEstoque).containsExactly(1);
+        assertThat(resposta.getExcluidos().getEstoques()).containsExactly(2);
+        verifyNoInteractions(produtoRepository, categoriaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve pedir ressincronização quando a versão já foi expurgada")
+    void devePedirRessincronizacaoParaVersaoExpurgada() {
+        // Arrange
+        versao(SincronizacaoService.SEQUENCIA, 500L);
+        versao(SincronizacaoService.EXPURGO, 300L);
+
+        // Act
+        SincronizacaoResponseDTO resposta = sincronizacaoService.buscarAlteracoes(120L);
+
+        // Assert
+        assertThat(resposta.isRessincronizar()).isTrue();
+        assertThat(resposta.getVersao()).isEqualTo(500L);
+        verify(alteracaoCatalogoRepository, never()).buscarDesde(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Deve manter a versão do terminal quando nada mudou")
+    void deveManterVersaoSemAlteracoes() {
+        // Arrange
+        versao(SincronizacaoService.SEQUENCIA, 20L);
+        when(alteracaoCatalogoRepository.buscarDesde(20L, Limit.of(4))).thenReturn(List.of());
+
+        // Act
+        SincronizacaoResponseDTO resposta = sincronizacaoService.buscarAlteracoes(20L);
+
+        // Assert
+        assertThat(resposta.getVersao()).isEqualTo(20L);
+        assertThat(resposta.isTemMais()).isFalse();
+        assertThat(resposta.getProdutos()).isEmpty();
+        verifyNoInteractions(produtoRepository, categoriaRepository, estoqueRepository);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para versão negativa")
+    void deveLancarExcecaoParaVersaoNegativa() {
+        // Act & Assert
+        assertThatThrownBy(() -> sincronizacaoService.buscarAlteracoes(-1L))
+                .isInstanceOf(RegraNegocioException.class);
+
+        verifyNoInteractions(alteracaoCatalogoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve numerar as pendentes a partir da última versão entregue")
+    void deveSequenciarAPartirDaUltimaVersao() {
+        // Arrange
+        VersaoCatalogo sequencia = VersaoCatalogo.builder()
+                .colecao(SincronizacaoService.SEQUENCIA).versao(100L).build();
+        when(alteracaoCatalogoRepository.buscarPendentes(any(Limit.class)))
+                .thenReturn(List.of(7L))
+                .thenReturn(List.of(7L, 9L, 10L));
+        when(versaoCatalogoRepository.travar(SincronizacaoService.SEQUENCIA)).thenReturn(Optional.of(sequencia));
+
+        // Act
+        int numeradas = sincronizacaoService.sequenciar();
+
+        // Assert
+        assertThat(numeradas).isEqualTo(3);
+        verify(alteracaoCatalogoRepository).sequenciar(List.of(7L, 9L, 10L), 94L);
+        verify(versaoCatalogoRepository, never()).criarSeAusente(any(), any());
+        assertThat(sequencia.getVersao()).isEqualTo(104L);
+    }
+
+    @Test
+    @DisplayName("Não deve travar a sequência quando não houver pendentes")
+    void naoDeveTravarSemPendentes() {
+        // Arrange
+        when(alteracaoCatalogoRepository.buscarPendentes(any(Limit.class))).thenReturn(List.of());
+
+        // Act
+        int numeradas = sincronizacaoService.sequenciar();
+
+        // Assert
+        assertThat(numeradas).isZero();
+        verifyNoInteractions(versaoCatalogoRepository);
+    }
+
+    private void versao(String colecao, long versao) {
+        when(versaoCatalogoRepository.findById(colecao)).thenReturn(Optional.of(
+                VersaoCatalogo.builder().colecao(colecao).versao(versao).atualizadoEm(Instant.now()).build()));
+    }
+
+    private AlteracaoCatalogo alteracao(String tipo, Integer id, boolean exclusao, long versao) {
+        return AlteracaoCatalogo.builder()
+                .tipo(tipo)
+                .idRecurso(id)
+                .exclusao(exclusao)
+                .versao(versao)
+                .build();
+    }
+}
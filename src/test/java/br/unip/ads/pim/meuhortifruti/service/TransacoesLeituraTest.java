@@ -0,0 +1,70 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guarda das leituras: todo método público {@code buscar*}/{@code listar*} de um {@code @Service}
+ * que abre transação tem de abri-la com {@code readOnly = true}. Só assim o Spring coloca a sessão
+ * do Hibernate em {@code FlushMode.MANUAL} e carrega as entidades como somente leitura (sem
+ * snapshot para dirty checking), e a leitura pode ir para a réplica.
+ */
+@DisplayName("Testes das transações de leitura dos serviços")
+public class TransacoesLeituraTest {
+
+    private static final String PACOTE_BASE = "br.unip.ads.pim.meuhortifruti";
+    private static final List<String> PREFIXOS_LEITURA = List.of("buscar", "listar");
+
+    @Test
+    @DisplayName("Nenhum buscar*/listar* de serviço deve abrir transação de escrita")
+    void leiturasDevemSerSomenteLeitura() throws ClassNotFoundException {
+        // Arrange
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Service.class));
+        List<String> verificados = new ArrayList<>();
+        List<String> leiturasComEscrita = new ArrayList<>();
+
+        // Act
+        for (BeanDefinition definicao : scanner.findCandidateComponents(PACOTE_BASE)) {
+            Class<?> servico = ClassUtils.forName(definicao.getBeanClassName(), getClass().getClassLoader());
+            Transactional daClasse = AnnotatedElementUtils.findMergedAnnotation(servico, Transactional.class);
+            for (Method metodo : servico.getDeclaredMethods()) {
+                if (!Modifier.isPublic(metodo.getModifiers()) || !ehLeitura(metodo.getName())) {
+                    continue;
+                }
+                Transactional doMetodo = AnnotatedElementUtils.findMergedAnnotation(metodo, Transactional.class);
+                Transactional efetiva = doMetodo != null ? doMetodo : daClasse;
+                String nome = servico.getSimpleName() + "." + metodo.getName();
+                verificados.add(nome);
+                if (efetiva != null && !efetiva.readOnly()) {
+                    leiturasComEscrita.add(nome);
+                }
+            }
+        }
+
+        // Assert
+        assertThat(verificados).contains("ProdutoService.buscarPorId", "EstoqueService.buscarPorId",
+                "CompraService.listarTodas");
+        assertThat(leiturasComEscrita)
+                .as("métodos de leitura com @Transactional sem readOnly = true")
+                .isEmpty();
+    }
+
+    private static boolean ehLeitura(String nome) {
+        return PREFIXOS_LEITURA.stream().anyMatch(nome::startsWith);
+    }
+}
@@ -0,0 +1,133 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.config.ValidadeProperties;
+import br.unip.ads.pim.meuhortifruti.dto.ItemValidadeResponseDTO;
+import br.unip.ads.pim.meuhortifruti.dto.RelatorioValidadeResponseDTO;
+import br.unip.ads.pim.meuhortifruti.repository.ProdutoRepository;
+import br.unip.ads.pim.meuhortifruti.repository.projecao.ProdutoValidade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do ValidadeService")
+public class ValidadeServiceTest {
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    private ValidadeProperties propriedades;
+    private SimpleMeterRegistry meterRegistry;
+    private ValidadeService validadeService;
+    private LocalDate hoje;
+
+    @BeforeEach
+    void setUp() {
+        propriedades = new ValidadeProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        validadeService = new ValidadeService(produtoRepository, propriedades, meterRegistry);
+        hoje = LocalDate.now();
+    }
+
+    @Test
+    @DisplayName("Deve retirar vencidos e remarcar com desconto crescente perto do vencimento")
+    void deveAvaliarRemarcacao() {
+        // Act
+        ItemValidadeResponseDTO vencido = validadeService.avaliar(produto(1, -1), hoje);
+        ItemValidadeResponseDTO amanha = validadeService.avaliar(produto(2, 1), hoje);
+        ItemValidadeResponseDTO tresDias = validadeService.avaliar(produto(3, 3), hoje);
+        ItemValidadeResponseDTO semana = validadeService.avaliar(produto(4, 6), hoje);
+
+        // Assert
+        assertThat(vencido.getAcao()).isEqualTo(ValidadeService.ACAO_RETIRAR);
+        assertThat(vencido.getPrecoSugerido()).isNull();
+        assertThat(amanha.getAcao()).isEqualTo(ValidadeService.ACAO_REMARCAR);
+        assertThat(amanha.getPercentualDesconto()).isEqualTo(50);
+        assertThat(amanha.getPrecoSugerido()).isEqualByComparingTo("5.00");
+        assertThat(tresDias.getPercentualDesconto()).isEqualTo(30);
+        assertThat(semana.getPercentualDesconto()).isEqualTo(15);
+        assertThat(semana.getDiasParaVencer()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer os produtos em lotes continuando do último lido")
+    void devePercorrerEmLotes() {
+        // Arrange
+        propriedades.setTamanhoLote(2);
+        propriedades.setMaximoItens(3);
+        LocalDate inicio = hoje.minusDays(7);
+        LocalDate fim = hoje.plusDays(7);
+        when(produtoRepository.buscarVencendoApos(inicio, 0, fim, Limit.of(2)))
+                .thenReturn(List.of(produto(1, -2), produto(2, 0)));
+        when(produtoRepository.buscarVencendoApos(hoje, 2, fim, Limit.of(2)))
+                .thenReturn(List.of(produto(3, 0), produto(4, 2)));
+        when(produtoRepository.buscarVencendoApos(hoje.plusDays(2), 4, fim, Limit.of(2)))
+                .thenReturn(List.of(produto(5, 5)));
+
+        // Act
+        RelatorioValidadeResponseDTO relatorio = validadeService.processar();
+
+        // Assert
+        assertThat(relatorio.getLinhasLidas()).isEqualTo(5);
+        assertThat(relatorio.getTotalRetirar()).isEqualTo(1);
+        assertThat(relatorio.getTotalRemarcar()).isEqualTo(4);
+        assertThat(relatorio.getTruncado()).isTrue();
+        assertThat(relatorio.getItens()).extracting(ItemValidadeResponseDTO::getIdProduto)
+                .containsExactly(1, 2, 3);
+        verify(produtoRepository, times(3)).buscarVencendoApos(any(), any(), any(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Deve registrar duração e linhas lidas nas métricas")
+    void deveRegistrarMetricas() {
+        // Arrange
+        when(produtoRepository.buscarVencendoApos(any(), eq(0), any(), any(Limit.class)))
+                .thenReturn(List.of(produto(1, 1), produto(2, 2)));
+
+        // Act
+        validadeService.processar();
+        validadeService.processar();
+
+        // Assert
+        assertThat(meterRegistry.get(ValidadeService.METRICA_EXECUCAO).timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(ValidadeService.METRICA_LINHAS).counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get(ValidadeService.METRICA_ITENS).gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o último relatório gerado")
+    void deveReaproveitarUltimoRelatorio() {
+        // Arrange
+        when(produtoRepository.buscarVencendoApos(any(), any(), any(), any(Limit.class)))
+                .thenReturn(List.of());
+
+        // Act
+        RelatorioValidadeResponseDTO primeiro = validadeService.obterRelatorio();
+        RelatorioValidadeResponseDTO segundo = validadeService.obterRelatorio();
+
+        // Assert
+        assertThat(segundo).isSameAs(primeiro);
+        assertThat(primeiro.getItens()).isEmpty();
+        assertThat(primeiro.getTruncado()).isFalse();
+        verify(produtoRepository, times(1)).buscarVencendoApos(any(), any(), any(), any(Limit.class));
+    }
+
+    private ProdutoValidade produto(Integer id, int diasParaVencer) {
+        return new ProdutoValidade(id, "Produto " + id, new BigDecimal("10.00"), 20,
+                hoje.plusDays(diasParaVencer));
+    }
+}
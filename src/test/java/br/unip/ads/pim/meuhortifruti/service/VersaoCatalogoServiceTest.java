@@ -0,0 +1,63 @@
+package br.unip.ads.pim.meuhortifruti.service;
+
+import br.unip.ads.pim.meuhortifruti.dto.VersaoRecursoDTO;
+import br.unip.ads.pim.meuhortifruti.entity.VersaoCatalogo;
+import br.unip.ads.pim.meuhortifruti.repository.VersaoCatalogoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do VersaoCatalogoService")
+public class VersaoCatalogoServiceTest {
+
+    @Mock
+    private VersaoCatalogoRepository versaoCatalogoRepository;
+
+    @InjectMocks
+    private VersaoCatalogoService versaoCatalogoService;
+
+    @Test
+    @DisplayName("Deve incrementar as coleções sempre na mesma ordem")
+    void deveIncrementarColecoesEmOrdemFixa() {
+        // Act
+        versaoCatalogoService.registrarAlteracao(VersaoCatalogoService.PRODUTOS, VersaoCatalogoService.CATEGORIAS);
+
+        // Assert
+        InOrder ordem = inOrder(versaoCatalogoRepository);
+        ordem.verify(versaoCatalogoRepository).incrementar(eq(VersaoCatalogoService.CATEGORIAS), any(Instant.class));
+        ordem.verify(versaoCatalogoRepository).incrementar(eq(VersaoCatalogoService.PRODUTOS), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Deve usar a versão da coleção como ETag e a data dela como Last-Modified")
+    void deveBuscarVersaoDaColecao() {
+        // Arrange
+        Instant atualizadoEm = Instant.parse("2025-10-01T12:00:00Z");
+        when(versaoCatalogoRepository.findById(VersaoCatalogoService.PRODUTOS)).thenReturn(Optional.of(
+                VersaoCatalogo.builder().colecao(VersaoCatalogoService.PRODUTOS).versao(7L).atualizadoEm(atualizadoEm).build()));
+        when(versaoCatalogoRepository.findById(VersaoCatalogoService.CATEGORIAS)).thenReturn(Optional.empty());
+
+        // Act
+        VersaoRecursoDTO produtos = versaoCatalogoService.buscarVersao(VersaoCatalogoService.PRODUTOS);
+        VersaoRecursoDTO categorias = versaoCatalogoService.buscarVersao(VersaoCatalogoService.CATEGORIAS);
+
+        // Assert
+        assertThat(produtos.getEtag()).isEqualTo("produtos-7");
+        assertThat(produtos.getUltimaAlteracao()).isEqualTo(atualizadoEm);
+        assertThat(categorias.getEtag()).isEqualTo("categorias-0");
+        assertThat(categorias.getUltimaAlteracao()).isNull();
+    }
+}